@@ -0,0 +1,128 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.repository.redis;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.writer.Delta;
+import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+
+/**
+ * JMH benchmark comparing writing metrics to a {@link RedisMetricRepository} one at a
+ * time with writing them in a batch, as a {@code MetricCopyExporter} does on each export.
+ * Requires a Redis server (or a stand-in that speaks the Redis protocol) listening on
+ * the default port of localhost. Compile with the {@code benchmark} profile and run the
+ * {@link #main(String[]) main method}, for example from an IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class RedisMetricRepositoryBenchmark {
+
+	@Param({ "10", "100" })
+	private int metrics;
+
+	private JedisConnectionFactory connectionFactory;
+
+	private RedisMetricRepository repository;
+
+	private List<Metric<?>> values;
+
+	private List<Delta<?>> deltas;
+
+	@Setup
+	public void setup() {
+		this.connectionFactory = new JedisConnectionFactory();
+		this.connectionFactory.afterPropertiesSet();
+		this.repository = new RedisMetricRepository(this.connectionFactory,
+				"spring.benchmark." + System.currentTimeMillis());
+		this.values = new ArrayList<Metric<?>>(this.metrics);
+		this.deltas = new ArrayList<Delta<?>>(this.metrics);
+		for (int i = 0; i < this.metrics; i++) {
+			this.values.add(new Metric<Number>("gauge." + i, i));
+			this.deltas.add(new Delta<Number>("counter." + i, 1));
+		}
+		this.repository.set(this.values);
+	}
+
+	@TearDown
+	public void tearDown() {
+		for (int i = 0; i < this.metrics; i++) {
+			this.repository.reset("gauge." + i);
+			this.repository.reset("counter." + i);
+		}
+		this.connectionFactory.destroy();
+	}
+
+	@Benchmark
+	public void set() {
+		for (Metric<?> value : this.values) {
+			this.repository.set(value);
+		}
+	}
+
+	@Benchmark
+	public void setBatch() {
+		this.repository.set(this.values);
+	}
+
+	@Benchmark
+	public void increment() {
+		for (Delta<?> delta : this.deltas) {
+			this.repository.increment(delta);
+		}
+	}
+
+	@Benchmark
+	public void incrementBatch() {
+		this.repository.increment(this.deltas);
+	}
+
+	@Benchmark
+	public Iterable<Metric<?>> findAll() {
+		return this.repository.findAll();
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(RedisMetricRepositoryBenchmark.class.getSimpleName()).build())
+						.run();
+	}
+
+}
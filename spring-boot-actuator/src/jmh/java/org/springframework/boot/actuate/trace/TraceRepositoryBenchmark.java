@@ -0,0 +1,95 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.trace;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark comparing the {@link TraceRepository} implementations when traces are
+ * added by many concurrent threads. Compile with the {@code benchmark} profile and run
+ * the {@link #main(String[]) main method}, for example from an IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@Threads(8)
+public class TraceRepositoryBenchmark {
+
+	private static final Map<String, Object> TRACE = Collections
+			.<String, Object>singletonMap("path", "/");
+
+	@Param({ "inMemory", "ringBuffer" })
+	private String type;
+
+	@Param({ "100", "5000" })
+	private int capacity;
+
+	private TraceRepository repository;
+
+	@Setup
+	public void setup() {
+		if ("ringBuffer".equals(this.type)) {
+			RingBufferTraceRepository repository = new RingBufferTraceRepository();
+			repository.setCapacity(this.capacity);
+			this.repository = repository;
+		}
+		else {
+			InMemoryTraceRepository repository = new InMemoryTraceRepository();
+			repository.setCapacity(this.capacity);
+			this.repository = repository;
+		}
+	}
+
+	@Benchmark
+	public void add() {
+		this.repository.add(TRACE);
+	}
+
+	@Benchmark
+	@Threads(1)
+	public List<Trace> findAll() {
+		return this.repository.findAll();
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(TraceRepositoryBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.autoconfigure;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.actuate.health.CompositeHealthIndicator;
+import org.springframework.boot.actuate.health.CompositeHealthIndicatorCustomizer;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * {@link CompositeHealthIndicatorCustomizer} that configures concurrent evaluation of
+ * health indicators on a bounded thread pool using {@link HealthIndicatorProperties}.
+ * At most as many checks as there are threads wait for a free thread, further checks
+ * are rejected rather than queued.
+ */
+class ConcurrentHealthIndicatorCustomizer
+		implements CompositeHealthIndicatorCustomizer, DisposableBean {
+
+	private final HealthIndicatorProperties properties;
+
+	private final ThreadPoolTaskExecutor executor;
+
+	ConcurrentHealthIndicatorCustomizer(HealthIndicatorProperties properties) {
+		this.properties = properties;
+		this.executor = new ThreadPoolTaskExecutor();
+		this.executor.setCorePoolSize(properties.getThreads());
+		this.executor.setMaxPoolSize(properties.getThreads());
+		this.executor.setQueueCapacity(properties.getThreads());
+		this.executor.setAllowCoreThreadTimeOut(true);
+		this.executor.setDaemon(true);
+		this.executor.setThreadNamePrefix("health-");
+		this.executor.initialize();
+	}
+
+	@Override
+	public void customize(CompositeHealthIndicator healthIndicator) {
+		healthIndicator.setExecutor(this.executor);
+		healthIndicator.setTimeout(this.properties.getTimeout());
+		healthIndicator.setTimeoutStatus(new Status(this.properties.getTimeoutStatus()));
+	}
+
+	@Override
+	public void destroy() {
+		this.executor.shutdown();
+	}
+
+}
@@ -41,11 +41,15 @@ import org.springframework.boot.actuate.endpoint.MetricsEndpoint;
 import org.springframework.boot.actuate.endpoint.PublicMetrics;
 import org.springframework.boot.actuate.endpoint.RequestMappingEndpoint;
 import org.springframework.boot.actuate.endpoint.ShutdownEndpoint;
+import org.springframework.boot.actuate.endpoint.StartupEndpoint;
+import org.springframework.boot.actuate.endpoint.ThreadProfileEndpoint;
 import org.springframework.boot.actuate.endpoint.TraceEndpoint;
+import org.springframework.boot.actuate.health.CompositeHealthIndicatorCustomizer;
 import org.springframework.boot.actuate.health.HealthAggregator;
 import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.boot.actuate.health.OrderedHealthAggregator;
 import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.boot.actuate.startup.StartupTimeline;
 import org.springframework.boot.actuate.trace.InMemoryTraceRepository;
 import org.springframework.boot.actuate.trace.TraceRepository;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
@@ -85,6 +89,8 @@ public class EndpointAutoConfiguration {
 
 	private final Map<String, HealthIndicator> healthIndicators;
 
+	private final List<CompositeHealthIndicatorCustomizer> healthIndicatorCustomizers;
+
 	private final List<InfoContributor> infoContributors;
 
 	private final Collection<PublicMetrics> publicMetrics;
@@ -94,11 +100,13 @@ public class EndpointAutoConfiguration {
 	public EndpointAutoConfiguration(
 			ObjectProvider<HealthAggregator> healthAggregatorProvider,
 			ObjectProvider<Map<String, HealthIndicator>> healthIndicatorsProvider,
+			ObjectProvider<List<CompositeHealthIndicatorCustomizer>> customizersProvider,
 			ObjectProvider<List<InfoContributor>> infoContributorsProvider,
 			ObjectProvider<Collection<PublicMetrics>> publicMetricsProvider,
 			ObjectProvider<TraceRepository> traceRepositoryProvider) {
 		this.healthAggregator = healthAggregatorProvider.getIfAvailable();
 		this.healthIndicators = healthIndicatorsProvider.getIfAvailable();
+		this.healthIndicatorCustomizers = customizersProvider.getIfAvailable();
 		this.infoContributors = infoContributorsProvider.getIfAvailable();
 		this.publicMetrics = publicMetricsProvider.getIfAvailable();
 		this.traceRepository = traceRepositoryProvider.getIfAvailable();
@@ -118,7 +126,10 @@ public class EndpointAutoConfiguration {
 						: this.healthAggregator,
 				this.healthIndicators == null
 						? Collections.<String, HealthIndicator>emptyMap()
-						: this.healthIndicators);
+						: this.healthIndicators,
+				this.healthIndicatorCustomizers == null
+						? Collections.<CompositeHealthIndicatorCustomizer>emptyList()
+						: this.healthIndicatorCustomizers);
 	}
 
 	@Bean
@@ -158,6 +169,12 @@ public class EndpointAutoConfiguration {
 		return new DumpEndpoint();
 	}
 
+	@Bean
+	@ConditionalOnMissingBean
+	public ThreadProfileEndpoint threadProfileEndpoint() {
+		return new ThreadProfileEndpoint();
+	}
+
 	@Bean
 	@ConditionalOnBean(ConditionEvaluationReport.class)
 	@ConditionalOnMissingBean(search = SearchStrategy.CURRENT)
@@ -171,6 +188,13 @@ public class EndpointAutoConfiguration {
 		return new ShutdownEndpoint();
 	}
 
+	@Bean
+	@ConditionalOnBean(StartupTimeline.class)
+	@ConditionalOnMissingBean(search = SearchStrategy.CURRENT)
+	public StartupEndpoint startupEndpoint(StartupTimeline timeline) {
+		return new StartupEndpoint(timeline);
+	}
+
 	@Bean
 	@ConditionalOnMissingBean
 	public ConfigurationPropertiesReportEndpoint configurationPropertiesReportEndpoint() {
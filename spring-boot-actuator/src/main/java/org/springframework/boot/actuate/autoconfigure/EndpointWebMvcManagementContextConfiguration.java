@@ -22,11 +22,13 @@ import java.util.Set;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.actuate.autoconfigure.ManagementServerProperties.Security;
 import org.springframework.boot.actuate.condition.ConditionalOnEnabledEndpoint;
+import org.springframework.boot.actuate.endpoint.DumpEndpoint;
 import org.springframework.boot.actuate.endpoint.Endpoint;
 import org.springframework.boot.actuate.endpoint.EnvironmentEndpoint;
 import org.springframework.boot.actuate.endpoint.HealthEndpoint;
 import org.springframework.boot.actuate.endpoint.MetricsEndpoint;
 import org.springframework.boot.actuate.endpoint.ShutdownEndpoint;
+import org.springframework.boot.actuate.endpoint.mvc.DumpMvcEndpoint;
 import org.springframework.boot.actuate.endpoint.mvc.EndpointHandlerMapping;
 import org.springframework.boot.actuate.endpoint.mvc.EndpointHandlerMappingCustomizer;
 import org.springframework.boot.actuate.endpoint.mvc.EnvironmentMvcEndpoint;
@@ -125,6 +127,13 @@ public class EndpointWebMvcManagementContextConfiguration {
 		return new MvcEndpoints();
 	}
 
+	@Bean
+	@ConditionalOnBean(DumpEndpoint.class)
+	@ConditionalOnEnabledEndpoint("dump")
+	public DumpMvcEndpoint dumpMvcEndpoint(DumpEndpoint delegate) {
+		return new DumpMvcEndpoint(delegate);
+	}
+
 	@Bean
 	@ConditionalOnBean(EnvironmentEndpoint.class)
 	@ConditionalOnEnabledEndpoint("env")
@@ -34,8 +34,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.actuate.health.ApplicationHealthIndicator;
 import org.springframework.boot.actuate.health.CassandraHealthIndicator;
 import org.springframework.boot.actuate.health.CompositeHealthIndicator;
+import org.springframework.boot.actuate.health.CompositeHealthIndicatorCustomizer;
 import org.springframework.boot.actuate.health.CouchbaseHealthIndicator;
 import org.springframework.boot.actuate.health.DataSourceHealthIndicator;
+import org.springframework.boot.actuate.health.DataSourceHealthIndicatorProperties;
 import org.springframework.boot.actuate.health.DiskSpaceHealthIndicator;
 import org.springframework.boot.actuate.health.DiskSpaceHealthIndicatorProperties;
 import org.springframework.boot.actuate.health.ElasticsearchHealthIndicator;
@@ -48,7 +50,9 @@ import org.springframework.boot.actuate.health.MongoHealthIndicator;
 import org.springframework.boot.actuate.health.OrderedHealthAggregator;
 import org.springframework.boot.actuate.health.RabbitHealthIndicator;
 import org.springframework.boot.actuate.health.RedisHealthIndicator;
+import org.springframework.boot.actuate.health.RedisHealthIndicatorProperties;
 import org.springframework.boot.actuate.health.SolrHealthIndicator;
+import org.springframework.boot.actuate.metrics.GaugeService;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
@@ -57,6 +61,7 @@ import org.springframework.boot.autoconfigure.cassandra.CassandraAutoConfigurati
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.couchbase.CouchbaseAutoConfiguration;
 import org.springframework.boot.autoconfigure.data.cassandra.CassandraDataAutoConfiguration;
 import org.springframework.boot.autoconfigure.data.elasticsearch.ElasticsearchAutoConfiguration;
@@ -101,7 +106,8 @@ import org.springframework.mail.javamail.JavaMailSenderImpl;
 		RabbitAutoConfiguration.class, SolrAutoConfiguration.class,
 		MailSenderAutoConfiguration.class, JmsAutoConfiguration.class,
 		ElasticsearchAutoConfiguration.class })
-@EnableConfigurationProperties({ HealthIndicatorProperties.class })
+@EnableConfigurationProperties({ HealthIndicatorProperties.class,
+		HealthRefreshProperties.class })
 public class HealthIndicatorAutoConfiguration {
 
 	private final HealthIndicatorProperties properties;
@@ -120,6 +126,19 @@ public class HealthIndicatorAutoConfiguration {
 		return healthAggregator;
 	}
 
+	@Bean
+	@ConditionalOnProperty(prefix = "management.health.status", name = "parallel")
+	public CompositeHealthIndicatorCustomizer concurrentHealthIndicatorCustomizer() {
+		return new ConcurrentHealthIndicatorCustomizer(this.properties);
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "management.health.refresh", name = "enabled")
+	public CompositeHealthIndicatorCustomizer refreshingHealthIndicatorCustomizer(
+			HealthRefreshProperties refreshProperties) {
+		return new RefreshingHealthIndicatorCustomizer(refreshProperties);
+	}
+
 	@Bean
 	@ConditionalOnMissingBean(HealthIndicator.class)
 	public ApplicationHealthIndicator applicationHealthIndicator() {
@@ -216,6 +235,7 @@ public class HealthIndicatorAutoConfiguration {
 	@ConditionalOnClass(JdbcTemplate.class)
 	@ConditionalOnBean(DataSource.class)
 	@ConditionalOnEnabledHealthIndicator("db")
+	@EnableConfigurationProperties(DataSourceHealthIndicatorProperties.class)
 	public static class DataSourcesHealthIndicatorConfiguration extends
 			CompositeHealthIndicatorConfiguration<DataSourceHealthIndicator, DataSource>
 			implements InitializingBean {
@@ -224,13 +244,21 @@ public class HealthIndicatorAutoConfiguration {
 
 		private final Collection<DataSourcePoolMetadataProvider> metadataProviders;
 
+		private final DataSourceHealthIndicatorProperties properties;
+
+		private final GaugeService gaugeService;
+
 		private DataSourcePoolMetadataProvider poolMetadataProvider;
 
 		public DataSourcesHealthIndicatorConfiguration(
 				ObjectProvider<Map<String, DataSource>> dataSourcesProvider,
-				ObjectProvider<Collection<DataSourcePoolMetadataProvider>> metadataProvidersProvider) {
+				ObjectProvider<Collection<DataSourcePoolMetadataProvider>> metadataProvidersProvider,
+				DataSourceHealthIndicatorProperties properties,
+				ObjectProvider<GaugeService> gaugeServiceProvider) {
 			this.dataSources = dataSourcesProvider.getIfAvailable();
 			this.metadataProviders = metadataProvidersProvider.getIfAvailable();
+			this.properties = properties;
+			this.gaugeService = gaugeServiceProvider.getIfAvailable();
 		}
 
 		@Override
@@ -247,7 +275,25 @@ public class HealthIndicatorAutoConfiguration {
 
 		@Override
 		protected DataSourceHealthIndicator createHealthIndicator(DataSource source) {
-			return new DataSourceHealthIndicator(source, getValidationQuery(source));
+			DataSourceHealthIndicator indicator = new DataSourceHealthIndicator(source,
+					getValidationQuery(source));
+			indicator.setConnectionValidation(this.properties.isConnectionValidation());
+			indicator.setValidationTimeout(this.properties.getValidationTimeout());
+			indicator.setGaugeService(this.gaugeService);
+			if (this.dataSources.size() > 1) {
+				indicator.setMetricName(
+						"health.db." + getDataSourceName(source) + ".latency");
+			}
+			return indicator;
+		}
+
+		private String getDataSourceName(DataSource source) {
+			for (Map.Entry<String, DataSource> entry : this.dataSources.entrySet()) {
+				if (entry.getValue() == source) {
+					return entry.getKey();
+				}
+			}
+			return null;
 		}
 
 		private String getValidationQuery(DataSource source) {
@@ -282,14 +328,23 @@ public class HealthIndicatorAutoConfiguration {
 	@Configuration
 	@ConditionalOnBean(RedisConnectionFactory.class)
 	@ConditionalOnEnabledHealthIndicator("redis")
+	@EnableConfigurationProperties(RedisHealthIndicatorProperties.class)
 	public static class RedisHealthIndicatorConfiguration extends
 			CompositeHealthIndicatorConfiguration<RedisHealthIndicator, RedisConnectionFactory> {
 
 		private final Map<String, RedisConnectionFactory> redisConnectionFactories;
 
+		private final RedisHealthIndicatorProperties properties;
+
+		private final GaugeService gaugeService;
+
 		public RedisHealthIndicatorConfiguration(
-				Map<String, RedisConnectionFactory> redisConnectionFactories) {
+				Map<String, RedisConnectionFactory> redisConnectionFactories,
+				RedisHealthIndicatorProperties properties,
+				ObjectProvider<GaugeService> gaugeServiceProvider) {
 			this.redisConnectionFactories = redisConnectionFactories;
+			this.properties = properties;
+			this.gaugeService = gaugeServiceProvider.getIfAvailable();
 		}
 
 		@Bean
@@ -298,6 +353,31 @@ public class HealthIndicatorAutoConfiguration {
 			return createHealthIndicator(this.redisConnectionFactories);
 		}
 
+		@Override
+		protected RedisHealthIndicator createHealthIndicator(
+				RedisConnectionFactory source) {
+			RedisHealthIndicator indicator = new RedisHealthIndicator(source);
+			indicator.setMode(this.properties.getMode());
+			indicator.setInfoInterval(this.properties.getInfoInterval());
+			indicator.setNodeChecks(this.properties.isNodeChecks());
+			indicator.setGaugeService(this.gaugeService);
+			if (this.redisConnectionFactories.size() > 1) {
+				indicator.setMetricName(
+						"health.redis." + getConnectionFactoryName(source) + ".latency");
+			}
+			return indicator;
+		}
+
+		private String getConnectionFactoryName(RedisConnectionFactory source) {
+			for (Map.Entry<String, RedisConnectionFactory> entry : this.redisConnectionFactories
+					.entrySet()) {
+				if (entry.getValue() == source) {
+					return entry.getKey();
+				}
+			}
+			return null;
+		}
+
 	}
 
 	@Configuration
@@ -34,6 +34,29 @@ public class HealthIndicatorProperties {
 	 */
 	private List<String> order = null;
 
+	/**
+	 * Evaluate health indicators concurrently rather than one after the other.
+	 */
+	private boolean parallel;
+
+	/**
+	 * Maximum number of threads used to evaluate health indicators concurrently. The
+	 * same number of checks can wait for a thread, further checks are reported with the
+	 * timeout status.
+	 */
+	private int threads = 4;
+
+	/**
+	 * Maximum time in milliseconds to wait for each health indicator when they are
+	 * evaluated concurrently.
+	 */
+	private long timeout = 10000;
+
+	/**
+	 * Health status reported for a health indicator that does not respond in time.
+	 */
+	private String timeoutStatus = "UNKNOWN";
+
 	public List<String> getOrder() {
 		return this.order;
 	}
@@ -44,4 +67,36 @@ public class HealthIndicatorProperties {
 		}
 	}
 
+	public boolean isParallel() {
+		return this.parallel;
+	}
+
+	public void setParallel(boolean parallel) {
+		this.parallel = parallel;
+	}
+
+	public int getThreads() {
+		return this.threads;
+	}
+
+	public void setThreads(int threads) {
+		this.threads = threads;
+	}
+
+	public long getTimeout() {
+		return this.timeout;
+	}
+
+	public void setTimeout(long timeout) {
+		this.timeout = timeout;
+	}
+
+	public String getTimeoutStatus() {
+		return this.timeoutStatus;
+	}
+
+	public void setTimeoutStatus(String timeoutStatus) {
+		this.timeoutStatus = timeoutStatus;
+	}
+
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.autoconfigure;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.health.RefreshingHealthIndicator;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for refreshing health indicators in the background.
+ *
+ * @since 1.4.0
+ * @see RefreshingHealthIndicator
+ */
+@ConfigurationProperties(prefix = "management.health.refresh")
+public class HealthRefreshProperties {
+
+	/**
+	 * Refresh health indicators in the background and serve the latest results rather
+	 * than checking them on each request.
+	 */
+	private boolean enabled;
+
+	/**
+	 * Delay in milliseconds between two checks of the same health indicator.
+	 */
+	private long interval = 10000;
+
+	/**
+	 * Delay in milliseconds between two checks of specific health indicators, keyed by
+	 * health indicator name. Overrides the default interval.
+	 */
+	private Map<String, Long> intervals = new HashMap<String, Long>();
+
+	/**
+	 * Number of threads used to refresh health indicators.
+	 */
+	private int threads = 2;
+
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public long getInterval() {
+		return this.interval;
+	}
+
+	public void setInterval(long interval) {
+		this.interval = interval;
+	}
+
+	public Map<String, Long> getIntervals() {
+		return this.intervals;
+	}
+
+	public void setIntervals(Map<String, Long> intervals) {
+		this.intervals = intervals;
+	}
+
+	public int getThreads() {
+		return this.threads;
+	}
+
+	public void setThreads(int threads) {
+		this.threads = threads;
+	}
+
+}
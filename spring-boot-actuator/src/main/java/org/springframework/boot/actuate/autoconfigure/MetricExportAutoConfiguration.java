@@ -16,6 +16,7 @@
 
 package org.springframework.boot.actuate.autoconfigure;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -27,6 +28,8 @@ import org.springframework.boot.actuate.endpoint.MetricsEndpointMetricReader;
 import org.springframework.boot.actuate.metrics.export.Exporter;
 import org.springframework.boot.actuate.metrics.export.MetricExportProperties;
 import org.springframework.boot.actuate.metrics.export.MetricExporters;
+import org.springframework.boot.actuate.metrics.histogram.HistogramMetricReader;
+import org.springframework.boot.actuate.metrics.histogram.HistogramReader;
 import org.springframework.boot.actuate.metrics.reader.CompositeMetricReader;
 import org.springframework.boot.actuate.metrics.reader.MetricReader;
 import org.springframework.boot.actuate.metrics.statsd.StatsdMetricWriter;
@@ -61,6 +64,8 @@ public class MetricExportAutoConfiguration {
 
 	private final List<MetricReader> readers;
 
+	private final List<HistogramReader> histogramReaders;
+
 	private final Map<String, GaugeWriter> writers;
 
 	private final Map<String, Exporter> exporters;
@@ -68,11 +73,13 @@ public class MetricExportAutoConfiguration {
 	public MetricExportAutoConfiguration(MetricExportProperties properties,
 			ObjectProvider<MetricsEndpointMetricReader> endpointReaderProvider,
 			@ExportMetricReader ObjectProvider<List<MetricReader>> readersProvider,
+			ObjectProvider<List<HistogramReader>> histogramReadersProvider,
 			@ExportMetricWriter ObjectProvider<Map<String, GaugeWriter>> writersProvider,
 			ObjectProvider<Map<String, Exporter>> exportersProvider) {
 		this.properties = properties;
 		this.endpointReader = endpointReaderProvider.getIfAvailable();
 		this.readers = readersProvider.getIfAvailable();
+		this.histogramReaders = histogramReadersProvider.getIfAvailable();
 		this.writers = writersProvider.getIfAvailable();
 		this.exporters = exportersProvider.getIfAvailable();
 	}
@@ -82,9 +89,10 @@ public class MetricExportAutoConfiguration {
 	public SchedulingConfigurer metricWritersMetricExporter() {
 		Map<String, GaugeWriter> writers = new HashMap<String, GaugeWriter>();
 		MetricReader reader = this.endpointReader;
-		if (reader == null && !CollectionUtils.isEmpty(this.readers)) {
+		List<MetricReader> readers = getReaders();
+		if (reader == null && !readers.isEmpty()) {
 			reader = new CompositeMetricReader(
-					this.readers.toArray(new MetricReader[this.readers.size()]));
+					readers.toArray(new MetricReader[readers.size()]));
 		}
 		if (reader == null && CollectionUtils.isEmpty(this.exporters)) {
 			return new NoOpSchedulingConfigurer();
@@ -102,6 +110,19 @@ public class MetricExportAutoConfiguration {
 		return exporters;
 	}
 
+	private List<MetricReader> getReaders() {
+		List<MetricReader> readers = new ArrayList<MetricReader>();
+		if (!CollectionUtils.isEmpty(this.readers)) {
+			readers.addAll(this.readers);
+		}
+		if (!CollectionUtils.isEmpty(this.histogramReaders)) {
+			for (HistogramReader histogramReader : this.histogramReaders) {
+				readers.add(new HistogramMetricReader(histogramReader));
+			}
+		}
+		return readers;
+	}
+
 	@Bean
 	@ExportMetricWriter
 	@ConditionalOnMissingBean
@@ -19,8 +19,10 @@ package org.springframework.boot.actuate.autoconfigure;
 import javax.servlet.Servlet;
 import javax.servlet.ServletRegistration;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.actuate.metrics.CounterService;
 import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.boot.actuate.metrics.histogram.HistogramService;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
@@ -34,7 +36,8 @@ import org.springframework.web.servlet.HandlerMapping;
 
 /**
  * {@link EnableAutoConfiguration Auto-configuration} that records Servlet interactions
- * with a {@link CounterService} and {@link GaugeService}.
+ * with a {@link CounterService} and {@link GaugeService}. Response times are also
+ * recorded with a {@link HistogramService} if one is available.
  *
  * @author Dave Syer
  * @author Phillip Webb
@@ -54,18 +57,24 @@ public class MetricFilterAutoConfiguration {
 
 	private final GaugeService gaugeService;
 
+	private final HistogramService histogramService;
+
 	private final MetricFilterProperties properties;
 
 	public MetricFilterAutoConfiguration(CounterService counterService,
-			GaugeService gaugeService, MetricFilterProperties properties) {
+			GaugeService gaugeService,
+			ObjectProvider<HistogramService> histogramServiceProvider,
+			MetricFilterProperties properties) {
 		this.counterService = counterService;
 		this.gaugeService = gaugeService;
+		this.histogramService = histogramServiceProvider.getIfAvailable();
 		this.properties = properties;
 	}
 
 	@Bean
 	public MetricsFilter metricFilter() {
-		return new MetricsFilter(this.counterService, this.gaugeService, this.properties);
+		return new MetricsFilter(this.counterService, this.gaugeService,
+				this.histogramService, this.properties);
 	}
 
 }
@@ -18,6 +18,8 @@ package org.springframework.boot.actuate.autoconfigure;
 
 import java.util.EnumSet;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -42,11 +44,36 @@ public class MetricFilterProperties {
 	 */
 	private Set<MetricsFilterSubmission> counterSubmissions;
 
+	/**
+	 * Submissions that should be made to the histogram.
+	 */
+	private Set<MetricsFilterSubmission> histogramSubmissions;
+
+	/**
+	 * Maximum number of distinct metric names recorded under each of the "response." and
+	 * "status." prefixes. Further names are recorded under the overflow name of the
+	 * prefix. -1 means no limit.
+	 */
+	private int maxNames = 1000;
+
+	/**
+	 * Maximum number of distinct metric names recorded under specific prefixes (e.g.
+	 * "status.404."), overriding max-names.
+	 */
+	private Map<String, Integer> maxNamesByPrefix = new LinkedHashMap<String, Integer>();
+
+	/**
+	 * Name, relative to its prefix, used for metrics that exceed the maximum number of
+	 * names.
+	 */
+	private String overflowName = "overflow";
+
 	public MetricFilterProperties() {
 		this.gaugeSubmissions = new HashSet<MetricsFilterSubmission>(
 				EnumSet.of(MetricsFilterSubmission.MERGED));
 		this.counterSubmissions = new HashSet<MetricsFilterSubmission>(
 				EnumSet.of(MetricsFilterSubmission.MERGED));
+		this.histogramSubmissions = new HashSet<MetricsFilterSubmission>();
 	}
 
 	public Set<MetricsFilterSubmission> getGaugeSubmissions() {
@@ -65,6 +92,39 @@ public class MetricFilterProperties {
 		this.counterSubmissions = counterSubmissions;
 	}
 
+	public Set<MetricsFilterSubmission> getHistogramSubmissions() {
+		return this.histogramSubmissions;
+	}
+
+	public void setHistogramSubmissions(
+			Set<MetricsFilterSubmission> histogramSubmissions) {
+		this.histogramSubmissions = histogramSubmissions;
+	}
+
+	public int getMaxNames() {
+		return this.maxNames;
+	}
+
+	public void setMaxNames(int maxNames) {
+		this.maxNames = maxNames;
+	}
+
+	public Map<String, Integer> getMaxNamesByPrefix() {
+		return this.maxNamesByPrefix;
+	}
+
+	public void setMaxNamesByPrefix(Map<String, Integer> maxNamesByPrefix) {
+		this.maxNamesByPrefix = maxNamesByPrefix;
+	}
+
+	public String getOverflowName() {
+		return this.overflowName;
+	}
+
+	public void setOverflowName(String overflowName) {
+		this.overflowName = overflowName;
+	}
+
 	boolean shouldSubmitToGauge(MetricsFilterSubmission submission) {
 		return shouldSubmit(this.gaugeSubmissions, submission);
 	}
@@ -73,6 +133,10 @@ public class MetricFilterProperties {
 		return shouldSubmit(this.counterSubmissions, submission);
 	}
 
+	boolean shouldSubmitToHistogram(MetricsFilterSubmission submission) {
+		return shouldSubmit(this.histogramSubmissions, submission);
+	}
+
 	private boolean shouldSubmit(Set<MetricsFilterSubmission> submissions,
 			MetricsFilterSubmission submission) {
 		return submissions != null && submissions.contains(submission);
@@ -27,6 +27,8 @@ import org.springframework.boot.actuate.metrics.buffer.CounterBuffers;
 import org.springframework.boot.actuate.metrics.buffer.GaugeBuffers;
 import org.springframework.boot.actuate.metrics.export.Exporter;
 import org.springframework.boot.actuate.metrics.export.MetricCopyExporter;
+import org.springframework.boot.actuate.metrics.histogram.HistogramService;
+import org.springframework.boot.actuate.metrics.histogram.InMemoryHistogramRepository;
 import org.springframework.boot.actuate.metrics.repository.InMemoryMetricRepository;
 import org.springframework.boot.actuate.metrics.repository.MetricRepository;
 import org.springframework.boot.actuate.metrics.writer.DefaultCounterService;
@@ -65,6 +67,11 @@ import org.springframework.messaging.MessageChannel;
  * "histogram.*", "meter.*". "timer.*") and sending them to the {@code GaugeService} or
  * {@code CounterService}.
  * <p>
+ * An {@link InMemoryHistogramRepository} is also created unless another
+ * {@link HistogramService} is already provided by the user. It keeps fixed size
+ * histograms of recorded values (e.g. response times) whose percentiles are exposed
+ * and exported as regular metrics.
+ * <p>
  * By default all metric updates go to all {@link MetricWriter} instances in the
  * application context via a {@link MetricCopyExporter} firing every 5 seconds (disable
  * this by setting {@code spring.metrics.export.enabled=false}).
@@ -73,6 +80,7 @@ import org.springframework.messaging.MessageChannel;
  * @see CounterService
  * @see MetricWriter
  * @see InMemoryMetricRepository
+ * @see InMemoryHistogramRepository
  * @see Exporter
  *
  * @author Dave Syer
@@ -157,4 +165,15 @@ public class MetricRepositoryAutoConfiguration {
 
 	}
 
+	@Configuration
+	@ConditionalOnMissingBean(HistogramService.class)
+	static class HistogramServiceConfiguration {
+
+		@Bean
+		public InMemoryHistogramRepository histogramService() {
+			return new InMemoryHistogramRepository();
+		}
+
+	}
+
 }
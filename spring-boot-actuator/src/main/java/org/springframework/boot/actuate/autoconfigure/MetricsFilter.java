@@ -18,8 +18,13 @@ package org.springframework.boot.actuate.autoconfigure;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -33,35 +38,61 @@ import org.apache.commons.logging.LogFactory;
 
 import org.springframework.boot.actuate.metrics.CounterService;
 import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.boot.actuate.metrics.histogram.HistogramService;
+import org.springframework.boot.actuate.metrics.util.MetricNameLimiter;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatus.Series;
-import org.springframework.util.StopWatch;
+import org.springframework.util.ObjectUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.util.UrlPathHelper;
 
 /**
- * Filter that counts requests and measures processing times.
+ * Filter that counts requests and measures processing times. The number of distinct
+ * metric names is limited by a {@link MetricNameLimiter} and each name that is rejected
+ * increments the {@code metrics.names.rejected} counter.
  */
 @Order(Ordered.HIGHEST_PRECEDENCE)
 final class MetricsFilter extends OncePerRequestFilter {
 
-	private static final String ATTRIBUTE_STOP_WATCH = MetricsFilter.class.getName()
-			+ ".StopWatch";
+	private static final String ATTRIBUTE_START_TIME = MetricsFilter.class.getName()
+			+ ".StartTime";
 
 	private static final int UNDEFINED_HTTP_STATUS = 999;
 
 	private static final String UNKNOWN_PATH_SUFFIX = "/unmapped";
 
+	private static final int MAX_CACHED_KEYS = 1000;
+
+	private static final String REJECTED_NAMES_METRIC = "metrics.names.rejected";
+
+	private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+
 	private static final Log logger = LogFactory.getLog(MetricsFilter.class);
 
 	private final CounterService counterService;
 
 	private final GaugeService gaugeService;
 
-	private final MetricFilterProperties properties;
+	private final HistogramService histogramService;
+
+	private final MetricNameLimiter nameLimiter;
+
+	private final ConcurrentMap<RequestKey, MetricKeys> metricKeys;
+
+	private final boolean submitGauge;
+
+	private final boolean submitCounter;
+
+	private final boolean submitHistogram;
+
+	private final boolean submitMethodGauge;
+
+	private final boolean submitMethodCounter;
+
+	private final boolean submitMethodHistogram;
 
 	private static final Set<PatternReplacer> STATUS_REPLACERS;
 
@@ -75,20 +106,44 @@ final class MetricsFilter extends OncePerRequestFilter {
 		STATUS_REPLACERS = Collections.unmodifiableSet(replacements);
 	}
 
-	private static final Set<PatternReplacer> KEY_REPLACERS;
-
-	static {
-		Set<PatternReplacer> replacements = new LinkedHashSet<PatternReplacer>();
-		replacements.add(new PatternReplacer("/", Pattern.LITERAL, "."));
-		replacements.add(new PatternReplacer("..", Pattern.LITERAL, "."));
-		KEY_REPLACERS = Collections.unmodifiableSet(replacements);
+	MetricsFilter(CounterService counterService, GaugeService gaugeService,
+			MetricFilterProperties properties) {
+		this(counterService, gaugeService, null, properties);
 	}
 
 	MetricsFilter(CounterService counterService, GaugeService gaugeService,
-			MetricFilterProperties properties) {
+			HistogramService histogramService, MetricFilterProperties properties) {
 		this.counterService = counterService;
 		this.gaugeService = gaugeService;
-		this.properties = properties;
+		this.histogramService = histogramService;
+		this.nameLimiter = createNameLimiter(properties);
+		this.metricKeys = new ConcurrentHashMap<RequestKey, MetricKeys>();
+		this.submitGauge = properties
+				.shouldSubmitToGauge(MetricsFilterSubmission.MERGED);
+		this.submitCounter = properties
+				.shouldSubmitToCounter(MetricsFilterSubmission.MERGED);
+		this.submitHistogram = histogramService != null
+				&& properties.shouldSubmitToHistogram(MetricsFilterSubmission.MERGED);
+		this.submitMethodGauge = properties
+				.shouldSubmitToGauge(MetricsFilterSubmission.PER_HTTP_METHOD);
+		this.submitMethodCounter = properties
+				.shouldSubmitToCounter(MetricsFilterSubmission.PER_HTTP_METHOD);
+		this.submitMethodHistogram = histogramService != null && properties
+				.shouldSubmitToHistogram(MetricsFilterSubmission.PER_HTTP_METHOD);
+	}
+
+	private static MetricNameLimiter createNameLimiter(
+			MetricFilterProperties properties) {
+		Map<String, Integer> limits = new LinkedHashMap<String, Integer>();
+		limits.put("response.", properties.getMaxNames());
+		limits.put("status.", properties.getMaxNames());
+		if (properties.getMaxNamesByPrefix() != null) {
+			limits.putAll(properties.getMaxNamesByPrefix());
+		}
+		MetricNameLimiter limiter = new MetricNameLimiter(properties.getMaxNames(),
+				limits);
+		limiter.setOverflowName(properties.getOverflowName());
+		return limiter;
 	}
 
 	@Override
@@ -100,30 +155,27 @@ final class MetricsFilter extends OncePerRequestFilter {
 	protected void doFilterInternal(HttpServletRequest request,
 			HttpServletResponse response, FilterChain chain)
 					throws ServletException, IOException {
-		StopWatch stopWatch = createStopWatchIfNecessary(request);
-		String path = new UrlPathHelper().getPathWithinApplication(request);
+		long startTime = getStartTime(request);
 		int status = HttpStatus.INTERNAL_SERVER_ERROR.value();
 		try {
 			chain.doFilter(request, response);
 			status = getStatus(response);
 		}
 		finally {
-			if (!request.isAsyncStarted()) {
-				stopWatch.stop();
-				request.removeAttribute(ATTRIBUTE_STOP_WATCH);
-				recordMetrics(request, path, status, stopWatch.getTotalTimeMillis());
+			if (request.isAsyncStarted()) {
+				request.setAttribute(ATTRIBUTE_START_TIME, startTime);
+			}
+			else {
+				request.removeAttribute(ATTRIBUTE_START_TIME);
+				long time = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+				recordMetrics(request, status, time);
 			}
 		}
 	}
 
-	private StopWatch createStopWatchIfNecessary(HttpServletRequest request) {
-		StopWatch stopWatch = (StopWatch) request.getAttribute(ATTRIBUTE_STOP_WATCH);
-		if (stopWatch == null) {
-			stopWatch = new StopWatch();
-			stopWatch.start();
-			request.setAttribute(ATTRIBUTE_STOP_WATCH, stopWatch);
-		}
-		return stopWatch;
+	private long getStartTime(HttpServletRequest request) {
+		Object startTime = request.getAttribute(ATTRIBUTE_START_TIME);
+		return (startTime instanceof Long ? (Long) startTime : System.nanoTime());
 	}
 
 	private int getStatus(HttpServletResponse response) {
@@ -135,26 +187,93 @@ final class MetricsFilter extends OncePerRequestFilter {
 		}
 	}
 
-	private void recordMetrics(HttpServletRequest request, String path, int status,
-			long time) {
-		String suffix = getFinalStatus(request, path, status);
-		submitMetrics(MetricsFilterSubmission.MERGED, request, status, time, suffix);
-		submitMetrics(MetricsFilterSubmission.PER_HTTP_METHOD, request, status, time,
-				suffix);
+	private void recordMetrics(HttpServletRequest request, int status, long time) {
+		MetricKeys keys = getMetricKeys(request, status);
+		// Each distinct name is limited once so that a rejection is only counted once
+		if (keys.gauge != null) {
+			String gauge = limit(keys.gauge);
+			if (this.submitGauge) {
+				submitToGauge(gauge, time);
+			}
+			if (this.submitHistogram) {
+				recordInHistogram(gauge, time);
+			}
+		}
+		if (keys.counter != null) {
+			incrementCounter(limit(keys.counter));
+		}
+		if (keys.methodGauge != null) {
+			String methodGauge = limit(keys.methodGauge);
+			if (this.submitMethodGauge) {
+				submitToGauge(methodGauge, time);
+			}
+			if (this.submitMethodHistogram) {
+				recordInHistogram(methodGauge, time);
+			}
+		}
+		if (keys.methodCounter != null) {
+			incrementCounter(limit(keys.methodCounter));
+		}
 	}
 
-	private String getFinalStatus(HttpServletRequest request, String path, int status) {
+	private String limit(String metricName) {
+		String name = this.nameLimiter.limit(metricName);
+		if (!name.equals(metricName)) {
+			incrementCounter(REJECTED_NAMES_METRIC);
+		}
+		return name;
+	}
+
+	private MetricKeys getMetricKeys(HttpServletRequest request, int status) {
 		Object bestMatchingPattern = request
 				.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		RequestKey requestKey = new RequestKey(getPath(request, bestMatchingPattern,
+				status), bestMatchingPattern != null, request.getMethod(), status);
+		MetricKeys keys = this.metricKeys.get(requestKey);
+		if (keys == null) {
+			keys = createMetricKeys(requestKey);
+			// Raw paths are unbounded so only patterns and the unmapped path are cached
+			if ((requestKey.pattern || UNKNOWN_PATH_SUFFIX.equals(requestKey.path))
+					&& this.metricKeys.size() < MAX_CACHED_KEYS) {
+				this.metricKeys.putIfAbsent(requestKey, keys);
+			}
+		}
+		return keys;
+	}
+
+	private MetricKeys createMetricKeys(RequestKey requestKey) {
+		String suffix = getFinalStatus(requestKey);
+		String prefix = requestKey.method + ".";
+		int status = requestKey.status;
+		String gauge = (this.submitGauge || this.submitHistogram
+				? getKey("response." + suffix) : null);
+		String counter = (this.submitCounter ? getKey("status." + status + suffix)
+				: null);
+		String methodGauge = (this.submitMethodGauge || this.submitMethodHistogram
+				? getKey("response." + prefix + suffix) : null);
+		String methodCounter = (this.submitMethodCounter
+				? getKey("status." + prefix + status + suffix) : null);
+		return new MetricKeys(gauge, counter, methodGauge, methodCounter);
+	}
+
+	private String getPath(HttpServletRequest request, Object bestMatchingPattern,
+			int status) {
 		if (bestMatchingPattern != null) {
-			return fixSpecialCharacters(bestMatchingPattern.toString());
+			return bestMatchingPattern.toString();
 		}
 		Series series = getSeries(status);
 		if (Series.CLIENT_ERROR.equals(series) || Series.SERVER_ERROR.equals(series)
 				|| Series.REDIRECTION.equals(series)) {
 			return UNKNOWN_PATH_SUFFIX;
 		}
-		return path;
+		return URL_PATH_HELPER.getPathWithinApplication(request);
+	}
+
+	private String getFinalStatus(RequestKey requestKey) {
+		if (requestKey.pattern) {
+			return fixSpecialCharacters(requestKey.path);
+		}
+		return requestKey.path;
 	}
 
 	private String fixSpecialCharacters(String value) {
@@ -180,41 +299,42 @@ final class MetricsFilter extends OncePerRequestFilter {
 		}
 	}
 
-	private void submitMetrics(MetricsFilterSubmission submission,
-			HttpServletRequest request, int status, long time, String suffix) {
-		String prefix = "";
-		if (submission == MetricsFilterSubmission.PER_HTTP_METHOD) {
-			prefix = request.getMethod() + ".";
+	private static String getKey(String string) {
+		// graphite compatible metric names, '/' becomes '.' and repeated '.' collapse
+		StringBuilder key = new StringBuilder(string.length() + 4);
+		for (int i = 0; i < string.length(); i++) {
+			char ch = string.charAt(i);
+			if (ch == '/') {
+				ch = '.';
+			}
+			if (ch != '.' || key.length() == 0 || key.charAt(key.length() - 1) != '.') {
+				key.append(ch);
+			}
 		}
-		if (this.properties.shouldSubmitToGauge(submission)) {
-			submitToGauge(getKey("response." + prefix + suffix), time);
+		if (key.length() > 0 && key.charAt(key.length() - 1) == '.') {
+			key.append("root");
 		}
-		if (this.properties.shouldSubmitToCounter(submission)) {
-			incrementCounter(getKey("status." + prefix + status + suffix));
+		if (key.length() > 0 && key.charAt(0) == '_') {
+			key.deleteCharAt(0);
 		}
+		return key.toString();
 	}
 
-	private String getKey(String string) {
-		// graphite compatible metric names
-		String key = string;
-		for (PatternReplacer replacer : KEY_REPLACERS) {
-			key = replacer.apply(key);
-		}
-		if (key.endsWith(".")) {
-			key = key + "root";
+	private void submitToGauge(String metricName, double value) {
+		try {
+			this.gaugeService.submit(metricName, value);
 		}
-		if (key.startsWith("_")) {
-			key = key.substring(1);
+		catch (Exception ex) {
+			logger.warn("Unable to submit gauge metric '" + metricName + "'", ex);
 		}
-		return key;
 	}
 
-	private void submitToGauge(String metricName, double value) {
+	private void recordInHistogram(String metricName, long value) {
 		try {
-			this.gaugeService.submit(metricName, value);
+			this.histogramService.record(metricName, value);
 		}
 		catch (Exception ex) {
-			logger.warn("Unable to submit gauge metric '" + metricName + "'", ex);
+			logger.warn("Unable to submit histogram metric '" + metricName + "'", ex);
 		}
 	}
 
@@ -227,6 +347,75 @@ final class MetricsFilter extends OncePerRequestFilter {
 		}
 	}
 
+	/**
+	 * Key used to cache the {@link MetricKeys} of a request.
+	 */
+	private static final class RequestKey {
+
+		private final String path;
+
+		private final boolean pattern;
+
+		private final String method;
+
+		private final int status;
+
+		RequestKey(String path, boolean pattern, String method, int status) {
+			this.path = path;
+			this.pattern = pattern;
+			this.method = method;
+			this.status = status;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			RequestKey other = (RequestKey) obj;
+			return this.status == other.status && this.pattern == other.pattern
+					&& this.path.equals(other.path)
+					&& ObjectUtils.nullSafeEquals(this.method, other.method);
+		}
+
+		@Override
+		public int hashCode() {
+			int result = this.path.hashCode();
+			result = 31 * result + (this.pattern ? 1 : 0);
+			result = 31 * result + ObjectUtils.nullSafeHashCode(this.method);
+			result = 31 * result + this.status;
+			return result;
+		}
+
+	}
+
+	/**
+	 * The precomputed metric keys of a request, {@code null} for keys that are not
+	 * submitted.
+	 */
+	private static final class MetricKeys {
+
+		private final String gauge;
+
+		private final String counter;
+
+		private final String methodGauge;
+
+		private final String methodCounter;
+
+		MetricKeys(String gauge, String counter, String methodGauge,
+				String methodCounter) {
+			this.gauge = gauge;
+			this.counter = counter;
+			this.methodGauge = methodGauge;
+			this.methodCounter = methodCounter;
+		}
+
+	}
+
 	private static class PatternReplacer {
 
 		private final Pattern pattern;
@@ -27,11 +27,14 @@ import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.actuate.cache.CacheStatisticsProvider;
 import org.springframework.boot.actuate.endpoint.CachePublicMetrics;
 import org.springframework.boot.actuate.endpoint.DataSourcePublicMetrics;
+import org.springframework.boot.actuate.endpoint.GarbageCollectionPublicMetrics;
 import org.springframework.boot.actuate.endpoint.MetricReaderPublicMetrics;
 import org.springframework.boot.actuate.endpoint.PublicMetrics;
 import org.springframework.boot.actuate.endpoint.RichGaugeReaderPublicMetrics;
 import org.springframework.boot.actuate.endpoint.SystemPublicMetrics;
 import org.springframework.boot.actuate.endpoint.TomcatPublicMetrics;
+import org.springframework.boot.actuate.metrics.histogram.HistogramMetricReader;
+import org.springframework.boot.actuate.metrics.histogram.HistogramReader;
 import org.springframework.boot.actuate.metrics.integration.SpringIntegrationMetricReader;
 import org.springframework.boot.actuate.metrics.reader.CompositeMetricReader;
 import org.springframework.boot.actuate.metrics.reader.MetricReader;
@@ -97,6 +100,28 @@ public class PublicMetricsAutoConfiguration {
 		return new RichGaugeReaderPublicMetrics(richGaugeReader);
 	}
 
+	@Bean
+	@ConditionalOnBean(HistogramReader.class)
+	@ConditionalOnMissingBean(name = "histogramPublicMetrics")
+	public MetricReaderPublicMetrics histogramPublicMetrics(
+			HistogramReader histogramReader) {
+		return new MetricReaderPublicMetrics(new HistogramMetricReader(histogramReader));
+	}
+
+	@Configuration
+	@ConditionalOnJava(JavaVersion.SEVEN)
+	@ConditionalOnClass(name = "com.sun.management.GarbageCollectionNotificationInfo")
+	@UsesJava7
+	static class GarbageCollectionMetricsConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean
+		public GarbageCollectionPublicMetrics garbageCollectionPublicMetrics() {
+			return new GarbageCollectionPublicMetrics();
+		}
+
+	}
+
 	@Configuration
 	@ConditionalOnClass(DataSource.class)
 	@ConditionalOnBean(DataSource.class)
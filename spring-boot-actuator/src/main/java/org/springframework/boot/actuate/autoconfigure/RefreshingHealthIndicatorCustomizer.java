@@ -0,0 +1,133 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.autoconfigure;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.health.CompositeHealthIndicator;
+import org.springframework.boot.actuate.health.CompositeHealthIndicatorCustomizer;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.RefreshingHealthIndicator;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * {@link CompositeHealthIndicatorCustomizer} that replaces each health indicator with a
+ * {@link RefreshingHealthIndicator} that is refreshed on its own schedule using
+ * {@link HealthRefreshProperties}. Refreshes are only scheduled once the application
+ * context has started.
+ */
+class RefreshingHealthIndicatorCustomizer
+		implements CompositeHealthIndicatorCustomizer, SmartLifecycle {
+
+	private final HealthRefreshProperties properties;
+
+	private final Map<RefreshingHealthIndicator, Long> intervals = new LinkedHashMap<RefreshingHealthIndicator, Long>();
+
+	private final Object monitor = new Object();
+
+	private ThreadPoolTaskScheduler scheduler;
+
+	RefreshingHealthIndicatorCustomizer(HealthRefreshProperties properties) {
+		this.properties = properties;
+	}
+
+	@Override
+	public void customize(CompositeHealthIndicator healthIndicator) {
+		synchronized (this.monitor) {
+			for (Map.Entry<String, HealthIndicator> entry : healthIndicator
+					.getHealthIndicators().entrySet()) {
+				RefreshingHealthIndicator refreshing = new RefreshingHealthIndicator(
+						entry.getValue());
+				healthIndicator.addHealthIndicator(entry.getKey(), refreshing);
+				long interval = getInterval(entry.getKey());
+				this.intervals.put(refreshing, interval);
+				if (this.scheduler != null) {
+					schedule(refreshing, interval);
+				}
+			}
+		}
+	}
+
+	private long getInterval(String name) {
+		Long interval = this.properties.getIntervals().get(name);
+		return (interval != null ? interval : this.properties.getInterval());
+	}
+
+	private void schedule(final RefreshingHealthIndicator refreshing, long interval) {
+		this.scheduler.scheduleWithFixedDelay(new Runnable() {
+
+			@Override
+			public void run() {
+				refreshing.refresh();
+			}
+
+		}, interval);
+	}
+
+	@Override
+	public void start() {
+		synchronized (this.monitor) {
+			if (this.scheduler == null) {
+				this.scheduler = new ThreadPoolTaskScheduler();
+				this.scheduler.setPoolSize(this.properties.getThreads());
+				this.scheduler.setDaemon(true);
+				this.scheduler.setThreadNamePrefix("health-refresh-");
+				this.scheduler.initialize();
+				for (Map.Entry<RefreshingHealthIndicator, Long> entry : this.intervals
+						.entrySet()) {
+					schedule(entry.getKey(), entry.getValue());
+				}
+			}
+		}
+	}
+
+	@Override
+	public void stop() {
+		synchronized (this.monitor) {
+			if (this.scheduler != null) {
+				this.scheduler.shutdown();
+				this.scheduler = null;
+			}
+		}
+	}
+
+	@Override
+	public void stop(Runnable callback) {
+		stop();
+		callback.run();
+	}
+
+	@Override
+	public boolean isRunning() {
+		synchronized (this.monitor) {
+			return this.scheduler != null;
+		}
+	}
+
+	@Override
+	public boolean isAutoStartup() {
+		return true;
+	}
+
+	@Override
+	public int getPhase() {
+		return 0;
+	}
+
+}
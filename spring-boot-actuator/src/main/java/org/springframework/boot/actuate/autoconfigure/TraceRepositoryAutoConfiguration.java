@@ -17,9 +17,13 @@
 package org.springframework.boot.actuate.autoconfigure;
 
 import org.springframework.boot.actuate.trace.InMemoryTraceRepository;
+import org.springframework.boot.actuate.trace.RingBufferTraceRepository;
+import org.springframework.boot.actuate.trace.TraceProperties;
 import org.springframework.boot.actuate.trace.TraceRepository;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -29,12 +33,31 @@ import org.springframework.context.annotation.Configuration;
  * @author Dave Syer
  */
 @Configuration
+@EnableConfigurationProperties(TraceProperties.class)
 public class TraceRepositoryAutoConfiguration {
 
+	private final TraceProperties properties;
+
+	public TraceRepositoryAutoConfiguration(TraceProperties properties) {
+		this.properties = properties;
+	}
+
+	@ConditionalOnMissingBean(TraceRepository.class)
+	@ConditionalOnProperty(prefix = "management.trace", name = "repository-type", havingValue = "ring-buffer")
+	@Bean
+	public RingBufferTraceRepository ringBufferTraceRepository() {
+		RingBufferTraceRepository repository = new RingBufferTraceRepository();
+		repository.setCapacity(this.properties.getCapacity());
+		return repository;
+	}
+
 	@ConditionalOnMissingBean(TraceRepository.class)
+	@ConditionalOnProperty(prefix = "management.trace", name = "repository-type", havingValue = "in-memory", matchIfMissing = true)
 	@Bean
 	public InMemoryTraceRepository traceRepository() {
-		return new InMemoryTraceRepository();
+		InMemoryTraceRepository repository = new InMemoryTraceRepository();
+		repository.setCapacity(this.properties.getCapacity());
+		return repository;
 	}
 
 }
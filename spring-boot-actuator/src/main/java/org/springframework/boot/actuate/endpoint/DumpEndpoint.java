@@ -18,19 +18,61 @@ package org.springframework.boot.actuate.endpoint;
 
 import java.lang.management.ManagementFactory;
 import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.regex.Pattern;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
  * {@link Endpoint} to expose thread info.
+ * <p>
+ * By default every thread is dumped with its complete stack and the monitors and
+ * synchronizers that it has locked. Collecting locks requires the JVM to walk the full
+ * stack of each thread, so a cheaper dump can be configured by disabling
+ * {@link #setLockedMonitors(boolean) lockedMonitors} and
+ * {@link #setLockedSynchronizers(boolean) lockedSynchronizers}, limiting the
+ * {@link #setMaxDepth(int) stack depth} and selecting threads by name.
  *
  * @author Dave Syer
  */
 @ConfigurationProperties(prefix = "endpoints.dump")
 public class DumpEndpoint extends AbstractEndpoint<List<ThreadInfo>> {
 
+	/**
+	 * Include the monitors locked by each thread.
+	 */
+	private boolean lockedMonitors = true;
+
+	/**
+	 * Include the ownable synchronizers locked by each thread.
+	 */
+	private boolean lockedSynchronizers = true;
+
+	/**
+	 * Maximum number of stack frames of each thread. Only that number of frames is
+	 * collected when locks are not included, otherwise the stack is truncated when it is
+	 * written. A negative value means no limit.
+	 */
+	private int maxDepth = -1;
+
+	/**
+	 * Regular expressions matching the names of the threads to include. All threads are
+	 * included by default.
+	 */
+	private String[] includes = new String[0];
+
+	/**
+	 * Regular expressions matching the names of the threads to exclude.
+	 */
+	private String[] excludes = new String[0];
+
+	private Pattern[] includePatterns = new Pattern[0];
+
+	private Pattern[] excludePatterns = new Pattern[0];
+
 	/**
 	 * Create a new {@link DumpEndpoint} instance.
 	 */
@@ -38,10 +80,125 @@ public class DumpEndpoint extends AbstractEndpoint<List<ThreadInfo>> {
 		super("dump");
 	}
 
+	public boolean isLockedMonitors() {
+		return this.lockedMonitors;
+	}
+
+	public void setLockedMonitors(boolean lockedMonitors) {
+		this.lockedMonitors = lockedMonitors;
+	}
+
+	public boolean isLockedSynchronizers() {
+		return this.lockedSynchronizers;
+	}
+
+	public void setLockedSynchronizers(boolean lockedSynchronizers) {
+		this.lockedSynchronizers = lockedSynchronizers;
+	}
+
+	public int getMaxDepth() {
+		return this.maxDepth;
+	}
+
+	public void setMaxDepth(int maxDepth) {
+		this.maxDepth = maxDepth;
+	}
+
+	public String[] getIncludes() {
+		return this.includes;
+	}
+
+	public void setIncludes(String... includes) {
+		this.includes = includes;
+		this.includePatterns = compile(includes);
+	}
+
+	public String[] getExcludes() {
+		return this.excludes;
+	}
+
+	public void setExcludes(String... excludes) {
+		this.excludes = excludes;
+		this.excludePatterns = compile(excludes);
+	}
+
+	private Pattern[] compile(String[] regexes) {
+		Pattern[] patterns = new Pattern[regexes.length];
+		for (int i = 0; i < regexes.length; i++) {
+			patterns[i] = Pattern.compile(regexes[i]);
+		}
+		return patterns;
+	}
+
 	@Override
 	public List<ThreadInfo> invoke() {
-		return Arrays
-				.asList(ManagementFactory.getThreadMXBean().dumpAllThreads(true, true));
+		return Arrays.asList(dumpThreads());
+	}
+
+	/**
+	 * Dump the threads according to the configured options. Threads that terminate
+	 * while the dump is taken are omitted.
+	 * @return the thread info of the dumped threads
+	 * @since 1.4.0
+	 */
+	public ThreadInfo[] dumpThreads() {
+		ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+		boolean locks = this.lockedMonitors || this.lockedSynchronizers;
+		boolean filtered = this.includePatterns.length > 0
+				|| this.excludePatterns.length > 0;
+		if (locks && !filtered) {
+			return threadMXBean.dumpAllThreads(this.lockedMonitors,
+					this.lockedSynchronizers);
+		}
+		long[] ids = (filtered ? getMatchingThreadIds(threadMXBean)
+				: threadMXBean.getAllThreadIds());
+		ThreadInfo[] threadInfo = (locks
+				? threadMXBean.getThreadInfo(ids, this.lockedMonitors,
+						this.lockedSynchronizers)
+				: threadMXBean.getThreadInfo(ids,
+						this.maxDepth < 0 ? Integer.MAX_VALUE : this.maxDepth));
+		return removeTerminated(threadInfo);
+	}
+
+	private long[] getMatchingThreadIds(ThreadMXBean threadMXBean) {
+		// Requesting no stack frames only collects the thread names and states
+		ThreadInfo[] threadInfo = threadMXBean
+				.getThreadInfo(threadMXBean.getAllThreadIds(), 0);
+		long[] ids = new long[threadInfo.length];
+		int count = 0;
+		for (ThreadInfo info : threadInfo) {
+			if (info != null && isIncluded(info.getThreadName())) {
+				ids[count++] = info.getThreadId();
+			}
+		}
+		return Arrays.copyOf(ids, count);
+	}
+
+	private boolean isIncluded(String threadName) {
+		if (this.includePatterns.length > 0
+				&& !matchesAny(this.includePatterns, threadName)) {
+			return false;
+		}
+		return !matchesAny(this.excludePatterns, threadName);
+	}
+
+	private boolean matchesAny(Pattern[] patterns, String threadName) {
+		for (Pattern pattern : patterns) {
+			if (pattern.matcher(threadName).matches()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private ThreadInfo[] removeTerminated(ThreadInfo[] threadInfo) {
+		List<ThreadInfo> result = new ArrayList<ThreadInfo>(threadInfo.length);
+		for (ThreadInfo info : threadInfo) {
+			if (info != null) {
+				result.add(info);
+			}
+		}
+		return result.toArray(new ThreadInfo[result.size()]);
 	}
 
 }
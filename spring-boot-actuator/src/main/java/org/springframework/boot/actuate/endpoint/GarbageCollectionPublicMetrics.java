@@ -0,0 +1,274 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.GcInfo;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.core.Ordered;
+import org.springframework.lang.UsesJava7;
+import org.springframework.util.StringUtils;
+
+/**
+ * A {@link PublicMetrics} implementation that listens to the notifications sent by the
+ * garbage collectors at the end of each collection rather than polling their
+ * cumulative counts. For each collector it provides a histogram of the pause durations
+ * in milliseconds ({@code gc.xxx.pause.le.yyy} is the number of pauses that took at
+ * most {@code yyy} milliseconds), the number of pauses and the last and longest pause.
+ * Collections that run concurrently with the application, such as the cycles of the CMS
+ * collector, are not pauses and are provided under {@code gc.xxx.cycle} instead. The
+ * amount of memory allocated in the young generation and promoted to the old
+ * generation between collections is provided in KB, along with the allocation and
+ * promotion rates in KB per second measured at the last collection.
+ * <p>
+ * Handling a notification only updates a few counters. Notifications are sent by Java 7
+ * and later HotSpot based JVMs.
+ *
+ * @since 1.4.0
+ * @see SystemPublicMetrics
+ */
+@UsesJava7
+public class GarbageCollectionPublicMetrics implements PublicMetrics, Ordered,
+		NotificationListener, InitializingBean, DisposableBean {
+
+	private static final long[] PAUSE_BOUNDS = { 1, 5, 10, 50, 100, 500, 1000, 5000 };
+
+	private final ConcurrentMap<String, CollectorMetrics> collectors = new ConcurrentHashMap<String, CollectorMetrics>();
+
+	private final List<NotificationEmitter> emitters = new ArrayList<NotificationEmitter>();
+
+	private final AtomicLong allocated = new AtomicLong();
+
+	private final AtomicLong promoted = new AtomicLong();
+
+	private volatile long allocationRate;
+
+	private volatile long promotionRate;
+
+	private final Map<String, Long> youngUsageAfterLastCollection = new HashMap<String, Long>();
+
+	private long lastCollectionEndTime = -1;
+
+	@Override
+	public int getOrder() {
+		return Ordered.HIGHEST_PRECEDENCE + 11;
+	}
+
+	@Override
+	public void afterPropertiesSet() throws Exception {
+		for (GarbageCollectorMXBean garbageCollector : ManagementFactory
+				.getGarbageCollectorMXBeans()) {
+			String name = garbageCollector.getName();
+			getCollectorMetrics(name, isConcurrent(name, null));
+			if (garbageCollector instanceof NotificationEmitter) {
+				NotificationEmitter emitter = (NotificationEmitter) garbageCollector;
+				emitter.addNotificationListener(this, null, null);
+				this.emitters.add(emitter);
+			}
+		}
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		for (NotificationEmitter emitter : this.emitters) {
+			try {
+				emitter.removeNotificationListener(this);
+			}
+			catch (ListenerNotFoundException ex) {
+				// Continue
+			}
+		}
+		this.emitters.clear();
+	}
+
+	@Override
+	public void handleNotification(Notification notification, Object handback) {
+		if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION
+				.equals(notification.getType())) {
+			return;
+		}
+		GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo
+				.from((CompositeData) notification.getUserData());
+		GcInfo gcInfo = info.getGcInfo();
+		recordCollection(info.getGcName(), info.getGcAction(), gcInfo.getStartTime(),
+				gcInfo.getEndTime(), gcInfo.getMemoryUsageBeforeGc(),
+				gcInfo.getMemoryUsageAfterGc());
+	}
+
+	/**
+	 * Record a garbage collection.
+	 * @param collector the name of the garbage collector
+	 * @param action the action performed by the collector, for example
+	 * {@code end of minor GC}
+	 * @param startTime the start time of the collection in milliseconds since the JVM
+	 * started
+	 * @param endTime the end time of the collection in milliseconds since the JVM
+	 * started
+	 * @param before the usage of each memory pool before the collection
+	 * @param after the usage of each memory pool after the collection
+	 */
+	protected void recordCollection(String collector, String action, long startTime,
+			long endTime, Map<String, MemoryUsage> before,
+			Map<String, MemoryUsage> after) {
+		getCollectorMetrics(collector, isConcurrent(collector, action))
+				.record(endTime - startTime);
+		synchronized (this.youngUsageAfterLastCollection) {
+			long allocated = 0;
+			long promoted = 0;
+			for (Map.Entry<String, MemoryUsage> entry : before.entrySet()) {
+				String pool = entry.getKey();
+				long usedBefore = entry.getValue().getUsed();
+				long usedAfter = (after.containsKey(pool) ? after.get(pool).getUsed()
+						: usedBefore);
+				if (isYoungGeneration(pool)) {
+					Long previous = this.youngUsageAfterLastCollection.put(pool,
+							usedAfter);
+					allocated += Math.max(0,
+							usedBefore - (previous == null ? 0 : previous));
+				}
+				else if (isOldGeneration(pool)) {
+					promoted += Math.max(0, usedAfter - usedBefore);
+				}
+			}
+			this.allocated.addAndGet(allocated);
+			this.promoted.addAndGet(promoted);
+			long interval = startTime - this.lastCollectionEndTime;
+			if (this.lastCollectionEndTime >= 0 && interval > 0) {
+				this.allocationRate = allocated * 1000 / interval;
+				this.promotionRate = promoted * 1000 / interval;
+			}
+			this.lastCollectionEndTime = endTime;
+		}
+	}
+
+	private boolean isYoungGeneration(String pool) {
+		return pool.endsWith("Eden Space");
+	}
+
+	private boolean isOldGeneration(String pool) {
+		return pool.endsWith("Old Gen") || pool.endsWith("Tenured Gen");
+	}
+
+	/**
+	 * Return whether a collection runs concurrently with the application, in which case
+	 * its duration is not a pause.
+	 * @param collector the name of the garbage collector
+	 * @param action the action performed by the collector or {@code null}
+	 * @return {@code true} if the collection is concurrent
+	 */
+	private boolean isConcurrent(String collector, String action) {
+		return collector.contains("Concurrent")
+				|| (action != null && action.toLowerCase().contains("cycle"));
+	}
+
+	private CollectorMetrics getCollectorMetrics(String collector, boolean concurrent) {
+		String prefix = "gc." + StringUtils.replace(collector, " ", "_").toLowerCase()
+				+ (concurrent ? ".cycle" : ".pause");
+		CollectorMetrics metrics = this.collectors.get(prefix);
+		if (metrics == null) {
+			metrics = new CollectorMetrics(prefix);
+			CollectorMetrics existing = this.collectors.putIfAbsent(prefix, metrics);
+			metrics = (existing == null ? metrics : existing);
+		}
+		return metrics;
+	}
+
+	@Override
+	public Collection<Metric<?>> metrics() {
+		Collection<Metric<?>> result = new LinkedHashSet<Metric<?>>();
+		for (CollectorMetrics collector : this.collectors.values()) {
+			collector.addMetrics(result);
+		}
+		result.add(new Metric<Long>("gc.memory.allocated", this.allocated.get() / 1024));
+		result.add(new Metric<Long>("gc.memory.allocated.rate",
+				this.allocationRate / 1024));
+		result.add(new Metric<Long>("gc.memory.promoted", this.promoted.get() / 1024));
+		result.add(
+				new Metric<Long>("gc.memory.promoted.rate", this.promotionRate / 1024));
+		return result;
+	}
+
+	/**
+	 * The pauses, or concurrent cycles, of a single garbage collector.
+	 */
+	private static class CollectorMetrics {
+
+		private final String prefix;
+
+		private final AtomicLongArray buckets = new AtomicLongArray(
+				PAUSE_BOUNDS.length + 1);
+
+		private final AtomicLong last = new AtomicLong();
+
+		private final AtomicLong max = new AtomicLong();
+
+		CollectorMetrics(String prefix) {
+			this.prefix = prefix;
+		}
+
+		public void record(long duration) {
+			int bucket = 0;
+			while (bucket < PAUSE_BOUNDS.length && duration > PAUSE_BOUNDS[bucket]) {
+				bucket++;
+			}
+			this.buckets.incrementAndGet(bucket);
+			this.last.set(duration);
+			long max = this.max.get();
+			while (duration > max && !this.max.compareAndSet(max, duration)) {
+				max = this.max.get();
+			}
+		}
+
+		public void addMetrics(Collection<Metric<?>> result) {
+			long count = 0;
+			for (int i = 0; i < PAUSE_BOUNDS.length; i++) {
+				count += this.buckets.get(i);
+				result.add(new Metric<Long>(this.prefix + ".le." + PAUSE_BOUNDS[i],
+						count));
+			}
+			count += this.buckets.get(PAUSE_BOUNDS.length);
+			result.add(new Metric<Long>(this.prefix + ".count", count));
+			result.add(new Metric<Long>(this.prefix + ".last", this.last.get()));
+			result.add(new Metric<Long>(this.prefix + ".max", this.max.get()));
+		}
+
+	}
+
+}
@@ -16,9 +16,12 @@
 
 package org.springframework.boot.actuate.endpoint;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 
 import org.springframework.boot.actuate.health.CompositeHealthIndicator;
+import org.springframework.boot.actuate.health.CompositeHealthIndicatorCustomizer;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthAggregator;
 import org.springframework.boot.actuate.health.HealthIndicator;
@@ -49,14 +52,33 @@ public class HealthEndpoint extends AbstractEndpoint<Health> {
 	 */
 	public HealthEndpoint(HealthAggregator healthAggregator,
 			Map<String, HealthIndicator> healthIndicators) {
+		this(healthAggregator, healthIndicators,
+				Collections.<CompositeHealthIndicatorCustomizer>emptyList());
+	}
+
+	/**
+	 * Create a new {@link HealthIndicator} instance that applies the given customizers.
+	 * @param healthAggregator the health aggregator
+	 * @param healthIndicators the health indicators
+	 * @param customizers callbacks used to customize the {@link CompositeHealthIndicator}
+	 * that combines the health indicators, for example to evaluate them concurrently
+	 * @since 1.4.0
+	 */
+	public HealthEndpoint(HealthAggregator healthAggregator,
+			Map<String, HealthIndicator> healthIndicators,
+			Collection<? extends CompositeHealthIndicatorCustomizer> customizers) {
 		super("health", false);
 		Assert.notNull(healthAggregator, "HealthAggregator must not be null");
 		Assert.notNull(healthIndicators, "HealthIndicators must not be null");
+		Assert.notNull(customizers, "Customizers must not be null");
 		CompositeHealthIndicator healthIndicator = new CompositeHealthIndicator(
 				healthAggregator);
 		for (Map.Entry<String, HealthIndicator> entry : healthIndicators.entrySet()) {
 			healthIndicator.addHealthIndicator(getKey(entry.getKey()), entry.getValue());
 		}
+		for (CompositeHealthIndicatorCustomizer customizer : customizers) {
+			customizer.customize(healthIndicator);
+		}
 		this.healthIndicator = healthIndicator;
 	}
 
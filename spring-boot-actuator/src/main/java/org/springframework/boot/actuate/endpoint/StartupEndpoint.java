@@ -0,0 +1,50 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import org.springframework.boot.actuate.startup.StartupTimeline;
+import org.springframework.boot.actuate.startup.StartupTimelineRunListener;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.Assert;
+
+/**
+ * {@link Endpoint} to expose the {@link StartupTimeline} of the application.
+ *
+ * @since 1.4.0
+ * @see StartupTimelineRunListener
+ */
+@ConfigurationProperties(prefix = "endpoints.startup")
+public class StartupEndpoint extends AbstractEndpoint<StartupTimeline> {
+
+	private final StartupTimeline timeline;
+
+	/**
+	 * Create a new {@link StartupEndpoint} instance.
+	 * @param timeline the timeline to expose
+	 */
+	public StartupEndpoint(StartupTimeline timeline) {
+		super("startup");
+		Assert.notNull(timeline, "Timeline must not be null");
+		this.timeline = timeline;
+	}
+
+	@Override
+	public StartupTimeline invoke() {
+		return this.timeline;
+	}
+
+}
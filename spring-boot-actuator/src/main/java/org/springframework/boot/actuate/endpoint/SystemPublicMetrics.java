@@ -16,6 +16,7 @@
 
 package org.springframework.boot.actuate.endpoint;
 
+import java.lang.management.BufferPoolMXBean;
 import java.lang.management.ClassLoadingMXBean;
 import java.lang.management.GarbageCollectorMXBean;
 import java.lang.management.ManagementFactory;
@@ -27,6 +28,8 @@ import java.util.List;
 
 import org.springframework.boot.actuate.metrics.Metric;
 import org.springframework.core.Ordered;
+import org.springframework.lang.UsesJava7;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -40,6 +43,9 @@ import org.springframework.util.StringUtils;
  */
 public class SystemPublicMetrics implements PublicMetrics, Ordered {
 
+	private static final boolean BUFFER_POOLS_AVAILABLE = ClassUtils
+			.isPresent("java.lang.management.BufferPoolMXBean", null);
+
 	private long timestamp;
 
 	public SystemPublicMetrics() {
@@ -100,6 +106,7 @@ public class SystemPublicMetrics implements PublicMetrics, Ordered {
 			addThreadMetrics(result);
 			addClassLoadingMetrics(result);
 			addGarbageCollectionMetrics(result);
+			addBufferPoolMetrics(result);
 		}
 		catch (NoClassDefFoundError ex) {
 			// Expected on Google App Engine
@@ -173,7 +180,7 @@ public class SystemPublicMetrics implements PublicMetrics, Ordered {
 		List<GarbageCollectorMXBean> garbageCollectorMxBeans = ManagementFactory
 				.getGarbageCollectorMXBeans();
 		for (GarbageCollectorMXBean garbageCollectorMXBean : garbageCollectorMxBeans) {
-			String name = beautifyGcName(garbageCollectorMXBean.getName());
+			String name = beautifyName(garbageCollectorMXBean.getName());
 			result.add(new Metric<Long>("gc." + name + ".count",
 					garbageCollectorMXBean.getCollectionCount()));
 			result.add(new Metric<Long>("gc." + name + ".time",
@@ -182,12 +189,32 @@ public class SystemPublicMetrics implements PublicMetrics, Ordered {
 	}
 
 	/**
-	 * Turn GC names like 'PS Scavenge' or 'PS MarkSweep' into something that is more
-	 * metrics friendly.
+	 * Add direct and mapped buffer pool metrics. Buffer pools are only available on Java
+	 * 7 and later.
+	 * @param result the result
+	 */
+	@UsesJava7
+	protected void addBufferPoolMetrics(Collection<Metric<?>> result) {
+		if (!BUFFER_POOLS_AVAILABLE) {
+			return;
+		}
+		for (BufferPoolMXBean bufferPoolMXBean : ManagementFactory
+				.getPlatformMXBeans(BufferPoolMXBean.class)) {
+			String name = "buffers." + beautifyName(bufferPoolMXBean.getName());
+			result.add(new Metric<Long>(name + ".count", bufferPoolMXBean.getCount()));
+			result.add(newMemoryMetric(name + ".used", bufferPoolMXBean.getMemoryUsed()));
+			result.add(newMemoryMetric(name + ".capacity",
+					bufferPoolMXBean.getTotalCapacity()));
+		}
+	}
+
+	/**
+	 * Turn GC and buffer pool names like 'PS Scavenge' or 'PS MarkSweep' into something
+	 * that is more metrics friendly.
 	 * @param name the source name
 	 * @return a metric friendly name
 	 */
-	private String beautifyGcName(String name) {
+	private String beautifyName(String name) {
 		return StringUtils.replace(name, " ", "_").toLowerCase();
 	}
 
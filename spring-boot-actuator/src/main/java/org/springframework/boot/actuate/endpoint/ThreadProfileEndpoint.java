@@ -0,0 +1,228 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.Assert;
+
+/**
+ * {@link Endpoint} to expose a thread profile, i.e. the stacks that threads were most
+ * often found in over a number of samples. Each sample only collects the top frames of
+ * the threads' stacks and no lock information, so taking it is much cheaper than a full
+ * thread dump. Each invocation blocks the calling thread until all samples have been
+ * taken, that is for up to {@code samples * interval} milliseconds, so both are capped.
+ *
+ * @since 1.4.0
+ * @see DumpEndpoint
+ */
+@ConfigurationProperties(prefix = "endpoints.threadprofile")
+public class ThreadProfileEndpoint extends AbstractEndpoint<Map<String, Object>> {
+
+	private static final int MAX_SAMPLES = 100;
+
+	private static final long MAX_INTERVAL = 1000;
+
+	/**
+	 * Number of samples taken, at most 100. Invocations block for samples * interval.
+	 */
+	private int samples = 10;
+
+	/**
+	 * Time in milliseconds between samples, at most 1000.
+	 */
+	private long interval = 100;
+
+	/**
+	 * Number of top stack frames of each thread that are sampled.
+	 */
+	private int maxDepth = 32;
+
+	/**
+	 * Maximum number of stacks in the profile.
+	 */
+	private int limit = 20;
+
+	/**
+	 * Only sample threads that are runnable.
+	 */
+	private boolean runnableOnly = true;
+
+	/**
+	 * Create a new {@link ThreadProfileEndpoint} instance.
+	 */
+	public ThreadProfileEndpoint() {
+		super("threadprofile");
+	}
+
+	public int getSamples() {
+		return this.samples;
+	}
+
+	public void setSamples(int samples) {
+		Assert.isTrue(samples > 0 && samples <= MAX_SAMPLES,
+				"Samples must be between 1 and " + MAX_SAMPLES);
+		this.samples = samples;
+	}
+
+	public long getInterval() {
+		return this.interval;
+	}
+
+	public void setInterval(long interval) {
+		Assert.isTrue(interval >= 0 && interval <= MAX_INTERVAL,
+				"Interval must be between 0 and " + MAX_INTERVAL);
+		this.interval = interval;
+	}
+
+	public int getMaxDepth() {
+		return this.maxDepth;
+	}
+
+	public void setMaxDepth(int maxDepth) {
+		this.maxDepth = maxDepth;
+	}
+
+	public int getLimit() {
+		return this.limit;
+	}
+
+	public void setLimit(int limit) {
+		this.limit = limit;
+	}
+
+	public boolean isRunnableOnly() {
+		return this.runnableOnly;
+	}
+
+	public void setRunnableOnly(boolean runnableOnly) {
+		this.runnableOnly = runnableOnly;
+	}
+
+	@Override
+	public Map<String, Object> invoke() {
+		Map<List<StackTraceElement>, HotStack> stacks = new HashMap<List<StackTraceElement>, HotStack>();
+		int taken = 0;
+		while (taken < this.samples) {
+			sample(stacks);
+			taken++;
+			if (taken < this.samples && !sleep()) {
+				break;
+			}
+		}
+		List<HotStack> hotStacks = new ArrayList<HotStack>(stacks.values());
+		Collections.sort(hotStacks, HotStack.COMPARATOR);
+		List<Map<String, Object>> content = new ArrayList<Map<String, Object>>();
+		for (HotStack hotStack : hotStacks.subList(0,
+				Math.min(Math.max(this.limit, 0), hotStacks.size()))) {
+			content.add(hotStack.toMap());
+		}
+		Map<String, Object> result = new LinkedHashMap<String, Object>();
+		result.put("samples", taken);
+		result.put("interval", this.interval);
+		result.put("stacks", content);
+		return result;
+	}
+
+	private void sample(Map<List<StackTraceElement>, HotStack> stacks) {
+		ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+		long currentThreadId = Thread.currentThread().getId();
+		ThreadInfo[] threadInfo = threadMXBean.getThreadInfo(
+				threadMXBean.getAllThreadIds(), Math.max(this.maxDepth, 1));
+		for (ThreadInfo info : threadInfo) {
+			if (info != null && info.getThreadId() != currentThreadId
+					&& info.getStackTrace().length > 0 && (!this.runnableOnly
+							|| info.getThreadState() == Thread.State.RUNNABLE)) {
+				List<StackTraceElement> stack = Arrays.asList(info.getStackTrace());
+				HotStack hotStack = stacks.get(stack);
+				if (hotStack == null) {
+					hotStack = new HotStack(stack);
+					stacks.put(stack, hotStack);
+				}
+				hotStack.add(info);
+			}
+		}
+	}
+
+	private boolean sleep() {
+		try {
+			Thread.sleep(this.interval);
+			return true;
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	/**
+	 * A stack and the number of times that threads were found in it.
+	 */
+	private static class HotStack {
+
+		private static final Comparator<HotStack> COMPARATOR = new Comparator<HotStack>() {
+
+			@Override
+			public int compare(HotStack o1, HotStack o2) {
+				return (o1.count < o2.count ? 1 : (o1.count == o2.count ? 0 : -1));
+			}
+
+		};
+
+		private final List<StackTraceElement> stack;
+
+		private final List<String> threads = new ArrayList<String>();
+
+		private int count;
+
+		HotStack(List<StackTraceElement> stack) {
+			this.stack = stack;
+		}
+
+		public void add(ThreadInfo info) {
+			this.count++;
+			if (!this.threads.contains(info.getThreadName())) {
+				this.threads.add(info.getThreadName());
+			}
+		}
+
+		public Map<String, Object> toMap() {
+			List<String> stackTrace = new ArrayList<String>(this.stack.size());
+			for (StackTraceElement element : this.stack) {
+				stackTrace.add(element.toString());
+			}
+			Map<String, Object> map = new LinkedHashMap<String, Object>();
+			map.put("count", this.count);
+			map.put("threads", this.threads);
+			map.put("stackTrace", stackTrace);
+			return map;
+		}
+
+	}
+
+}
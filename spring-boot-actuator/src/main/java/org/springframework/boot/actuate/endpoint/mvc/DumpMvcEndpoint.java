@@ -0,0 +1,154 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint.mvc;
+
+import java.io.IOException;
+import java.lang.management.LockInfo;
+import java.lang.management.MonitorInfo;
+import java.lang.management.ThreadInfo;
+
+import javax.servlet.http.HttpServletResponse;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import org.springframework.boot.actuate.endpoint.DumpEndpoint;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+
+/**
+ * Adapter to expose {@link DumpEndpoint} as an {@link MvcEndpoint}. The thread info is
+ * streamed to the response as it is written rather than being converted by Jackson as a
+ * whole, and stack traces are truncated to the endpoint's
+ * {@link DumpEndpoint#getMaxDepth() maximum depth}.
+ *
+ * @since 1.4.0
+ */
+@ConfigurationProperties(prefix = "endpoints.dump")
+public class DumpMvcEndpoint extends AbstractEndpointMvcAdapter<DumpEndpoint> {
+
+	private static final JsonFactory jsonFactory = new JsonFactory();
+
+	public DumpMvcEndpoint(DumpEndpoint delegate) {
+		super(delegate);
+	}
+
+	@GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+	public Object invoke(HttpServletResponse response) throws IOException {
+		if (!getDelegate().isEnabled()) {
+			return getDisabledResponse();
+		}
+		ThreadInfo[] threadInfo = getDelegate().dumpThreads();
+		response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+		JsonGenerator generator = jsonFactory
+				.createGenerator(response.getOutputStream(), JsonEncoding.UTF8);
+		try {
+			writeThreadInfo(generator, threadInfo, getDelegate().getMaxDepth());
+		}
+		finally {
+			generator.close();
+		}
+		return null;
+	}
+
+	private void writeThreadInfo(JsonGenerator generator, ThreadInfo[] threadInfo,
+			int maxDepth) throws IOException {
+		generator.writeStartArray();
+		for (ThreadInfo info : threadInfo) {
+			generator.writeStartObject();
+			generator.writeStringField("threadName", info.getThreadName());
+			generator.writeNumberField("threadId", info.getThreadId());
+			generator.writeNumberField("blockedTime", info.getBlockedTime());
+			generator.writeNumberField("blockedCount", info.getBlockedCount());
+			generator.writeNumberField("waitedTime", info.getWaitedTime());
+			generator.writeNumberField("waitedCount", info.getWaitedCount());
+			generator.writeStringField("lockName", info.getLockName());
+			generator.writeNumberField("lockOwnerId", info.getLockOwnerId());
+			generator.writeStringField("lockOwnerName", info.getLockOwnerName());
+			generator.writeBooleanField("inNative", info.isInNative());
+			generator.writeBooleanField("suspended", info.isSuspended());
+			generator.writeStringField("threadState", info.getThreadState().name());
+			writeStackTrace(generator, info.getStackTrace(), maxDepth);
+			generator.writeArrayFieldStart("lockedMonitors");
+			for (MonitorInfo monitor : info.getLockedMonitors()) {
+				generator.writeStartObject();
+				writeLockInfoFields(generator, monitor);
+				generator.writeNumberField("lockedStackDepth",
+						monitor.getLockedStackDepth());
+				generator.writeFieldName("lockedStackFrame");
+				writeStackTraceElement(generator, monitor.getLockedStackFrame());
+				generator.writeEndObject();
+			}
+			generator.writeEndArray();
+			generator.writeArrayFieldStart("lockedSynchronizers");
+			for (LockInfo lock : info.getLockedSynchronizers()) {
+				writeLockInfo(generator, lock);
+			}
+			generator.writeEndArray();
+			generator.writeFieldName("lockInfo");
+			writeLockInfo(generator, info.getLockInfo());
+			generator.writeEndObject();
+		}
+		generator.writeEndArray();
+	}
+
+	private void writeStackTrace(JsonGenerator generator, StackTraceElement[] stackTrace,
+			int maxDepth) throws IOException {
+		int depth = (maxDepth < 0 ? stackTrace.length
+				: Math.min(maxDepth, stackTrace.length));
+		generator.writeArrayFieldStart("stackTrace");
+		for (int i = 0; i < depth; i++) {
+			writeStackTraceElement(generator, stackTrace[i]);
+		}
+		generator.writeEndArray();
+	}
+
+	private void writeStackTraceElement(JsonGenerator generator,
+			StackTraceElement element) throws IOException {
+		if (element == null) {
+			generator.writeNull();
+			return;
+		}
+		generator.writeStartObject();
+		generator.writeStringField("methodName", element.getMethodName());
+		generator.writeStringField("fileName", element.getFileName());
+		generator.writeNumberField("lineNumber", element.getLineNumber());
+		generator.writeStringField("className", element.getClassName());
+		generator.writeBooleanField("nativeMethod", element.isNativeMethod());
+		generator.writeEndObject();
+	}
+
+	private void writeLockInfo(JsonGenerator generator, LockInfo lock)
+			throws IOException {
+		if (lock == null) {
+			generator.writeNull();
+			return;
+		}
+		generator.writeStartObject();
+		writeLockInfoFields(generator, lock);
+		generator.writeEndObject();
+	}
+
+	private void writeLockInfoFields(JsonGenerator generator, LockInfo lock)
+			throws IOException {
+		generator.writeStringField("className", lock.getClassName());
+		generator.writeNumberField("identityHashCode", lock.getIdentityHashCode());
+	}
+
+}
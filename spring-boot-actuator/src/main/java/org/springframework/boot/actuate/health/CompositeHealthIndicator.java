@@ -16,13 +16,27 @@
 
 package org.springframework.boot.actuate.health;
 
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.springframework.util.Assert;
 
 /**
  * {@link HealthIndicator} that returns health indications from all registered delegates.
+ * By default the delegates are called one after the other. If an {@link #setExecutor
+ * executor} is set they are called concurrently instead, and any delegate that does not
+ * respond within the {@link #setTimeout(long) timeout}, or that cannot be submitted
+ * because the executor rejects it, is reported with the
+ * {@link #setTimeoutStatus(Status) timeout status}.
  *
  * @author Tyler J. Frederick
  * @author Phillip Webb
@@ -35,6 +49,12 @@ public class CompositeHealthIndicator implements HealthIndicator {
 
 	private final HealthAggregator healthAggregator;
 
+	private Executor executor;
+
+	private long timeout = 10000;
+
+	private Status timeoutStatus = Status.UNKNOWN;
+
 	/**
 	 * Create a new {@link CompositeHealthIndicator}.
 	 * @param healthAggregator the health aggregator
@@ -61,8 +81,52 @@ public class CompositeHealthIndicator implements HealthIndicator {
 		this.indicators.put(name, indicator);
 	}
 
+	/**
+	 * Return the delegates, keyed by name. A delegate can be replaced by
+	 * {@link #addHealthIndicator(String, HealthIndicator) adding} another one with the
+	 * same name.
+	 * @return the delegates
+	 * @since 1.4.0
+	 */
+	public Map<String, HealthIndicator> getHealthIndicators() {
+		return Collections.unmodifiableMap(
+				new LinkedHashMap<String, HealthIndicator>(this.indicators));
+	}
+
+	/**
+	 * Set the {@link Executor} used to call the delegates concurrently.
+	 * @param executor the executor or {@code null} to call the delegates one after the
+	 * other
+	 * @since 1.4.0
+	 */
+	public void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Set the maximum time to wait for each delegate when they are called concurrently.
+	 * @param timeout the timeout in milliseconds (default 10000)
+	 * @since 1.4.0
+	 */
+	public void setTimeout(long timeout) {
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Set the {@link Status} reported for a delegate that does not respond in time.
+	 * @param timeoutStatus the timeout status (default {@link Status#UNKNOWN})
+	 * @since 1.4.0
+	 */
+	public void setTimeoutStatus(Status timeoutStatus) {
+		Assert.notNull(timeoutStatus, "TimeoutStatus must not be null");
+		this.timeoutStatus = timeoutStatus;
+	}
+
 	@Override
 	public Health health() {
+		if (this.executor != null) {
+			return this.healthAggregator.aggregate(getConcurrentHealths());
+		}
 		Map<String, Health> healths = new LinkedHashMap<String, Health>();
 		for (Map.Entry<String, HealthIndicator> entry : this.indicators.entrySet()) {
 			healths.put(entry.getKey(), entry.getValue().health());
@@ -70,4 +134,71 @@ public class CompositeHealthIndicator implements HealthIndicator {
 		return this.healthAggregator.aggregate(healths);
 	}
 
+	private Map<String, Health> getConcurrentHealths() {
+		long start = System.currentTimeMillis();
+		Map<String, HealthTask> tasks = new LinkedHashMap<String, HealthTask>();
+		for (Map.Entry<String, HealthIndicator> entry : this.indicators.entrySet()) {
+			HealthTask task = new HealthTask(entry.getValue());
+			try {
+				this.executor.execute(task);
+			}
+			catch (RejectedExecutionException ex) {
+				task.cancel(false);
+			}
+			tasks.put(entry.getKey(), task);
+		}
+		Map<String, Health> healths = new LinkedHashMap<String, Health>();
+		for (Map.Entry<String, HealthTask> entry : tasks.entrySet()) {
+			healths.put(entry.getKey(), getHealth(entry.getValue(), start));
+		}
+		return healths;
+	}
+
+	private Health getHealth(HealthTask task, long start) {
+		long remaining = start + this.timeout - System.currentTimeMillis();
+		try {
+			return task.get(Math.max(remaining, 0), TimeUnit.MILLISECONDS);
+		}
+		catch (TimeoutException ex) {
+			task.cancel(true);
+			return Health.status(this.timeoutStatus)
+					.withDetail("error", "Timed out waiting for health")
+					.withDetail("elapsed", System.currentTimeMillis() - start).build();
+		}
+		catch (CancellationException ex) {
+			return Health.status(this.timeoutStatus)
+					.withDetail("error", "Health check rejected by executor").build();
+		}
+		catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof Exception) {
+				return Health.down((Exception) cause).build();
+			}
+			return Health.down().withDetail("error", String.valueOf(cause)).build();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			task.cancel(true);
+			return Health.status(this.timeoutStatus).withException(ex).build();
+		}
+	}
+
+	/**
+	 * {@link FutureTask} that returns the health of a single delegate.
+	 */
+	private static class HealthTask extends FutureTask<Health> {
+
+		HealthTask(final HealthIndicator indicator) {
+			super(new Callable<Health>() {
+
+				@Override
+				public Health call() throws Exception {
+					return indicator.health();
+				}
+
+			});
+		}
+
+	}
+
 }
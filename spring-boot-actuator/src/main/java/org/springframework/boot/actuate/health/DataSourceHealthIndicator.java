@@ -20,11 +20,14 @@ import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import javax.sql.DataSource;
 
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.actuate.metrics.GaugeService;
 import org.springframework.boot.jdbc.DatabaseDriver;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.support.DataAccessUtils;
@@ -32,6 +35,7 @@ import org.springframework.jdbc.IncorrectResultSetColumnCountException;
 import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.RowMapperResultSetExtractor;
 import org.springframework.jdbc.support.JdbcUtils;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
@@ -39,6 +43,13 @@ import org.springframework.util.StringUtils;
 /**
  * {@link HealthIndicator} that tests the status of a {@link DataSource} and optionally
  * runs a test query.
+ * <p>
+ * Each check borrows a single connection from the {@link DataSource}. The database
+ * product, and the validation query that depends on it, are detected on the first
+ * successful check and reused afterwards. Rather than running a query, the connection
+ * can be validated using JDBC 4's {@link Connection#isValid(int)}. The time taken by
+ * each check is reported as the {@code latency} detail, in milliseconds, and can also be
+ * submitted to a {@link GaugeService}.
  *
  * @author Dave Syer
  * @author Christian Dupuis
@@ -58,6 +69,18 @@ public class DataSourceHealthIndicator extends AbstractHealthIndicator
 
 	private JdbcTemplate jdbcTemplate;
 
+	private boolean connectionValidation;
+
+	private int validationTimeout;
+
+	private GaugeService gaugeService;
+
+	private String metricName = "health.db.latency";
+
+	private volatile String product;
+
+	private volatile String validationQuery;
+
 	/**
 	 * Create a new {@link DataSourceHealthIndicator} instance.
 	 */
@@ -101,32 +124,87 @@ public class DataSourceHealthIndicator extends AbstractHealthIndicator
 		}
 	}
 
-	private void doDataSourceHealthCheck(Health.Builder builder) throws Exception {
-		String product = getProduct();
-		builder.up().withDetail("database", product);
-		String validationQuery = getValidationQuery(product);
-		if (StringUtils.hasText(validationQuery)) {
-			try {
-				// Avoid calling getObject as it breaks MySQL on Java 7
-				List<Object> results = this.jdbcTemplate.query(validationQuery,
-						new SingleColumnRowMapper());
-				Object result = DataAccessUtils.requiredSingleResult(results);
-				builder.withDetail("hello", result);
+	private void doDataSourceHealthCheck(final Health.Builder builder) throws Exception {
+		long start = System.nanoTime();
+		try {
+			this.jdbcTemplate.execute(new ConnectionCallback<Object>() {
+				@Override
+				public Object doInConnection(Connection connection)
+						throws SQLException, DataAccessException {
+					String product = getProduct(connection);
+					builder.up().withDetail("database", product);
+					validate(connection, product, builder);
+					return null;
+				}
+			});
+		}
+		finally {
+			recordLatency(builder,
+					TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		}
+	}
+
+	private String getProduct(Connection connection) throws SQLException {
+		String product = this.product;
+		if (product == null) {
+			product = connection.getMetaData().getDatabaseProductName();
+			this.product = product;
+		}
+		return product;
+	}
+
+	private void validate(Connection connection, String product,
+			Health.Builder builder) {
+		try {
+			if (this.connectionValidation) {
+				if (!connection.isValid(this.validationTimeout)) {
+					builder.down();
+				}
+				return;
 			}
-			catch (Exception ex) {
-				builder.down(ex);
+			String validationQuery = this.validationQuery;
+			if (validationQuery == null) {
+				validationQuery = getValidationQuery(product);
+				this.validationQuery = validationQuery;
 			}
+			if (StringUtils.hasText(validationQuery)) {
+				builder.withDetail("hello", query(connection, validationQuery));
+			}
+		}
+		catch (Exception ex) {
+			builder.down(ex);
 		}
 	}
 
-	private String getProduct() {
-		return this.jdbcTemplate.execute(new ConnectionCallback<String>() {
-			@Override
-			public String doInConnection(Connection connection)
-					throws SQLException, DataAccessException {
-				return connection.getMetaData().getDatabaseProductName();
+	private Object query(Connection connection, String sql) {
+		Statement statement = null;
+		ResultSet resultSet = null;
+		try {
+			statement = connection.createStatement();
+			if (this.validationTimeout > 0) {
+				statement.setQueryTimeout(this.validationTimeout);
 			}
-		});
+			resultSet = statement.executeQuery(sql);
+			// Avoid calling getObject as it breaks MySQL on Java 7
+			List<Object> results = new RowMapperResultSetExtractor<Object>(
+					new SingleColumnRowMapper()).extractData(resultSet);
+			return DataAccessUtils.requiredSingleResult(results);
+		}
+		catch (SQLException ex) {
+			throw this.jdbcTemplate.getExceptionTranslator()
+					.translate("DataSourceHealthIndicator", sql, ex);
+		}
+		finally {
+			JdbcUtils.closeResultSet(resultSet);
+			JdbcUtils.closeStatement(statement);
+		}
+	}
+
+	private void recordLatency(Health.Builder builder, long latency) {
+		builder.withDetail("latency", latency);
+		if (this.gaugeService != null) {
+			this.gaugeService.submit(this.metricName, latency);
+		}
 	}
 
 	protected String getValidationQuery(String product) {
@@ -148,6 +226,8 @@ public class DataSourceHealthIndicator extends AbstractHealthIndicator
 	public void setDataSource(DataSource dataSource) {
 		this.dataSource = dataSource;
 		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.product = null;
+		this.validationQuery = null;
 	}
 
 	/**
@@ -157,6 +237,7 @@ public class DataSourceHealthIndicator extends AbstractHealthIndicator
 	 */
 	public void setQuery(String query) {
 		this.query = query;
+		this.validationQuery = null;
 	}
 
 	/**
@@ -167,6 +248,46 @@ public class DataSourceHealthIndicator extends AbstractHealthIndicator
 		return this.query;
 	}
 
+	/**
+	 * Set whether the connection should be validated using
+	 * {@link Connection#isValid(int)} rather than by running the validation query.
+	 * @param connectionValidation if connections should be validated using
+	 * {@code isValid}
+	 * @since 1.4.0
+	 */
+	public void setConnectionValidation(boolean connectionValidation) {
+		this.connectionValidation = connectionValidation;
+	}
+
+	/**
+	 * Set the number of seconds to wait for the connection to be validated or for the
+	 * validation query to complete. No timeout is applied by default.
+	 * @param validationTimeout the timeout in seconds or 0 for no timeout
+	 * @since 1.4.0
+	 */
+	public void setValidationTimeout(int validationTimeout) {
+		this.validationTimeout = validationTimeout;
+	}
+
+	/**
+	 * Set the {@link GaugeService} that the latency of each check is submitted to.
+	 * @param gaugeService the gauge service or {@code null}
+	 * @since 1.4.0
+	 */
+	public void setGaugeService(GaugeService gaugeService) {
+		this.gaugeService = gaugeService;
+	}
+
+	/**
+	 * Set the name of the metric that the latency of each check is submitted as.
+	 * Defaults to {@code health.db.latency}.
+	 * @param metricName the metric name
+	 * @since 1.4.0
+	 */
+	public void setMetricName(String metricName) {
+		this.metricName = metricName;
+	}
+
 	/**
 	 * {@link RowMapper} that expects and returns results from a single column.
 	 */
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.health;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * External configuration properties for {@link DataSourceHealthIndicator}.
+ *
+ * @since 1.4.0
+ */
+@ConfigurationProperties("management.health.db")
+public class DataSourceHealthIndicatorProperties {
+
+	/**
+	 * Validate connections using JDBC 4's Connection.isValid rather than by running a
+	 * validation query.
+	 */
+	private boolean connectionValidation;
+
+	/**
+	 * Time, in seconds, to wait for a connection to be validated. 0 means no timeout.
+	 */
+	private int validationTimeout;
+
+	public boolean isConnectionValidation() {
+		return this.connectionValidation;
+	}
+
+	public void setConnectionValidation(boolean connectionValidation) {
+		this.connectionValidation = connectionValidation;
+	}
+
+	public int getValidationTimeout() {
+		return this.validationTimeout;
+	}
+
+	public void setValidationTimeout(int validationTimeout) {
+		this.validationTimeout = validationTimeout;
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2014 the original author or authors.
+ * Copyright 2012-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,16 +16,38 @@
 
 package org.springframework.boot.actuate.health;
 
+import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.dao.InvalidDataAccessResourceUsageException;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
 import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisSentinelConnection;
+import org.springframework.data.redis.connection.RedisServer;
 import org.springframework.data.redis.core.RedisConnectionUtils;
 import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
 
 /**
  * Simple implementation of a {@link HealthIndicator} returning status information for
  * Redis data stores.
+ * <p>
+ * By default each check runs the {@code INFO} command. In {@link Mode#PING PING} mode a
+ * much cheaper {@code PING} is used instead, optionally running {@code INFO} every
+ * {@link #setInfoInterval(int) few checks} to keep the reported version up to date. The
+ * round-trip time of the command is reported as the {@code latency} detail, in
+ * milliseconds, and can also be submitted to a {@link GaugeService}. When
+ * {@link #setNodeChecks(boolean) node checks} are enabled and the connection factory is
+ * configured for Redis Cluster or Sentinel, the status of each node is also reported.
  *
  * @author Christian Dupuis
  * @since 1.1.0
@@ -34,6 +56,22 @@ public class RedisHealthIndicator extends AbstractHealthIndicator {
 
 	private final RedisConnectionFactory redisConnectionFactory;
 
+	private Mode mode = Mode.INFO;
+
+	private int infoInterval;
+
+	private boolean nodeChecks;
+
+	private GaugeService gaugeService;
+
+	private String metricName = "health.redis.latency";
+
+	private final AtomicLong checks = new AtomicLong();
+
+	private volatile String version;
+
+	private volatile Topology topology;
+
 	public RedisHealthIndicator(RedisConnectionFactory connectionFactory) {
 		Assert.notNull(connectionFactory, "ConnectionFactory must not be null");
 		this.redisConnectionFactory = connectionFactory;
@@ -44,13 +82,256 @@ public class RedisHealthIndicator extends AbstractHealthIndicator {
 		RedisConnection connection = RedisConnectionUtils
 				.getConnection(this.redisConnectionFactory);
 		try {
-			Properties info = connection.info();
-			builder.up().withDetail("version", info.getProperty("redis_version"));
+			long start = System.nanoTime();
+			String version = check(connection);
+			recordLatency(builder,
+					TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+			builder.up();
+			if (this.mode == Mode.INFO || version != null) {
+				builder.withDetail("version", version);
+			}
 		}
 		finally {
 			RedisConnectionUtils.releaseConnection(connection,
 					this.redisConnectionFactory);
 		}
+		if (this.nodeChecks) {
+			doNodeHealthCheck(builder);
+		}
+	}
+
+	private String check(RedisConnection connection) {
+		if (this.mode == Mode.INFO || isInfoDue()) {
+			Properties info = connection.info();
+			this.version = info.getProperty("redis_version");
+		}
+		else {
+			connection.ping();
+		}
+		return this.version;
+	}
+
+	private boolean isInfoDue() {
+		return this.infoInterval > 0
+				&& this.checks.getAndIncrement() % this.infoInterval == 0;
+	}
+
+	private void recordLatency(Health.Builder builder, long latency) {
+		builder.withDetail("latency", latency);
+		if (this.gaugeService != null) {
+			this.gaugeService.submit(this.metricName, latency);
+		}
+	}
+
+	private void doNodeHealthCheck(Health.Builder builder) throws IOException {
+		Topology topology = this.topology;
+		if (topology == null || topology == Topology.CLUSTER) {
+			RedisClusterConnection connection = getClusterConnection();
+			if (connection != null) {
+				this.topology = Topology.CLUSTER;
+				try {
+					doClusterHealthCheck(connection, builder);
+				}
+				finally {
+					connection.close();
+				}
+				return;
+			}
+		}
+		if (topology == null || topology == Topology.SENTINEL) {
+			RedisSentinelConnection connection = getSentinelConnection();
+			if (connection != null) {
+				this.topology = Topology.SENTINEL;
+				try {
+					doSentinelHealthCheck(connection, builder);
+				}
+				finally {
+					connection.close();
+				}
+				return;
+			}
+		}
+		this.topology = Topology.STANDALONE;
+	}
+
+	private RedisClusterConnection getClusterConnection() {
+		try {
+			return this.redisConnectionFactory.getClusterConnection();
+		}
+		catch (InvalidDataAccessApiUsageException ex) {
+			return null;
+		}
+		catch (InvalidDataAccessResourceUsageException ex) {
+			return null;
+		}
+		catch (UnsupportedOperationException ex) {
+			return null;
+		}
+	}
+
+	private RedisSentinelConnection getSentinelConnection() {
+		try {
+			return this.redisConnectionFactory.getSentinelConnection();
+		}
+		catch (InvalidDataAccessApiUsageException ex) {
+			return null;
+		}
+		catch (InvalidDataAccessResourceUsageException ex) {
+			return null;
+		}
+		catch (UnsupportedOperationException ex) {
+			return null;
+		}
+	}
+
+	private void doClusterHealthCheck(RedisClusterConnection connection,
+			Health.Builder builder) {
+		Map<String, Health> nodes = new LinkedHashMap<String, Health>();
+		boolean mastersUp = true;
+		for (RedisClusterNode node : connection.clusterGetNodes()) {
+			Health health = getClusterNodeHealth(connection, node);
+			if (node.isMaster() && !Status.UP.equals(health.getStatus())) {
+				mastersUp = false;
+			}
+			nodes.put(node.asString(), health);
+		}
+		builder.withDetail("nodes", nodes);
+		if (!mastersUp) {
+			builder.down();
+		}
+	}
+
+	private Health getClusterNodeHealth(RedisClusterConnection connection,
+			RedisClusterNode node) {
+		Health.Builder builder = new Health.Builder();
+		try {
+			long start = System.nanoTime();
+			connection.ping(node);
+			builder.up().withDetail("latency",
+					TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		}
+		catch (Exception ex) {
+			builder.down(ex);
+		}
+		return builder.build();
+	}
+
+	private void doSentinelHealthCheck(RedisSentinelConnection connection,
+			Health.Builder builder) {
+		Map<String, Health> nodes = new LinkedHashMap<String, Health>();
+		boolean mastersUp = true;
+		for (RedisServer master : connection.masters()) {
+			Health health = getSentinelServerHealth(master);
+			if (!Status.UP.equals(health.getStatus())) {
+				mastersUp = false;
+			}
+			nodes.put(master.asString(), health);
+			Collection<RedisServer> slaves = connection.slaves(master);
+			for (RedisServer slave : slaves) {
+				nodes.put(slave.asString(), getSentinelServerHealth(slave));
+			}
+		}
+		builder.withDetail("nodes", nodes);
+		if (!mastersUp) {
+			builder.down();
+		}
+	}
+
+	private Health getSentinelServerHealth(RedisServer server) {
+		String flags = server.getFlags();
+		Health.Builder builder = new Health.Builder();
+		if (flags != null && (flags.contains("s_down") || flags.contains("o_down")
+				|| flags.contains("disconnected"))) {
+			builder.down();
+		}
+		else {
+			builder.up();
+		}
+		if (StringUtils.hasText(server.getName())) {
+			builder.withDetail("name", server.getName());
+		}
+		if (flags != null) {
+			builder.withDetail("flags", flags);
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Set the command used to check Redis. Defaults to {@link Mode#INFO}.
+	 * @param mode the check mode
+	 * @since 1.4.0
+	 */
+	public void setMode(Mode mode) {
+		Assert.notNull(mode, "Mode must not be null");
+		this.mode = mode;
+	}
+
+	/**
+	 * Set how often {@code INFO} is run, in number of checks, when using
+	 * {@link Mode#PING}. The first check always runs {@code INFO}. {@code INFO} is never
+	 * run in {@code PING} mode by default.
+	 * @param infoInterval the number of checks between each {@code INFO} or 0 to never
+	 * run it
+	 * @since 1.4.0
+	 */
+	public void setInfoInterval(int infoInterval) {
+		this.infoInterval = infoInterval;
+	}
+
+	/**
+	 * Set whether each node should be checked when the connection factory is configured
+	 * for Redis Cluster or Sentinel.
+	 * @param nodeChecks if nodes should be checked
+	 * @since 1.4.0
+	 */
+	public void setNodeChecks(boolean nodeChecks) {
+		this.nodeChecks = nodeChecks;
+	}
+
+	/**
+	 * Set the {@link GaugeService} that the latency of each check is submitted to.
+	 * @param gaugeService the gauge service or {@code null}
+	 * @since 1.4.0
+	 */
+	public void setGaugeService(GaugeService gaugeService) {
+		this.gaugeService = gaugeService;
+	}
+
+	/**
+	 * Set the name of the metric that the latency of each check is submitted as.
+	 * Defaults to {@code health.redis.latency}.
+	 * @param metricName the metric name
+	 * @since 1.4.0
+	 */
+	public void setMetricName(String metricName) {
+		this.metricName = metricName;
+	}
+
+	/**
+	 * The command used to check Redis.
+	 * @since 1.4.0
+	 */
+	public enum Mode {
+
+		/**
+		 * Run {@code INFO}, reporting the version of the server.
+		 */
+		INFO,
+
+		/**
+		 * Run {@code PING}, which is much cheaper for the server than {@code INFO}.
+		 */
+		PING
+
+	}
+
+	/**
+	 * The topology detected for node checks.
+	 */
+	private enum Topology {
+
+		STANDALONE, CLUSTER, SENTINEL
+
 	}
 
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.health;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * External configuration properties for {@link RedisHealthIndicator}.
+ *
+ * @since 1.4.0
+ */
+@ConfigurationProperties("management.health.redis")
+public class RedisHealthIndicatorProperties {
+
+	/**
+	 * Command used to check Redis. PING is much cheaper for the server than INFO but does
+	 * not report the version.
+	 */
+	private RedisHealthIndicator.Mode mode = RedisHealthIndicator.Mode.INFO;
+
+	/**
+	 * Number of checks between each INFO command when using PING mode. 0 means INFO is
+	 * never run.
+	 */
+	private int infoInterval;
+
+	/**
+	 * Check each node when using Redis Cluster or Sentinel.
+	 */
+	private boolean nodeChecks;
+
+	public RedisHealthIndicator.Mode getMode() {
+		return this.mode;
+	}
+
+	public void setMode(RedisHealthIndicator.Mode mode) {
+		this.mode = mode;
+	}
+
+	public int getInfoInterval() {
+		return this.infoInterval;
+	}
+
+	public void setInfoInterval(int infoInterval) {
+		this.infoInterval = infoInterval;
+	}
+
+	public boolean isNodeChecks() {
+		return this.nodeChecks;
+	}
+
+	public void setNodeChecks(boolean nodeChecks) {
+		this.nodeChecks = nodeChecks;
+	}
+
+}
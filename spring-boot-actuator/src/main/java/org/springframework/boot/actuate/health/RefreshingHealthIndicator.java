@@ -0,0 +1,105 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.health;
+
+import org.springframework.util.Assert;
+
+/**
+ * {@link HealthIndicator} that returns the latest snapshot of the health of a delegate
+ * rather than calling it directly. The snapshot is updated each time {@link #refresh()}
+ * is called, typically by a scheduled task, and records when the delegate was last
+ * checked and how long the check took. The delegate is only called by
+ * {@link #health()} if no snapshot has been taken yet, in which case concurrent callers
+ * wait for a single check. Refreshes never run concurrently.
+ *
+ * @since 1.4.0
+ */
+public class RefreshingHealthIndicator implements HealthIndicator {
+
+	private final HealthIndicator delegate;
+
+	private final Object monitor = new Object();
+
+	private volatile Health health;
+
+	private volatile long lastChecked;
+
+	private volatile long duration;
+
+	/**
+	 * Create a new {@link RefreshingHealthIndicator} instance.
+	 * @param delegate the health indicator to take snapshots of
+	 */
+	public RefreshingHealthIndicator(HealthIndicator delegate) {
+		Assert.notNull(delegate, "Delegate must not be null");
+		this.delegate = delegate;
+	}
+
+	/**
+	 * Take a new snapshot of the health of the delegate.
+	 */
+	public void refresh() {
+		synchronized (this.monitor) {
+			long start = System.currentTimeMillis();
+			Health health;
+			try {
+				health = this.delegate.health();
+			}
+			catch (Exception ex) {
+				health = Health.down(ex).build();
+			}
+			long duration = System.currentTimeMillis() - start;
+			this.lastChecked = start;
+			this.duration = duration;
+			this.health = new Health.Builder(health.getStatus(), health.getDetails())
+					.withDetail("lastChecked", start).withDetail("duration", duration)
+					.build();
+		}
+	}
+
+	@Override
+	public Health health() {
+		Health health = this.health;
+		if (health == null) {
+			synchronized (this.monitor) {
+				if (this.health == null) {
+					refresh();
+				}
+				health = this.health;
+			}
+		}
+		return health;
+	}
+
+	/**
+	 * Return the time at which the delegate was last checked.
+	 * @return the time in milliseconds since the epoch or {@code 0} if the delegate
+	 * has not been checked
+	 */
+	public long getLastChecked() {
+		return this.lastChecked;
+	}
+
+	/**
+	 * Return how long the last check of the delegate took.
+	 * @return the duration in milliseconds
+	 */
+	public long getDuration() {
+		return this.duration;
+	}
+
+}
@@ -16,6 +16,8 @@
 
 package org.springframework.boot.actuate.metrics.buffer;
 
+import org.springframework.boot.actuate.metrics.util.MetricChangeLog;
+
 /**
  * Base class for a mutable buffer containing a timestamp and a value.
  *
@@ -27,6 +29,8 @@ abstract class Buffer<T extends Number> {
 
 	private volatile long timestamp;
 
+	private volatile long epoch = -1;
+
 	Buffer(long timestamp) {
 		this.timestamp = timestamp;
 	}
@@ -39,6 +43,19 @@ abstract class Buffer<T extends Number> {
 		this.timestamp = timestamp;
 	}
 
+	/**
+	 * Returns the {@link MetricChangeLog} epoch in which a change of the buffer was last
+	 * recorded.
+	 * @return the epoch or -1
+	 */
+	public long getEpoch() {
+		return this.epoch;
+	}
+
+	public void setEpoch(long epoch) {
+		this.epoch = epoch;
+	}
+
 	/**
 	 * Returns the buffer value.
 	 * @return the value of the buffer
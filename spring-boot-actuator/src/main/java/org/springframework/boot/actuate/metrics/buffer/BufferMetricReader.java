@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2015 the original author or authors.
+ * Copyright 2012-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,11 +19,13 @@ package org.springframework.boot.actuate.metrics.buffer;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
 import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.reader.ChangedMetricReader;
 import org.springframework.boot.actuate.metrics.reader.MetricReader;
 import org.springframework.boot.actuate.metrics.reader.PrefixMetricReader;
 import org.springframework.lang.UsesJava8;
@@ -36,7 +38,8 @@ import org.springframework.lang.UsesJava8;
  * @since 1.3.0
  */
 @UsesJava8
-public class BufferMetricReader implements MetricReader, PrefixMetricReader {
+public class BufferMetricReader
+		implements MetricReader, PrefixMetricReader, ChangedMetricReader {
 
 	private static final Predicate<String> ALL = Pattern.compile(".*").asPredicate();
 
@@ -68,6 +71,14 @@ public class BufferMetricReader implements MetricReader, PrefixMetricReader {
 		return findAll(Pattern.compile(prefix + ".*").asPredicate());
 	}
 
+	@Override
+	public Iterable<Metric<?>> findChangedSince(long timestamp) {
+		List<Metric<?>> metrics = new ArrayList<Metric<?>>();
+		collectChangedMetrics(this.gaugeBuffers, timestamp, metrics);
+		collectChangedMetrics(this.counterBuffers, timestamp, metrics);
+		return metrics;
+	}
+
 	@Override
 	public long count() {
 		return this.counterBuffers.count() + this.gaugeBuffers.count();
@@ -75,24 +86,41 @@ public class BufferMetricReader implements MetricReader, PrefixMetricReader {
 
 	private Iterable<Metric<?>> findAll(Predicate<String> predicate) {
 		final List<Metric<?>> metrics = new ArrayList<Metric<?>>();
-		collectMetrics(this.gaugeBuffers, predicate, metrics);
-		collectMetrics(this.counterBuffers, predicate, metrics);
+		collectMetrics(this.gaugeBuffers, predicate, Long.MIN_VALUE, metrics);
+		collectMetrics(this.counterBuffers, predicate, Long.MIN_VALUE, metrics);
 		return metrics;
 	}
 
 	private <T extends Number, B extends Buffer<T>> void collectMetrics(
-			Buffers<B> buffers, Predicate<String> predicate,
+			Buffers<B> buffers, Predicate<String> predicate, final long timestamp,
 			final List<Metric<?>> metrics) {
 		buffers.forEach(predicate, new BiConsumer<String, B>() {
 
 			@Override
 			public void accept(String name, B value) {
-				metrics.add(asMetric(name, value));
+				if (value.getTimestamp() >= timestamp) {
+					metrics.add(asMetric(name, value));
+				}
 			}
 
 		});
 	}
 
+	private <T extends Number, B extends Buffer<T>> void collectChangedMetrics(
+			Buffers<B> buffers, long timestamp, List<Metric<?>> metrics) {
+		Set<String> names = buffers.findChangedSince(timestamp);
+		if (names == null) {
+			collectMetrics(buffers, BufferMetricReader.ALL, timestamp, metrics);
+			return;
+		}
+		for (String name : names) {
+			B buffer = buffers.find(name);
+			if (buffer != null && buffer.getTimestamp() >= timestamp) {
+				metrics.add(asMetric(name, buffer));
+			}
+		}
+	}
+
 	private <T extends Number> Metric<T> asMetric(final String name, Buffer<T> buffer) {
 		return new Metric<T>(name, buffer.getValue(), new Date(buffer.getTimestamp()));
 	}
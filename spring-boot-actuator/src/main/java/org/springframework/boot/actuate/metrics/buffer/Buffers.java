@@ -16,12 +16,14 @@
 
 package org.springframework.boot.actuate.metrics.buffer;
 
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
+import org.springframework.boot.actuate.metrics.util.MetricChangeLog;
 import org.springframework.lang.UsesJava8;
 
 /**
@@ -36,6 +38,8 @@ abstract class Buffers<B extends Buffer<?>> {
 
 	private final ConcurrentHashMap<String, B> buffers = new ConcurrentHashMap<String, B>();
 
+	private final MetricChangeLog changes = new MetricChangeLog();
+
 	public void forEach(final Predicate<String> predicate,
 			final BiConsumer<String, B> consumer) {
 		this.buffers.forEach(new BiConsumer<String, B>() {
@@ -54,6 +58,16 @@ abstract class Buffers<B extends Buffer<?>> {
 		return this.buffers.get(name);
 	}
 
+	/**
+	 * Return the names of the buffers that may have changed at or after the given time.
+	 * @param timestamp the time in milliseconds since the epoch
+	 * @return the names or {@code null} if all buffers have to be considered
+	 * @see MetricChangeLog#findChangedSince(long)
+	 */
+	public Set<String> findChangedSince(long timestamp) {
+		return this.changes.findChangedSince(timestamp);
+	}
+
 	public int count() {
 		return this.buffers.size();
 	}
@@ -69,6 +83,11 @@ abstract class Buffers<B extends Buffer<?>> {
 			});
 		}
 		consumer.accept(buffer);
+		long epoch = this.changes.getEpoch();
+		if (buffer.getEpoch() != epoch) {
+			buffer.setEpoch(epoch);
+			this.changes.record(name);
+		}
 	}
 
 	protected abstract B createBuffer();
@@ -123,6 +123,22 @@ public abstract class AbstractMetricExporter implements Exporter, Closeable, Flu
 		return new Metric<Number>(name, metric.getValue(), metric.getTimestamp());
 	}
 
+	/**
+	 * Return the earliest timestamp of the metrics that will be exported by the current
+	 * export, allowing subclasses to read only the metrics that changed since then.
+	 * @return the earliest exported timestamp, or {@code null} if all metrics are
+	 * exported regardless of their timestamps
+	 */
+	protected Date getChangedSince() {
+		if (this.ignoreTimestamps) {
+			return null;
+		}
+		if (this.sendLatest && this.latestTimestamp.after(this.earliestTimestamp)) {
+			return this.latestTimestamp;
+		}
+		return this.earliestTimestamp;
+	}
+
 	private boolean canExportTimestamp(Date timestamp) {
 		if (this.ignoreTimestamps) {
 			return true;
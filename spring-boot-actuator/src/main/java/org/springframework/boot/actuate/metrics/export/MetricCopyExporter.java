@@ -18,8 +18,11 @@ package org.springframework.boot.actuate.metrics.export;
 
 import java.io.Flushable;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Date;
 import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -27,13 +30,16 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.reader.ChangedMetricReader;
 import org.springframework.boot.actuate.metrics.reader.MetricReader;
+import org.springframework.boot.actuate.metrics.writer.BatchMetricWriter;
 import org.springframework.boot.actuate.metrics.writer.CompositeMetricWriter;
 import org.springframework.boot.actuate.metrics.writer.CounterWriter;
 import org.springframework.boot.actuate.metrics.writer.Delta;
 import org.springframework.boot.actuate.metrics.writer.GaugeWriter;
 import org.springframework.boot.actuate.metrics.writer.MetricWriter;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.PatternMatchUtils;
 import org.springframework.util.ReflectionUtils;
@@ -48,7 +54,9 @@ import org.springframework.util.ReflectionUtils;
  * previous value of the counter so the delta can be computed. For best results with the
  * counters, do not use the exporter concurrently in multiple threads (normally it will
  * only be used periodically and sequentially, even if it is in a background thread, and
- * this is fine).
+ * this is fine). If the output writer is a {@link BatchMetricWriter} all the values from
+ * one export are written in one batch. If the reader is a {@link ChangedMetricReader}
+ * only the metrics that changed since the last export are read from it.
  *
  * @author Dave Syer
  * @since 1.3.0
@@ -69,6 +77,8 @@ public class MetricCopyExporter extends AbstractMetricExporter {
 
 	private String[] excludes = new String[0];
 
+	private final ConcurrentReferenceHashMap<String, Boolean> matches = new ConcurrentReferenceHashMap<String, Boolean>();
+
 	/**
 	 * Create a new {@link MetricCopyExporter} instance.
 	 * @param reader the metric reader
@@ -103,6 +113,7 @@ public class MetricCopyExporter extends AbstractMetricExporter {
 	public void setIncludes(String... includes) {
 		if (includes != null) {
 			this.includes = includes;
+			this.matches.clear();
 		}
 	}
 
@@ -113,19 +124,44 @@ public class MetricCopyExporter extends AbstractMetricExporter {
 	public void setExcludes(String... excludes) {
 		if (excludes != null) {
 			this.excludes = excludes;
+			this.matches.clear();
 		}
 	}
 
 	@Override
 	protected Iterable<Metric<?>> next(String group) {
 		if (ObjectUtils.isEmpty(this.includes) && ObjectUtils.isEmpty(this.excludes)) {
-			return this.reader.findAll();
+			return findAll();
+		}
+		return new PatternMatchingIterable();
+	}
+
+	private Iterable<Metric<?>> findAll() {
+		Date changedSince = getChangedSince();
+		if (changedSince != null && this.reader instanceof ChangedMetricReader) {
+			return ((ChangedMetricReader) this.reader)
+					.findChangedSince(changedSince.getTime());
+		}
+		return this.reader.findAll();
+	}
+
+	private boolean isMatch(String name) {
+		Boolean match = this.matches.get(name);
+		if (match == null) {
+			match = (ObjectUtils.isEmpty(this.includes)
+					|| PatternMatchUtils.simpleMatch(this.includes, name))
+					&& !PatternMatchUtils.simpleMatch(this.excludes, name);
+			this.matches.put(name, match);
 		}
-		return new PatternMatchingIterable(MetricCopyExporter.this.reader);
+		return match;
 	}
 
 	@Override
 	protected void write(String group, Collection<Metric<?>> values) {
+		if (this.writer instanceof BatchMetricWriter) {
+			writeBatch((BatchMetricWriter) this.writer, values);
+			return;
+		}
 		for (Metric<?> value : values) {
 			if (value.getName().startsWith("counter.") && this.counter != null) {
 				this.counter.increment(calculateDelta(value));
@@ -136,6 +172,25 @@ public class MetricCopyExporter extends AbstractMetricExporter {
 		}
 	}
 
+	private void writeBatch(BatchMetricWriter writer, Collection<Metric<?>> values) {
+		List<Metric<?>> gauges = new ArrayList<Metric<?>>(values.size());
+		List<Delta<?>> deltas = new ArrayList<Delta<?>>();
+		for (Metric<?> value : values) {
+			if (value.getName().startsWith("counter.")) {
+				deltas.add(calculateDelta(value));
+			}
+			else {
+				gauges.add(value);
+			}
+		}
+		if (!gauges.isEmpty()) {
+			writer.set(gauges);
+		}
+		if (!deltas.isEmpty()) {
+			writer.increment(deltas);
+		}
+	}
+
 	private Delta<?> calculateDelta(Metric<?> value) {
 		long delta = value.getValue().longValue();
 		Long old = this.counts.replace(value.getName(), delta);
@@ -179,15 +234,9 @@ public class MetricCopyExporter extends AbstractMetricExporter {
 
 	private class PatternMatchingIterable implements Iterable<Metric<?>> {
 
-		private final MetricReader reader;
-
-		PatternMatchingIterable(MetricReader reader) {
-			this.reader = reader;
-		}
-
 		@Override
 		public Iterator<Metric<?>> iterator() {
-			return new PatternMatchingIterator(this.reader.findAll().iterator());
+			return new PatternMatchingIterator(findAll().iterator());
 		}
 
 	}
@@ -214,24 +263,13 @@ public class MetricCopyExporter extends AbstractMetricExporter {
 		private Metric<?> findNext() {
 			while (this.iterator.hasNext()) {
 				Metric<?> metric = this.iterator.next();
-				if (isMatch(metric)) {
+				if (isMatch(metric.getName())) {
 					return metric;
 				}
 			}
 			return null;
 		}
 
-		private boolean isMatch(Metric<?> metric) {
-			String[] includes = MetricCopyExporter.this.includes;
-			String[] excludes = MetricCopyExporter.this.excludes;
-			String name = metric.getName();
-			if (ObjectUtils.isEmpty(includes)
-					|| PatternMatchUtils.simpleMatch(includes, name)) {
-				return !PatternMatchUtils.simpleMatch(excludes, name);
-			}
-			return false;
-		}
-
 		@Override
 		public Metric<?> next() {
 			Metric<?> metric = this.buffer;
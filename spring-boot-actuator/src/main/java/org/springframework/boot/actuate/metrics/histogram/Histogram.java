@@ -0,0 +1,349 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.histogram;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.util.Assert;
+
+/**
+ * A histogram of non-negative {@code long} values that uses a fixed amount of memory and
+ * never blocks when a value is recorded. Values are counted in log-linear buckets (in the
+ * style of an HdrHistogram): values below 128 are counted exactly, larger values with a
+ * relative precision of about 1.5%. Values above the highest trackable value are counted
+ * as the highest trackable value.
+ * <p>
+ * A histogram can be created with a window, in which case values are recorded in
+ * intervals of that length and only the current and the previous interval are kept: the
+ * statistics then reflect the values recorded during the last one to two windows rather
+ * than since the histogram was created.
+ * <p>
+ * Percentiles are computed from the bucket counts so a histogram that is being updated
+ * concurrently may report values that are slightly inconsistent with each other.
+ *
+ * @since 1.4.0
+ */
+public class Histogram {
+
+	private static final int SUB_BUCKET_BITS = 7;
+
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+	private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT >> 1;
+
+	private final String name;
+
+	private final long highestTrackableValue;
+
+	private final long window;
+
+	private volatile Intervals intervals;
+
+	/**
+	 * Create a new {@link Histogram} instance that keeps all the recorded values.
+	 * @param name the name of the histogram
+	 * @param highestTrackableValue the highest value that can be tracked
+	 */
+	public Histogram(String name, long highestTrackableValue) {
+		this(name, highestTrackableValue, 0);
+	}
+
+	/**
+	 * Create a new {@link Histogram} instance that only keeps the values recorded during
+	 * the last one to two windows.
+	 * @param name the name of the histogram
+	 * @param highestTrackableValue the highest value that can be tracked
+	 * @param window the length of the window in milliseconds or 0 to keep all the
+	 * recorded values
+	 */
+	public Histogram(String name, long highestTrackableValue, long window) {
+		Assert.notNull(name, "Name must not be null");
+		Assert.isTrue(highestTrackableValue > 0,
+				"HighestTrackableValue must be greater than 0");
+		Assert.isTrue(window >= 0, "Window must not be negative");
+		this.name = name;
+		this.highestTrackableValue = highestTrackableValue;
+		this.window = window;
+		this.intervals = new Intervals(newInterval(), null, getCurrentTime());
+	}
+
+	/**
+	 * Record a value. Negative values are ignored.
+	 * @param value the value to record
+	 */
+	public void record(long value) {
+		if (value < 0) {
+			return;
+		}
+		getIntervals().current.record(Math.min(value, this.highestTrackableValue));
+	}
+
+	private Intervals getIntervals() {
+		Intervals intervals = this.intervals;
+		if (this.window > 0 && getCurrentTime() - intervals.start >= this.window) {
+			return rotate();
+		}
+		return intervals;
+	}
+
+	private synchronized Intervals rotate() {
+		long now = getCurrentTime();
+		long elapsed = now - this.intervals.start;
+		if (elapsed >= this.window) {
+			Interval previous = (elapsed < 2 * this.window ? this.intervals.current
+					: null);
+			this.intervals = new Intervals(newInterval(), previous,
+					now - elapsed % this.window);
+		}
+		return this.intervals;
+	}
+
+	private Interval newInterval() {
+		return new Interval(getIndex(this.highestTrackableValue) + 1);
+	}
+
+	/**
+	 * Return the current time in milliseconds, used to rotate the intervals of a
+	 * histogram that has a window.
+	 * @return the current time
+	 */
+	long getCurrentTime() {
+		return System.currentTimeMillis();
+	}
+
+	/**
+	 * Return the name of the histogram.
+	 * @return the name
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Return the highest value that can be tracked.
+	 * @return the highest trackable value
+	 */
+	public long getHighestTrackableValue() {
+		return this.highestTrackableValue;
+	}
+
+	/**
+	 * Return the length of the window in milliseconds or 0 if all the recorded values are
+	 * kept.
+	 * @return the window
+	 */
+	public long getWindow() {
+		return this.window;
+	}
+
+	/**
+	 * Return the number of recorded values.
+	 * @return the count
+	 */
+	public long getCount() {
+		Intervals intervals = getIntervals();
+		long count = intervals.current.count.get();
+		if (intervals.previous != null) {
+			count += intervals.previous.count.get();
+		}
+		return count;
+	}
+
+	/**
+	 * Return the smallest recorded value or 0 if no value has been recorded.
+	 * @return the minimum
+	 */
+	public long getMin() {
+		Intervals intervals = getIntervals();
+		long min = intervals.current.min.get();
+		if (intervals.previous != null) {
+			min = Math.min(min, intervals.previous.min.get());
+		}
+		return (min == Long.MAX_VALUE ? 0 : min);
+	}
+
+	/**
+	 * Return the largest recorded value or 0 if no value has been recorded.
+	 * @return the maximum
+	 */
+	public long getMax() {
+		return getMax(getIntervals());
+	}
+
+	private long getMax(Intervals intervals) {
+		long max = intervals.current.max.get();
+		if (intervals.previous != null) {
+			max = Math.max(max, intervals.previous.max.get());
+		}
+		return max;
+	}
+
+	/**
+	 * Return the arithmetic mean of the recorded values or 0 if no value has been
+	 * recorded.
+	 * @return the mean
+	 */
+	public double getMean() {
+		Intervals intervals = getIntervals();
+		long count = intervals.current.count.get();
+		long total = intervals.current.total.get();
+		if (intervals.previous != null) {
+			count += intervals.previous.count.get();
+			total += intervals.previous.total.get();
+		}
+		return (count == 0 ? 0 : (double) total / count);
+	}
+
+	/**
+	 * Return the value at the given percentile, that is the highest value (within the
+	 * precision of the histogram) below which the given percentage of the recorded
+	 * values fall.
+	 * @param percentile the percentile (between 0 and 100)
+	 * @return the value at the percentile or 0 if no value has been recorded
+	 */
+	public long getValueAtPercentile(double percentile) {
+		return getValuesAtPercentiles(percentile)[0];
+	}
+
+	/**
+	 * Return the values at the given percentiles, computed from a single pass over the
+	 * recorded values.
+	 * @param percentiles the percentiles (between 0 and 100)
+	 * @return the values at the percentiles, in the same order as the percentiles
+	 * @see #getValueAtPercentile(double)
+	 */
+	public long[] getValuesAtPercentiles(double... percentiles) {
+		Intervals intervals = getIntervals();
+		long[] counts = new long[intervals.current.counts.length()];
+		long total = 0;
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = intervals.current.counts.get(i);
+			if (intervals.previous != null) {
+				counts[i] += intervals.previous.counts.get(i);
+			}
+			total += counts[i];
+		}
+		long max = getMax(intervals);
+		long[] values = new long[percentiles.length];
+		for (int p = 0; p < percentiles.length; p++) {
+			values[p] = (total == 0 ? 0
+					: Math.min(getValueAtRank(counts, getRank(percentiles[p], total)),
+							max));
+		}
+		return values;
+	}
+
+	private long getRank(double percentile, long total) {
+		double fraction = Math.min(Math.max(percentile, 0), 100) / 100;
+		return Math.max((long) Math.ceil(fraction * total), 1);
+	}
+
+	private long getValueAtRank(long[] counts, long rank) {
+		long cumulative = 0;
+		for (int i = 0; i < counts.length; i++) {
+			cumulative += counts[i];
+			if (cumulative >= rank) {
+				return getHighestEquivalentValue(i);
+			}
+		}
+		return getHighestEquivalentValue(counts.length - 1);
+	}
+
+	private static int getIndex(long value) {
+		if (value < SUB_BUCKET_COUNT) {
+			return (int) value;
+		}
+		int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+		return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF_COUNT
+				+ (int) ((value >>> shift) - SUB_BUCKET_HALF_COUNT);
+	}
+
+	private static long getHighestEquivalentValue(int index) {
+		if (index < SUB_BUCKET_COUNT) {
+			return index;
+		}
+		int offset = index - SUB_BUCKET_COUNT;
+		int shift = offset / SUB_BUCKET_HALF_COUNT + 1;
+		long subBucket = offset % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+		return ((subBucket + 1) << shift) - 1;
+	}
+
+	/**
+	 * The values recorded during one interval.
+	 */
+	private static final class Interval {
+
+		private final AtomicLongArray counts;
+
+		private final AtomicLong count = new AtomicLong();
+
+		private final AtomicLong total = new AtomicLong();
+
+		private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+
+		private final AtomicLong max = new AtomicLong();
+
+		Interval(int length) {
+			this.counts = new AtomicLongArray(length);
+		}
+
+		void record(long value) {
+			this.counts.incrementAndGet(getIndex(value));
+			this.total.addAndGet(value);
+			this.count.incrementAndGet();
+			updateMin(value);
+			updateMax(value);
+		}
+
+		private void updateMin(long value) {
+			long current = this.min.get();
+			while (value < current && !this.min.compareAndSet(current, value)) {
+				current = this.min.get();
+			}
+		}
+
+		private void updateMax(long value) {
+			long current = this.max.get();
+			while (value > current && !this.max.compareAndSet(current, value)) {
+				current = this.max.get();
+			}
+		}
+
+	}
+
+	/**
+	 * The current and the previous (if any) intervals, swapped as a unit so that readers
+	 * never see an interval twice.
+	 */
+	private static final class Intervals {
+
+		private final Interval current;
+
+		private final Interval previous;
+
+		private final long start;
+
+		Intervals(Interval current, Interval previous, long start) {
+			this.current = current;
+			this.previous = previous;
+			this.start = start;
+		}
+
+	}
+
+}
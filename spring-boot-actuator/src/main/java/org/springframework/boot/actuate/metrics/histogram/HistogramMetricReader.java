@@ -0,0 +1,122 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.histogram;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.reader.MetricReader;
+import org.springframework.util.Assert;
+
+/**
+ * {@link MetricReader} that reads the {@link Histogram histograms} of a
+ * {@link HistogramReader} as regular metrics, so that their percentiles can be exposed
+ * and exported like any other metric. Each histogram is read as a set of related metrics
+ * with a common prefix (the name of the histogram) and suffixes that describe the data.
+ * For example a histogram called {@code histogram.foo} is read as
+ * {@code [histogram.foo.count, histogram.foo.min, histogram.foo.max, histogram.foo.mean,
+ * histogram.foo.p50, histogram.foo.p95, histogram.foo.p99]}.
+ *
+ * @since 1.4.0
+ */
+public class HistogramMetricReader implements MetricReader {
+
+	private static final String COUNT = ".count";
+
+	private static final String MIN = ".min";
+
+	private static final String MAX = ".max";
+
+	private static final String MEAN = ".mean";
+
+	private final HistogramReader reader;
+
+	private final double[] percentiles;
+
+	/**
+	 * Create a new {@link HistogramMetricReader} that reads the 50th, 95th and 99th
+	 * percentiles.
+	 * @param reader the histogram reader
+	 */
+	public HistogramMetricReader(HistogramReader reader) {
+		this(reader, 50, 95, 99);
+	}
+
+	/**
+	 * Create a new {@link HistogramMetricReader} that reads the given percentiles.
+	 * @param reader the histogram reader
+	 * @param percentiles the percentiles (between 0 and 100)
+	 */
+	public HistogramMetricReader(HistogramReader reader, double... percentiles) {
+		Assert.notNull(reader, "Reader must not be null");
+		Assert.notNull(percentiles, "Percentiles must not be null");
+		this.reader = reader;
+		this.percentiles = percentiles.clone();
+	}
+
+	@Override
+	public Metric<?> findOne(String metricName) {
+		int index = metricName.lastIndexOf('.');
+		Histogram histogram = (index > 0
+				? this.reader.findOne(metricName.substring(0, index)) : null);
+		if (histogram != null) {
+			for (Metric<?> metric : getMetrics(histogram)) {
+				if (metric.getName().equals(metricName)) {
+					return metric;
+				}
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public Iterable<Metric<?>> findAll() {
+		List<Metric<?>> metrics = new ArrayList<Metric<?>>();
+		for (Histogram histogram : this.reader.findAll()) {
+			metrics.addAll(getMetrics(histogram));
+		}
+		return metrics;
+	}
+
+	@Override
+	public long count() {
+		return this.reader.count() * (4 + this.percentiles.length);
+	}
+
+	private List<Metric<?>> getMetrics(Histogram histogram) {
+		String name = histogram.getName();
+		List<Metric<?>> metrics = new ArrayList<Metric<?>>(4 + this.percentiles.length);
+		metrics.add(new Metric<Long>(name + COUNT, histogram.getCount()));
+		metrics.add(new Metric<Long>(name + MIN, histogram.getMin()));
+		metrics.add(new Metric<Long>(name + MAX, histogram.getMax()));
+		metrics.add(new Metric<Double>(name + MEAN, histogram.getMean()));
+		long[] values = histogram.getValuesAtPercentiles(this.percentiles);
+		for (int i = 0; i < this.percentiles.length; i++) {
+			metrics.add(new Metric<Long>(name + getSuffix(this.percentiles[i]),
+					values[i]));
+		}
+		return metrics;
+	}
+
+	private String getSuffix(double percentile) {
+		String value = (percentile == Math.rint(percentile)
+				? String.valueOf((long) percentile) : String.valueOf(percentile));
+		return ".p" + value.replace(".", "");
+	}
+
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.histogram;
+
+/**
+ * A service that can be used to record named values (typically durations) in a
+ * histogram, so that the distribution of the values and not only the latest value can be
+ * analysed.
+ *
+ * @since 1.4.0
+ * @see Histogram
+ */
+public interface HistogramService {
+
+	/**
+	 * Record a value in the specified histogram.
+	 * @param metricName the name of the histogram
+	 * @param value the value to record
+	 */
+	void record(String metricName, long value);
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.histogram;
+
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.util.Assert;
+
+/**
+ * In memory implementation of {@link HistogramService} and {@link HistogramReader}. Each
+ * histogram uses a fixed amount of memory (see {@link Histogram}) and the number of
+ * histograms is bounded: values recorded for new histograms once
+ * {@link #setMaxHistograms(int) the limit} is reached are discarded. By default the
+ * histograms only keep the values recorded during the last one to two minutes (see
+ * {@link #setWindow(long)}). Histogram names are prefixed with {@code histogram.} if
+ * necessary.
+ *
+ * @since 1.4.0
+ * @see HistogramMetricReader
+ */
+public class InMemoryHistogramRepository implements HistogramService, HistogramReader {
+
+	private static final String PREFIX = "histogram.";
+
+	private final ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<String, Histogram>();
+
+	private volatile int maxHistograms = 1000;
+
+	private volatile long highestTrackableValue = TimeUnit.HOURS.toMillis(1);
+
+	private volatile long window = TimeUnit.MINUTES.toMillis(1);
+
+	/**
+	 * Set the maximum number of histograms that are kept.
+	 * @param maxHistograms the maximum number of histograms (default 1000)
+	 */
+	public void setMaxHistograms(int maxHistograms) {
+		this.maxHistograms = maxHistograms;
+	}
+
+	/**
+	 * Set the highest value that can be tracked by histograms that are created from now
+	 * on. Higher values are recorded as the highest trackable value.
+	 * @param highestTrackableValue the highest trackable value (default one hour in
+	 * milliseconds)
+	 */
+	public void setHighestTrackableValue(long highestTrackableValue) {
+		Assert.isTrue(highestTrackableValue > 0,
+				"HighestTrackableValue must be greater than 0");
+		this.highestTrackableValue = highestTrackableValue;
+	}
+
+	/**
+	 * Set the window of histograms that are created from now on. Each histogram only
+	 * keeps the values recorded during the last one to two windows, so that its
+	 * statistics reflect recent activity rather than the whole uptime of the
+	 * application.
+	 * @param window the window in milliseconds or 0 to keep all the recorded values
+	 * (default one minute)
+	 */
+	public void setWindow(long window) {
+		Assert.isTrue(window >= 0, "Window must not be negative");
+		this.window = window;
+	}
+
+	@Override
+	public void record(String metricName, long value) {
+		String name = wrap(metricName);
+		Histogram histogram = this.histograms.get(name);
+		if (histogram == null) {
+			if (this.histograms.size() >= this.maxHistograms) {
+				return;
+			}
+			histogram = new Histogram(name, this.highestTrackableValue, this.window);
+			Histogram existing = this.histograms.putIfAbsent(name, histogram);
+			histogram = (existing == null ? histogram : existing);
+		}
+		histogram.record(value);
+	}
+
+	/**
+	 * Reset (remove) the specified histogram.
+	 * @param metricName the name of the histogram
+	 */
+	public void reset(String metricName) {
+		this.histograms.remove(wrap(metricName));
+	}
+
+	@Override
+	public Histogram findOne(String name) {
+		return this.histograms.get(wrap(name));
+	}
+
+	@Override
+	public Iterable<Histogram> findAll() {
+		return new ArrayList<Histogram>(this.histograms.values());
+	}
+
+	@Override
+	public long count() {
+		return this.histograms.size();
+	}
+
+	private String wrap(String metricName) {
+		if (metricName.startsWith(PREFIX)) {
+			return metricName;
+		}
+		return PREFIX + metricName;
+	}
+
+}
@@ -0,0 +1,300 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.opentsdb;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * An {@link OpenTsdbGaugeWriter} that never blocks the caller. Data are added to a
+ * bounded queue and posted to the server by a background thread, either when
+ * {@link #setBufferSize(int) bufferSize} values are waiting or when the oldest waiting
+ * value reaches the {@link #setMaxBatchAge(long) maximum batch age}. Posts that fail
+ * with a {@link RestClientException} are retried with an exponential backoff. Values
+ * that cannot be queued because the queue is full, or that cannot be posted, are
+ * discarded and counted (see {@link #getDroppedCount()}).
+ * <p>
+ * The background thread is started when the first value is written and stopped when the
+ * writer is {@link #close() closed}.
+ *
+ * @since 1.4.0
+ */
+public class AsyncOpenTsdbGaugeWriter extends OpenTsdbGaugeWriter implements Closeable {
+
+	private static final Log logger = LogFactory.getLog(AsyncOpenTsdbGaugeWriter.class);
+
+	/**
+	 * Maximum number of values waiting to be posted.
+	 */
+	private int queueCapacity = 10000;
+
+	/**
+	 * Maximum time in milliseconds that a value waits before a partial batch is posted.
+	 */
+	private long maxBatchAge = 5000;
+
+	/**
+	 * Maximum number of attempts made to post a batch.
+	 */
+	private int maxAttempts = 3;
+
+	/**
+	 * Time in milliseconds to wait before the first retry. Doubled for each further
+	 * retry.
+	 */
+	private long retryBackoff = 1000;
+
+	private final Queue<QueuedData> queue = new ConcurrentLinkedQueue<QueuedData>();
+
+	private final AtomicInteger queued = new AtomicInteger();
+
+	private final AtomicLong dropped = new AtomicLong();
+
+	private final AtomicBoolean started = new AtomicBoolean();
+
+	private volatile boolean running = true;
+
+	private volatile boolean flushRequested;
+
+	private volatile Thread sender;
+
+	/**
+	 * Creates a new {@code AsyncOpenTsdbGaugeWriter} with the default connect (10
+	 * seconds) and read (30 seconds) timeouts.
+	 */
+	public AsyncOpenTsdbGaugeWriter() {
+		super();
+	}
+
+	/**
+	 * Creates a new {@code AsyncOpenTsdbGaugeWriter} with the given millisecond
+	 * {@code connectTimeout} and {@code readTimeout}.
+	 * @param connectTimeout the connect timeout in milliseconds
+	 * @param readTimeout the read timeout in milliseconds
+	 */
+	public AsyncOpenTsdbGaugeWriter(int connectTimeout, int readTimeout) {
+		super(connectTimeout, readTimeout);
+	}
+
+	public void setQueueCapacity(int queueCapacity) {
+		this.queueCapacity = queueCapacity;
+	}
+
+	public void setMaxBatchAge(long maxBatchAge) {
+		this.maxBatchAge = maxBatchAge;
+	}
+
+	public void setMaxAttempts(int maxAttempts) {
+		this.maxAttempts = maxAttempts;
+	}
+
+	public void setRetryBackoff(long retryBackoff) {
+		this.retryBackoff = retryBackoff;
+	}
+
+	/**
+	 * Return the number of values that have been discarded, either because the queue was
+	 * full or because they could not be posted to the server.
+	 * @return the number of discarded values
+	 */
+	public long getDroppedCount() {
+		return this.dropped.get();
+	}
+
+	@Override
+	public void set(Metric<?> value) {
+		if (!this.running) {
+			this.dropped.incrementAndGet();
+			return;
+		}
+		if (this.queued.incrementAndGet() > this.queueCapacity) {
+			this.queued.decrementAndGet();
+			this.dropped.incrementAndGet();
+			return;
+		}
+		this.queue.add(new QueuedData(createData(value)));
+		startIfNecessary();
+		if (this.queued.get() >= getBufferSize()) {
+			LockSupport.unpark(this.sender);
+		}
+	}
+
+	/**
+	 * Request that all waiting values are posted without waiting for the batch to fill.
+	 * Unlike the {@link OpenTsdbGaugeWriter#flush() superclass} this method does not wait
+	 * for the data to be posted.
+	 */
+	@Override
+	public void flush() {
+		this.flushRequested = true;
+		LockSupport.unpark(this.sender);
+	}
+
+	/**
+	 * Stop the background thread, making a final attempt to post any waiting values.
+	 */
+	@Override
+	public void close() {
+		this.running = false;
+		Thread sender = this.sender;
+		if (sender != null) {
+			LockSupport.unpark(sender);
+			try {
+				sender.join(TimeUnit.SECONDS.toMillis(30));
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private void startIfNecessary() {
+		if (this.started.compareAndSet(false, true)) {
+			Thread sender = new Thread(new Runnable() {
+
+				@Override
+				public void run() {
+					send();
+				}
+
+			}, "opentsdb-writer");
+			sender.setDaemon(true);
+			this.sender = sender;
+			sender.start();
+		}
+	}
+
+	private void send() {
+		long maxBatchAgeNanos = TimeUnit.MILLISECONDS.toNanos(this.maxBatchAge);
+		while (this.running) {
+			QueuedData oldest = this.queue.peek();
+			long remaining = (oldest == null ? maxBatchAgeNanos
+					: oldest.getTime() + maxBatchAgeNanos - System.nanoTime());
+			boolean flush = this.flushRequested;
+			if (!flush && this.queued.get() < getBufferSize()
+					&& (oldest == null || remaining > 0)) {
+				LockSupport.parkNanos(this, remaining);
+				continue;
+			}
+			this.flushRequested = false;
+			do {
+				postWithRetry(drain());
+			}
+			while (this.running && flush && this.queued.get() > 0);
+		}
+		List<OpenTsdbData> batch = drain();
+		while (!batch.isEmpty()) {
+			post(batch);
+			batch = drain();
+		}
+	}
+
+	private List<OpenTsdbData> drain() {
+		int size = Math.max(getBufferSize(), 1);
+		List<OpenTsdbData> batch = new ArrayList<OpenTsdbData>(size);
+		while (batch.size() < size) {
+			QueuedData data = this.queue.poll();
+			if (data == null) {
+				break;
+			}
+			this.queued.decrementAndGet();
+			batch.add(data.getData());
+		}
+		return batch;
+	}
+
+	private void postWithRetry(List<OpenTsdbData> batch) {
+		if (batch.isEmpty()) {
+			return;
+		}
+		long backoff = this.retryBackoff;
+		for (int attempt = 1; attempt < this.maxAttempts && this.running; attempt++) {
+			try {
+				if (!postData(batch)) {
+					this.dropped.addAndGet(batch.size());
+				}
+				return;
+			}
+			catch (RestClientException ex) {
+				logger.debug("Cannot write metrics (attempt " + attempt + ")", ex);
+				LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(backoff));
+				backoff *= 2;
+			}
+			catch (RuntimeException ex) {
+				discard(batch, ex);
+				return;
+			}
+		}
+		post(batch);
+	}
+
+	private void post(List<OpenTsdbData> batch) {
+		try {
+			if (!postData(batch)) {
+				this.dropped.addAndGet(batch.size());
+			}
+		}
+		catch (RuntimeException ex) {
+			discard(batch, ex);
+		}
+	}
+
+	private void discard(List<OpenTsdbData> batch, RuntimeException ex) {
+		logger.warn("Cannot write metrics (discarded " + batch.size() + " values): "
+				+ ex.getMessage());
+		logger.debug("Cannot write metrics", ex);
+		this.dropped.addAndGet(batch.size());
+	}
+
+	/**
+	 * {@link OpenTsdbData} waiting in the queue with the time it was added.
+	 */
+	private static final class QueuedData {
+
+		private final OpenTsdbData data;
+
+		private final long time = System.nanoTime();
+
+		QueuedData(OpenTsdbData data) {
+			this.data = data;
+		}
+
+		public OpenTsdbData getData() {
+			return this.data;
+		}
+
+		public long getTime() {
+			return this.time;
+		}
+
+	}
+
+}
@@ -33,6 +33,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestOperations;
 import org.springframework.web.client.RestTemplate;
 
@@ -42,7 +43,8 @@ import org.springframework.web.client.RestTemplate;
  * {@link #setBufferSize(int) bufferSize} property, and only flushed automatically when
  * the buffer size is reached. Users should either manually {@link #flush()} after writing
  * a batch of data if that makes sense, or consider adding a {@link Scheduled Scheduled}
- * task to flush periodically.
+ * task to flush periodically. Alternatively, use an {@link AsyncOpenTsdbGaugeWriter} so
+ * that data are posted in the background.
  *
  * @author Dave Syer
  * @author Thomas Badie
@@ -113,6 +115,10 @@ public class OpenTsdbGaugeWriter implements GaugeWriter {
 		this.url = url;
 	}
 
+	public int getBufferSize() {
+		return this.bufferSize;
+	}
+
 	public void setBufferSize(int bufferSize) {
 		this.bufferSize = bufferSize;
 	}
@@ -127,8 +133,7 @@ public class OpenTsdbGaugeWriter implements GaugeWriter {
 
 	@Override
 	public void set(Metric<?> value) {
-		OpenTsdbData data = new OpenTsdbData(this.namingStrategy.getName(value.getName()),
-				value.getValue(), value.getTimestamp().getTime());
+		OpenTsdbData data = createData(value);
 		synchronized (this.buffer) {
 			this.buffer.add(data);
 			if (this.buffer.size() >= this.bufferSize) {
@@ -140,21 +145,43 @@ public class OpenTsdbGaugeWriter implements GaugeWriter {
 	/**
 	 * Flush the buffer without waiting for it to fill any further.
 	 */
-	@SuppressWarnings("rawtypes")
 	public void flush() {
 		List<OpenTsdbData> snapshot = getBufferSnapshot();
 		if (snapshot.isEmpty()) {
 			return;
 		}
+		postData(snapshot);
+	}
+
+	/**
+	 * Create the {@link OpenTsdbData} that should be written for the given metric.
+	 * @param value the metric
+	 * @return the data to write
+	 */
+	protected OpenTsdbData createData(Metric<?> value) {
+		return new OpenTsdbData(this.namingStrategy.getName(value.getName()),
+				value.getValue(), value.getTimestamp().getTime());
+	}
+
+	/**
+	 * Post the given data to the server.
+	 * @param data the data to post
+	 * @return {@code true} if the data was accepted by the server
+	 * @throws RestClientException if the data could not be posted
+	 */
+	@SuppressWarnings("rawtypes")
+	protected boolean postData(List<OpenTsdbData> data) throws RestClientException {
 		HttpHeaders headers = new HttpHeaders();
 		headers.setAccept(Arrays.asList(this.mediaType));
 		headers.setContentType(this.mediaType);
 		ResponseEntity<Map> response = this.restTemplate.postForEntity(this.url,
-				new HttpEntity<List<OpenTsdbData>>(snapshot, headers), Map.class);
+				new HttpEntity<List<OpenTsdbData>>(data, headers), Map.class);
 		if (!response.getStatusCode().is2xxSuccessful()) {
-			logger.warn("Cannot write metrics (discarded " + snapshot.size()
-					+ " values): " + response.getBody());
+			logger.warn("Cannot write metrics (discarded " + data.size() + " values): "
+					+ response.getBody());
+			return false;
 		}
+		return true;
 	}
 
 	private List<OpenTsdbData> getBufferSnapshot() {
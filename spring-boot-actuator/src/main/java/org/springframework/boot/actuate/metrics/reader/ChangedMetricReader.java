@@ -0,0 +1,37 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.reader;
+
+import org.springframework.boot.actuate.metrics.Metric;
+
+/**
+ * Interface for extracting only the metrics that have changed since a given time, used
+ * as a cursor by exporters that send new values periodically. Implementations should
+ * avoid visiting (or creating) the metrics that have not changed.
+ *
+ * @since 1.4.0
+ */
+public interface ChangedMetricReader {
+
+	/**
+	 * Find all metrics whose timestamp is not before the given time.
+	 * @param timestamp the time in milliseconds since the epoch
+	 * @return all metrics that changed at or after the timestamp
+	 */
+	Iterable<Metric<?>> findChangedSince(long timestamp);
+
+}
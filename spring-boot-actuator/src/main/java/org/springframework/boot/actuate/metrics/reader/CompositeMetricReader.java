@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2014 the original author or authors.
+ * Copyright 2012-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,11 +23,13 @@ import java.util.List;
 import org.springframework.boot.actuate.metrics.Metric;
 
 /**
- * Composite implementation of {@link MetricReader}.
+ * Composite implementation of {@link MetricReader}. Delegates that are also
+ * {@link ChangedMetricReader ChangedMetricReaders} only contribute their changed metrics
+ * to {@link #findChangedSince(long)}.
  *
  * @author Dave Syer
  */
-public class CompositeMetricReader implements MetricReader {
+public class CompositeMetricReader implements MetricReader, ChangedMetricReader {
 
 	private final List<MetricReader> readers = new ArrayList<MetricReader>();
 
@@ -58,6 +60,20 @@ public class CompositeMetricReader implements MetricReader {
 		return values;
 	}
 
+	@Override
+	public Iterable<Metric<?>> findChangedSince(long timestamp) {
+		List<Metric<?>> values = new ArrayList<Metric<?>>();
+		for (MetricReader delegate : this.readers) {
+			Iterable<Metric<?>> changed = (delegate instanceof ChangedMetricReader
+					? ((ChangedMetricReader) delegate).findChangedSince(timestamp)
+					: delegate.findAll());
+			for (Metric<?> value : changed) {
+				values.add(value);
+			}
+		}
+		return values;
+	}
+
 	@Override
 	public long count() {
 		long count = 0;
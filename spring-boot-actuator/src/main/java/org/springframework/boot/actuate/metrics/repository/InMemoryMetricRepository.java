@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2015 the original author or authors.
+ * Copyright 2012-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,13 +16,18 @@
 
 package org.springframework.boot.actuate.metrics.repository;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ConcurrentNavigableMap;
 
 import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.reader.ChangedMetricReader;
+import org.springframework.boot.actuate.metrics.util.MetricChangeLog;
 import org.springframework.boot.actuate.metrics.util.SimpleInMemoryRepository;
 import org.springframework.boot.actuate.metrics.util.SimpleInMemoryRepository.Callback;
 import org.springframework.boot.actuate.metrics.writer.Delta;
@@ -33,14 +38,18 @@ import org.springframework.boot.actuate.metrics.writer.Delta;
  *
  * @author Dave Syer
  */
-public class InMemoryMetricRepository implements MetricRepository, MultiMetricRepository {
+public class InMemoryMetricRepository
+		implements MetricRepository, MultiMetricRepository, ChangedMetricReader {
 
 	private final SimpleInMemoryRepository<Metric<?>> metrics = new SimpleInMemoryRepository<Metric<?>>();
 
 	private final Collection<String> groups = new HashSet<String>();
 
+	private volatile MetricChangeLog changes = new MetricChangeLog();
+
 	public void setValues(ConcurrentNavigableMap<String, Metric<?>> values) {
 		this.metrics.setValues(values);
+		this.changes = new MetricChangeLog();
 	}
 
 	@Override
@@ -61,11 +70,13 @@ public class InMemoryMetricRepository implements MetricRepository, MultiMetricRe
 				}
 			}
 		});
+		this.changes.record(metricName);
 	}
 
 	@Override
 	public void set(Metric<?> value) {
 		this.metrics.set(value.getName(), value);
+		this.changes.record(value.getName());
 	}
 
 	@Override
@@ -133,4 +144,28 @@ public class InMemoryMetricRepository implements MetricRepository, MultiMetricRe
 		return this.metrics.findAllWithPrefix(metricNamePrefix);
 	}
 
+	@Override
+	public Iterable<Metric<?>> findChangedSince(long timestamp) {
+		Set<String> names = this.changes.findChangedSince(timestamp);
+		List<Metric<?>> changed = new ArrayList<Metric<?>>();
+		if (names == null) {
+			for (Metric<?> metric : this.metrics.findAll()) {
+				addIfChangedSince(metric, timestamp, changed);
+			}
+		}
+		else {
+			for (String name : names) {
+				addIfChangedSince(this.metrics.findOne(name), timestamp, changed);
+			}
+		}
+		return changed;
+	}
+
+	private void addIfChangedSince(Metric<?> metric, long timestamp,
+			List<Metric<?>> changed) {
+		if (metric != null && metric.getTimestamp().getTime() >= timestamp) {
+			changed.add(metric);
+		}
+	}
+
 }
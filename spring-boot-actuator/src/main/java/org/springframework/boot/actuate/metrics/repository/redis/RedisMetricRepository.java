@@ -17,6 +17,8 @@
 package org.springframework.boot.actuate.metrics.repository.redis;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
@@ -24,10 +26,14 @@ import java.util.Set;
 
 import org.springframework.boot.actuate.metrics.Metric;
 import org.springframework.boot.actuate.metrics.repository.MetricRepository;
+import org.springframework.boot.actuate.metrics.writer.BatchMetricWriter;
 import org.springframework.boot.actuate.metrics.writer.Delta;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.BoundZSetOperations;
 import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
 import org.springframework.util.Assert;
 
 /**
@@ -37,10 +43,14 @@ import org.springframework.util.Assert;
  * multiple metrics repositories all point at the same instance of Redis, it may be useful
  * to change the prefix to be unique (but not if you want them to contribute to the same
  * metrics).
+ * <p>
+ * Commands are pipelined so that reading or writing a single metric takes one round trip
+ * to the server, {@link #findAll()} takes two, and the {@link BatchMetricWriter batch}
+ * operations take one however many metrics are written.
  *
  * @author Dave Syer
  */
-public class RedisMetricRepository implements MetricRepository {
+public class RedisMetricRepository implements MetricRepository, BatchMetricWriter {
 
 	private static final String DEFAULT_METRICS_PREFIX = "spring.metrics.";
 
@@ -115,23 +125,39 @@ public class RedisMetricRepository implements MetricRepository {
 
 	@Override
 	public Metric<?> findOne(String metricName) {
-		String redisKey = keyFor(metricName);
-		String raw = this.redisOperations.opsForValue().get(redisKey);
-		return deserialize(redisKey, raw, this.zSetOperations.score(redisKey));
+		final String redisKey = keyFor(metricName);
+		PipelineCallback callback = new PipelineCallback() {
+
+			@Override
+			protected void doInPipeline(RedisOperations<String, String> operations) {
+				operations.opsForValue().get(redisKey);
+				operations.opsForZSet().score(RedisMetricRepository.this.key, redisKey);
+			}
+
+		};
+		List<Object> results = this.redisOperations.executePipelined(callback);
+		return deserialize(redisKey, (String) results.get(0), (Double) results.get(1));
 	}
 
 	@Override
 	public Iterable<Metric<?>> findAll() {
 
 		// This set is sorted
-		Set<String> keys = this.zSetOperations.range(0, -1);
-		Iterator<String> keysIt = keys.iterator();
+		Set<TypedTuple<String>> scores = this.zSetOperations.rangeWithScores(0, -1);
+		if (scores.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<String> keys = new ArrayList<String>(scores.size());
+		for (TypedTuple<String> score : scores) {
+			keys.add(score.getValue());
+		}
+		Iterator<TypedTuple<String>> scoresIt = scores.iterator();
 
 		List<Metric<?>> result = new ArrayList<Metric<?>>(keys.size());
 		List<String> values = this.redisOperations.opsForValue().multiGet(keys);
 		for (String v : values) {
-			String key = keysIt.next();
-			Metric<?> value = deserialize(key, v, this.zSetOperations.score(key));
+			TypedTuple<String> score = scoresIt.next();
+			Metric<?> value = deserialize(score.getValue(), v, score.getScore());
 			if (value != null) {
 				result.add(value);
 			}
@@ -147,23 +173,53 @@ public class RedisMetricRepository implements MetricRepository {
 
 	@Override
 	public void increment(Delta<?> delta) {
-		String name = delta.getName();
-		String key = keyFor(name);
-		trackMembership(key);
-		double value = this.zSetOperations.incrementScore(key,
-				delta.getValue().doubleValue());
-		String raw = serialize(new Metric<Double>(name, value, delta.getTimestamp()));
-		this.redisOperations.opsForValue().set(key, raw);
+		increment(Collections.<Delta<?>>singletonList(delta));
+	}
+
+	@Override
+	public void increment(final Collection<Delta<?>> deltas) {
+		if (deltas.isEmpty()) {
+			return;
+		}
+		this.redisOperations.executePipelined(new PipelineCallback() {
+
+			@Override
+			protected void doInPipeline(RedisOperations<String, String> operations) {
+				for (Delta<?> delta : deltas) {
+					String key = keyFor(delta.getName());
+					operations.opsForZSet().incrementScore(
+							RedisMetricRepository.this.key, key,
+							delta.getValue().doubleValue());
+					operations.opsForValue().set(key, serialize(delta));
+				}
+			}
+
+		});
 	}
 
 	@Override
 	public void set(Metric<?> value) {
-		String name = value.getName();
-		String key = keyFor(name);
-		trackMembership(key);
-		this.zSetOperations.add(key, value.getValue().doubleValue());
-		String raw = serialize(value);
-		this.redisOperations.opsForValue().set(key, raw);
+		set(Collections.<Metric<?>>singletonList(value));
+	}
+
+	@Override
+	public void set(final Collection<Metric<?>> values) {
+		if (values.isEmpty()) {
+			return;
+		}
+		this.redisOperations.executePipelined(new PipelineCallback() {
+
+			@Override
+			protected void doInPipeline(RedisOperations<String, String> operations) {
+				for (Metric<?> value : values) {
+					String key = keyFor(value.getName());
+					operations.opsForZSet().add(RedisMetricRepository.this.key, key,
+							value.getValue().doubleValue());
+					operations.opsForValue().set(key, serialize(value));
+				}
+			}
+
+		});
 	}
 
 	@Override
@@ -194,8 +250,21 @@ public class RedisMetricRepository implements MetricRepository {
 		return redisKey.substring(this.prefix.length());
 	}
 
-	private void trackMembership(String redisKey) {
-		this.zSetOperations.incrementScore(redisKey, 0.0D);
+	/**
+	 * {@link SessionCallback} used to queue commands on a pipelined connection.
+	 */
+	private abstract static class PipelineCallback implements SessionCallback<Object> {
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public <K, V> Object execute(RedisOperations<K, V> operations)
+				throws DataAccessException {
+			doInPipeline((RedisOperations<String, String>) operations);
+			return null;
+		}
+
+		protected abstract void doInPipeline(RedisOperations<String, String> operations);
+
 	}
 
 }
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.util;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the names of the metrics that change so that a reader can find the metrics
+ * that changed since a given time without visiting all of them. Changes are grouped in
+ * epochs: a new epoch starts every time the changes are {@link #findChangedSince(long)
+ * read}, and only the most recent epochs are kept. Several readers with different
+ * cursors can share the same log.
+ * <p>
+ * Writers that update the same metric often can avoid recording it more than once per
+ * epoch by remembering the {@link #getEpoch() epoch} in which they last recorded it.
+ *
+ * @since 1.4.0
+ */
+public class MetricChangeLog {
+
+	private static final int DEFAULT_MAX_EPOCHS = 16;
+
+	private final int maxEpochs;
+
+	private final LinkedList<Epoch> epochs = new LinkedList<Epoch>();
+
+	private volatile Epoch current;
+
+	/**
+	 * Create a new {@link MetricChangeLog} that keeps the default number of epochs.
+	 */
+	public MetricChangeLog() {
+		this(DEFAULT_MAX_EPOCHS);
+	}
+
+	/**
+	 * Create a new {@link MetricChangeLog}.
+	 * @param maxEpochs the number of epochs to keep, older cursors cannot be served
+	 */
+	public MetricChangeLog(int maxEpochs) {
+		this.maxEpochs = Math.max(maxEpochs, 1);
+		this.current = new Epoch(0, System.currentTimeMillis());
+		this.epochs.add(this.current);
+	}
+
+	/**
+	 * Return the identifier of the current epoch.
+	 * @return the current epoch
+	 */
+	public long getEpoch() {
+		return this.current.id;
+	}
+
+	/**
+	 * Record that the metric with the given name changed. The metric's timestamp should
+	 * be updated before it is recorded.
+	 * @param name the metric name
+	 */
+	public void record(String name) {
+		this.current.names.add(name);
+	}
+
+	/**
+	 * Return the names of the metrics that may have changed at or after the given time
+	 * and start a new epoch. The returned names can include metrics that changed
+	 * slightly earlier, callers should check the timestamps of the metrics.
+	 * @param timestamp the time in milliseconds since the epoch
+	 * @return the names of the changed metrics or {@code null} if the log does not go
+	 * back far enough and all metrics have to be considered
+	 */
+	public Set<String> findChangedSince(long timestamp) {
+		synchronized (this.epochs) {
+			if (timestamp < this.epochs.getFirst().start) {
+				startEpoch();
+				return null;
+			}
+			Set<String> names = new HashSet<String>();
+			for (Epoch epoch : this.epochs) {
+				if (epoch == this.current || epoch.end >= timestamp) {
+					names.addAll(epoch.names);
+				}
+			}
+			startEpoch();
+			return names;
+		}
+	}
+
+	private void startEpoch() {
+		long now = System.currentTimeMillis();
+		Epoch previous = this.current;
+		previous.end = now;
+		this.current = new Epoch(previous.id + 1, now);
+		this.epochs.add(this.current);
+		while (this.epochs.size() > this.maxEpochs) {
+			this.epochs.removeFirst();
+		}
+	}
+
+	/**
+	 * The names recorded between two reads.
+	 */
+	private static final class Epoch {
+
+		private final long id;
+
+		private final long start;
+
+		private volatile long end;
+
+		private final Set<String> names = Collections
+				.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+		Epoch(long id, long start) {
+			this.id = id;
+			this.start = start;
+		}
+
+	}
+
+}
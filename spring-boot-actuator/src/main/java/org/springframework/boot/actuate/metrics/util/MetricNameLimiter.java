@@ -0,0 +1,178 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.util.Assert;
+
+/**
+ * Limits the number of distinct metric names, typically names derived from external
+ * input such as request paths, so that the memory used to store metrics stays bounded.
+ * Names are grouped by the longest configured prefix that they start with. Names that
+ * match no prefix form a default group. Once a group holds its maximum number of names,
+ * further names in the group are replaced by the group's overflow name (the prefix
+ * followed by {@link #setOverflowName(String) "overflow"}).
+ *
+ * @since 1.4.0
+ */
+public class MetricNameLimiter {
+
+	private static final String DEFAULT_OVERFLOW_NAME = "overflow";
+
+	private final List<Group> groups;
+
+	private final Group defaultGroup;
+
+	private final AtomicLong rejected = new AtomicLong();
+
+	private String overflowName = DEFAULT_OVERFLOW_NAME;
+
+	/**
+	 * Create a new {@link MetricNameLimiter} that applies the same maximum to all names.
+	 * @param defaultLimit the maximum number of distinct names or -1 for no limit
+	 */
+	public MetricNameLimiter(int defaultLimit) {
+		this(defaultLimit, Collections.<String, Integer>emptyMap());
+	}
+
+	/**
+	 * Create a new {@link MetricNameLimiter} with a maximum number of names for each
+	 * prefix.
+	 * @param defaultLimit the maximum number of distinct names that match no prefix or -1
+	 * for no limit
+	 * @param limits the maximum number of distinct names keyed by prefix (-1 for no
+	 * limit)
+	 */
+	public MetricNameLimiter(int defaultLimit, Map<String, Integer> limits) {
+		Assert.notNull(limits, "Limits must not be null");
+		List<Group> groups = new ArrayList<Group>(limits.size());
+		for (Map.Entry<String, Integer> entry : limits.entrySet()) {
+			groups.add(new Group(entry.getKey(), entry.getValue()));
+		}
+		Collections.sort(groups, new Comparator<Group>() {
+
+			@Override
+			public int compare(Group one, Group two) {
+				return two.prefix.length() - one.prefix.length();
+			}
+
+		});
+		this.groups = groups;
+		this.defaultGroup = new Group("", defaultLimit);
+	}
+
+	/**
+	 * Set the name, relative to the prefix of its group, that replaces names once the
+	 * group is full. Defaults to {@code "overflow"}.
+	 * @param overflowName the overflow name
+	 */
+	public void setOverflowName(String overflowName) {
+		Assert.hasText(overflowName, "OverflowName must not be empty");
+		this.overflowName = overflowName;
+	}
+
+	/**
+	 * Return the name to use for the given metric name: either the name itself or, if
+	 * its group is full, the overflow name of the group.
+	 * @param metricName the metric name
+	 * @return the name to use
+	 */
+	public String limit(String metricName) {
+		Group group = getGroup(metricName);
+		if (group.accept(metricName)) {
+			return metricName;
+		}
+		this.rejected.incrementAndGet();
+		return group.prefix + this.overflowName;
+	}
+
+	/**
+	 * Return the number of times that a name has been replaced by an overflow name.
+	 * @return the number of rejected names
+	 */
+	public long getRejectedCount() {
+		return this.rejected.get();
+	}
+
+	/**
+	 * Return the number of distinct names accepted so far by each group, keyed by the
+	 * prefix of the group. Names in groups without a limit are not counted.
+	 * @return the name counts keyed by prefix
+	 */
+	public Map<String, Integer> getNameCounts() {
+		Map<String, Integer> counts = new LinkedHashMap<String, Integer>();
+		for (Group group : this.groups) {
+			counts.put(group.prefix, group.size.get());
+		}
+		counts.put(this.defaultGroup.prefix, this.defaultGroup.size.get());
+		return counts;
+	}
+
+	private Group getGroup(String metricName) {
+		for (Group group : this.groups) {
+			if (metricName.startsWith(group.prefix)) {
+				return group;
+			}
+		}
+		return this.defaultGroup;
+	}
+
+	/**
+	 * The names accepted for a prefix.
+	 */
+	private static final class Group {
+
+		private final String prefix;
+
+		private final int limit;
+
+		private final ConcurrentMap<String, Boolean> names = new ConcurrentHashMap<String, Boolean>();
+
+		private final AtomicInteger size = new AtomicInteger();
+
+		Group(String prefix, int limit) {
+			this.prefix = prefix;
+			this.limit = limit;
+		}
+
+		public boolean accept(String name) {
+			if (this.limit < 0 || this.names.containsKey(name)) {
+				return true;
+			}
+			if (this.size.incrementAndGet() > this.limit) {
+				this.size.decrementAndGet();
+				return false;
+			}
+			if (this.names.putIfAbsent(name, Boolean.TRUE) != null) {
+				this.size.decrementAndGet();
+			}
+			return true;
+		}
+
+	}
+
+}
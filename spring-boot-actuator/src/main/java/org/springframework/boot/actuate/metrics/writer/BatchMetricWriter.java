@@ -0,0 +1,45 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.writer;
+
+import java.util.Collection;
+
+import org.springframework.boot.actuate.metrics.Metric;
+
+/**
+ * A {@link MetricWriter} that can write many values at once, typically much more
+ * efficiently than writing them one at a time (e.g. using a single round trip to a
+ * remote store). Exporters that copy many metrics in one go use the batch operations
+ * when they are available.
+ *
+ * @since 1.4.0
+ */
+public interface BatchMetricWriter extends MetricWriter {
+
+	/**
+	 * Set the values of some metrics.
+	 * @param values the metric values to save
+	 */
+	void set(Collection<Metric<?>> values);
+
+	/**
+	 * Increment the values of some metrics (or decrement if a delta is negative).
+	 * @param deltas the amounts to increment by
+	 */
+	void increment(Collection<Delta<?>> deltas);
+
+}
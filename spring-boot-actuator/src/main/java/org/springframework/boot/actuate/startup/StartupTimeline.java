@@ -0,0 +1,239 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.startup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.util.Assert;
+
+/**
+ * Records the spans of time taken by the different steps of an application's startup.
+ * Spans are stored in a buffer that is allocated up front so that recording a span is
+ * cheap and never blocks. Spans that do not fit in the buffer are dropped and counted
+ * (see {@link #getDroppedSpans()}). All times are in nanoseconds, relative to the
+ * creation of the timeline.
+ * <p>
+ * Recording stops once the timeline has been {@link #finish() finished}, typically when
+ * the application has started.
+ *
+ * @since 1.4.0
+ * @see StartupTimelineRunListener
+ */
+public class StartupTimeline {
+
+	/**
+	 * The name of the bean under which the timeline is registered.
+	 */
+	public static final String BEAN_NAME = "startupTimeline";
+
+	/**
+	 * The default number of spans that can be recorded.
+	 */
+	public static final int DEFAULT_CAPACITY = 4096;
+
+	private final long startTime = System.nanoTime();
+
+	private final long timestamp = System.currentTimeMillis();
+
+	private final String[] categories;
+
+	private final String[] names;
+
+	private final long[] starts;
+
+	private final AtomicLongArray ends;
+
+	private final AtomicInteger count = new AtomicInteger();
+
+	private volatile boolean finished;
+
+	private volatile Map<String, Long> conditionEvaluationTimes = Collections.emptyMap();
+
+	/**
+	 * Create a new {@link StartupTimeline} with the {@link #DEFAULT_CAPACITY default
+	 * capacity}.
+	 */
+	public StartupTimeline() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Create a new {@link StartupTimeline} that can record up to {@code capacity} spans.
+	 * @param capacity the capacity
+	 */
+	public StartupTimeline(int capacity) {
+		Assert.isTrue(capacity >= 0, "Capacity must not be negative");
+		this.categories = new String[capacity];
+		this.names = new String[capacity];
+		this.starts = new long[capacity];
+		this.ends = new AtomicLongArray(capacity);
+		for (int i = 0; i < capacity; i++) {
+			this.ends.set(i, -1);
+		}
+	}
+
+	/**
+	 * Start a new span.
+	 * @param category the category of the span, for example {@code "phase"} or
+	 * {@code "bean"}
+	 * @param name the name of the span
+	 * @return an identifier for the span that should be passed to {@link #end(int)} or
+	 * {@code -1} if the span is not recorded
+	 */
+	public int start(String category, String name) {
+		if (this.finished) {
+			return -1;
+		}
+		int span = this.count.getAndIncrement();
+		if (span >= this.starts.length) {
+			return -1;
+		}
+		this.categories[span] = category;
+		this.names[span] = name;
+		this.starts[span] = System.nanoTime() - this.startTime;
+		return span;
+	}
+
+	/**
+	 * End a span. Spans that are never ended are not reported.
+	 * @param span the span identifier returned from {@link #start(String, String)}
+	 */
+	public void end(int span) {
+		if (span >= 0 && span < this.starts.length) {
+			this.ends.set(span, System.nanoTime() - this.startTime);
+		}
+	}
+
+	/**
+	 * Finish the timeline. No further spans are recorded.
+	 */
+	public void finish() {
+		this.finished = true;
+	}
+
+	/**
+	 * Return if the timeline has been {@link #finish() finished}.
+	 * @return if the timeline is finished
+	 */
+	public boolean isFinished() {
+		return this.finished;
+	}
+
+	/**
+	 * Return the time, in milliseconds since the epoch, at which the timeline was
+	 * created.
+	 * @return the start timestamp
+	 */
+	public long getTimestamp() {
+		return this.timestamp;
+	}
+
+	/**
+	 * Return the spans that have ended, in the order in which they were started.
+	 * @return the spans
+	 */
+	public List<Span> getSpans() {
+		int count = Math.min(this.count.get(), this.starts.length);
+		List<Span> spans = new ArrayList<Span>(count);
+		for (int i = 0; i < count; i++) {
+			long end = this.ends.get(i);
+			if (end >= 0) {
+				spans.add(new Span(this.categories[i], this.names[i], this.starts[i],
+						end - this.starts[i]));
+			}
+		}
+		return spans;
+	}
+
+	/**
+	 * Return the number of spans that were not recorded because the timeline was full.
+	 * @return the number of dropped spans
+	 */
+	public int getDroppedSpans() {
+		return Math.max(this.count.get() - this.starts.length, 0);
+	}
+
+	/**
+	 * Return the accumulated time taken to evaluate the conditions of each
+	 * configuration class or bean method, sorted by name.
+	 * @return the condition evaluation times
+	 */
+	public Map<String, Long> getConditionEvaluationTimes() {
+		return this.conditionEvaluationTimes;
+	}
+
+	/**
+	 * Set the time taken to evaluate the conditions of each configuration class or bean
+	 * method.
+	 * @param conditionEvaluationTimes the condition evaluation times
+	 */
+	public void setConditionEvaluationTimes(Map<String, Long> conditionEvaluationTimes) {
+		this.conditionEvaluationTimes = Collections
+				.unmodifiableMap(new TreeMap<String, Long>(conditionEvaluationTimes));
+	}
+
+	/**
+	 * A single recorded span.
+	 */
+	public static final class Span {
+
+		private final String category;
+
+		private final String name;
+
+		private final long start;
+
+		private final long duration;
+
+		Span(String category, String name, long start, long duration) {
+			this.category = category;
+			this.name = name;
+			this.start = start;
+			this.duration = duration;
+		}
+
+		public String getCategory() {
+			return this.category;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public long getStart() {
+			return this.start;
+		}
+
+		public long getDuration() {
+			return this.duration;
+		}
+
+		@Override
+		public String toString() {
+			return this.category + ":" + this.name + " [start=" + this.start
+					+ ", duration=" + this.duration + "]";
+		}
+
+	}
+
+}
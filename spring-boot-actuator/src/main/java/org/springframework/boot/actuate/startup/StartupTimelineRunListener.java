@@ -0,0 +1,261 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.startup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessorAdapter;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringApplicationRunListener;
+import org.springframework.boot.autoconfigure.condition.ConditionEvaluationReport;
+import org.springframework.boot.context.embedded.EmbeddedServletContainerInitializedEvent;
+import org.springframework.boot.context.embedded.EmbeddedWebApplicationContext;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+/**
+ * {@link SpringApplicationRunListener} that records a {@link StartupTimeline} for the
+ * application. The timeline contains a span for each phase of the {@code run} method,
+ * for the processing of configuration classes, for the creation of each bean and for the
+ * start of the embedded servlet container. The time taken to evaluate the conditions of
+ * each configuration class is taken from the {@link ConditionEvaluationReport}.
+ * <p>
+ * The timeline is registered in the application context as a bean named
+ * {@value StartupTimeline#BEAN_NAME} and, if the {@code spring.startup.file} property is
+ * set, written to that file as JSON once the application has started. Recording can be
+ * disabled by setting {@code spring.startup.enabled} to {@code false}.
+ *
+ * @since 1.4.0
+ */
+public class StartupTimelineRunListener implements SpringApplicationRunListener, Ordered {
+
+	private static final Log logger = LogFactory.getLog(StartupTimelineRunListener.class);
+
+	private static final String PHASE = "phase";
+
+	private static final String BEAN = "bean";
+
+	private StartupTimeline timeline;
+
+	private int runSpan;
+
+	private int phaseSpan;
+
+	public StartupTimelineRunListener(SpringApplication application, String[] args) {
+		this.timeline = new StartupTimeline();
+	}
+
+	@Override
+	public int getOrder() {
+		return Ordered.HIGHEST_PRECEDENCE;
+	}
+
+	@Override
+	public void started() {
+		this.runSpan = this.timeline.start(PHASE, "run");
+		this.phaseSpan = this.timeline.start(PHASE, "environment");
+	}
+
+	@Override
+	public void environmentPrepared(ConfigurableEnvironment environment) {
+		if (!environment.getProperty("spring.startup.enabled", Boolean.class, true)) {
+			this.timeline = null;
+			return;
+		}
+		startPhase("context-create");
+	}
+
+	@Override
+	public void contextPrepared(ConfigurableApplicationContext context) {
+		if (this.timeline != null) {
+			startPhase("context-load");
+			context.getBeanFactory().registerSingleton(StartupTimeline.BEAN_NAME,
+					this.timeline);
+			context.addBeanFactoryPostProcessor(
+					new TimelineBeanFactoryPostProcessor(this.timeline));
+			if (context instanceof EmbeddedWebApplicationContext) {
+				context.addApplicationListener(new EmbeddedContainerStartListener(
+						this.timeline, (EmbeddedWebApplicationContext) context));
+			}
+		}
+	}
+
+	@Override
+	public void contextLoaded(ConfigurableApplicationContext context) {
+		if (this.timeline != null) {
+			startPhase("context-refresh");
+		}
+	}
+
+	@Override
+	public void finished(ConfigurableApplicationContext context, Throwable exception) {
+		StartupTimeline timeline = this.timeline;
+		if (timeline == null) {
+			return;
+		}
+		timeline.end(this.phaseSpan);
+		timeline.end(this.runSpan);
+		timeline.finish();
+		if (context != null && exception == null) {
+			ConfigurableListableBeanFactory beanFactory = context.getBeanFactory();
+			timeline.setConditionEvaluationTimes(ConditionEvaluationReport
+					.get(beanFactory).getEvaluationTimes());
+			writeFile(timeline, context.getEnvironment());
+		}
+	}
+
+	private void startPhase(String name) {
+		this.timeline.end(this.phaseSpan);
+		this.phaseSpan = this.timeline.start(PHASE, name);
+	}
+
+	private void writeFile(StartupTimeline timeline, Environment environment) {
+		String file = environment.getProperty("spring.startup.file");
+		if (StringUtils.hasText(file)) {
+			try {
+				new ObjectMapper().writerWithDefaultPrettyPrinter()
+						.writeValue(new File(file), timeline);
+			}
+			catch (IOException ex) {
+				logger.warn("Cannot write startup timeline to " + file, ex);
+			}
+		}
+	}
+
+	/**
+	 * {@link BeanDefinitionRegistryPostProcessor} used to record the processing of
+	 * configuration classes and to register the {@link TimelineBeanPostProcessor}.
+	 */
+	private static class TimelineBeanFactoryPostProcessor
+			implements BeanDefinitionRegistryPostProcessor {
+
+		private final StartupTimeline timeline;
+
+		private int span = -1;
+
+		TimelineBeanFactoryPostProcessor(StartupTimeline timeline) {
+			this.timeline = timeline;
+		}
+
+		@Override
+		public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry)
+				throws BeansException {
+			if (registry instanceof ConfigurableBeanFactory) {
+				((ConfigurableBeanFactory) registry).addBeanPostProcessor(
+						new TimelineBeanPostProcessor(this.timeline));
+			}
+			this.span = this.timeline.start(PHASE, "configuration-classes");
+		}
+
+		@Override
+		public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory)
+				throws BeansException {
+			this.timeline.end(this.span);
+		}
+
+	}
+
+	/**
+	 * Bean post processor used to record the creation of each bean, from before its
+	 * instantiation until after its initialization.
+	 */
+	private static class TimelineBeanPostProcessor
+			extends InstantiationAwareBeanPostProcessorAdapter {
+
+		private final StartupTimeline timeline;
+
+		private final Map<String, Integer> spans = new ConcurrentHashMap<String, Integer>();
+
+		TimelineBeanPostProcessor(StartupTimeline timeline) {
+			this.timeline = timeline;
+		}
+
+		@Override
+		public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName)
+				throws BeansException {
+			int span = this.timeline.start(BEAN, beanName);
+			if (span >= 0) {
+				this.spans.put(beanName, span);
+			}
+			return null;
+		}
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName)
+				throws BeansException {
+			Integer span = this.spans.remove(beanName);
+			if (span != null) {
+				this.timeline.end(span);
+			}
+			return bean;
+		}
+
+	}
+
+	/**
+	 * Listener used to record the start of the embedded servlet container, which happens
+	 * after the context has been refreshed.
+	 */
+	private static class EmbeddedContainerStartListener
+			implements ApplicationListener<ApplicationEvent> {
+
+		private final StartupTimeline timeline;
+
+		private final EmbeddedWebApplicationContext context;
+
+		private int span = -1;
+
+		EmbeddedContainerStartListener(StartupTimeline timeline,
+				EmbeddedWebApplicationContext context) {
+			this.timeline = timeline;
+			this.context = context;
+		}
+
+		@Override
+		public void onApplicationEvent(ApplicationEvent event) {
+			if (event instanceof ContextRefreshedEvent && ((ContextRefreshedEvent) event)
+					.getApplicationContext() == this.context) {
+				this.span = this.timeline.start(PHASE, "embedded-container-start");
+			}
+			else if (event instanceof EmbeddedServletContainerInitializedEvent
+					&& ((EmbeddedServletContainerInitializedEvent) event)
+							.getApplicationContext() == this.context) {
+				this.timeline.end(this.span);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.trace;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free in-memory implementation of {@link TraceRepository} backed by a fixed size
+ * ring buffer. Adding a trace is a constant time operation that never blocks, making
+ * this implementation a good fit when traces are added by many concurrent requests.
+ * {@link #findAll()} returns a snapshot of the most recent traces.
+ *
+ * @since 1.4.0
+ * @see InMemoryTraceRepository
+ */
+public class RingBufferTraceRepository implements TraceRepository {
+
+	private volatile boolean reverse = true;
+
+	private volatile RingBuffer buffer = new RingBuffer(100);
+
+	/**
+	 * Flag to say that the repository lists traces in reverse order.
+	 * @param reverse flag value (default true)
+	 */
+	public void setReverse(boolean reverse) {
+		this.reverse = reverse;
+	}
+
+	/**
+	 * Set the capacity of the in-memory repository. Any traces that have already been
+	 * added are discarded.
+	 * @param capacity the capacity
+	 */
+	public void setCapacity(int capacity) {
+		this.buffer = new RingBuffer(capacity);
+	}
+
+	@Override
+	public List<Trace> findAll() {
+		List<Trace> traces = this.buffer.snapshot();
+		if (this.reverse) {
+			Collections.reverse(traces);
+		}
+		return Collections.unmodifiableList(traces);
+	}
+
+	@Override
+	public void add(Map<String, Object> map) {
+		this.buffer.add(new Trace(new Date(), map));
+	}
+
+	/**
+	 * Fixed size buffer of traces. Each trace is stored with its sequence number so that
+	 * a snapshot can skip slots that have been overwritten while it was being taken.
+	 */
+	private static class RingBuffer {
+
+		private final AtomicReferenceArray<Slot> slots;
+
+		private final AtomicLong sequence = new AtomicLong();
+
+		RingBuffer(int capacity) {
+			this.slots = new AtomicReferenceArray<Slot>(Math.max(capacity, 0));
+		}
+
+		public void add(Trace trace) {
+			int capacity = this.slots.length();
+			if (capacity > 0) {
+				long sequence = this.sequence.getAndIncrement();
+				this.slots.set((int) (sequence % capacity), new Slot(sequence, trace));
+			}
+		}
+
+		public List<Trace> snapshot() {
+			int capacity = this.slots.length();
+			long end = this.sequence.get();
+			long start = Math.max(0, end - capacity);
+			List<Trace> traces = new ArrayList<Trace>((int) (end - start));
+			for (long sequence = start; sequence < end; sequence++) {
+				Slot slot = this.slots.get((int) (sequence % capacity));
+				if (slot != null && slot.sequence == sequence) {
+					traces.add(slot.trace);
+				}
+			}
+			return traces;
+		}
+
+	}
+
+	/**
+	 * A single {@link RingBuffer} slot.
+	 */
+	private static final class Slot {
+
+		private final long sequence;
+
+		private final Trace trace;
+
+		Slot(long sequence, Trace trace) {
+			this.sequence = sequence;
+			this.trace = trace;
+		}
+
+	}
+
+}
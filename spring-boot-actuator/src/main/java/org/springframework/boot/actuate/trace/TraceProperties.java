@@ -48,6 +48,16 @@ public class TraceProperties {
 	 */
 	private Set<Include> include = new HashSet<Include>(DEFAULT_INCLUDES);
 
+	/**
+	 * Type of the auto-configured trace repository.
+	 */
+	private RepositoryType repositoryType = RepositoryType.IN_MEMORY;
+
+	/**
+	 * Maximum number of traces held by the auto-configured trace repository.
+	 */
+	private int capacity = 100;
+
 	public Set<Include> getInclude() {
 		return this.include;
 	}
@@ -56,6 +66,40 @@ public class TraceProperties {
 		this.include = include;
 	}
 
+	public RepositoryType getRepositoryType() {
+		return this.repositoryType;
+	}
+
+	public void setRepositoryType(RepositoryType repositoryType) {
+		this.repositoryType = repositoryType;
+	}
+
+	public int getCapacity() {
+		return this.capacity;
+	}
+
+	public void setCapacity(int capacity) {
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Types of trace repository that can be auto-configured.
+	 */
+	public enum RepositoryType {
+
+		/**
+		 * Use an {@link InMemoryTraceRepository}.
+		 */
+		IN_MEMORY,
+
+		/**
+		 * Use a lock-free {@link RingBufferTraceRepository}, better suited to high request
+		 * rates.
+		 */
+		RING_BUFFER
+
+	}
+
 	/**
 	 * Include options for tracing.
 	 */
@@ -38,11 +38,14 @@ import org.springframework.boot.actuate.endpoint.MetricsEndpoint;
 import org.springframework.boot.actuate.endpoint.PublicMetrics;
 import org.springframework.boot.actuate.endpoint.RequestMappingEndpoint;
 import org.springframework.boot.actuate.endpoint.ShutdownEndpoint;
+import org.springframework.boot.actuate.endpoint.StartupEndpoint;
+import org.springframework.boot.actuate.endpoint.ThreadProfileEndpoint;
 import org.springframework.boot.actuate.endpoint.TraceEndpoint;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.info.Info;
 import org.springframework.boot.actuate.info.InfoContributor;
 import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.startup.StartupTimeline;
 import org.springframework.boot.autoconfigure.condition.ConditionEvaluationReport;
 import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
 import org.springframework.boot.autoconfigure.info.ProjectInfoAutoConfiguration;
@@ -94,6 +97,7 @@ public class EndpointAutoConfigurationTests {
 		assertThat(this.context.getBean(InfoEndpoint.class)).isNotNull();
 		assertThat(this.context.getBean(MetricsEndpoint.class)).isNotNull();
 		assertThat(this.context.getBean(ShutdownEndpoint.class)).isNotNull();
+		assertThat(this.context.getBean(ThreadProfileEndpoint.class)).isNotNull();
 		assertThat(this.context.getBean(TraceEndpoint.class)).isNotNull();
 		assertThat(this.context.getBean(RequestMappingEndpoint.class)).isNotNull();
 	}
@@ -118,6 +122,39 @@ public class EndpointAutoConfigurationTests {
 		assertThat(result).isNotNull();
 	}
 
+	@Test
+	public void healthEndpointWithParallelHealthIndicators() {
+		this.context = new AnnotationConfigApplicationContext();
+		EnvironmentTestUtils.addEnvironment(this.context,
+				"management.health.status.parallel:true");
+		this.context.register(EmbeddedDataSourceConfiguration.class,
+				EndpointAutoConfiguration.class, HealthIndicatorAutoConfiguration.class);
+		this.context.refresh();
+		assertThat(this.context.getBeansOfType(ConcurrentHealthIndicatorCustomizer.class))
+				.hasSize(1);
+		Health result = this.context.getBean(HealthEndpoint.class).invoke();
+		assertThat(result.getDetails().containsKey("db")).isTrue();
+	}
+
+	@Test
+	public void healthEndpointWithRefreshingHealthIndicators() {
+		this.context = new AnnotationConfigApplicationContext();
+		EnvironmentTestUtils.addEnvironment(this.context,
+				"management.health.refresh.enabled:true",
+				"management.health.status.parallel:true");
+		this.context.register(EmbeddedDataSourceConfiguration.class,
+				EndpointAutoConfiguration.class, HealthIndicatorAutoConfiguration.class);
+		this.context.refresh();
+		RefreshingHealthIndicatorCustomizer customizer = this.context
+				.getBean(RefreshingHealthIndicatorCustomizer.class);
+		assertThat(customizer.isRunning()).isTrue();
+		Health result = this.context.getBean(HealthEndpoint.class).invoke();
+		Health db = (Health) result.getDetails().get("db");
+		assertThat(db.getDetails()).containsKeys("lastChecked", "duration");
+		this.context.close();
+		assertThat(customizer.isRunning()).isFalse();
+	}
+
 	@Test
 	public void metricEndpointsHasSystemMetricsByDefault() {
 		load(PublicMetricsAutoConfiguration.class, EndpointAutoConfiguration.class);
@@ -150,6 +187,19 @@ public class EndpointAutoConfigurationTests {
 				.isNotNull();
 	}
 
+	@Test
+	public void startupEndpoint() {
+		load(EndpointAutoConfiguration.class, StartupTimeline.class);
+		assertThat(this.context.getBean(StartupEndpoint.class).invoke())
+				.isSameAs(this.context.getBean(StartupTimeline.class));
+	}
+
+	@Test
+	public void noStartupEndpointWithoutTimeline() {
+		load(EndpointAutoConfiguration.class);
+		assertThat(this.context.getBeansOfType(StartupEndpoint.class)).isEmpty();
+	}
+
 	@Test
 	public void testInfoEndpoint() throws Exception {
 		this.context = new AnnotationConfigApplicationContext();
@@ -17,6 +17,7 @@
 package org.springframework.boot.actuate.autoconfigure;
 
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 
 import javax.sql.DataSource;
 
@@ -25,6 +26,7 @@ import org.junit.Test;
 
 import org.springframework.boot.actuate.health.ApplicationHealthIndicator;
 import org.springframework.boot.actuate.health.CassandraHealthIndicator;
+import org.springframework.boot.actuate.health.CompositeHealthIndicator;
 import org.springframework.boot.actuate.health.CouchbaseHealthIndicator;
 import org.springframework.boot.actuate.health.DataSourceHealthIndicator;
 import org.springframework.boot.actuate.health.DiskSpaceHealthIndicator;
@@ -34,9 +36,11 @@ import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.boot.actuate.health.JmsHealthIndicator;
 import org.springframework.boot.actuate.health.MailHealthIndicator;
 import org.springframework.boot.actuate.health.MongoHealthIndicator;
+import org.springframework.boot.actuate.health.OrderedHealthAggregator;
 import org.springframework.boot.actuate.health.RabbitHealthIndicator;
 import org.springframework.boot.actuate.health.RedisHealthIndicator;
 import org.springframework.boot.actuate.health.SolrHealthIndicator;
+import org.springframework.boot.actuate.health.Status;
 import org.springframework.boot.autoconfigure.PropertyPlaceholderAutoConfiguration;
 import org.springframework.boot.autoconfigure.amqp.RabbitAutoConfiguration;
 import org.springframework.boot.autoconfigure.data.elasticsearch.ElasticsearchAutoConfiguration;
@@ -58,6 +62,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.cassandra.core.CassandraOperations;
 import org.springframework.data.couchbase.core.CouchbaseOperations;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
@@ -152,6 +157,25 @@ public class HealthIndicatorAutoConfigurationTests {
 				.isEqualTo(RedisHealthIndicator.class);
 	}
 
+	@Test
+	public void redisHealthIndicatorWithPing() {
+		this.context.register(RedisAutoConfiguration.class,
+				ManagementServerProperties.class, HealthIndicatorAutoConfiguration.class);
+		EnvironmentTestUtils.addEnvironment(this.context,
+				"management.health.redis.mode:ping",
+				"management.health.redis.info-interval:10",
+				"management.health.redis.node-checks:true",
+				"management.health.diskspace.enabled:false");
+		this.context.refresh();
+		RedisHealthIndicator indicator = this.context.getBean(RedisHealthIndicator.class);
+		assertThat(ReflectionTestUtils.getField(indicator, "mode"))
+				.isEqualTo(RedisHealthIndicator.Mode.PING);
+		assertThat(ReflectionTestUtils.getField(indicator, "infoInterval"))
+				.isEqualTo(10);
+		assertThat(ReflectionTestUtils.getField(indicator, "nodeChecks"))
+				.isEqualTo(true);
+	}
+
 	@Test
 	public void notRedisHealthIndicator() {
 		this.context.register(RedisAutoConfiguration.class,
@@ -243,6 +267,20 @@ public class HealthIndicatorAutoConfigurationTests {
 		assertThat(dataSourceHealthIndicator.getQuery()).isEqualTo("SELECT from FOOBAR");
 	}
 
+	@Test
+	public void dataSourceHealthIndicatorWithConnectionValidation() {
+		this.context.register(EmbeddedDataSourceConfiguration.class,
+				ManagementServerProperties.class, HealthIndicatorAutoConfiguration.class);
+		EnvironmentTestUtils.addEnvironment(this.context,
+				"management.health.db.connection-validation:true",
+				"management.health.diskspace.enabled:false");
+		this.context.refresh();
+		Health health = this.context.getBean(DataSourceHealthIndicator.class).health();
+		assertThat(health.getStatus()).isEqualTo(Status.UP);
+		assertThat(health.getDetails()).containsKeys("database", "latency");
+		assertThat(health.getDetails()).doesNotContainKey("hello");
+	}
+
 	@Test
 	public void notDataSourceHealthIndicator() {
 		this.context.register(EmbeddedDataSourceConfiguration.class,
@@ -451,6 +489,35 @@ public class HealthIndicatorAutoConfigurationTests {
 				.isEqualTo(CouchbaseHealthIndicator.class);
 	}
 
+	@Test
+	public void concurrentHealthIndicatorsWhenExecutorIsSaturated() throws Exception {
+		HealthIndicatorProperties properties = new HealthIndicatorProperties();
+		properties.setThreads(1);
+		properties.setTimeout(100);
+		properties.setTimeoutStatus("OUT_OF_SERVICE");
+		ConcurrentHealthIndicatorCustomizer customizer = new ConcurrentHealthIndicatorCustomizer(
+				properties);
+		CountDownLatch latch = new CountDownLatch(1);
+		try {
+			CompositeHealthIndicator composite = new CompositeHealthIndicator(
+					new OrderedHealthAggregator());
+			customizer.customize(composite);
+			composite.addHealthIndicator("one", new BlockingHealthIndicator(latch));
+			composite.addHealthIndicator("two", new BlockingHealthIndicator(latch));
+			composite.addHealthIndicator("three", new BlockingHealthIndicator(latch));
+			Health result = composite.health();
+			assertThat(result.getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+			Health three = (Health) result.getDetails().get("three");
+			assertThat(three.getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+			assertThat(three.getDetails()).containsEntry("error",
+					"Health check rejected by executor");
+		}
+		finally {
+			latch.countDown();
+			customizer.destroy();
+		}
+	}
+
 	@Configuration
 	@EnableConfigurationProperties
 	protected static class DataSourceConfig {
@@ -480,6 +547,33 @@ public class HealthIndicatorAutoConfigurationTests {
 
 	}
 
+	/**
+	 * {@link HealthIndicator} that blocks until a latch is released, ignoring
+	 * interrupts.
+	 */
+	private static class BlockingHealthIndicator implements HealthIndicator {
+
+		private final CountDownLatch latch;
+
+		BlockingHealthIndicator(CountDownLatch latch) {
+			this.latch = latch;
+		}
+
+		@Override
+		public Health health() {
+			while (this.latch.getCount() > 0) {
+				try {
+					this.latch.await();
+				}
+				catch (InterruptedException ex) {
+					// Keep blocking like a check that does not respond to interrupts
+				}
+			}
+			return Health.up().build();
+		}
+
+	}
+
 	@Configuration
 	protected static class CassandraConfiguration {
 
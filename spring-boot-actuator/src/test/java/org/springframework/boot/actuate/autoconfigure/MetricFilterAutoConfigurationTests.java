@@ -17,6 +17,7 @@
 package org.springframework.boot.actuate.autoconfigure;
 
 import java.io.IOException;
+import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 
 import javax.servlet.Filter;
@@ -31,6 +32,7 @@ import org.mockito.stubbing.Answer;
 
 import org.springframework.boot.actuate.metrics.CounterService;
 import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.boot.actuate.metrics.histogram.HistogramService;
 import org.springframework.boot.test.util.EnvironmentTestUtils;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.annotation.Bean;
@@ -41,6 +43,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.stereotype.Component;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -51,6 +54,7 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.context.request.async.DeferredResult;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.util.NestedServletException;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -61,6 +65,7 @@ import static org.junit.Assert.fail;
 import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Matchers.anyDouble;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
@@ -89,6 +94,55 @@ public class MetricFilterAutoConfigurationTests {
 				.containsExactly(MetricsFilterSubmission.MERGED);
 		assertThat(properties.getCounterSubmissions())
 				.containsExactly(MetricsFilterSubmission.MERGED);
+		assertThat(properties.getMaxNames()).isEqualTo(1000);
+	}
+
+	@Test
+	public void limitsNumberOfMetricNames() throws Exception {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		EnvironmentTestUtils.addEnvironment(context,
+				"endpoints.metrics.filter.max-names:1");
+		context.register(Config.class, MetricFilterAutoConfiguration.class);
+		context.refresh();
+		Filter filter = context.getBean(Filter.class);
+		MockMvc mvc = MockMvcBuilders.standaloneSetup(new MetricFilterTestController())
+				.addFilter(filter).build();
+		mvc.perform(get("/templateVarTest/foo")).andExpect(status().isOk());
+		mvc.perform(get("/unhandledPath/bar")).andExpect(status().isNotFound());
+		mvc.perform(get("/templateVarTest/foo")).andExpect(status().isOk());
+		CounterService counterService = context.getBean(CounterService.class);
+		verify(counterService, times(2))
+				.increment("status.200.templateVarTest.someVariable");
+		verify(counterService).increment("status.overflow");
+		verify(counterService, times(2)).increment("metrics.names.rejected");
+		GaugeService gaugeService = context.getBean(GaugeService.class);
+		verify(gaugeService, times(2))
+				.submit(eq("response.templateVarTest.someVariable"), anyDouble());
+		verify(gaugeService).submit(eq("response.overflow"), anyDouble());
+		context.close();
+	}
+
+	@Test
+	public void countsEachRejectedMetricNameOnce() throws Exception {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		EnvironmentTestUtils.addEnvironment(context,
+				"endpoints.metrics.filter.max-names-by-prefix[response.]:0",
+				"endpoints.metrics.filter.histogram-submissions:merged");
+		context.register(Config.class, HistogramConfig.class,
+				MetricFilterAutoConfiguration.class);
+		context.refresh();
+		Filter filter = context.getBean(Filter.class);
+		MockMvc mvc = MockMvcBuilders.standaloneSetup(new MetricFilterTestController())
+				.addFilter(filter).build();
+		mvc.perform(get("/unhandledPath/bar")).andExpect(status().isNotFound());
+		CounterService counterService = context.getBean(CounterService.class);
+		verify(counterService).increment("status.404.unmapped");
+		verify(counterService, times(1)).increment("metrics.names.rejected");
+		verify(context.getBean(GaugeService.class)).submit(eq("response.overflow"),
+				anyDouble());
+		verify(context.getBean(HistogramService.class))
+				.record(eq("response.overflow"), anyLong());
+		context.close();
 	}
 
 	@Test
@@ -129,6 +183,22 @@ public class MetricFilterAutoConfigurationTests {
 		context.close();
 	}
 
+	@Test
+	public void recordsRepeatedHttpInteractionsWithTemplateVariable() throws Exception {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
+				Config.class, MetricFilterAutoConfiguration.class);
+		Filter filter = context.getBean(Filter.class);
+		MockMvc mvc = MockMvcBuilders.standaloneSetup(new MetricFilterTestController())
+				.addFilter(filter).build();
+		mvc.perform(get("/templateVarTest/foo")).andExpect(status().isOk());
+		mvc.perform(get("/templateVarTest/bar")).andExpect(status().isOk());
+		verify(context.getBean(CounterService.class), times(2))
+				.increment("status.200.templateVarTest.someVariable");
+		verify(context.getBean(GaugeService.class), times(2))
+				.submit(eq("response.templateVarTest.someVariable"), anyDouble());
+		context.close();
+	}
+
 	@Test
 	public void recordsKnown404HttpInteractionsAsSingleMetricWithPathAndTemplateVariable()
 			throws Exception {
@@ -245,7 +315,7 @@ public class MetricFilterAutoConfigurationTests {
 		MockMvc mvc = MockMvcBuilders
 				.standaloneSetup(new MetricFilterTestController(latch)).addFilter(filter)
 				.build();
-		String attributeName = MetricsFilter.class.getName() + ".StopWatch";
+		String attributeName = MetricsFilter.class.getName() + ".StartTime";
 		MvcResult result = mvc.perform(post("/create")).andExpect(status().isOk())
 				.andExpect(request().asyncStarted())
 				.andExpect(request().attribute(attributeName, is(notNullValue())))
@@ -267,7 +337,7 @@ public class MetricFilterAutoConfigurationTests {
 		MockMvc mvc = MockMvcBuilders
 				.standaloneSetup(new MetricFilterTestController(latch)).addFilter(filter)
 				.build();
-		String attributeName = MetricsFilter.class.getName() + ".StopWatch";
+		String attributeName = MetricsFilter.class.getName() + ".StartTime";
 		MvcResult result = mvc.perform(post("/createFailure")).andExpect(status().isOk())
 				.andExpect(request().asyncStarted())
 				.andExpect(request().attribute(attributeName, is(notNullValue())))
@@ -365,6 +435,84 @@ public class MetricFilterAutoConfigurationTests {
 		context.close();
 	}
 
+	@Test
+	public void recordsResponseTimesInHistogram() throws Exception {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.register(Config.class, HistogramConfig.class,
+				MetricFilterAutoConfiguration.class);
+		EnvironmentTestUtils.addEnvironment(context,
+				"endpoints.metrics.filter.histogram-submissions=merged,per-http-method");
+		context.refresh();
+		Filter filter = context.getBean(Filter.class);
+		final MockHttpServletRequest request = new MockHttpServletRequest("PUT",
+				"/test/path");
+		final MockHttpServletResponse response = new MockHttpServletResponse();
+		FilterChain chain = mock(FilterChain.class);
+		willAnswer(new Answer<Object>() {
+			@Override
+			public Object answer(InvocationOnMock invocation) throws Throwable {
+				response.setStatus(200);
+				return null;
+			}
+		}).given(chain).doFilter(request, response);
+		filter.doFilter(request, response, chain);
+		verify(context.getBean(HistogramService.class)).record(eq("response.test.path"),
+				anyLong());
+		verify(context.getBean(HistogramService.class))
+				.record(eq("response.PUT.test.path"), anyLong());
+		context.close();
+	}
+
+	@Test
+	public void onlyCachesMetricKeysForBoundedPaths() throws Exception {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
+				Config.class, MetricFilterAutoConfiguration.class);
+		Filter filter = context.getBean(Filter.class);
+		for (int i = 0; i < 10; i++) {
+			MockHttpServletRequest request = new MockHttpServletRequest("GET",
+					"/unmapped/" + i);
+			filter.doFilter(request, new MockHttpServletResponse(),
+					mock(FilterChain.class));
+		}
+		Map<?, ?> metricKeys = (Map<?, ?>) ReflectionTestUtils.getField(filter,
+				"metricKeys");
+		assertThat(metricKeys).isEmpty();
+		for (int i = 0; i < 10; i++) {
+			MockHttpServletRequest request = new MockHttpServletRequest("GET",
+					"/mapped/" + i);
+			request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+					"/mapped/{id}");
+			filter.doFilter(request, new MockHttpServletResponse(),
+					mock(FilterChain.class));
+		}
+		assertThat(metricKeys).hasSize(1);
+		for (int i = 0; i < 10; i++) {
+			MockHttpServletRequest request = new MockHttpServletRequest("GET",
+					"/missing/" + i);
+			MockHttpServletResponse response = new MockHttpServletResponse();
+			response.setStatus(404);
+			filter.doFilter(request, response, mock(FilterChain.class));
+		}
+		assertThat(metricKeys).hasSize(2);
+		verify(context.getBean(GaugeService.class), times(10))
+				.submit(eq("response.mapped.id"), anyDouble());
+		verify(context.getBean(CounterService.class), times(10))
+				.increment("status.404.unmapped");
+		context.close();
+	}
+
+	@Test
+	public void doesNotRecordResponseTimesInHistogramByDefault() throws Exception {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
+				Config.class, HistogramConfig.class, MetricFilterAutoConfiguration.class);
+		Filter filter = context.getBean(Filter.class);
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/test/path");
+		filter.doFilter(request, new MockHttpServletResponse(), mock(FilterChain.class));
+		verify(context.getBean(HistogramService.class), never()).record(anyString(),
+				anyLong());
+		context.close();
+	}
+
 	@Configuration
 	public static class Config {
 
@@ -380,6 +528,16 @@ public class MetricFilterAutoConfigurationTests {
 
 	}
 
+	@Configuration
+	public static class HistogramConfig {
+
+		@Bean
+		public HistogramService histogramService() {
+			return mock(HistogramService.class);
+		}
+
+	}
+
 	@RestController
 	class MetricFilterTestController {
 
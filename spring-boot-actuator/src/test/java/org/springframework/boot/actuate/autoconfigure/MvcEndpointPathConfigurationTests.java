@@ -28,14 +28,15 @@ import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.boot.actuate.endpoint.AutoConfigurationReportEndpoint;
 import org.springframework.boot.actuate.endpoint.BeansEndpoint;
 import org.springframework.boot.actuate.endpoint.ConfigurationPropertiesReportEndpoint;
-import org.springframework.boot.actuate.endpoint.DumpEndpoint;
 import org.springframework.boot.actuate.endpoint.FlywayEndpoint;
 import org.springframework.boot.actuate.endpoint.InfoEndpoint;
 import org.springframework.boot.actuate.endpoint.LiquibaseEndpoint;
 import org.springframework.boot.actuate.endpoint.RequestMappingEndpoint;
 import org.springframework.boot.actuate.endpoint.ShutdownEndpoint;
+import org.springframework.boot.actuate.endpoint.ThreadProfileEndpoint;
 import org.springframework.boot.actuate.endpoint.TraceEndpoint;
 import org.springframework.boot.actuate.endpoint.mvc.DocsMvcEndpoint;
+import org.springframework.boot.actuate.endpoint.mvc.DumpMvcEndpoint;
 import org.springframework.boot.actuate.endpoint.mvc.EndpointMvcAdapter;
 import org.springframework.boot.actuate.endpoint.mvc.EnvironmentMvcEndpoint;
 import org.springframework.boot.actuate.endpoint.mvc.HalJsonMvcEndpoint;
@@ -87,7 +88,7 @@ public class MvcEndpointPathConfigurationTests {
 				new Object[] { "configprops",
 						ConfigurationPropertiesReportEndpoint.class },
 				new Object[] { "docs", DocsMvcEndpoint.class },
-				new Object[] { "dump", DumpEndpoint.class },
+				new Object[] { "dump", DumpMvcEndpoint.class },
 				new Object[] { "env", EnvironmentMvcEndpoint.class },
 				new Object[] { "flyway", FlywayEndpoint.class },
 				new Object[] { "health", HealthMvcEndpoint.class },
@@ -98,6 +99,7 @@ public class MvcEndpointPathConfigurationTests {
 				new Object[] { "mappings", RequestMappingEndpoint.class },
 				new Object[] { "metrics", MetricsMvcEndpoint.class },
 				new Object[] { "shutdown", ShutdownEndpoint.class },
+				new Object[] { "threadprofile", ThreadProfileEndpoint.class },
 				new Object[] { "trace", TraceEndpoint.class } };
 	}
 
@@ -32,12 +32,14 @@ import org.junit.Test;
 
 import org.springframework.boot.actuate.endpoint.CachePublicMetrics;
 import org.springframework.boot.actuate.endpoint.DataSourcePublicMetrics;
+import org.springframework.boot.actuate.endpoint.GarbageCollectionPublicMetrics;
 import org.springframework.boot.actuate.endpoint.MetricReaderPublicMetrics;
 import org.springframework.boot.actuate.endpoint.PublicMetrics;
 import org.springframework.boot.actuate.endpoint.RichGaugeReaderPublicMetrics;
 import org.springframework.boot.actuate.endpoint.SystemPublicMetrics;
 import org.springframework.boot.actuate.endpoint.TomcatPublicMetrics;
 import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.histogram.HistogramService;
 import org.springframework.boot.actuate.metrics.rich.RichGauge;
 import org.springframework.boot.actuate.metrics.rich.RichGaugeReader;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
@@ -88,6 +90,13 @@ public class PublicMetricsAutoConfigurationTests {
 		assertThat(this.context.getBeansOfType(SystemPublicMetrics.class)).hasSize(1);
 	}
 
+	@Test
+	public void garbageCollectionPublicMetrics() throws Exception {
+		load();
+		assertThat(this.context.getBeansOfType(GarbageCollectionPublicMetrics.class))
+				.hasSize(1);
+	}
+
 	@Test
 	public void metricReaderPublicMetrics() throws Exception {
 		load();
@@ -119,6 +128,21 @@ public class PublicMetricsAutoConfigurationTests {
 		context.close();
 	}
 
+	@Test
+	public void histogramPublicMetrics() {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
+				MetricRepositoryAutoConfiguration.class,
+				PublicMetricsAutoConfiguration.class);
+		context.getBean(HistogramService.class).record("response.foo", 12);
+		PublicMetrics publicMetrics = context.getBean("histogramPublicMetrics",
+				PublicMetrics.class);
+		Collection<Metric<?>> metrics = publicMetrics.metrics();
+		assertThat(metrics).hasSize(7);
+		assertHasMetric(metrics, new Metric<Long>("histogram.response.foo.count", 1L));
+		assertHasMetric(metrics, new Metric<Long>("histogram.response.foo.p99", 12L));
+		context.close();
+	}
+
 	@Test
 	public void noDataSource() {
 		load();
@@ -16,10 +16,14 @@
 
 package org.springframework.boot.actuate.autoconfigure;
 
+import java.util.Collections;
+
 import org.junit.Test;
 
 import org.springframework.boot.actuate.trace.InMemoryTraceRepository;
+import org.springframework.boot.actuate.trace.RingBufferTraceRepository;
 import org.springframework.boot.actuate.trace.TraceRepository;
+import org.springframework.boot.test.util.EnvironmentTestUtils;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -42,6 +46,23 @@ public class TraceRepositoryAutoConfigurationTests {
 		context.close();
 	}
 
+	@Test
+	public void configuresRingBufferTraceRepository() throws Exception {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		EnvironmentTestUtils.addEnvironment(context,
+				"management.trace.repository-type:ring-buffer",
+				"management.trace.capacity:1");
+		context.register(TraceRepositoryAutoConfiguration.class);
+		context.refresh();
+		TraceRepository repository = context.getBean(TraceRepository.class);
+		assertThat(repository).isInstanceOf(RingBufferTraceRepository.class);
+		assertThat(context.getBeansOfType(InMemoryTraceRepository.class)).isEmpty();
+		repository.add(Collections.<String, Object>singletonMap("foo", "bar"));
+		repository.add(Collections.<String, Object>singletonMap("bar", "foo"));
+		assertThat(repository.findAll()).hasSize(1);
+		context.close();
+	}
+
 	@Test
 	public void skipsIfRepositoryExists() throws Exception {
 		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
@@ -18,6 +18,7 @@ package org.springframework.boot.actuate.endpoint;
 
 import java.lang.management.ThreadInfo;
 import java.util.List;
+import java.util.regex.Pattern;
 
 import org.junit.Test;
 
@@ -44,6 +45,39 @@ public class DumpEndpointTests extends AbstractEndpointTests<DumpEndpoint> {
 		assertThat(threadInfo.size()).isGreaterThan(0);
 	}
 
+	@Test
+	public void dumpWithoutLocks() throws Exception {
+		DumpEndpoint endpoint = new DumpEndpoint();
+		endpoint.setLockedMonitors(false);
+		endpoint.setLockedSynchronizers(false);
+		endpoint.setMaxDepth(2);
+		ThreadInfo[] threadInfo = endpoint.dumpThreads();
+		assertThat(threadInfo).isNotEmpty();
+		for (ThreadInfo info : threadInfo) {
+			assertThat(info.getStackTrace().length).isLessThanOrEqualTo(2);
+			assertThat(info.getLockedMonitors()).isEmpty();
+			assertThat(info.getLockedSynchronizers()).isEmpty();
+		}
+	}
+
+	@Test
+	public void dumpIncludedThreads() throws Exception {
+		DumpEndpoint endpoint = new DumpEndpoint();
+		endpoint.setIncludes(Pattern.quote(Thread.currentThread().getName()));
+		ThreadInfo[] threadInfo = endpoint.dumpThreads();
+		assertThat(threadInfo).hasSize(1);
+		assertThat(threadInfo[0].getThreadId())
+				.isEqualTo(Thread.currentThread().getId());
+		assertThat(threadInfo[0].getStackTrace()).isNotEmpty();
+	}
+
+	@Test
+	public void dumpExcludedThreads() throws Exception {
+		DumpEndpoint endpoint = new DumpEndpoint();
+		endpoint.setExcludes(".*");
+		assertThat(endpoint.dumpThreads()).isEmpty();
+	}
+
 	@Configuration
 	@EnableConfigurationProperties
 	public static class Config {
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import java.lang.management.MemoryUsage;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.springframework.boot.actuate.metrics.Metric;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link GarbageCollectionPublicMetrics}.
+ */
+public class GarbageCollectionPublicMetricsTests {
+
+	private final GarbageCollectionPublicMetrics publicMetrics = new GarbageCollectionPublicMetrics();
+
+	@After
+	public void close() throws Exception {
+		this.publicMetrics.destroy();
+	}
+
+	@Test
+	public void pausesAreRecordedInBuckets() throws Exception {
+		recordCollection(0, 3, 0, 0, 0, 0);
+		recordCollection(10, 13, 0, 0, 0, 0);
+		recordCollection(20, 100, 0, 0, 0, 0);
+		Map<String, Metric<?>> metrics = getMetrics();
+		assertThat(metrics.get("gc.ps_scavenge.pause.le.1").getValue()).isEqualTo(0L);
+		assertThat(metrics.get("gc.ps_scavenge.pause.le.5").getValue()).isEqualTo(2L);
+		assertThat(metrics.get("gc.ps_scavenge.pause.le.50").getValue()).isEqualTo(2L);
+		assertThat(metrics.get("gc.ps_scavenge.pause.le.100").getValue())
+				.isEqualTo(3L);
+		assertThat(metrics.get("gc.ps_scavenge.pause.count").getValue()).isEqualTo(3L);
+		assertThat(metrics.get("gc.ps_scavenge.pause.last").getValue()).isEqualTo(80L);
+		assertThat(metrics.get("gc.ps_scavenge.pause.max").getValue()).isEqualTo(80L);
+	}
+
+	@Test
+	public void concurrentCyclesAreNotRecordedAsPauses() throws Exception {
+		Map<String, MemoryUsage> usage = new HashMap<String, MemoryUsage>();
+		this.publicMetrics.recordCollection("ConcurrentMarkSweep", "end of major GC", 0,
+				2000, usage, usage);
+		this.publicMetrics.recordCollection("ZGC Cycles", "end of GC cycle", 0, 3000,
+				usage, usage);
+		Map<String, Metric<?>> metrics = getMetrics();
+		assertThat(metrics).doesNotContainKeys("gc.concurrentmarksweep.pause.count",
+				"gc.zgc_cycles.pause.count");
+		assertThat(metrics.get("gc.concurrentmarksweep.cycle.count").getValue())
+				.isEqualTo(1L);
+		assertThat(metrics.get("gc.concurrentmarksweep.cycle.max").getValue())
+				.isEqualTo(2000L);
+		assertThat(metrics.get("gc.zgc_cycles.cycle.last").getValue()).isEqualTo(3000L);
+	}
+
+	@Test
+	public void allocationAndPromotionAreRecorded() throws Exception {
+		recordCollection(0, 10, 4096, 1024, 1024, 2048);
+		recordCollection(1010, 1020, 9216, 0, 2048, 4096);
+		Map<String, Metric<?>> metrics = getMetrics();
+		assertThat(metrics.get("gc.memory.allocated").getValue()).isEqualTo(12L);
+		assertThat(metrics.get("gc.memory.allocated.rate").getValue()).isEqualTo(8L);
+		assertThat(metrics.get("gc.memory.promoted").getValue()).isEqualTo(3L);
+		assertThat(metrics.get("gc.memory.promoted.rate").getValue()).isEqualTo(2L);
+	}
+
+	@Test
+	public void collectorsAreRegistered() throws Exception {
+		this.publicMetrics.afterPropertiesSet();
+		System.gc();
+		Map<String, Metric<?>> metrics = getMetrics();
+		assertThat(metrics).containsKey("gc.memory.allocated");
+		boolean pauseCount = false;
+		for (String name : metrics.keySet()) {
+			pauseCount = pauseCount || (name.startsWith("gc.")
+					&& (name.endsWith(".pause.count") || name.endsWith(".cycle.count")));
+		}
+		assertThat(pauseCount).isTrue();
+	}
+
+	private void recordCollection(long start, long end, long edenBefore,
+			long edenAfter, long oldBefore, long oldAfter) {
+		Map<String, MemoryUsage> before = new HashMap<String, MemoryUsage>();
+		before.put("PS Eden Space", new MemoryUsage(0, edenBefore, edenBefore, -1));
+		before.put("PS Old Gen", new MemoryUsage(0, oldBefore, oldBefore, -1));
+		Map<String, MemoryUsage> after = new HashMap<String, MemoryUsage>();
+		after.put("PS Eden Space", new MemoryUsage(0, edenAfter, edenBefore, -1));
+		after.put("PS Old Gen", new MemoryUsage(0, oldAfter, oldAfter, -1));
+		this.publicMetrics.recordCollection("PS Scavenge", "end of minor GC", start, end,
+				before, after);
+	}
+
+	private Map<String, Metric<?>> getMetrics() {
+		Map<String, Metric<?>> metrics = new HashMap<String, Metric<?>>();
+		for (Metric<?> metric : this.publicMetrics.metrics()) {
+			metrics.put(metric.getName(), metric);
+		}
+		return metrics;
+	}
+
+}
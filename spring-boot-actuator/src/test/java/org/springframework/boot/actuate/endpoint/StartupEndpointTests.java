@@ -0,0 +1,57 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import org.junit.Test;
+
+import org.springframework.boot.actuate.startup.StartupTimeline;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link StartupEndpoint}.
+ */
+public class StartupEndpointTests extends AbstractEndpointTests<StartupEndpoint> {
+
+	public StartupEndpointTests() {
+		super(Config.class, StartupEndpoint.class, "startup", true, "endpoints.startup");
+	}
+
+	@Test
+	public void invoke() throws Exception {
+		StartupTimeline timeline = getEndpointBean().invoke();
+		assertThat(timeline.getSpans()).hasSize(1);
+		assertThat(timeline.getSpans().get(0).getName()).isEqualTo("test");
+	}
+
+	@Configuration
+	@EnableConfigurationProperties
+	public static class Config {
+
+		@Bean
+		public StartupEndpoint endpoint() {
+			StartupTimeline timeline = new StartupTimeline();
+			timeline.end(timeline.start("phase", "test"));
+			return new StartupEndpoint(timeline);
+		}
+
+	}
+
+}
@@ -59,6 +59,12 @@ public class SystemPublicMetricsTests {
 		assertThat(results).containsKey("classes.loaded");
 		assertThat(results).containsKey("classes.unloaded");
 		assertThat(results).containsKey("classes");
+		assertThat(results).containsKey("buffers.direct.count");
+		assertThat(results).containsKey("buffers.direct.used");
+		assertThat(results).containsKey("buffers.direct.capacity");
+		assertThat(results).containsKey("buffers.mapped.count");
+		assertThat(results).containsKey("buffers.mapped.used");
+		assertThat(results).containsKey("buffers.mapped.capacity");
 	}
 
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ThreadProfileEndpoint}.
+ */
+public class ThreadProfileEndpointTests
+		extends AbstractEndpointTests<ThreadProfileEndpoint> {
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	private volatile boolean spinning = true;
+
+	public ThreadProfileEndpointTests() {
+		super(Config.class, ThreadProfileEndpoint.class, "threadprofile", true,
+				"endpoints.threadprofile");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void invoke() throws Exception {
+		Thread thread = startSpinning();
+		try {
+			ThreadProfileEndpoint endpoint = getEndpointBean();
+			endpoint.setSamples(5);
+			endpoint.setInterval(10);
+			Map<String, Object> profile = endpoint.invoke();
+			assertThat(profile.get("samples")).isEqualTo(5);
+			List<Map<String, Object>> stacks = (List<Map<String, Object>>) profile
+					.get("stacks");
+			assertThat(stacks).isNotEmpty();
+			int previous = Integer.MAX_VALUE;
+			boolean spinFound = false;
+			for (Map<String, Object> stack : stacks) {
+				int count = (Integer) stack.get("count");
+				assertThat(count).isLessThanOrEqualTo(previous);
+				previous = count;
+				if (((List<String>) stack.get("threads")).contains("spinner")) {
+					spinFound = true;
+					assertThat(((List<String>) stack.get("stackTrace")).toString())
+							.contains("spin");
+				}
+			}
+			assertThat(spinFound).isTrue();
+		}
+		finally {
+			this.spinning = false;
+			thread.join();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void stacksAreLimited() throws Exception {
+		ThreadProfileEndpoint endpoint = getEndpointBean();
+		endpoint.setSamples(1);
+		endpoint.setRunnableOnly(false);
+		endpoint.setLimit(1);
+		endpoint.setMaxDepth(1);
+		List<Map<String, Object>> stacks = (List<Map<String, Object>>) endpoint
+				.invoke().get("stacks");
+		assertThat(stacks).hasSize(1);
+		assertThat((List<String>) stacks.get(0).get("stackTrace")).hasSize(1);
+	}
+
+	@Test
+	public void samplesAreCapped() {
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("Samples must be between 1 and 100");
+		getEndpointBean().setSamples(101);
+	}
+
+	@Test
+	public void intervalIsCapped() {
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("Interval must be between 0 and 1000");
+		getEndpointBean().setInterval(1001);
+	}
+
+	private Thread startSpinning() throws InterruptedException {
+		final CountDownLatch started = new CountDownLatch(1);
+		Thread thread = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				started.countDown();
+				spin();
+			}
+
+		}, "spinner");
+		thread.start();
+		started.await();
+		return thread;
+	}
+
+	private void spin() {
+		while (this.spinning) {
+			Thread.yield();
+		}
+	}
+
+	@Configuration
+	@EnableConfigurationProperties
+	public static class Config {
+
+		@Bean
+		public ThreadProfileEndpoint endpoint() {
+			return new ThreadProfileEndpoint();
+		}
+
+	}
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint.mvc;
+
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import org.springframework.boot.actuate.endpoint.DumpEndpoint;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link DumpMvcEndpoint}.
+ */
+public class DumpMvcEndpointTests {
+
+	private final DumpEndpoint endpoint = new DumpEndpoint();
+
+	private final DumpMvcEndpoint mvc = new DumpMvcEndpoint(this.endpoint);
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	public void writesSameFieldsAsJackson() throws Exception {
+		this.endpoint.setIncludes(Pattern.quote(Thread.currentThread().getName()));
+		List<Map<String, Object>> written = invoke();
+		List<Map<String, Object>> converted = this.objectMapper.convertValue(
+				this.endpoint.invoke(),
+				new TypeReference<List<Map<String, Object>>>() {
+				});
+		assertThat(written).hasSize(1);
+		Map<String, Object> thread = written.get(0);
+		assertThat(thread.keySet())
+				.containsOnlyElementsOf(converted.get(0).keySet());
+		assertThat(thread.get("threadName"))
+				.isEqualTo(Thread.currentThread().getName());
+		assertThat(thread.get("threadState")).isEqualTo("RUNNABLE");
+		@SuppressWarnings("unchecked")
+		Map<String, Object> frame = ((List<Map<String, Object>>) thread
+				.get("stackTrace")).get(0);
+		@SuppressWarnings("unchecked")
+		Map<String, Object> convertedFrame = ((List<Map<String, Object>>) converted
+				.get(0).get("stackTrace")).get(0);
+		assertThat(frame.keySet()).containsOnlyElementsOf(convertedFrame.keySet());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void stackTracesAreTruncated() throws Exception {
+		this.endpoint.setMaxDepth(1);
+		List<Map<String, Object>> written = invoke();
+		assertThat(written).isNotEmpty();
+		for (Map<String, Object> thread : written) {
+			List<Object> stackTrace = (List<Object>) thread.get("stackTrace");
+			assertThat(stackTrace.size()).isLessThanOrEqualTo(1);
+			if (thread.get("threadName").equals(Thread.currentThread().getName())) {
+				assertThat(stackTrace).hasSize(1);
+			}
+		}
+	}
+
+	@Test
+	public void disabled() throws Exception {
+		this.endpoint.setEnabled(false);
+		ResponseEntity<?> response = (ResponseEntity<?>) this.mvc
+				.invoke(new MockHttpServletResponse());
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+	}
+
+	private List<Map<String, Object>> invoke() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		assertThat(this.mvc.invoke(response)).isNull();
+		assertThat(response.getContentType()).startsWith("application/json");
+		return this.objectMapper.readValue(response.getContentAsByteArray(),
+				new TypeReference<List<Map<String, Object>>>() {
+				});
+	}
+
+}
@@ -18,6 +18,9 @@ package org.springframework.boot.actuate.health;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.Before;
@@ -27,6 +30,7 @@ import org.mockito.MockitoAnnotations;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
 
 /**
  * Tests for {@link CompositeHealthIndicator}
@@ -108,6 +112,70 @@ public class CompositeHealthIndicatorTests {
 				new Health.Builder().unknown().withDetail("2", "2").build());
 	}
 
+	@Test
+	public void createWithExecutor() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			final CountDownLatch latch = new CountDownLatch(2);
+			CompositeHealthIndicator composite = new CompositeHealthIndicator(
+					this.healthAggregator);
+			composite.setExecutor(executor);
+			composite.addHealthIndicator("one", new LatchHealthIndicator(latch));
+			composite.addHealthIndicator("two", new LatchHealthIndicator(latch));
+			Health result = composite.health();
+			assertThat(result.getStatus()).isEqualTo(Status.UP);
+			assertThat(result.getDetails()).containsOnlyKeys("one", "two");
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void createWithExecutorWhenIndicatorTimesOut() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			CompositeHealthIndicator composite = new CompositeHealthIndicator(
+					this.healthAggregator);
+			composite.setExecutor(executor);
+			composite.setTimeout(50);
+			composite.setTimeoutStatus(Status.DOWN);
+			composite.addHealthIndicator("one", this.one);
+			composite.addHealthIndicator("slow",
+					new LatchHealthIndicator(new CountDownLatch(2)));
+			Health result = composite.health();
+			assertThat(result.getStatus()).isEqualTo(Status.DOWN);
+			assertThat(result.getDetails()).containsEntry("one",
+					new Health.Builder().unknown().withDetail("1", "1").build());
+			Health slow = (Health) result.getDetails().get("slow");
+			assertThat(slow.getStatus()).isEqualTo(Status.DOWN);
+			assertThat(slow.getDetails()).containsKey("elapsed");
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void createWithExecutorWhenIndicatorFails() throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			willThrow(new IllegalStateException("Failed")).given(this.two).health();
+			CompositeHealthIndicator composite = new CompositeHealthIndicator(
+					this.healthAggregator);
+			composite.setExecutor(executor);
+			composite.addHealthIndicator("two", this.two);
+			Health result = composite.health();
+			assertThat(result.getStatus()).isEqualTo(Status.DOWN);
+			Health two = (Health) result.getDetails().get("two");
+			assertThat(two.getDetails()).containsEntry("error",
+					"java.lang.IllegalStateException: Failed");
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
 	@Test
 	public void testSerialization() throws Exception {
 		Map<String, HealthIndicator> indicators = new HashMap<String, HealthIndicator>();
@@ -126,4 +194,31 @@ public class CompositeHealthIndicatorTests {
 						+ "\"db2\":{\"status\":\"UNKNOWN\",\"2\":\"2\"}}}");
 	}
 
+	/**
+	 * {@link HealthIndicator} that is only healthy once all indicators sharing the same
+	 * latch are being called at the same time.
+	 */
+	private static class LatchHealthIndicator implements HealthIndicator {
+
+		private final CountDownLatch latch;
+
+		LatchHealthIndicator(CountDownLatch latch) {
+			this.latch = latch;
+		}
+
+		@Override
+		public Health health() {
+			this.latch.countDown();
+			try {
+				this.latch.await();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				return Health.down().build();
+			}
+			return Health.up().build();
+		}
+
+	}
+
 }
@@ -17,6 +17,7 @@
 package org.springframework.boot.actuate.health;
 
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 
 import javax.sql.DataSource;
 
@@ -24,13 +25,17 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import org.springframework.boot.actuate.metrics.GaugeService;
 import org.springframework.boot.autoconfigure.jdbc.EmbeddedDatabaseConnection;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.datasource.SingleConnectionDataSource;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.anyDouble;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -100,7 +105,67 @@ public class DataSourceHealthIndicatorTests {
 		this.indicator.setDataSource(dataSource);
 		Health health = this.indicator.health();
 		assertThat(health.getDetails().get("database")).isNotNull();
-		verify(connection, times(2)).close();
+		verify(connection, times(1)).close();
+	}
+
+	@Test
+	public void latency() {
+		GaugeService gaugeService = mock(GaugeService.class);
+		this.indicator.setDataSource(this.dataSource);
+		this.indicator.setGaugeService(gaugeService);
+		Health health = this.indicator.health();
+		assertThat(health.getStatus()).isEqualTo(Status.UP);
+		assertThat(health.getDetails().get("latency")).isInstanceOf(Long.class);
+		verify(gaugeService).submit(eq("health.db.latency"), anyDouble());
+	}
+
+	@Test
+	public void productIsDetectedOnce() throws Exception {
+		DataSource dataSource = mock(DataSource.class);
+		Connection connection = mock(Connection.class);
+		DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+		given(metaData.getDatabaseProductName()).willReturn("HSQL Database Engine");
+		given(connection.getMetaData()).willReturn(metaData);
+		given(dataSource.getConnection()).willReturn(connection);
+		this.indicator.setDataSource(dataSource);
+		this.indicator.health();
+		Health health = this.indicator.health();
+		assertThat(health.getDetails().get("database"))
+				.isEqualTo("HSQL Database Engine");
+		verify(connection, times(1)).getMetaData();
+		verify(dataSource, times(2)).getConnection();
+	}
+
+	@Test
+	public void connectionValidation() throws Exception {
+		DataSource dataSource = mock(DataSource.class);
+		Connection connection = mock(Connection.class);
+		given(connection.getMetaData())
+				.willReturn(this.dataSource.getConnection().getMetaData());
+		given(connection.isValid(3)).willReturn(true);
+		given(dataSource.getConnection()).willReturn(connection);
+		this.indicator.setDataSource(dataSource);
+		this.indicator.setConnectionValidation(true);
+		this.indicator.setValidationTimeout(3);
+		Health health = this.indicator.health();
+		assertThat(health.getStatus()).isEqualTo(Status.UP);
+		assertThat(health.getDetails()).doesNotContainKey("hello");
+		verify(connection, never()).createStatement();
+	}
+
+	@Test
+	public void invalidConnection() throws Exception {
+		DataSource dataSource = mock(DataSource.class);
+		Connection connection = mock(Connection.class);
+		given(connection.getMetaData())
+				.willReturn(this.dataSource.getConnection().getMetaData());
+		given(connection.isValid(0)).willReturn(false);
+		given(dataSource.getConnection()).willReturn(connection);
+		this.indicator.setDataSource(dataSource);
+		this.indicator.setConnectionValidation(true);
+		Health health = this.indicator.health();
+		assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+		assertThat(health.getDetails()).containsKeys("database", "latency");
 	}
 
 }
@@ -16,6 +16,9 @@
 
 package org.springframework.boot.actuate.health;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Properties;
 
 import org.junit.After;
@@ -23,16 +26,26 @@ import org.junit.Test;
 
 import org.springframework.boot.actuate.autoconfigure.EndpointAutoConfiguration;
 import org.springframework.boot.actuate.autoconfigure.HealthIndicatorAutoConfiguration;
+import org.springframework.boot.actuate.metrics.GaugeService;
 import org.springframework.boot.autoconfigure.PropertyPlaceholderAutoConfiguration;
 import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
 import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisNode.NodeType;
+import org.springframework.data.redis.connection.RedisSentinelConnection;
+import org.springframework.data.redis.connection.RedisServer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 /**
@@ -99,4 +112,178 @@ public class RedisHealthIndicatorTests {
 		verify(redisConnection).info();
 	}
 
+	@Test
+	public void redisIsUpWithPing() throws Exception {
+		RedisConnection redisConnection = mock(RedisConnection.class);
+		RedisConnectionFactory redisConnectionFactory = mock(
+				RedisConnectionFactory.class);
+		given(redisConnectionFactory.getConnection()).willReturn(redisConnection);
+		given(redisConnection.ping()).willReturn("PONG");
+		RedisHealthIndicator healthIndicator = new RedisHealthIndicator(
+				redisConnectionFactory);
+		healthIndicator.setMode(RedisHealthIndicator.Mode.PING);
+		Health health = healthIndicator.health();
+		assertThat(health.getStatus()).isEqualTo(Status.UP);
+		assertThat(health.getDetails()).containsKey("latency")
+				.doesNotContainKey("version");
+		verify(redisConnection).ping();
+		verify(redisConnection, never()).info();
+	}
+
+	@Test
+	public void redisIsDownWithPing() throws Exception {
+		RedisConnection redisConnection = mock(RedisConnection.class);
+		RedisConnectionFactory redisConnectionFactory = mock(
+				RedisConnectionFactory.class);
+		given(redisConnectionFactory.getConnection()).willReturn(redisConnection);
+		given(redisConnection.ping())
+				.willThrow(new RedisConnectionFailureException("Connection failed"));
+		RedisHealthIndicator healthIndicator = new RedisHealthIndicator(
+				redisConnectionFactory);
+		healthIndicator.setMode(RedisHealthIndicator.Mode.PING);
+		Health health = healthIndicator.health();
+		assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+		assertThat((String) health.getDetails().get("error"))
+				.contains("Connection failed");
+	}
+
+	@Test
+	public void pingWithInfoInterval() throws Exception {
+		Properties info = new Properties();
+		info.put("redis_version", "2.8.9");
+		RedisConnection redisConnection = mock(RedisConnection.class);
+		RedisConnectionFactory redisConnectionFactory = mock(
+				RedisConnectionFactory.class);
+		given(redisConnectionFactory.getConnection()).willReturn(redisConnection);
+		given(redisConnection.info()).willReturn(info);
+		RedisHealthIndicator healthIndicator = new RedisHealthIndicator(
+				redisConnectionFactory);
+		healthIndicator.setMode(RedisHealthIndicator.Mode.PING);
+		healthIndicator.setInfoInterval(3);
+		for (int i = 0; i < 4; i++) {
+			Health health = healthIndicator.health();
+			assertThat(health.getStatus()).isEqualTo(Status.UP);
+			assertThat(health.getDetails().get("version")).isEqualTo("2.8.9");
+		}
+		verify(redisConnection, times(2)).info();
+		verify(redisConnection, times(2)).ping();
+	}
+
+	@Test
+	public void latencyIsSubmittedToGaugeService() throws Exception {
+		RedisConnection redisConnection = mock(RedisConnection.class);
+		RedisConnectionFactory redisConnectionFactory = mock(
+				RedisConnectionFactory.class);
+		given(redisConnectionFactory.getConnection()).willReturn(redisConnection);
+		GaugeService gaugeService = mock(GaugeService.class);
+		RedisHealthIndicator healthIndicator = new RedisHealthIndicator(
+				redisConnectionFactory);
+		healthIndicator.setMode(RedisHealthIndicator.Mode.PING);
+		healthIndicator.setGaugeService(gaugeService);
+		healthIndicator.setMetricName("health.redis.test.latency");
+		Health health = healthIndicator.health();
+		assertThat(health.getStatus()).isEqualTo(Status.UP);
+		verify(gaugeService).submit(eq("health.redis.test.latency"),
+				eq(((Long) health.getDetails().get("latency")).doubleValue()));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void clusterNodeChecks() throws Exception {
+		RedisConnection redisConnection = mock(RedisConnection.class);
+		RedisClusterConnection clusterConnection = mock(RedisClusterConnection.class);
+		RedisConnectionFactory redisConnectionFactory = mock(
+				RedisConnectionFactory.class);
+		given(redisConnectionFactory.getConnection()).willReturn(redisConnection);
+		given(redisConnectionFactory.getClusterConnection())
+				.willReturn(clusterConnection);
+		RedisClusterNode master = clusterNode(7000, NodeType.MASTER);
+		RedisClusterNode slave = clusterNode(7001, NodeType.SLAVE);
+		given(clusterConnection.clusterGetNodes())
+				.willReturn(Arrays.asList(master, slave));
+		given(clusterConnection.ping(slave))
+				.willThrow(new RedisConnectionFailureException("Connection failed"));
+		RedisHealthIndicator healthIndicator = new RedisHealthIndicator(
+				redisConnectionFactory);
+		healthIndicator.setMode(RedisHealthIndicator.Mode.PING);
+		healthIndicator.setNodeChecks(true);
+		Health health = healthIndicator.health();
+		assertThat(health.getStatus()).isEqualTo(Status.UP);
+		Map<String, Health> nodes = (Map<String, Health>) health.getDetails()
+				.get("nodes");
+		assertThat(nodes.get("127.0.0.1:7000").getStatus()).isEqualTo(Status.UP);
+		assertThat(nodes.get("127.0.0.1:7001").getStatus()).isEqualTo(Status.DOWN);
+		given(clusterConnection.ping(master))
+				.willThrow(new RedisConnectionFailureException("Connection failed"));
+		assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.DOWN);
+		verify(clusterConnection, times(2)).close();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void sentinelNodeChecks() throws Exception {
+		RedisConnection redisConnection = mock(RedisConnection.class);
+		RedisSentinelConnection sentinelConnection = mock(
+				RedisSentinelConnection.class);
+		RedisConnectionFactory redisConnectionFactory = mock(
+				RedisConnectionFactory.class);
+		given(redisConnectionFactory.getConnection()).willReturn(redisConnection);
+		given(redisConnectionFactory.getClusterConnection())
+				.willThrow(new InvalidDataAccessApiUsageException("Not a cluster"));
+		given(redisConnectionFactory.getSentinelConnection())
+				.willReturn(sentinelConnection);
+		RedisServer master = sentinelServer(6379, "master");
+		RedisServer slave = sentinelServer(6380, "slave,s_down");
+		given(sentinelConnection.masters())
+				.willReturn(Collections.singletonList(master));
+		given(sentinelConnection.slaves(master))
+				.willReturn(Collections.singletonList(slave));
+		RedisHealthIndicator healthIndicator = new RedisHealthIndicator(
+				redisConnectionFactory);
+		healthIndicator.setMode(RedisHealthIndicator.Mode.PING);
+		healthIndicator.setNodeChecks(true);
+		Health health = healthIndicator.health();
+		assertThat(health.getStatus()).isEqualTo(Status.UP);
+		Map<String, Health> nodes = (Map<String, Health>) health.getDetails()
+				.get("nodes");
+		assertThat(nodes.get("127.0.0.1:6379").getStatus()).isEqualTo(Status.UP);
+		assertThat(nodes.get("127.0.0.1:6380").getStatus()).isEqualTo(Status.DOWN);
+		healthIndicator.health();
+		verify(redisConnectionFactory, times(1)).getClusterConnection();
+		verify(sentinelConnection, times(2)).close();
+	}
+
+	@Test
+	public void nodeChecksWithStandaloneConnectionFactory() throws Exception {
+		RedisConnection redisConnection = mock(RedisConnection.class);
+		RedisConnectionFactory redisConnectionFactory = mock(
+				RedisConnectionFactory.class);
+		given(redisConnectionFactory.getConnection()).willReturn(redisConnection);
+		given(redisConnectionFactory.getClusterConnection())
+				.willThrow(new InvalidDataAccessApiUsageException("Not a cluster"));
+		given(redisConnectionFactory.getSentinelConnection())
+				.willThrow(new InvalidDataAccessApiUsageException("No sentinels"));
+		RedisHealthIndicator healthIndicator = new RedisHealthIndicator(
+				redisConnectionFactory);
+		healthIndicator.setMode(RedisHealthIndicator.Mode.PING);
+		healthIndicator.setNodeChecks(true);
+		assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.UP);
+		Health health = healthIndicator.health();
+		assertThat(health.getStatus()).isEqualTo(Status.UP);
+		assertThat(health.getDetails()).doesNotContainKey("nodes");
+		verify(redisConnectionFactory, times(1)).getClusterConnection();
+		verify(redisConnectionFactory, times(1)).getSentinelConnection();
+	}
+
+	private RedisClusterNode clusterNode(int port, NodeType type) {
+		return RedisClusterNode.newRedisClusterNode().listeningAt("127.0.0.1", port)
+				.promotedAs(type).build();
+	}
+
+	private RedisServer sentinelServer(int port, String flags) {
+		Properties properties = new Properties();
+		properties.put("flags", flags);
+		return new RedisServer("127.0.0.1", port, properties);
+	}
+
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.health;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link RefreshingHealthIndicator}.
+ */
+public class RefreshingHealthIndicatorTests {
+
+	@Mock
+	private HealthIndicator delegate;
+
+	private RefreshingHealthIndicator indicator;
+
+	@Before
+	public void setup() {
+		MockitoAnnotations.initMocks(this);
+		this.indicator = new RefreshingHealthIndicator(this.delegate);
+	}
+
+	@Test
+	public void healthChecksDelegateWhenNotRefreshed() {
+		given(this.delegate.health()).willReturn(Health.up().build());
+		Health health = this.indicator.health();
+		assertThat(health.getStatus()).isEqualTo(Status.UP);
+		assertThat(health.getDetails()).containsKeys("lastChecked", "duration");
+		verify(this.delegate).health();
+	}
+
+	@Test
+	public void concurrentHealthChecksDelegateOnce() throws Exception {
+		final CountDownLatch checking = new CountDownLatch(1);
+		given(this.delegate.health()).willAnswer(new Answer<Health>() {
+
+			@Override
+			public Health answer(InvocationOnMock invocation) throws Throwable {
+				checking.countDown();
+				Thread.sleep(100);
+				return Health.up().build();
+			}
+
+		});
+		Thread thread = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				RefreshingHealthIndicatorTests.this.indicator.health();
+			}
+
+		});
+		thread.start();
+		checking.await();
+		assertThat(this.indicator.health().getStatus()).isEqualTo(Status.UP);
+		thread.join();
+		verify(this.delegate, times(1)).health();
+	}
+
+	@Test
+	public void healthReturnsSnapshot() {
+		given(this.delegate.health()).willReturn(Health.up().withDetail("a", "b").build(),
+				Health.down().build());
+		this.indicator.refresh();
+		this.indicator.health();
+		Health health = this.indicator.health();
+		assertThat(health.getStatus()).isEqualTo(Status.UP);
+		assertThat(health.getDetails()).containsEntry("a", "b");
+		assertThat(health.getDetails()).containsEntry("lastChecked",
+				this.indicator.getLastChecked());
+		verify(this.delegate, times(1)).health();
+		this.indicator.refresh();
+		assertThat(this.indicator.health().getStatus()).isEqualTo(Status.DOWN);
+	}
+
+	@Test
+	public void refreshWhenDelegateFails() {
+		given(this.delegate.health()).willThrow(new IllegalStateException("Failed"));
+		this.indicator.refresh();
+		Health health = this.indicator.health();
+		assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+		assertThat(health.getDetails()).containsEntry("error",
+				"java.lang.IllegalStateException: Failed");
+	}
+
+}
@@ -55,4 +55,26 @@ public class BufferMetricReaderTests {
 		assertThat(this.reader.count()).isEqualTo(1);
 	}
 
+	@Test
+	public void findChangedSince() {
+		long timestamp = System.currentTimeMillis();
+		this.gauges.set("foo", 1);
+		this.counters.increment("bar", 2);
+		assertThat(this.reader.findChangedSince(timestamp)).hasSize(2);
+		assertThat(this.reader.findChangedSince(timestamp + 10000)).isEmpty();
+	}
+
+	@Test
+	public void findChangedSinceOnlyReturnsRecentChanges() throws Exception {
+		long timestamp = System.currentTimeMillis();
+		this.gauges.set("foo", 1);
+		this.counters.increment("bar", 2);
+		assertThat(this.reader.findChangedSince(timestamp)).hasSize(2);
+		Thread.sleep(10);
+		timestamp = System.currentTimeMillis();
+		this.counters.increment("bar", 2);
+		assertThat(this.reader.findChangedSince(timestamp)).extracting("name")
+				.containsOnly("bar");
+	}
+
 }
@@ -16,16 +16,24 @@
 
 package org.springframework.boot.actuate.metrics.export;
 
+import java.util.Collection;
 import java.util.Date;
 
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 import org.springframework.boot.actuate.metrics.Metric;
 import org.springframework.boot.actuate.metrics.repository.InMemoryMetricRepository;
+import org.springframework.boot.actuate.metrics.writer.BatchMetricWriter;
 import org.springframework.boot.actuate.metrics.writer.Delta;
 import org.springframework.boot.actuate.metrics.writer.GaugeWriter;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 
 /**
  * Tests for {@link MetricCopyExporter}.
@@ -76,6 +84,25 @@ public class MetricCopyExporterTests {
 		}
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	public void batchWriter() throws Exception {
+		BatchMetricWriter writer = mock(BatchMetricWriter.class);
+		MetricCopyExporter exporter = new MetricCopyExporter(this.reader, writer);
+		this.reader.set(new Metric<Number>("foo", 2.3));
+		this.reader.set(new Metric<Number>("bar", 2.4));
+		this.reader.increment(new Delta<Number>("counter.foo", 2));
+		exporter.export();
+		ArgumentCaptor<Collection> gauges = ArgumentCaptor.forClass(Collection.class);
+		ArgumentCaptor<Collection> deltas = ArgumentCaptor.forClass(Collection.class);
+		verify(writer).set(gauges.capture());
+		verify(writer).increment(deltas.capture());
+		verify(writer, never()).set(any(Metric.class));
+		verify(writer, never()).increment(any(Delta.class));
+		assertThat(gauges.getValue()).hasSize(2);
+		assertThat(deltas.getValue()).hasSize(1);
+	}
+
 	@Test
 	public void exportIncludes() {
 		this.exporter.setIncludes("*");
@@ -103,6 +130,33 @@ public class MetricCopyExporterTests {
 		assertThat(this.writer.count()).isEqualTo(1);
 	}
 
+	@Test
+	public void exportIncludesAfterChange() {
+		this.exporter.setIncludes("foo");
+		this.reader.set(new Metric<Number>("foo", 2.3));
+		this.reader.set(new Metric<Number>("bar", 2.4));
+		this.exporter.export();
+		assertThat(this.writer.count()).isEqualTo(1);
+		this.exporter.setIncludes("bar");
+		this.reader.set(new Metric<Number>("bar", 2.5));
+		this.exporter.export();
+		assertThat(this.writer.count()).isEqualTo(2);
+	}
+
+	@Test
+	public void exportReadsChangedMetrics() {
+		InMemoryMetricRepository reader = spy(new InMemoryMetricRepository());
+		MetricCopyExporter exporter = new MetricCopyExporter(reader, this.writer);
+		reader.set(new Metric<Number>("foo", 2.3));
+		reader.set(new Metric<Number>("bar", 2.4,
+				new Date(System.currentTimeMillis() - 10000)));
+		exporter.setEarliestTimestamp(new Date(System.currentTimeMillis() - 5000));
+		exporter.export();
+		verify(reader).findChangedSince(any(Long.class));
+		verify(reader, never()).findAll();
+		assertThat(this.writer.count()).isEqualTo(1);
+	}
+
 	@Test
 	public void timestamp() {
 		this.reader.set(new Metric<Number>("foo", 2.3));
@@ -120,6 +174,18 @@ public class MetricCopyExporterTests {
 		assertThat(this.writer.count()).isEqualTo(1);
 	}
 
+	@Test
+	public void sendLatestFalseExportsUnchangedMetrics() {
+		this.reader.set(new Metric<Number>("foo", 2.3,
+				new Date(System.currentTimeMillis() - 1000)));
+		this.exporter.setEarliestTimestamp(new Date(0L));
+		this.exporter.setSendLatest(false);
+		this.exporter.export();
+		this.writer.reset("foo");
+		this.exporter.export();
+		assertThat(this.writer.count()).isEqualTo(1);
+	}
+
 	private static class SimpleGaugeWriter implements GaugeWriter {
 
 		private Metric<?> value;
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.histogram;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.springframework.boot.actuate.metrics.Metric;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link HistogramMetricReader}.
+ */
+public class HistogramMetricReaderTests {
+
+	private final InMemoryHistogramRepository repository = new InMemoryHistogramRepository();
+
+	@Test
+	public void findAll() {
+		for (int i = 1; i <= 100; i++) {
+			this.repository.record("foo", i);
+		}
+		HistogramMetricReader reader = new HistogramMetricReader(this.repository);
+		Map<String, Number> values = getValues(reader);
+		assertThat(values).containsOnlyKeys("histogram.foo.count", "histogram.foo.min",
+				"histogram.foo.max", "histogram.foo.mean", "histogram.foo.p50",
+				"histogram.foo.p95", "histogram.foo.p99");
+		assertThat(values.get("histogram.foo.count")).isEqualTo(100L);
+		assertThat(values.get("histogram.foo.min")).isEqualTo(1L);
+		assertThat(values.get("histogram.foo.max")).isEqualTo(100L);
+		assertThat(values.get("histogram.foo.p95")).isEqualTo(95L);
+		assertThat(reader.count()).isEqualTo(7);
+	}
+
+	@Test
+	public void findOne() {
+		this.repository.record("foo", 10);
+		HistogramMetricReader reader = new HistogramMetricReader(this.repository);
+		assertThat(reader.findOne("histogram.foo.p99").getValue()).isEqualTo(10L);
+		assertThat(reader.findOne("histogram.foo.bar")).isNull();
+		assertThat(reader.findOne("histogram.bar.p99")).isNull();
+		assertThat(reader.findOne("foo")).isNull();
+	}
+
+	@Test
+	public void customPercentiles() {
+		this.repository.record("foo", 1);
+		HistogramMetricReader reader = new HistogramMetricReader(this.repository, 75,
+				99.9);
+		assertThat(getValues(reader)).containsKeys("histogram.foo.p75",
+				"histogram.foo.p999");
+		assertThat(reader.count()).isEqualTo(6);
+	}
+
+	private Map<String, Number> getValues(HistogramMetricReader reader) {
+		Map<String, Number> values = new HashMap<String, Number>();
+		for (Metric<?> metric : reader.findAll()) {
+			values.put(metric.getName(), metric.getValue());
+		}
+		return values;
+	}
+
+}
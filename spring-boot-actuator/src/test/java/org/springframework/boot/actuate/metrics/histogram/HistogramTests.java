@@ -0,0 +1,170 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.histogram;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+/**
+ * Tests for {@link Histogram}.
+ */
+public class HistogramTests {
+
+	private final Histogram histogram = new Histogram("foo",
+			TimeUnit.HOURS.toMillis(1));
+
+	@Test
+	public void empty() {
+		assertThat(this.histogram.getCount()).isEqualTo(0);
+		assertThat(this.histogram.getMin()).isEqualTo(0);
+		assertThat(this.histogram.getMax()).isEqualTo(0);
+		assertThat(this.histogram.getMean()).isEqualTo(0);
+		assertThat(this.histogram.getValueAtPercentile(99)).isEqualTo(0);
+	}
+
+	@Test
+	public void smallValuesAreExact() {
+		for (int i = 1; i <= 100; i++) {
+			this.histogram.record(i);
+		}
+		assertThat(this.histogram.getCount()).isEqualTo(100);
+		assertThat(this.histogram.getMin()).isEqualTo(1);
+		assertThat(this.histogram.getMax()).isEqualTo(100);
+		assertThat(this.histogram.getMean()).isEqualTo(50.5, offset(0.001));
+		assertThat(this.histogram.getValuesAtPercentiles(50, 95, 99, 100))
+				.containsExactly(50, 95, 99, 100);
+	}
+
+	@Test
+	public void largeValuesAreApproximate() {
+		for (int i = 1; i <= 10000; i++) {
+			this.histogram.record(i * 100);
+		}
+		assertApproximately(this.histogram.getValueAtPercentile(50), 500000);
+		assertApproximately(this.histogram.getValueAtPercentile(99), 990000);
+		assertThat(this.histogram.getValueAtPercentile(100)).isEqualTo(1000000);
+	}
+
+	@Test
+	public void tailLatencyIsVisible() {
+		for (int i = 0; i < 990; i++) {
+			this.histogram.record(10);
+		}
+		for (int i = 0; i < 10; i++) {
+			this.histogram.record(2000);
+		}
+		assertThat(this.histogram.getValueAtPercentile(50)).isEqualTo(10);
+		assertThat(this.histogram.getValueAtPercentile(99)).isEqualTo(10);
+		assertApproximately(this.histogram.getValueAtPercentile(99.9), 2000);
+	}
+
+	@Test
+	public void valuesAboveHighestTrackableValueAreClamped() {
+		Histogram histogram = new Histogram("foo", 1000);
+		histogram.record(5000);
+		histogram.record(-1);
+		assertThat(histogram.getCount()).isEqualTo(1);
+		assertThat(histogram.getMax()).isEqualTo(1000);
+		assertThat(histogram.getValueAtPercentile(50)).isEqualTo(1000);
+	}
+
+	@Test
+	public void concurrentRecording() throws Exception {
+		int threads = 4;
+		final int values = 10000;
+		final CountDownLatch latch = new CountDownLatch(threads);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		for (int t = 0; t < threads; t++) {
+			executor.execute(new Runnable() {
+
+				@Override
+				public void run() {
+					for (int i = 1; i <= values; i++) {
+						HistogramTests.this.histogram.record(i);
+					}
+					latch.countDown();
+				}
+
+			});
+		}
+		assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+		executor.shutdown();
+		assertThat(this.histogram.getCount()).isEqualTo(threads * values);
+		assertThat(this.histogram.getMin()).isEqualTo(1);
+		assertThat(this.histogram.getMax()).isEqualTo(values);
+	}
+
+	@Test
+	public void windowKeepsCurrentAndPreviousIntervals() {
+		TestHistogram histogram = new TestHistogram(1000);
+		histogram.record(5);
+		histogram.time = 1500;
+		histogram.record(10);
+		assertThat(histogram.getCount()).isEqualTo(2);
+		assertThat(histogram.getMin()).isEqualTo(5);
+		assertThat(histogram.getMax()).isEqualTo(10);
+		histogram.time = 2000;
+		assertThat(histogram.getCount()).isEqualTo(1);
+		assertThat(histogram.getMin()).isEqualTo(10);
+		assertThat(histogram.getValueAtPercentile(50)).isEqualTo(10);
+		histogram.time = 2999;
+		assertThat(histogram.getCount()).isEqualTo(1);
+		histogram.time = 3000;
+		assertThat(histogram.getCount()).isEqualTo(0);
+		assertThat(histogram.getMax()).isEqualTo(0);
+		assertThat(histogram.getMean()).isEqualTo(0);
+	}
+
+	@Test
+	public void windowDiscardsIdleIntervals() {
+		TestHistogram histogram = new TestHistogram(1000);
+		histogram.record(5);
+		histogram.time = 2500;
+		histogram.record(10);
+		assertThat(histogram.getCount()).isEqualTo(1);
+		assertThat(histogram.getMin()).isEqualTo(10);
+		histogram.time = 3000;
+		assertThat(histogram.getCount()).isEqualTo(1);
+	}
+
+	private void assertApproximately(long actual, long expected) {
+		assertThat(actual).isBetween(expected - expected / 64, expected + expected / 64);
+	}
+
+	private static class TestHistogram extends Histogram {
+
+		private long time;
+
+		TestHistogram(long window) {
+			super("foo", 1000, window);
+		}
+
+		@Override
+		long getCurrentTime() {
+			return this.time;
+		}
+
+	}
+
+}
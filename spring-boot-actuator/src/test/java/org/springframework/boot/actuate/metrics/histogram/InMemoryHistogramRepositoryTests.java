@@ -0,0 +1,77 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.histogram;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link InMemoryHistogramRepository}.
+ */
+public class InMemoryHistogramRepositoryTests {
+
+	private final InMemoryHistogramRepository repository = new InMemoryHistogramRepository();
+
+	@Test
+	public void recordAndRead() {
+		this.repository.record("foo", 1);
+		this.repository.record("histogram.foo", 2);
+		Histogram histogram = this.repository.findOne("histogram.foo");
+		assertThat(histogram.getName()).isEqualTo("histogram.foo");
+		assertThat(histogram.getCount()).isEqualTo(2);
+		assertThat(this.repository.findOne("foo")).isSameAs(histogram);
+		assertThat(this.repository.findAll()).containsExactly(histogram);
+		assertThat(this.repository.count()).isEqualTo(1);
+	}
+
+	@Test
+	public void maxHistograms() {
+		this.repository.setMaxHistograms(1);
+		this.repository.record("foo", 1);
+		this.repository.record("bar", 1);
+		this.repository.record("foo", 1);
+		assertThat(this.repository.findOne("foo").getCount()).isEqualTo(2);
+		assertThat(this.repository.findOne("bar")).isNull();
+	}
+
+	@Test
+	public void highestTrackableValue() {
+		this.repository.setHighestTrackableValue(100);
+		this.repository.record("foo", 1000);
+		assertThat(this.repository.findOne("foo").getMax()).isEqualTo(100);
+	}
+
+	@Test
+	public void window() {
+		assertThat(this.repository.findOne("foo")).isNull();
+		this.repository.record("foo", 1);
+		assertThat(this.repository.findOne("foo").getWindow()).isEqualTo(60000);
+		this.repository.setWindow(0);
+		this.repository.record("bar", 1);
+		assertThat(this.repository.findOne("bar").getWindow()).isEqualTo(0);
+	}
+
+	@Test
+	public void reset() {
+		this.repository.record("foo", 1);
+		this.repository.reset("foo");
+		assertThat(this.repository.findOne("foo")).isNull();
+		assertThat(this.repository.count()).isEqualTo(0);
+	}
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.opentsdb;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestOperations;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link AsyncOpenTsdbGaugeWriter}.
+ */
+public class AsyncOpenTsdbGaugeWriterTests {
+
+	private AsyncOpenTsdbGaugeWriter writer;
+
+	private RestOperations restTemplate = Mockito.mock(RestOperations.class);
+
+	@Before
+	public void init() {
+		this.writer = new AsyncOpenTsdbGaugeWriter();
+		this.writer.setRestTemplate(this.restTemplate);
+		this.writer.setRetryBackoff(10);
+	}
+
+	@After
+	public void close() {
+		this.writer.close();
+	}
+
+	@Test
+	public void postInBackgroundOnFlush() {
+		given(this.restTemplate.postForEntity(anyString(), any(Object.class), anyMap()))
+				.willReturn(emptyResponse());
+		this.writer.set(new Metric<Double>("foo", 2.4));
+		verify(this.restTemplate, never()).postForEntity(anyString(), any(Object.class),
+				anyMap());
+		this.writer.flush();
+		verify(this.restTemplate, timeout(5000)).postForEntity(anyString(),
+				any(Object.class), anyMap());
+	}
+
+	@Test
+	public void postWhenBufferIsFull() {
+		given(this.restTemplate.postForEntity(anyString(), any(Object.class), anyMap()))
+				.willReturn(emptyResponse());
+		this.writer.setBufferSize(2);
+		this.writer.set(new Metric<Double>("foo", 2.4));
+		this.writer.set(new Metric<Double>("bar", 2.4));
+		verify(this.restTemplate, timeout(5000)).postForEntity(anyString(),
+				any(Object.class), anyMap());
+	}
+
+	@Test
+	public void postWhenBatchIsOld() {
+		given(this.restTemplate.postForEntity(anyString(), any(Object.class), anyMap()))
+				.willReturn(emptyResponse());
+		this.writer.setMaxBatchAge(10);
+		this.writer.set(new Metric<Double>("foo", 2.4));
+		verify(this.restTemplate, timeout(5000)).postForEntity(anyString(),
+				any(Object.class), anyMap());
+	}
+
+	@Test
+	public void retryFailedPost() {
+		given(this.restTemplate.postForEntity(anyString(), any(Object.class), anyMap()))
+				.willThrow(new ResourceAccessException("Unavailable"))
+				.willReturn(emptyResponse());
+		this.writer.set(new Metric<Double>("foo", 2.4));
+		this.writer.flush();
+		verify(this.restTemplate, timeout(5000).times(2)).postForEntity(anyString(),
+				any(Object.class), anyMap());
+		assertThat(this.writer.getDroppedCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void dropAfterMaxAttempts() throws Exception {
+		given(this.restTemplate.postForEntity(anyString(), any(Object.class), anyMap()))
+				.willThrow(new ResourceAccessException("Unavailable"));
+		this.writer.set(new Metric<Double>("foo", 2.4));
+		this.writer.flush();
+		verify(this.restTemplate, timeout(5000).times(3)).postForEntity(anyString(),
+				any(Object.class), anyMap());
+		this.writer.close();
+		assertThat(this.writer.getDroppedCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void dropAndContinueAfterUnexpectedException() throws Exception {
+		given(this.restTemplate.postForEntity(anyString(), any(Object.class), anyMap()))
+				.willThrow(new HttpMessageNotWritableException("Bad data"))
+				.willReturn(emptyResponse());
+		this.writer.set(new Metric<Double>("foo", 2.4));
+		this.writer.flush();
+		verify(this.restTemplate, timeout(5000)).postForEntity(anyString(),
+				any(Object.class), anyMap());
+		this.writer.set(new Metric<Double>("bar", 2.4));
+		this.writer.flush();
+		verify(this.restTemplate, timeout(5000).times(2)).postForEntity(anyString(),
+				any(Object.class), anyMap());
+		this.writer.close();
+		assertThat(this.writer.getDroppedCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void dropWhenQueueIsFull() {
+		this.writer.setQueueCapacity(1);
+		this.writer.set(new Metric<Double>("foo", 2.4));
+		this.writer.set(new Metric<Double>("bar", 2.4));
+		assertThat(this.writer.getDroppedCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void postRemainingValuesOnClose() {
+		given(this.restTemplate.postForEntity(anyString(), any(Object.class), anyMap()))
+				.willReturn(emptyResponse());
+		this.writer.set(new Metric<Double>("foo", 2.4));
+		this.writer.close();
+		verify(this.restTemplate, times(1)).postForEntity(anyString(), any(Object.class),
+				anyMap());
+	}
+
+	@SuppressWarnings("rawtypes")
+	private ResponseEntity<Map> emptyResponse() {
+		return new ResponseEntity<Map>(Collections.emptyMap(), HttpStatus.OK);
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private Class<Map> anyMap() {
+		return any(Class.class);
+	}
+
+}
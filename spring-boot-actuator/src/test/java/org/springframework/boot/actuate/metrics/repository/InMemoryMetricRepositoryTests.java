@@ -47,4 +47,13 @@ public class InMemoryMetricRepositoryTests {
 				offset(0.01));
 	}
 
+	@Test
+	public void findChangedSince() {
+		this.repository.set(new Metric<Double>("foo", 2.5, new Date(1000)));
+		this.repository.set(new Metric<Double>("bar", 2.5, new Date(3000)));
+		this.repository.increment(new Delta<Integer>("spam", 1, new Date(2000)));
+		assertThat(this.repository.findChangedSince(2000)).extracting("name")
+				.containsOnly("bar", "spam");
+	}
+
 }
@@ -16,6 +16,8 @@
 
 package org.springframework.boot.actuate.metrics.repository.redis;
 
+import java.util.Arrays;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
@@ -98,6 +100,25 @@ public class RedisMetricRepositoryTests {
 		assertThat(metric.getName()).isEqualTo("foo");
 	}
 
+	@Test
+	public void batchSetAndIncrement() {
+		this.repository.set(Arrays.<Metric<?>>asList(new Metric<Number>("foo", 12.3),
+				new Metric<Number>("bar", 1.0)));
+		this.repository.increment(Arrays.<Delta<?>>asList(new Delta<Long>("foo", 3L),
+				new Delta<Long>("bar", 2L)));
+		assertThat(this.repository.findOne("foo").getValue().doubleValue())
+				.isEqualTo(15.3, offset(0.01));
+		assertThat(this.repository.findOne("bar").getValue().doubleValue())
+				.isEqualTo(3.0, offset(0.01));
+		assertThat(Iterables.collection(this.repository.findAll())).hasSize(2);
+	}
+
+	@Test
+	public void findOneMissing() {
+		this.repository.increment(new Delta<Long>("foo", 3L));
+		assertThat(this.repository.findOne("baz")).isNull();
+	}
+
 	@Test
 	public void count() {
 		this.repository.increment(new Delta<Long>("foo", 3L));
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.util;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link MetricChangeLog}.
+ */
+public class MetricChangeLogTests {
+
+	private final MetricChangeLog log = new MetricChangeLog(3);
+
+	@Test
+	public void findNamesChangedSinceLastRead() throws Exception {
+		long start = System.currentTimeMillis();
+		this.log.record("foo");
+		this.log.record("foo");
+		assertThat(this.log.findChangedSince(start)).containsOnly("foo");
+		Thread.sleep(10);
+		long cursor = System.currentTimeMillis();
+		this.log.record("bar");
+		assertThat(this.log.findChangedSince(cursor)).containsOnly("bar");
+		assertThat(this.log.findChangedSince(start)).containsOnly("foo", "bar");
+	}
+
+	@Test
+	public void readStartsNewEpoch() {
+		long epoch = this.log.getEpoch();
+		this.log.findChangedSince(System.currentTimeMillis());
+		assertThat(this.log.getEpoch()).isEqualTo(epoch + 1);
+	}
+
+	@Test
+	public void cursorOlderThanLog() {
+		assertThat(this.log.findChangedSince(System.currentTimeMillis() - 10000))
+				.isNull();
+	}
+
+	@Test
+	public void cursorOlderThanRetainedEpochs() throws Exception {
+		long cursor = System.currentTimeMillis();
+		assertThat(this.log.findChangedSince(cursor)).isEmpty();
+		for (int i = 0; i < 3; i++) {
+			Thread.sleep(10);
+			this.log.findChangedSince(System.currentTimeMillis());
+		}
+		assertThat(this.log.findChangedSince(cursor)).isNull();
+	}
+
+}
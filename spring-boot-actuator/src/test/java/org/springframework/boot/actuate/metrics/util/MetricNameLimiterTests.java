@@ -0,0 +1,79 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link MetricNameLimiter}.
+ */
+public class MetricNameLimiterTests {
+
+	@Test
+	public void namesWithinLimitAreAccepted() {
+		MetricNameLimiter limiter = new MetricNameLimiter(2);
+		assertThat(limiter.limit("foo")).isEqualTo("foo");
+		assertThat(limiter.limit("bar")).isEqualTo("bar");
+		assertThat(limiter.limit("foo")).isEqualTo("foo");
+		assertThat(limiter.getRejectedCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void namesOverLimitAreReplacedByOverflowName() {
+		MetricNameLimiter limiter = new MetricNameLimiter(2);
+		limiter.limit("foo");
+		limiter.limit("bar");
+		assertThat(limiter.limit("spam")).isEqualTo("overflow");
+		assertThat(limiter.limit("bar")).isEqualTo("bar");
+		assertThat(limiter.getRejectedCount()).isEqualTo(1);
+		assertThat(limiter.getNameCounts()).containsEntry("", 2);
+	}
+
+	@Test
+	public void limitsArePerPrefix() {
+		Map<String, Integer> limits = new LinkedHashMap<String, Integer>();
+		limits.put("response.", 1);
+		limits.put("response.GET.", 2);
+		MetricNameLimiter limiter = new MetricNameLimiter(-1, limits);
+		limiter.setOverflowName("other");
+		assertThat(limiter.limit("response.foo")).isEqualTo("response.foo");
+		assertThat(limiter.limit("response.bar")).isEqualTo("response.other");
+		assertThat(limiter.limit("response.GET.foo")).isEqualTo("response.GET.foo");
+		assertThat(limiter.limit("response.GET.bar")).isEqualTo("response.GET.bar");
+		assertThat(limiter.limit("response.GET.spam"))
+				.isEqualTo("response.GET.other");
+		assertThat(limiter.limit("status.foo")).isEqualTo("status.foo");
+		assertThat(limiter.getRejectedCount()).isEqualTo(2);
+		assertThat(limiter.getNameCounts()).containsEntry("response.", 1)
+				.containsEntry("response.GET.", 2);
+	}
+
+	@Test
+	public void noLimit() {
+		MetricNameLimiter limiter = new MetricNameLimiter(-1);
+		for (int i = 0; i < 100; i++) {
+			assertThat(limiter.limit("foo." + i)).isEqualTo("foo." + i);
+		}
+		assertThat(limiter.getRejectedCount()).isEqualTo(0);
+	}
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.startup;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.actuate.startup.StartupTimeline.Span;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.embedded.tomcat.TomcatEmbeddedServletContainerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link StartupTimelineRunListener}.
+ */
+public class StartupTimelineRunListenerTests {
+
+	@Rule
+	public TemporaryFolder temp = new TemporaryFolder();
+
+	private ConfigurableApplicationContext context;
+
+	@After
+	public void close() {
+		if (this.context != null) {
+			this.context.close();
+		}
+	}
+
+	@Test
+	public void timelineIsRecorded() throws Exception {
+		SpringApplication application = new SpringApplication(Config.class);
+		application.setWebEnvironment(false);
+		this.context = application.run();
+		StartupTimeline timeline = this.context.getBean(StartupTimeline.class);
+		assertThat(timeline.isFinished()).isTrue();
+		assertThat(getNames(timeline, "phase")).containsExactly("run", "environment",
+				"context-create", "context-load", "context-refresh",
+				"configuration-classes");
+		assertThat(getNames(timeline, "bean")).contains("foo");
+		assertThat(timeline.getConditionEvaluationTimes())
+				.containsKey(Config.class.getName() + "#bar");
+	}
+
+	@Test
+	public void embeddedContainerStartIsRecorded() throws Exception {
+		SpringApplication application = new SpringApplication(WebConfig.class);
+		this.context = application.run();
+		StartupTimeline timeline = this.context.getBean(StartupTimeline.class);
+		assertThat(getNames(timeline, "phase")).contains("embedded-container-start");
+	}
+
+	@Test
+	public void timelineIsWrittenToFile() throws Exception {
+		File file = new File(this.temp.getRoot(), "startup.json");
+		SpringApplication application = new SpringApplication(Config.class);
+		application.setWebEnvironment(false);
+		this.context = application.run("--spring.startup.file=" + file);
+		Map<String, Object> json = new ObjectMapper().readValue(file,
+				new TypeReference<Map<String, Object>>() {
+				});
+		assertThat(json).containsKeys("timestamp", "spans", "droppedSpans",
+				"conditionEvaluationTimes");
+		assertThat((List<?>) json.get("spans")).hasSameSizeAs(
+				this.context.getBean(StartupTimeline.class).getSpans());
+	}
+
+	@Test
+	public void timelineCanBeDisabled() throws Exception {
+		SpringApplication application = new SpringApplication(Config.class);
+		application.setWebEnvironment(false);
+		this.context = application.run("--spring.startup.enabled=false");
+		assertThat(this.context.getBeansOfType(StartupTimeline.class)).isEmpty();
+	}
+
+	private List<String> getNames(StartupTimeline timeline, String category) {
+		List<String> names = new ArrayList<String>();
+		for (Span span : timeline.getSpans()) {
+			if (span.getCategory().equals(category)) {
+				names.add(span.getName());
+			}
+		}
+		return names;
+	}
+
+	@Configuration
+	static class Config {
+
+		@Bean
+		public String foo() {
+			return "foo";
+		}
+
+		@Bean
+		@ConditionalOnProperty("bar")
+		public String bar() {
+			return "bar";
+		}
+
+	}
+
+	@Configuration
+	static class WebConfig {
+
+		@Bean
+		public TomcatEmbeddedServletContainerFactory containerFactory() {
+			return new TomcatEmbeddedServletContainerFactory(0);
+		}
+
+	}
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.startup;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.springframework.boot.actuate.startup.StartupTimeline.Span;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link StartupTimeline}.
+ */
+public class StartupTimelineTests {
+
+	@Test
+	public void spansAreReportedInStartOrder() throws Exception {
+		StartupTimeline timeline = new StartupTimeline();
+		int outer = timeline.start("phase", "outer");
+		int inner = timeline.start("bean", "inner");
+		timeline.end(inner);
+		timeline.end(outer);
+		List<Span> spans = timeline.getSpans();
+		assertThat(spans).hasSize(2);
+		assertThat(spans.get(0).getCategory()).isEqualTo("phase");
+		assertThat(spans.get(0).getName()).isEqualTo("outer");
+		assertThat(spans.get(1).getCategory()).isEqualTo("bean");
+		assertThat(spans.get(1).getName()).isEqualTo("inner");
+		assertThat(spans.get(1).getStart()).isGreaterThanOrEqualTo(spans.get(0).getStart());
+		assertThat(spans.get(0).getDuration())
+				.isGreaterThanOrEqualTo(spans.get(1).getDuration());
+	}
+
+	@Test
+	public void spansThatHaveNotEndedAreNotReported() throws Exception {
+		StartupTimeline timeline = new StartupTimeline();
+		timeline.start("phase", "open");
+		timeline.end(timeline.start("phase", "closed"));
+		assertThat(timeline.getSpans()).hasSize(1);
+		assertThat(timeline.getSpans().get(0).getName()).isEqualTo("closed");
+	}
+
+	@Test
+	public void spansBeyondCapacityAreDropped() throws Exception {
+		StartupTimeline timeline = new StartupTimeline(2);
+		timeline.end(timeline.start("bean", "one"));
+		timeline.end(timeline.start("bean", "two"));
+		int span = timeline.start("bean", "three");
+		assertThat(span).isEqualTo(-1);
+		timeline.end(span);
+		assertThat(timeline.getSpans()).hasSize(2);
+		assertThat(timeline.getDroppedSpans()).isEqualTo(1);
+	}
+
+	@Test
+	public void noSpansAreRecordedWhenFinished() throws Exception {
+		StartupTimeline timeline = new StartupTimeline();
+		timeline.finish();
+		assertThat(timeline.start("bean", "late")).isEqualTo(-1);
+		assertThat(timeline.getSpans()).isEmpty();
+		assertThat(timeline.getDroppedSpans()).isEqualTo(0);
+	}
+
+	@Test
+	public void conditionEvaluationTimesAreSortedByName() throws Exception {
+		StartupTimeline timeline = new StartupTimeline();
+		Map<String, Long> times = new LinkedHashMap<String, Long>();
+		times.put("b", 1L);
+		times.put("a", 2L);
+		timeline.setConditionEvaluationTimes(times);
+		assertThat(timeline.getConditionEvaluationTimes().keySet()).containsExactly("a",
+				"b");
+		assertThat(new StartupTimeline().getConditionEvaluationTimes())
+				.isEqualTo(Collections.emptyMap());
+	}
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.trace;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link RingBufferTraceRepository}.
+ */
+public class RingBufferTraceRepositoryTests {
+
+	private final RingBufferTraceRepository repository = new RingBufferTraceRepository();
+
+	@Test
+	public void capacityLimited() {
+		this.repository.setCapacity(2);
+		this.repository.add(Collections.<String, Object>singletonMap("foo", "bar"));
+		this.repository.add(Collections.<String, Object>singletonMap("bar", "foo"));
+		this.repository.add(Collections.<String, Object>singletonMap("bar", "bar"));
+		List<Trace> traces = this.repository.findAll();
+		assertThat(traces).hasSize(2);
+		assertThat(traces.get(0).getInfo().get("bar")).isEqualTo("bar");
+		assertThat(traces.get(1).getInfo().get("bar")).isEqualTo("foo");
+	}
+
+	@Test
+	public void reverseFalse() {
+		this.repository.setReverse(false);
+		this.repository.setCapacity(2);
+		this.repository.add(Collections.<String, Object>singletonMap("foo", "bar"));
+		this.repository.add(Collections.<String, Object>singletonMap("bar", "foo"));
+		this.repository.add(Collections.<String, Object>singletonMap("bar", "bar"));
+		List<Trace> traces = this.repository.findAll();
+		assertThat(traces).hasSize(2);
+		assertThat(traces.get(1).getInfo().get("bar")).isEqualTo("bar");
+		assertThat(traces.get(0).getInfo().get("bar")).isEqualTo("foo");
+	}
+
+	@Test
+	public void partiallyFilled() {
+		this.repository.add(Collections.<String, Object>singletonMap("foo", "bar"));
+		assertThat(this.repository.findAll()).hasSize(1);
+	}
+
+	@Test
+	public void zeroCapacity() {
+		this.repository.setCapacity(0);
+		this.repository.add(Collections.<String, Object>singletonMap("foo", "bar"));
+		assertThat(this.repository.findAll()).isEmpty();
+	}
+
+	@Test
+	public void concurrentAdd() throws Exception {
+		this.repository.setCapacity(10);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		final CountDownLatch latch = new CountDownLatch(1);
+		for (int i = 0; i < 4; i++) {
+			executor.execute(new Runnable() {
+
+				@Override
+				public void run() {
+					try {
+						latch.await();
+					}
+					catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+					}
+					for (int j = 0; j < 1000; j++) {
+						RingBufferTraceRepositoryTests.this.repository.add(
+								Collections.<String, Object>singletonMap("foo", j));
+					}
+				}
+
+			});
+		}
+		latch.countDown();
+		executor.shutdown();
+		assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+		assertThat(this.repository.findAll()).hasSize(10);
+	}
+
+}
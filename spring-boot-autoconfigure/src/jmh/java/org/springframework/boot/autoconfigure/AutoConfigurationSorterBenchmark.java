@@ -0,0 +1,84 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import org.springframework.core.io.support.SpringFactoriesLoader;
+import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
+
+/**
+ * JMH benchmark comparing {@link AutoConfigurationSorter} when the order is read from
+ * class files with a fresh {@link CachingMetadataReaderFactory} (as happens on startup)
+ * and when it is resolved from the {@link AutoConfigurationMetadata} generated at build
+ * time. Compile with the {@code benchmark} profile and run the {@link #main(String[])
+ * main method}, for example from an IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class AutoConfigurationSorterBenchmark {
+
+	@Param({ "classFiles", "metadata" })
+	private String source;
+
+	private List<String> candidates;
+
+	private AutoConfigurationMetadata metadata;
+
+	@Setup
+	public void setup() {
+		ClassLoader classLoader = getClass().getClassLoader();
+		this.candidates = SpringFactoriesLoader
+				.loadFactoryNames(EnableAutoConfiguration.class, classLoader);
+		if ("metadata".equals(this.source)) {
+			this.metadata = AutoConfigurationMetadataLoader.loadMetadata(classLoader);
+		}
+	}
+
+	@Benchmark
+	public List<String> sort() throws Exception {
+		return new AutoConfigurationSorter(new CachingMetadataReaderFactory(),
+				this.metadata).getInPriorityOrder(this.candidates);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(AutoConfigurationSorterBenchmark.class.getSimpleName()).build())
+						.run();
+	}
+
+}
@@ -32,27 +32,47 @@ import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.core.type.classreading.MetadataReader;
 import org.springframework.core.type.classreading.MetadataReaderFactory;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
 /**
  * Sort {@link EnableAutoConfiguration auto-configuration} classes into priority order by
  * reading {@link Ordered}, {@link AutoConfigureBefore} and {@link AutoConfigureAfter}
- * annotations (without loading classes).
+ * annotations (without loading classes). When {@link AutoConfigurationMetadata} is
+ * available it is used in preference to reading class files and, if every class was
+ * processed, the resulting order is cached.
  *
  * @author Phillip Webb
  */
 class AutoConfigurationSorter {
 
+	private static final Map<List<String>, List<String>> cache = new ConcurrentReferenceHashMap<List<String>, List<String>>();
+
 	private final MetadataReaderFactory metadataReaderFactory;
 
+	private final AutoConfigurationMetadata autoConfigurationMetadata;
+
 	AutoConfigurationSorter(MetadataReaderFactory metadataReaderFactory) {
+		this(metadataReaderFactory, null);
+	}
+
+	AutoConfigurationSorter(MetadataReaderFactory metadataReaderFactory,
+			AutoConfigurationMetadata autoConfigurationMetadata) {
 		Assert.notNull(metadataReaderFactory, "MetadataReaderFactory must not be null");
 		this.metadataReaderFactory = metadataReaderFactory;
+		this.autoConfigurationMetadata = autoConfigurationMetadata;
 	}
 
 	public List<String> getInPriorityOrder(Collection<String> classNames)
 			throws IOException {
 		final AutoConfigurationClasses classes = new AutoConfigurationClasses(
-				this.metadataReaderFactory, classNames);
+				this.metadataReaderFactory, this.autoConfigurationMetadata, classNames);
+		List<String> cacheKey = classes.getCacheKey(classNames);
+		if (cacheKey != null) {
+			List<String> cached = cache.get(cacheKey);
+			if (cached != null) {
+				return new ArrayList<String>(cached);
+			}
+		}
 		List<String> orderedClassNames = new ArrayList<String>(classNames);
 		// Initially sort alphabetically
 		Collections.sort(orderedClassNames);
@@ -67,6 +87,9 @@ class AutoConfigurationSorter {
 		});
 		// Then respect @AutoConfigureBefore @AutoConfigureAfter
 		orderedClassNames = sortByAnnotation(classes, orderedClassNames);
+		if (cacheKey != null) {
+			cache.put(cacheKey, new ArrayList<String>(orderedClassNames));
+		}
 		return orderedClassNames;
 	}
 
@@ -104,14 +127,37 @@ class AutoConfigurationSorter {
 		private final Map<String, AutoConfigurationClass> classes = new HashMap<String, AutoConfigurationClass>();
 
 		AutoConfigurationClasses(MetadataReaderFactory metadataReaderFactory,
-				Collection<String> classNames) throws IOException {
+				AutoConfigurationMetadata autoConfigurationMetadata,
+				Collection<String> classNames) {
 			for (String className : classNames) {
-				MetadataReader metadataReader = metadataReaderFactory
-						.getMetadataReader(className);
-				this.classes.put(className, new AutoConfigurationClass(metadataReader));
+				this.classes.put(className, new AutoConfigurationClass(className,
+						metadataReaderFactory, autoConfigurationMetadata));
 			}
 		}
 
+		/**
+		 * Return a key that identifies the order of the given classes, or {@code null}
+		 * if the order cannot be cached because some classes have no metadata. The key
+		 * includes the ordering metadata itself so that a cached order is never used
+		 * once the metadata changes.
+		 * @param classNames the class names being sorted
+		 * @return the cache key or {@code null}
+		 */
+		public List<String> getCacheKey(Collection<String> classNames) {
+			List<String> key = new ArrayList<String>(classNames.size() * 4);
+			for (String className : classNames) {
+				AutoConfigurationClass autoConfigurationClass = get(className);
+				if (!autoConfigurationClass.isAvailableFromMetadata()) {
+					return null;
+				}
+				key.add(className);
+				key.add(String.valueOf(autoConfigurationClass.getOrder()));
+				key.add(autoConfigurationClass.getBefore().toString());
+				key.add(autoConfigurationClass.getAfter().toString());
+			}
+			return key;
+		}
+
 		public AutoConfigurationClass get(String className) {
 			return this.classes.get(className);
 		}
@@ -131,29 +177,68 @@ class AutoConfigurationSorter {
 
 	private static class AutoConfigurationClass {
 
-		private final AnnotationMetadata metadata;
+		private final String className;
+
+		private final MetadataReaderFactory metadataReaderFactory;
+
+		private final AutoConfigurationMetadata autoConfigurationMetadata;
+
+		private AnnotationMetadata annotationMetadata;
 
-		AutoConfigurationClass(MetadataReader metadataReader) {
-			this.metadata = metadataReader.getAnnotationMetadata();
+		private Set<String> before;
+
+		private Set<String> after;
+
+		AutoConfigurationClass(String className,
+				MetadataReaderFactory metadataReaderFactory,
+				AutoConfigurationMetadata autoConfigurationMetadata) {
+			this.className = className;
+			this.metadataReaderFactory = metadataReaderFactory;
+			this.autoConfigurationMetadata = autoConfigurationMetadata;
+		}
+
+		public boolean isAvailableFromMetadata() {
+			return (this.autoConfigurationMetadata != null
+					&& this.autoConfigurationMetadata.wasProcessed(this.className));
 		}
 
 		public int getOrder() {
-			Map<String, Object> orderedAnnotation = this.metadata
+			if (isAvailableFromMetadata()) {
+				return this.autoConfigurationMetadata.getInteger(this.className,
+						"AutoConfigureOrder", Ordered.LOWEST_PRECEDENCE);
+			}
+			Map<String, Object> orderedAnnotation = getAnnotationMetadata()
 					.getAnnotationAttributes(AutoConfigureOrder.class.getName());
 			return (orderedAnnotation == null ? Ordered.LOWEST_PRECEDENCE
 					: (Integer) orderedAnnotation.get("value"));
 		}
 
 		public Set<String> getBefore() {
-			return getAnnotationValue(AutoConfigureBefore.class);
+			if (this.before == null) {
+				this.before = getClassNames("AutoConfigureBefore",
+						AutoConfigureBefore.class);
+			}
+			return this.before;
 		}
 
 		public Set<String> getAfter() {
-			return getAnnotationValue(AutoConfigureAfter.class);
+			if (this.after == null) {
+				this.after = getClassNames("AutoConfigureAfter",
+						AutoConfigureAfter.class);
+			}
+			return this.after;
+		}
+
+		private Set<String> getClassNames(String metadataKey, Class<?> annotation) {
+			if (isAvailableFromMetadata()) {
+				return this.autoConfigurationMetadata.getSet(this.className, metadataKey,
+						Collections.<String>emptySet());
+			}
+			return getAnnotationValue(annotation);
 		}
 
 		private Set<String> getAnnotationValue(Class<?> annotation) {
-			Map<String, Object> attributes = this.metadata
+			Map<String, Object> attributes = getAnnotationMetadata()
 					.getAnnotationAttributes(annotation.getName(), true);
 			if (attributes == null) {
 				return Collections.emptySet();
@@ -164,6 +249,21 @@ class AutoConfigurationSorter {
 			return value;
 		}
 
+		private AnnotationMetadata getAnnotationMetadata() {
+			if (this.annotationMetadata == null) {
+				try {
+					MetadataReader metadataReader = this.metadataReaderFactory
+							.getMetadataReader(this.className);
+					this.annotationMetadata = metadataReader.getAnnotationMetadata();
+				}
+				catch (IOException ex) {
+					throw new IllegalStateException(
+							"Unable to read meta-data for class " + this.className, ex);
+				}
+			}
+			return this.annotationMetadata;
+		}
+
 	}
 
 }
@@ -16,19 +16,35 @@
 
 package org.springframework.boot.autoconfigure;
 
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
 import javax.validation.Validation;
 
 import org.apache.catalina.mbeans.MBeanFactory;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 
 import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
 import org.springframework.boot.logging.LoggingApplicationListener;
 import org.springframework.context.ApplicationListener;
 import org.springframework.core.annotation.Order;
+import org.springframework.core.io.support.SpringFactoriesLoader;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.http.converter.support.AllEncompassingFormHttpMessageConverter;
 
 /**
  * {@link ApplicationListener} to trigger early initialization in a background thread of
- * time consuming tasks.
+ * time consuming tasks. As well as a number of built-in tasks, any {@link Preinitializer}
+ * registered in {@code META-INF/spring.factories} is run. Tasks are run concurrently on a
+ * small pool of daemon threads and the time taken by each task is logged at debug level.
  *
  * @author Phillip Webb
  * @author Andy Wilkinson
@@ -38,25 +54,19 @@ import org.springframework.http.converter.support.AllEncompassingFormHttpMessage
 public class BackgroundPreinitializer
 		implements ApplicationListener<ApplicationEnvironmentPreparedEvent> {
 
+	private static final Log logger = LogFactory.getLog(BackgroundPreinitializer.class);
+
+	private static final int MAX_THREADS = 4;
+
 	@Override
 	public void onApplicationEvent(ApplicationEnvironmentPreparedEvent event) {
+		final ClassLoader classLoader = event.getSpringApplication().getClassLoader();
 		try {
 			Thread thread = new Thread(new Runnable() {
 
 				@Override
 				public void run() {
-					runSafely(new MessageConverterInitializer());
-					runSafely(new MBeanFactoryInitializer());
-					runSafely(new ValidationInitializer());
-				}
-
-				public void runSafely(Runnable runnable) {
-					try {
-						runnable.run();
-					}
-					catch (Throwable ex) {
-						// Ignore
-					}
+					preinitialize(getPreinitializers(classLoader));
 				}
 
 			}, "background-preinit");
@@ -69,13 +79,112 @@ public class BackgroundPreinitializer
 		}
 	}
 
+	/**
+	 * Return the {@link Preinitializer preinitializers} that should be run. By default
+	 * the built-in preinitializers and those registered in
+	 * {@code META-INF/spring.factories} are returned.
+	 * @param classLoader the class loader used to load the preinitializers
+	 * @return the preinitializers
+	 */
+	protected List<Preinitializer> getPreinitializers(ClassLoader classLoader) {
+		List<Preinitializer> preinitializers = new ArrayList<Preinitializer>();
+		preinitializers.add(new MessageConverterInitializer());
+		preinitializers.add(new MBeanFactoryInitializer());
+		preinitializers.add(new ValidationInitializer());
+		preinitializers.add(new JacksonInitializer());
+		preinitializers.add(new CharsetInitializer());
+		preinitializers.add(new RegexInitializer());
+		try {
+			preinitializers.addAll(SpringFactoriesLoader
+					.loadFactories(Preinitializer.class, classLoader));
+		}
+		catch (Throwable ex) {
+			logger.debug("Unable to load preinitializers", ex);
+		}
+		return preinitializers;
+	}
+
+	private void preinitialize(List<Preinitializer> preinitializers) {
+		long startTime = System.nanoTime();
+		int threads = Math.min(preinitializers.size(),
+				Math.min(Runtime.getRuntime().availableProcessors(), MAX_THREADS));
+		if (threads <= 1) {
+			for (Preinitializer preinitializer : preinitializers) {
+				runSafely(preinitializer);
+			}
+		}
+		else {
+			ExecutorService executor = Executors.newFixedThreadPool(threads,
+					new PreinitializerThreadFactory());
+			try {
+				for (final Preinitializer preinitializer : preinitializers) {
+					executor.execute(new Runnable() {
+
+						@Override
+						public void run() {
+							runSafely(preinitializer);
+						}
+
+					});
+				}
+			}
+			finally {
+				executor.shutdown();
+			}
+			try {
+				executor.awaitTermination(1, TimeUnit.MINUTES);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Ran " + preinitializers.size() + " preinitializer(s) in "
+					+ TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime)
+					+ "ms");
+		}
+	}
+
+	private void runSafely(Preinitializer preinitializer) {
+		long startTime = System.nanoTime();
+		try {
+			preinitializer.preinitialize();
+			if (logger.isDebugEnabled()) {
+				logger.debug("Preinitialized " + preinitializer.getClass().getName()
+						+ " in " + TimeUnit.NANOSECONDS
+								.toMillis(System.nanoTime() - startTime)
+						+ "ms");
+			}
+		}
+		catch (Throwable ex) {
+			// Ignore
+		}
+	}
+
+	/**
+	 * {@link ThreadFactory} for the daemon threads used to run preinitializers.
+	 */
+	private static class PreinitializerThreadFactory implements ThreadFactory {
+
+		private final AtomicInteger threadNumber = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable,
+					"background-preinit-" + this.threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+
+	}
+
 	/**
 	 * Early initializer for Spring MessageConverters.
 	 */
-	private static class MessageConverterInitializer implements Runnable {
+	private static class MessageConverterInitializer implements Preinitializer {
 
 		@Override
-		public void run() {
+		public void preinitialize() {
 			new AllEncompassingFormHttpMessageConverter();
 		}
 
@@ -84,10 +193,10 @@ public class BackgroundPreinitializer
 	/**
 	 * Early initializer to load Tomcat MBean XML.
 	 */
-	private static class MBeanFactoryInitializer implements Runnable {
+	private static class MBeanFactoryInitializer implements Preinitializer {
 
 		@Override
-		public void run() {
+		public void preinitialize() {
 			new MBeanFactory();
 		}
 
@@ -96,13 +205,50 @@ public class BackgroundPreinitializer
 	/**
 	 * Early initializer for javax.validation.
 	 */
-	private static class ValidationInitializer implements Runnable {
+	private static class ValidationInitializer implements Preinitializer {
 
 		@Override
-		public void run() {
+		public void preinitialize() {
 			Validation.byDefaultProvider().configure();
 		}
 
 	}
 
+	/**
+	 * Early initializer for Jackson.
+	 */
+	private static class JacksonInitializer implements Preinitializer {
+
+		@Override
+		public void preinitialize() {
+			Jackson2ObjectMapperBuilder.json().build();
+		}
+
+	}
+
+	/**
+	 * Early initializer for the available charsets.
+	 */
+	private static class CharsetInitializer implements Preinitializer {
+
+		@Override
+		public void preinitialize() {
+			Charset.availableCharsets();
+		}
+
+	}
+
+	/**
+	 * Early initializer for java.util.regex.
+	 */
+	private static class RegexInitializer implements Preinitializer {
+
+		@Override
+		public void preinitialize() {
+			Pattern.compile("^\\s*([\\w.-]+)\\s*[=:]\\s*(.*)$")
+					.matcher("spring.main.banner-mode=off").matches();
+		}
+
+	}
+
 }
@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.Set;
 
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.Aware;
 import org.springframework.beans.factory.BeanClassLoaderAware;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
@@ -80,13 +81,16 @@ public class EnableAutoConfigurationImportSelector
 			return NO_IMPORTS;
 		}
 		try {
+			AutoConfigurationMetadata autoConfigurationMetadata = AutoConfigurationMetadataLoader
+					.loadMetadata(this.beanClassLoader);
 			AnnotationAttributes attributes = getAttributes(metadata);
 			List<String> configurations = getCandidateConfigurations(metadata,
 					attributes);
 			configurations = removeDuplicates(configurations);
 			Set<String> exclusions = getExclusions(metadata, attributes);
 			configurations.removeAll(exclusions);
-			configurations = sort(configurations);
+			configurations = filter(configurations, autoConfigurationMetadata);
+			configurations = sort(configurations, autoConfigurationMetadata);
 			recordWithConditionEvaluationReport(configurations, exclusions);
 			return configurations.toArray(new String[configurations.size()]);
 		}
@@ -188,9 +192,67 @@ public class EnableAutoConfigurationImportSelector
 		return (Arrays.asList(exclude == null ? new String[0] : exclude));
 	}
 
-	private List<String> sort(List<String> configurations) throws IOException {
-		configurations = new AutoConfigurationSorter(getMetadataReaderFactory())
-				.getInPriorityOrder(configurations);
+	private List<String> filter(List<String> configurations,
+			AutoConfigurationMetadata autoConfigurationMetadata) {
+		String[] candidates = configurations.toArray(new String[configurations.size()]);
+		boolean[] skip = new boolean[candidates.length];
+		boolean skipped = false;
+		for (AutoConfigurationImportFilter filter : getAutoConfigurationImportFilters()) {
+			invokeAwareMethods(filter);
+			boolean[] match = filter.match(candidates, autoConfigurationMetadata);
+			for (int i = 0; i < match.length; i++) {
+				if (!match[i]) {
+					skip[i] = true;
+					candidates[i] = null;
+					skipped = true;
+				}
+			}
+		}
+		if (!skipped) {
+			return configurations;
+		}
+		List<String> result = new ArrayList<String>(candidates.length);
+		for (int i = 0; i < candidates.length; i++) {
+			if (!skip[i]) {
+				result.add(candidates[i]);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Return the {@link AutoConfigurationImportFilter filters} that should be applied to
+	 * the candidate configurations before they are sorted. By default this method will
+	 * load filters using {@link SpringFactoriesLoader}.
+	 * @return the filters to apply
+	 */
+	protected List<AutoConfigurationImportFilter> getAutoConfigurationImportFilters() {
+		return SpringFactoriesLoader.loadFactories(AutoConfigurationImportFilter.class,
+				this.beanClassLoader);
+	}
+
+	private void invokeAwareMethods(Object instance) {
+		if (instance instanceof Aware) {
+			if (instance instanceof BeanClassLoaderAware) {
+				((BeanClassLoaderAware) instance)
+						.setBeanClassLoader(this.beanClassLoader);
+			}
+			if (instance instanceof BeanFactoryAware) {
+				((BeanFactoryAware) instance).setBeanFactory(this.beanFactory);
+			}
+			if (instance instanceof EnvironmentAware) {
+				((EnvironmentAware) instance).setEnvironment(this.environment);
+			}
+			if (instance instanceof ResourceLoaderAware) {
+				((ResourceLoaderAware) instance).setResourceLoader(this.resourceLoader);
+			}
+		}
+	}
+
+	private List<String> sort(List<String> configurations,
+			AutoConfigurationMetadata autoConfigurationMetadata) throws IOException {
+		configurations = new AutoConfigurationSorter(getMetadataReaderFactory(),
+				autoConfigurationMetadata).getInPriorityOrder(configurations);
 		return configurations;
 	}
 
@@ -94,6 +94,12 @@ class ImportAutoConfigurationImportSelector
 		collectCandidateConfigurations(annotation.annotationType(), candidates, seen);
 	}
 
+	@Override
+	protected List<AutoConfigurationImportFilter> getAutoConfigurationImportFilters() {
+		// Explicitly imported classes are left to the usual condition evaluation
+		return Collections.emptyList();
+	}
+
 	@Override
 	protected Set<String> getExclusions(AnnotationMetadata metadata,
 			AnnotationAttributes attributes) {
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure;
+
+import org.springframework.core.io.support.SpringFactoriesLoader;
+
+/**
+ * Strategy interface for time consuming initialization, such as loading and initializing
+ * classes, that can be performed early in a background thread so that application
+ * threads don't have to. Implementations are loaded via the
+ * {@link SpringFactoriesLoader} and run concurrently by the
+ * {@link BackgroundPreinitializer} while the application's environment is being
+ * prepared.
+ * <p>
+ * Any exception, or error caused by classes being missing, is ignored: a
+ * preinitializer should simply perform the initialization that the application would
+ * otherwise perform later.
+ *
+ * @since 1.4.0
+ */
+public interface Preinitializer {
+
+	/**
+	 * Perform the early initialization.
+	 * @throws Exception on error
+	 */
+	void preinitialize() throws Exception;
+
+}
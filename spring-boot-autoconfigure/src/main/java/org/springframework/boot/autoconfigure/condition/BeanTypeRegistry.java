@@ -20,6 +20,7 @@ import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
@@ -224,7 +225,8 @@ abstract class BeanTypeRegistry {
 
 	/**
 	 * {@link BeanTypeRegistry} optimized for {@link DefaultListableBeanFactory}
-	 * implementations that allow eager class loading.
+	 * implementations that allow eager class loading. The names matching each requested
+	 * type are indexed and kept up to date as bean definitions are added.
 	 */
 	static class OptimizedBeanTypeRegistry extends BeanTypeRegistry
 			implements SmartInitializingSingleton {
@@ -233,7 +235,9 @@ abstract class BeanTypeRegistry {
 
 		private final DefaultListableBeanFactory beanFactory;
 
-		private final Map<String, Class<?>> beanTypes = new HashMap<String, Class<?>>();
+		private final Map<String, Class<?>> beanTypes = new LinkedHashMap<String, Class<?>>();
+
+		private final Map<Class<?>, Set<String>> namesForType = new HashMap<Class<?>, Set<String>>();
 
 		private int lastBeanDefinitionCount = 0;
 
@@ -245,6 +249,7 @@ abstract class BeanTypeRegistry {
 		public void afterSingletonsInstantiated() {
 			// We're done at this point, free up some memory
 			this.beanTypes.clear();
+			this.namesForType.clear();
 			this.lastBeanDefinitionCount = 0;
 		}
 
@@ -261,24 +266,41 @@ abstract class BeanTypeRegistry {
 				}
 				this.lastBeanDefinitionCount = this.beanFactory.getBeanDefinitionCount();
 			}
-			Set<String> matches = new LinkedHashSet<String>();
-			for (Map.Entry<String, Class<?>> entry : this.beanTypes.entrySet()) {
-				if (entry.getValue() != null && type.isAssignableFrom(entry.getValue())) {
-					matches.add(entry.getKey());
+			Set<String> names = this.namesForType.get(type);
+			if (names == null) {
+				names = new LinkedHashSet<String>();
+				for (Map.Entry<String, Class<?>> entry : this.beanTypes.entrySet()) {
+					if (entry.getValue() != null
+							&& type.isAssignableFrom(entry.getValue())) {
+						names.add(entry.getKey());
+					}
 				}
+				this.namesForType.put(type, names);
 			}
-			return matches;
+			return new LinkedHashSet<String>(names);
 		}
 
 		private void addBeanType(String name) {
 			if (this.beanFactory.containsSingleton(name)) {
-				this.beanTypes.put(name, this.beanFactory.getType(name));
+				putBeanType(name, this.beanFactory.getType(name));
 			}
 			else if (!this.beanFactory.isAlias(name)) {
 				addBeanTypeForNonAliasDefinition(name);
 			}
 		}
 
+		private void putBeanType(String name, Class<?> type) {
+			this.beanTypes.put(name, type);
+			if (type != null) {
+				for (Map.Entry<Class<?>, Set<String>> entry : this.namesForType
+						.entrySet()) {
+					if (entry.getKey().isAssignableFrom(type)) {
+						entry.getValue().add(name);
+					}
+				}
+			}
+		}
+
 		private void addBeanTypeForNonAliasDefinition(String name) {
 			try {
 				String factoryName = BeanFactory.FACTORY_BEAN_PREFIX + name;
@@ -289,12 +311,11 @@ abstract class BeanTypeRegistry {
 					if (this.beanFactory.isFactoryBean(factoryName)) {
 						Class<?> factoryBeanGeneric = getFactoryBeanGeneric(
 								this.beanFactory, beanDefinition, name);
-						this.beanTypes.put(name, factoryBeanGeneric);
-						this.beanTypes.put(factoryName,
-								this.beanFactory.getType(factoryName));
+						putBeanType(name, factoryBeanGeneric);
+						putBeanType(factoryName, this.beanFactory.getType(factoryName));
 					}
 					else {
-						this.beanTypes.put(name, this.beanFactory.getType(name));
+						putBeanType(name, this.beanFactory.getType(name));
 					}
 				}
 			}
@@ -53,6 +53,8 @@ public final class ConditionEvaluationReport {
 
 	private final SortedMap<String, ConditionAndOutcomes> outcomes = new TreeMap<String, ConditionAndOutcomes>();
 
+	private final SortedMap<String, Long> evaluationTimes = new TreeMap<String, Long>();
+
 	private boolean addedAncestorOutcomes;
 
 	private ConditionEvaluationReport parent;
@@ -87,6 +89,19 @@ public final class ConditionEvaluationReport {
 		this.addedAncestorOutcomes = false;
 	}
 
+	/**
+	 * Record the time taken to evaluate a condition. Times recorded for the same source
+	 * are accumulated.
+	 * @param source the source of the condition (class or method name)
+	 * @param nanos the evaluation time in nanoseconds
+	 * @since 1.4.0
+	 */
+	public void recordEvaluationTime(String source, long nanos) {
+		Assert.notNull(source, "Source must not be null");
+		Long time = this.evaluationTimes.get(source);
+		this.evaluationTimes.put(source, (time == null ? nanos : time + nanos));
+	}
+
 	/**
 	 * Records the names of the classes that have been excluded from condition evaluation.
 	 * @param exclusions the names of the excluded classes
@@ -134,6 +149,16 @@ public final class ConditionEvaluationReport {
 		}
 	}
 
+	/**
+	 * Returns the accumulated time, in nanoseconds, taken to evaluate the conditions of
+	 * each source.
+	 * @return the evaluation times by source
+	 * @since 1.4.0
+	 */
+	public Map<String, Long> getEvaluationTimes() {
+		return Collections.unmodifiableMap(this.evaluationTimes);
+	}
+
 	/**
 	 * Returns the names of the classes that have been excluded from condition evaluation.
 	 * @return the names of the excluded classes
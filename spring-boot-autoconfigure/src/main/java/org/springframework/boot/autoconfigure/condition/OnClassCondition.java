@@ -16,11 +16,20 @@
 
 package org.springframework.boot.autoconfigure.condition;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
-
+import java.util.Set;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanClassLoaderAware;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.AutoConfigurationImportFilter;
+import org.springframework.boot.autoconfigure.AutoConfigurationMetadata;
 import org.springframework.context.annotation.Condition;
 import org.springframework.context.annotation.ConditionContext;
 import org.springframework.core.Ordered;
@@ -31,14 +40,69 @@ import org.springframework.util.MultiValueMap;
 import org.springframework.util.StringUtils;
 
 /**
- * {@link Condition} that checks for the presence or absence of specific classes.
+ * {@link Condition} that checks for the presence or absence of specific classes. Also
+ * acts as an {@link AutoConfigurationImportFilter} so that auto-configuration candidates
+ * whose {@link ConditionalOnClass @ConditionalOnClass} classes are missing can be
+ * discarded using the {@link AutoConfigurationMetadata} written at build time, before
+ * their class files are read.
  *
  * @author Phillip Webb
  * @see ConditionalOnClass
  * @see ConditionalOnMissingClass
  */
 @Order(Ordered.HIGHEST_PRECEDENCE)
-class OnClassCondition extends SpringBootCondition {
+class OnClassCondition extends SpringBootCondition
+		implements AutoConfigurationImportFilter, BeanFactoryAware, BeanClassLoaderAware {
+
+	private BeanFactory beanFactory;
+
+	private ClassLoader beanClassLoader;
+
+	@Override
+	public boolean[] match(String[] autoConfigurationClasses,
+			AutoConfigurationMetadata autoConfigurationMetadata) {
+		ConditionEvaluationReport report = getConditionEvaluationReport();
+		boolean[] match = new boolean[autoConfigurationClasses.length];
+		for (int i = 0; i < autoConfigurationClasses.length; i++) {
+			String autoConfigurationClass = autoConfigurationClasses[i];
+			ConditionOutcome outcome = (autoConfigurationClass == null ? null
+					: getOutcome(autoConfigurationClass, autoConfigurationMetadata));
+			match[i] = (outcome == null || outcome.isMatch());
+			if (!match[i] && report != null) {
+				report.recordConditionEvaluation(autoConfigurationClass, this, outcome);
+			}
+		}
+		return match;
+	}
+
+	private ConditionEvaluationReport getConditionEvaluationReport() {
+		if (this.beanFactory instanceof ConfigurableListableBeanFactory) {
+			return ConditionEvaluationReport
+					.get((ConfigurableListableBeanFactory) this.beanFactory);
+		}
+		return null;
+	}
+
+	private ConditionOutcome getOutcome(String autoConfigurationClass,
+			AutoConfigurationMetadata autoConfigurationMetadata) {
+		Set<String> candidates = autoConfigurationMetadata
+				.getSet(autoConfigurationClass, "ConditionalOnClass");
+		if (candidates == null) {
+			return null;
+		}
+		List<String> missing = new ArrayList<String>();
+		for (String candidate : candidates) {
+			if (!ClassUtils.isPresent(candidate, this.beanClassLoader)) {
+				missing.add(candidate);
+			}
+		}
+		if (!missing.isEmpty()) {
+			return ConditionOutcome
+					.noMatch("required @ConditionalOnClass classes not found: "
+							+ StringUtils.collectionToCommaDelimitedString(missing));
+		}
+		return null;
+	}
 
 	@Override
 	public ConditionOutcome getMatchOutcome(ConditionContext context,
@@ -128,4 +192,14 @@ class OnClassCondition extends SpringBootCondition {
 
 	}
 
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+		this.beanFactory = beanFactory;
+	}
+
+	@Override
+	public void setBeanClassLoader(ClassLoader classLoader) {
+		this.beanClassLoader = classLoader;
+	}
+
 }
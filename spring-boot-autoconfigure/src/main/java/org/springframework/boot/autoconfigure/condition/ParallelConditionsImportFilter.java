@@ -0,0 +1,350 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.condition;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanClassLoaderAware;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.boot.autoconfigure.AutoConfigurationImportFilter;
+import org.springframework.boot.autoconfigure.AutoConfigurationMetadata;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.ResourceLoaderAware;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.core.type.classreading.SimpleMetadataReaderFactory;
+import org.springframework.util.MultiValueMap;
+
+/**
+ * Opt-in {@link AutoConfigurationImportFilter} that evaluates the class level
+ * {@code @ConditionalOnClass}, {@code @ConditionalOnMissingClass},
+ * {@code @ConditionalOnResource} and {@code @ConditionalOnProperty} conditions of all
+ * auto-configuration candidates concurrently. These conditions don't depend on the beans
+ * that have been registered so candidates that don't match them can safely be discarded
+ * before any of them is imported. Other conditions, such as bean conditions, are left to
+ * be evaluated in the usual way, in the sorted order.
+ * <p>
+ * Outcomes are recorded in the {@link ConditionEvaluationReport} on the calling thread,
+ * in the order of the candidates. The filter is enabled by setting
+ * {@code spring.autoconfigure.parallel-conditions} to {@code true}.
+ */
+@Order(Ordered.LOWEST_PRECEDENCE)
+class ParallelConditionsImportFilter implements AutoConfigurationImportFilter,
+		BeanFactoryAware, BeanClassLoaderAware, EnvironmentAware, ResourceLoaderAware {
+
+	static final String ENABLED_PROPERTY = "spring.autoconfigure.parallel-conditions";
+
+	private final int parallelism;
+
+	private ConfigurableListableBeanFactory beanFactory;
+
+	private ClassLoader beanClassLoader;
+
+	private Environment environment;
+
+	private ResourceLoader resourceLoader;
+
+	ParallelConditionsImportFilter() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	ParallelConditionsImportFilter(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
+	@Override
+	public boolean[] match(String[] autoConfigurationClasses,
+			AutoConfigurationMetadata autoConfigurationMetadata) {
+		boolean[] match = new boolean[autoConfigurationClasses.length];
+		Evaluation[] evaluations = (isEnabled()
+				? evaluate(autoConfigurationClasses)
+				: new Evaluation[autoConfigurationClasses.length]);
+		ConditionEvaluationReport report = (this.beanFactory == null ? null
+				: ConditionEvaluationReport.get(this.beanFactory));
+		for (int i = 0; i < autoConfigurationClasses.length; i++) {
+			Evaluation evaluation = evaluations[i];
+			match[i] = (evaluation == null);
+			if (evaluation != null && report != null) {
+				report.recordConditionEvaluation(autoConfigurationClasses[i],
+						evaluation.condition, evaluation.outcome);
+			}
+		}
+		return match;
+	}
+
+	private boolean isEnabled() {
+		return (this.environment != null && this.environment
+				.getProperty(ENABLED_PROPERTY, Boolean.class, false));
+	}
+
+	private Evaluation[] evaluate(final String[] autoConfigurationClasses) {
+		final Evaluation[] evaluations = new Evaluation[autoConfigurationClasses.length];
+		final int threads = Math.max(1,
+				Math.min(this.parallelism, autoConfigurationClasses.length));
+		final Evaluator evaluator = new Evaluator(getResourceLoader(),
+				new ConditionContextImpl(this.beanFactory, this.environment,
+						getResourceLoader(), this.beanClassLoader));
+		ExecutorService executor = Executors.newFixedThreadPool(threads,
+				new EvaluatorThreadFactory());
+		try {
+			List<Future<?>> futures = new ArrayList<Future<?>>(threads);
+			for (int thread = 0; thread < threads; thread++) {
+				final int first = thread;
+				futures.add(executor.submit(new Runnable() {
+
+					@Override
+					public void run() {
+						evaluator.evaluate(autoConfigurationClasses, evaluations, first,
+								threads);
+					}
+
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return new Evaluation[autoConfigurationClasses.length];
+		}
+		catch (ExecutionException ex) {
+			throw new IllegalStateException("Failed to evaluate conditions",
+					ex.getCause());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		return evaluations;
+	}
+
+	private ResourceLoader getResourceLoader() {
+		return (this.resourceLoader != null ? this.resourceLoader
+				: new DefaultResourceLoader(this.beanClassLoader));
+	}
+
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+		if (beanFactory instanceof ConfigurableListableBeanFactory) {
+			this.beanFactory = (ConfigurableListableBeanFactory) beanFactory;
+		}
+	}
+
+	@Override
+	public void setBeanClassLoader(ClassLoader classLoader) {
+		this.beanClassLoader = classLoader;
+	}
+
+	@Override
+	public void setEnvironment(Environment environment) {
+		this.environment = environment;
+	}
+
+	@Override
+	public void setResourceLoader(ResourceLoader resourceLoader) {
+		this.resourceLoader = resourceLoader;
+	}
+
+	/**
+	 * Evaluates the supported conditions of a single candidate. Instances are shared
+	 * between threads and hold no mutable state.
+	 */
+	private static class Evaluator {
+
+		private final Map<String, SpringBootCondition> conditions;
+
+		private final MetadataReaderFactory metadataReaderFactory;
+
+		private final ConditionContext context;
+
+		Evaluator(ResourceLoader resourceLoader, ConditionContext context) {
+			this.conditions = new HashMap<String, SpringBootCondition>();
+			this.conditions.put(OnClassCondition.class.getName(),
+					new OnClassCondition());
+			this.conditions.put(OnResourceCondition.class.getName(),
+					new OnResourceCondition());
+			this.conditions.put(OnPropertyCondition.class.getName(),
+					new OnPropertyCondition());
+			// Not the shared caching factory as it reads classes while holding a lock
+			this.metadataReaderFactory = new SimpleMetadataReaderFactory(resourceLoader);
+			this.context = context;
+		}
+
+		/**
+		 * Evaluate every {@code step}th candidate starting at {@code first}.
+		 * @param classNames the candidate class names
+		 * @param evaluations the evaluations to populate
+		 * @param first the index of the first candidate
+		 * @param step the distance between candidates
+		 */
+		public void evaluate(String[] classNames, Evaluation[] evaluations, int first,
+				int step) {
+			for (int i = first; i < classNames.length; i += step) {
+				evaluations[i] = evaluate(classNames[i]);
+			}
+		}
+
+		/**
+		 * Return the first supported condition that doesn't match or {@code null} if all
+		 * supported conditions match or the candidate cannot be evaluated. Candidates
+		 * that cannot be evaluated are left for the regular condition evaluation, which
+		 * reports any problem.
+		 * @param className the candidate class name
+		 * @return the evaluation that doesn't match or {@code null}
+		 */
+		public Evaluation evaluate(String className) {
+			if (className == null) {
+				return null;
+			}
+			try {
+				AnnotationMetadata metadata = this.metadataReaderFactory
+						.getMetadataReader(className).getAnnotationMetadata();
+				MultiValueMap<String, Object> attributes = metadata
+						.getAllAnnotationAttributes(Conditional.class.getName(), true);
+				if (attributes == null) {
+					return null;
+				}
+				for (Object value : attributes.get("value")) {
+					for (String conditionClass : (String[]) value) {
+						Evaluation evaluation = evaluate(conditionClass, metadata);
+						if (evaluation != null) {
+							return evaluation;
+						}
+					}
+				}
+				return null;
+			}
+			catch (Exception ex) {
+				return null;
+			}
+		}
+
+		private Evaluation evaluate(String conditionClass, AnnotationMetadata metadata) {
+			SpringBootCondition condition = this.conditions.get(conditionClass);
+			if (condition == null) {
+				return null;
+			}
+			ConditionOutcome outcome = condition.getMatchOutcome(this.context, metadata);
+			return (outcome.isMatch() ? null : new Evaluation(condition, outcome));
+		}
+
+	}
+
+	/**
+	 * A condition that didn't match and its outcome.
+	 */
+	private static class Evaluation {
+
+		private final SpringBootCondition condition;
+
+		private final ConditionOutcome outcome;
+
+		Evaluation(SpringBootCondition condition, ConditionOutcome outcome) {
+			this.condition = condition;
+			this.outcome = outcome;
+		}
+
+	}
+
+	/**
+	 * {@link ConditionContext} used by the evaluation threads.
+	 */
+	private static class ConditionContextImpl implements ConditionContext {
+
+		private final ConfigurableListableBeanFactory beanFactory;
+
+		private final Environment environment;
+
+		private final ResourceLoader resourceLoader;
+
+		private final ClassLoader classLoader;
+
+		ConditionContextImpl(ConfigurableListableBeanFactory beanFactory,
+				Environment environment, ResourceLoader resourceLoader,
+				ClassLoader classLoader) {
+			this.beanFactory = beanFactory;
+			this.environment = environment;
+			this.resourceLoader = resourceLoader;
+			this.classLoader = classLoader;
+		}
+
+		@Override
+		public BeanDefinitionRegistry getRegistry() {
+			return (this.beanFactory instanceof BeanDefinitionRegistry
+					? (BeanDefinitionRegistry) this.beanFactory : null);
+		}
+
+		@Override
+		public ConfigurableListableBeanFactory getBeanFactory() {
+			return this.beanFactory;
+		}
+
+		@Override
+		public Environment getEnvironment() {
+			return this.environment;
+		}
+
+		@Override
+		public ResourceLoader getResourceLoader() {
+			return this.resourceLoader;
+		}
+
+		@Override
+		public ClassLoader getClassLoader() {
+			return this.classLoader;
+		}
+
+	}
+
+	/**
+	 * {@link ThreadFactory} for the daemon evaluation threads.
+	 */
+	private static class EvaluatorThreadFactory implements ThreadFactory {
+
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable,
+					"autoconfigure-conditions-" + this.count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+
+	}
+
+}
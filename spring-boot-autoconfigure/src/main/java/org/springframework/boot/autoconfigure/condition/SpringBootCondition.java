@@ -43,10 +43,12 @@ public abstract class SpringBootCondition implements Condition {
 	public final boolean matches(ConditionContext context,
 			AnnotatedTypeMetadata metadata) {
 		String classOrMethodName = getClassOrMethodName(metadata);
+		long startTime = System.nanoTime();
 		try {
 			ConditionOutcome outcome = getMatchOutcome(context, metadata);
 			logOutcome(classOrMethodName, outcome);
-			recordEvaluation(context, classOrMethodName, outcome);
+			recordEvaluation(context, classOrMethodName, outcome,
+					System.nanoTime() - startTime);
 			return outcome.isMatch();
 		}
 		catch (NoClassDefFoundError ex) {
@@ -109,10 +111,12 @@ public abstract class SpringBootCondition implements Condition {
 	}
 
 	private void recordEvaluation(ConditionContext context, String classOrMethodName,
-			ConditionOutcome outcome) {
+			ConditionOutcome outcome, long nanos) {
 		if (context.getBeanFactory() != null) {
-			ConditionEvaluationReport.get(context.getBeanFactory())
-					.recordConditionEvaluation(classOrMethodName, this, outcome);
+			ConditionEvaluationReport report = ConditionEvaluationReport
+					.get(context.getBeanFactory());
+			report.recordConditionEvaluation(classOrMethodName, this, outcome);
+			report.recordEvaluationTime(classOrMethodName, nanos);
 		}
 	}
 
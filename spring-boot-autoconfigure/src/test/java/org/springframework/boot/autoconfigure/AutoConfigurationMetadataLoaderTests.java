@@ -0,0 +1,93 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure;
+
+import java.util.Collections;
+import java.util.Properties;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link AutoConfigurationMetadataLoader}.
+ */
+public class AutoConfigurationMetadataLoaderTests {
+
+	@Test
+	public void loadMetadataFromClassPath() throws Exception {
+		AutoConfigurationMetadata metadata = AutoConfigurationMetadataLoader
+				.loadMetadata(getClass().getClassLoader());
+		String className = MessageSourceAutoConfiguration.class.getName();
+		assertThat(metadata.wasProcessed(className)).isTrue();
+		assertThat(metadata.getInteger(className, "AutoConfigureOrder"))
+				.isEqualTo(Integer.MIN_VALUE);
+	}
+
+	@Test
+	public void wasProcessedWhenProcessedShouldReturnTrue() throws Exception {
+		assertThat(load("test.Foo.Configuration=").wasProcessed("test.Foo")).isTrue();
+	}
+
+	@Test
+	public void wasProcessedWhenNotProcessedShouldReturnFalse() throws Exception {
+		assertThat(load("test.Foo.Configuration=").wasProcessed("test.Bar")).isFalse();
+	}
+
+	@Test
+	public void getIntegerShouldReturnValue() throws Exception {
+		assertThat(load("test.Foo.spring=123").getInteger("test.Foo", "spring"))
+				.isEqualTo(123);
+	}
+
+	@Test
+	public void getIntegerWhenMissingShouldReturnDefault() throws Exception {
+		AutoConfigurationMetadata metadata = load("test.Foo.spring=123");
+		assertThat(metadata.getInteger("test.Foo", "boot")).isNull();
+		assertThat(metadata.getInteger("test.Foo", "boot", 456)).isEqualTo(456);
+	}
+
+	@Test
+	public void getSetShouldReturnValue() throws Exception {
+		assertThat(load("test.Foo.spring=a,b,c").getSet("test.Foo", "spring"))
+				.containsExactly("a", "b", "c");
+	}
+
+	@Test
+	public void getSetWhenMissingShouldReturnDefault() throws Exception {
+		AutoConfigurationMetadata metadata = load("test.Foo.spring=a,b,c");
+		assertThat(metadata.getSet("test.Foo", "boot")).isNull();
+		assertThat(metadata.getSet("test.Foo", "boot", Collections.singleton("x")))
+				.containsExactly("x");
+	}
+
+	@Test
+	public void getShouldReturnValue() throws Exception {
+		assertThat(load("test.Foo.spring=boot").get("test.Foo", "spring"))
+				.isEqualTo("boot");
+		assertThat(load("test.Foo.spring=boot").get("test.Foo", "x", "y"))
+				.isEqualTo("y");
+	}
+
+	private AutoConfigurationMetadata load(String entry) {
+		Properties properties = new Properties();
+		int separator = entry.indexOf('=');
+		properties.put(entry.substring(0, separator), entry.substring(separator + 1));
+		return AutoConfigurationMetadataLoader.loadMetadata(properties);
+	}
+
+}
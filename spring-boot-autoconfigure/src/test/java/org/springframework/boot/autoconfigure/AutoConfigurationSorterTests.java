@@ -18,6 +18,7 @@ package org.springframework.boot.autoconfigure;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Properties;
 
 import org.junit.Before;
 import org.junit.Rule;
@@ -26,8 +27,11 @@ import org.junit.rules.ExpectedException;
 
 import org.springframework.core.Ordered;
 import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
 
 /**
  * Tests for {@link AutoConfigurationSorter}.
@@ -120,6 +124,58 @@ public class AutoConfigurationSorterTests {
 		this.sorter.getInPriorityOrder(Arrays.asList(A, B, C, D));
 	}
 
+	@Test
+	public void byMetadataDoesNotReadClassFiles() throws Exception {
+		MetadataReaderFactory readerFactory = mock(MetadataReaderFactory.class);
+		AutoConfigurationMetadata metadata = metadata("test.Lowest.Configuration=",
+				"test.Highest.Configuration=",
+				"test.Highest.AutoConfigureOrder=" + Ordered.HIGHEST_PRECEDENCE,
+				"test.A.Configuration=", "test.A.AutoConfigureAfter=test.B",
+				"test.B.Configuration=");
+		this.sorter = new AutoConfigurationSorter(readerFactory, metadata);
+		List<String> actual = this.sorter.getInPriorityOrder(
+				Arrays.asList("test.A", "test.Lowest", "test.B", "test.Highest"));
+		assertThat(actual).containsExactly("test.Highest", "test.B", "test.A",
+				"test.Lowest");
+		verifyZeroInteractions(readerFactory);
+	}
+
+	@Test
+	public void byMetadataAndClassFiles() throws Exception {
+		AutoConfigurationMetadata metadata = metadata(A + ".Configuration=",
+				A + ".AutoConfigureAfter=" + B, C + ".Configuration=");
+		this.sorter = new AutoConfigurationSorter(new CachingMetadataReaderFactory(),
+				metadata);
+		List<String> actual = this.sorter.getInPriorityOrder(Arrays.asList(A, B, C));
+		assertThat(actual).containsExactly(C, B, A);
+	}
+
+	@Test
+	public void byMetadataWhenMetadataChangesDoesNotUseCachedOrder() throws Exception {
+		MetadataReaderFactory readerFactory = mock(MetadataReaderFactory.class);
+		List<String> classNames = Arrays.asList("test.cached.A", "test.cached.B");
+		List<String> actual = new AutoConfigurationSorter(readerFactory,
+				metadata("test.cached.A.Configuration=",
+						"test.cached.B.Configuration=",
+						"test.cached.B.AutoConfigureAfter=test.cached.A"))
+								.getInPriorityOrder(classNames);
+		assertThat(actual).containsExactly("test.cached.A", "test.cached.B");
+		actual = new AutoConfigurationSorter(readerFactory,
+				metadata("test.cached.A.Configuration=",
+						"test.cached.A.AutoConfigureAfter=test.cached.B",
+						"test.cached.B.Configuration=")).getInPriorityOrder(classNames);
+		assertThat(actual).containsExactly("test.cached.B", "test.cached.A");
+	}
+
+	private AutoConfigurationMetadata metadata(String... entries) {
+		Properties properties = new Properties();
+		for (String entry : entries) {
+			int separator = entry.indexOf('=');
+			properties.put(entry.substring(0, separator), entry.substring(separator + 1));
+		}
+		return AutoConfigurationMetadataLoader.loadMetadata(properties);
+	}
+
 	@AutoConfigureOrder(Ordered.LOWEST_PRECEDENCE)
 	public static class OrderLowest {
 
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.core.env.StandardEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link BackgroundPreinitializer}.
+ */
+public class BackgroundPreinitializerTests {
+
+	@Test
+	public void builtInPreinitializersAreIncluded() throws Exception {
+		assertThat(new BackgroundPreinitializer()
+				.getPreinitializers(getClass().getClassLoader())).hasSize(6);
+	}
+
+	@Test
+	public void preinitializersRunInTheBackground() throws Exception {
+		final CountDownLatch latch = new CountDownLatch(3);
+		final Set<String> threads = Collections
+				.synchronizedSet(new HashSet<String>());
+		final List<Preinitializer> preinitializers = new ArrayList<Preinitializer>();
+		for (int i = 0; i < 2; i++) {
+			preinitializers.add(new Preinitializer() {
+
+				@Override
+				public void preinitialize() throws Exception {
+					threads.add(Thread.currentThread().getName());
+					latch.countDown();
+				}
+
+			});
+		}
+		preinitializers.add(0, new Preinitializer() {
+
+			@Override
+			public void preinitialize() throws Exception {
+				latch.countDown();
+				throw new IllegalStateException("Failed");
+			}
+
+		});
+		BackgroundPreinitializer preinitializer = new BackgroundPreinitializer() {
+
+			@Override
+			protected List<Preinitializer> getPreinitializers(ClassLoader classLoader) {
+				return preinitializers;
+			}
+
+		};
+		preinitializer.onApplicationEvent(new ApplicationEnvironmentPreparedEvent(
+				new SpringApplication(), new String[0], new StandardEnvironment()));
+		assertThat(latch.await(30, TimeUnit.SECONDS)).isTrue();
+		assertThat(threads).isNotEmpty();
+		for (String thread : threads) {
+			assertThat(thread).startsWith("background-preinit");
+		}
+	}
+
+}
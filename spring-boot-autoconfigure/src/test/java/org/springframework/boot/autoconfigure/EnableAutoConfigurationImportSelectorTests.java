@@ -16,6 +16,7 @@
 
 package org.springframework.boot.autoconfigure;
 
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.Before;
@@ -24,6 +25,9 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionEvaluationReport;
@@ -168,6 +172,20 @@ public class EnableAutoConfigurationImportSelectorTests {
 		assertThat(imports).isEmpty();
 	}
 
+	@Test
+	public void filtersAreApplied() throws Exception {
+		TestFilter filter = new TestFilter(FreeMarkerAutoConfiguration.class.getName());
+		FilteringImportSelector importSelector = new FilteringImportSelector(filter);
+		importSelector.setBeanFactory(this.beanFactory);
+		importSelector.setEnvironment(this.environment);
+		importSelector.setResourceLoader(new DefaultResourceLoader());
+		configureExclusions(new String[0], new String[0], new String[0]);
+		String[] imports = importSelector.selectImports(this.annotationMetadata);
+		assertThat(imports).hasSize(getAutoConfigurationClassNames().size() - 1);
+		assertThat(imports).doesNotContain(FreeMarkerAutoConfiguration.class.getName());
+		assertThat(filter.beanFactory).isSameAs(this.beanFactory);
+	}
+
 	private void configureExclusions(String[] classExclusion, String[] nameExclusion,
 			String[] propertyExclusion) {
 		String annotationName = EnableAutoConfiguration.class.getName();
@@ -189,4 +207,48 @@ public class EnableAutoConfigurationImportSelectorTests {
 				getClass().getClassLoader());
 	}
 
+	private static class FilteringImportSelector
+			extends EnableAutoConfigurationImportSelector {
+
+		private final AutoConfigurationImportFilter filter;
+
+		FilteringImportSelector(AutoConfigurationImportFilter filter) {
+			this.filter = filter;
+		}
+
+		@Override
+		protected List<AutoConfigurationImportFilter> getAutoConfigurationImportFilters() {
+			return Collections.singletonList(this.filter);
+		}
+
+	}
+
+	private static class TestFilter
+			implements AutoConfigurationImportFilter, BeanFactoryAware {
+
+		private final String excluded;
+
+		private BeanFactory beanFactory;
+
+		TestFilter(String excluded) {
+			this.excluded = excluded;
+		}
+
+		@Override
+		public boolean[] match(String[] autoConfigurationClasses,
+				AutoConfigurationMetadata autoConfigurationMetadata) {
+			boolean[] match = new boolean[autoConfigurationClasses.length];
+			for (int i = 0; i < autoConfigurationClasses.length; i++) {
+				match[i] = !this.excluded.equals(autoConfigurationClasses[i]);
+			}
+			return match;
+		}
+
+		@Override
+		public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+			this.beanFactory = beanFactory;
+		}
+
+	}
+
 }
@@ -79,6 +79,11 @@ public class ImportAutoConfigurationImportSelectorTests {
 		verifyZeroInteractions(this.environment);
 	}
 
+	@Test
+	public void importFiltersAreNotApplied() throws Exception {
+		assertThat(this.importSelector.getAutoConfigurationImportFilters()).isEmpty();
+	}
+
 	@Test
 	public void multipleImportsAreFound() throws Exception {
 		AnnotationMetadata annotationMetadata = new SimpleMetadataReaderFactory()
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.condition;
+
+import java.util.Set;
+
+import org.junit.Test;
+
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.autoconfigure.condition.BeanTypeRegistry.OptimizedBeanTypeRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link BeanTypeRegistry}.
+ */
+public class BeanTypeRegistryTests {
+
+	@Test
+	public void optimizedRegistryIsUsedForDefaultListableBeanFactory() {
+		assertThat(BeanTypeRegistry.get(new DefaultListableBeanFactory()))
+				.isInstanceOf(OptimizedBeanTypeRegistry.class);
+	}
+
+	@Test
+	public void namesForTypeAreUpdatedWhenDefinitionsAreAdded() {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		beanFactory.registerBeanDefinition("one", new RootBeanDefinition(One.class));
+		BeanTypeRegistry registry = BeanTypeRegistry.get(beanFactory);
+		assertThat(registry.getNamesForType(Example.class)).containsExactly("one");
+		beanFactory.registerBeanDefinition("two", new RootBeanDefinition(Two.class));
+		beanFactory.registerBeanDefinition("other",
+				new RootBeanDefinition(Object.class));
+		assertThat(registry.getNamesForType(Example.class)).containsExactly("one",
+				"two");
+		assertThat(registry.getNamesForType(Two.class)).containsExactly("two");
+	}
+
+	@Test
+	public void namesForTypeCannotBeModified() {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		beanFactory.registerBeanDefinition("one", new RootBeanDefinition(One.class));
+		BeanTypeRegistry registry = BeanTypeRegistry.get(beanFactory);
+		Set<String> names = registry.getNamesForType(Example.class);
+		names.clear();
+		assertThat(registry.getNamesForType(Example.class)).containsExactly("one");
+	}
+
+	interface Example {
+
+	}
+
+	static class One implements Example {
+
+	}
+
+	static class Two implements Example {
+
+	}
+
+}
@@ -178,6 +178,24 @@ public class ConditionEvaluationReportTests {
 		assertThat(report.getConditionAndOutcomesBySource().size()).isNotEqualTo(0);
 	}
 
+	@Test
+	public void recordEvaluationTimes() throws Exception {
+		this.report.recordEvaluationTime("a", 10);
+		this.report.recordEvaluationTime("b", 5);
+		this.report.recordEvaluationTime("a", 20);
+		assertThat(this.report.getEvaluationTimes()).containsEntry("a", 30L)
+				.containsEntry("b", 5L).hasSize(2);
+	}
+
+	@Test
+	@SuppressWarnings("resource")
+	public void springBootConditionRecordsEvaluationTimes() throws Exception {
+		ConditionEvaluationReport report = ConditionEvaluationReport.get(
+				new AnnotationConfigApplicationContext(Config.class).getBeanFactory());
+		assertThat(report.getEvaluationTimes().keySet())
+				.isEqualTo(report.getConditionAndOutcomesBySource().keySet());
+	}
+
 	@Test
 	public void testDuplicateConditionAndOutcomes() {
 		ConditionAndOutcome outcome1 = new ConditionAndOutcome(this.condition1,
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.condition;
+
+import java.util.Collections;
+
+import org.junit.Test;
+
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.autoconfigure.AutoConfigurationImportFilter;
+import org.springframework.boot.autoconfigure.AutoConfigurationMetadata;
+import org.springframework.core.io.support.SpringFactoriesLoader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for the {@link AutoConfigurationImportFilter} part of {@link OnClassCondition}.
+ */
+public class OnClassConditionAutoConfigurationImportFilterTests {
+
+	private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+	private final OnClassCondition filter = new OnClassCondition();
+
+	@Test
+	public void shouldBeRegistered() {
+		assertThat(SpringFactoriesLoader.loadFactories(
+				AutoConfigurationImportFilter.class, getClass().getClassLoader()))
+						.hasAtLeastOneElementOfType(OnClassCondition.class);
+	}
+
+	@Test
+	public void matchShouldMatchClasses() throws Exception {
+		String[] autoConfigurationClasses = new String[] { "test.match", "test.nomatch",
+				"test.unknown", null };
+		boolean[] result = match(autoConfigurationClasses,
+				getAutoConfigurationMetadata());
+		assertThat(result).containsExactly(true, false, true, true);
+	}
+
+	@Test
+	public void matchShouldRecordOutcome() throws Exception {
+		match(new String[] { "test.match", "test.nomatch" },
+				getAutoConfigurationMetadata());
+		ConditionEvaluationReport report = ConditionEvaluationReport
+				.get(this.beanFactory);
+		assertThat(report.getConditionAndOutcomesBySource()).hasSize(1)
+				.containsKey("test.nomatch");
+	}
+
+	private boolean[] match(String[] autoConfigurationClasses,
+			AutoConfigurationMetadata autoConfigurationMetadata) {
+		this.filter.setBeanFactory(this.beanFactory);
+		this.filter.setBeanClassLoader(getClass().getClassLoader());
+		return this.filter.match(autoConfigurationClasses, autoConfigurationMetadata);
+	}
+
+	private AutoConfigurationMetadata getAutoConfigurationMetadata() {
+		AutoConfigurationMetadata metadata = mock(AutoConfigurationMetadata.class);
+		given(metadata.wasProcessed("test.match")).willReturn(true);
+		given(metadata.getSet("test.match", "ConditionalOnClass"))
+				.willReturn(Collections.<String>singleton("java.io.InputStream"));
+		given(metadata.wasProcessed("test.nomatch")).willReturn(true);
+		given(metadata.getSet("test.nomatch", "ConditionalOnClass"))
+				.willReturn(Collections.<String>singleton("java.io.DoesNotExist"));
+		return metadata;
+	}
+
+}
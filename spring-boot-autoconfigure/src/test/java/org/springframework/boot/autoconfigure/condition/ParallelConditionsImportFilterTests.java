@@ -0,0 +1,141 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.condition;
+
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.autoconfigure.AutoConfigurationImportFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionEvaluationReport.ConditionAndOutcome;
+import org.springframework.boot.autoconfigure.condition.ConditionEvaluationReport.ConditionAndOutcomes;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.support.SpringFactoriesLoader;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ParallelConditionsImportFilter}.
+ */
+public class ParallelConditionsImportFilterTests {
+
+	private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+	private final MockEnvironment environment = new MockEnvironment();
+
+	private final ParallelConditionsImportFilter filter = new ParallelConditionsImportFilter(
+			3);
+
+	private final String[] candidates = { Unconditional.class.getName(),
+			MissingClass.class.getName(), PresentClass.class.getName(),
+			MissingResource.class.getName(), MissingProperty.class.getName(),
+			MatchingProperty.class.getName(), BeanCondition.class.getName(), null,
+			"com.example.DoesNotExist" };
+
+	@Before
+	public void setup() {
+		this.filter.setBeanFactory(this.beanFactory);
+		this.filter.setBeanClassLoader(getClass().getClassLoader());
+		this.filter.setEnvironment(this.environment);
+		this.filter.setResourceLoader(new DefaultResourceLoader());
+	}
+
+	@Test
+	public void shouldBeRegistered() {
+		assertThat(SpringFactoriesLoader.loadFactories(
+				AutoConfigurationImportFilter.class, getClass().getClassLoader()))
+						.hasAtLeastOneElementOfType(ParallelConditionsImportFilter.class);
+	}
+
+	@Test
+	public void matchWhenDisabledShouldMatchAll() {
+		boolean[] match = this.filter.match(this.candidates, null);
+		assertThat(match).containsOnly(true);
+		assertThat(ConditionEvaluationReport.get(this.beanFactory)
+				.getConditionAndOutcomesBySource()).isEmpty();
+	}
+
+	@Test
+	public void matchWhenEnabledShouldEvaluateConditions() {
+		this.environment.setProperty("spring.autoconfigure.parallel-conditions", "true");
+		this.environment.setProperty("test.enabled", "true");
+		boolean[] match = this.filter.match(this.candidates, null);
+		assertThat(match).containsExactly(true, false, true, false, false, true, true,
+				true, true);
+	}
+
+	@Test
+	public void matchWhenEnabledShouldRecordOutcomes() {
+		this.environment.setProperty("spring.autoconfigure.parallel-conditions", "true");
+		this.filter.match(this.candidates, null);
+		Map<String, ConditionAndOutcomes> outcomes = ConditionEvaluationReport
+				.get(this.beanFactory).getConditionAndOutcomesBySource();
+		assertThat(outcomes).containsOnlyKeys(MissingClass.class.getName(),
+				MissingResource.class.getName(), MissingProperty.class.getName(),
+				MatchingProperty.class.getName());
+		ConditionAndOutcome outcome = outcomes.get(MissingClass.class.getName())
+				.iterator().next();
+		assertThat(outcome.getCondition()).isInstanceOf(OnClassCondition.class);
+		assertThat(outcome.getOutcome().isMatch()).isFalse();
+	}
+
+	@Configuration
+	static class Unconditional {
+
+	}
+
+	@Configuration
+	@ConditionalOnClass(name = "com.example.DoesNotExist")
+	static class MissingClass {
+
+	}
+
+	@Configuration
+	@ConditionalOnClass(name = "java.io.InputStream")
+	static class PresentClass {
+
+	}
+
+	@Configuration
+	@ConditionalOnResource(resources = "classpath:does-not-exist.txt")
+	static class MissingResource {
+
+	}
+
+	@Configuration
+	@ConditionalOnProperty("test.missing")
+	static class MissingProperty {
+
+	}
+
+	@Configuration
+	@ConditionalOnProperty("test.enabled")
+	static class MatchingProperty {
+
+	}
+
+	@Configuration
+	@ConditionalOnBean(name = "missing")
+	static class BeanCondition {
+
+	}
+
+}
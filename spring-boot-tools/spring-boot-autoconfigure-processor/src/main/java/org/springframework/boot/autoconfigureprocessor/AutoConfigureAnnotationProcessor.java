@@ -0,0 +1,302 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigureprocessor;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation {@link Processor} that writes a
+ * {@code META-INF/spring-autoconfigure-metadata.properties} file describing the
+ * {@code @ConditionalOnClass}, {@code @AutoConfigureBefore}, {@code @AutoConfigureAfter}
+ * and {@code @AutoConfigureOrder} annotations of auto-configuration classes. The file can
+ * be used to filter and order auto-configuration candidates at startup without reading
+ * their class files. Each property key is a class name followed by the simple name of
+ * the annotation, for example:
+ *
+ * <pre class="code">
+ * com.example.FooAutoConfiguration.Configuration=
+ * com.example.FooAutoConfiguration.ConditionalOnClass=com.example.Foo,com.example.Bar
+ * com.example.FooAutoConfiguration.AutoConfigureOrder=10
+ * </pre>
+ *
+ * @since 1.4.0
+ */
+@SupportedAnnotationTypes({ "org.springframework.context.annotation.Configuration",
+		"org.springframework.boot.autoconfigure.condition.ConditionalOnClass",
+		"org.springframework.boot.autoconfigure.AutoConfigureBefore",
+		"org.springframework.boot.autoconfigure.AutoConfigureAfter",
+		"org.springframework.boot.autoconfigure.AutoConfigureOrder" })
+public class AutoConfigureAnnotationProcessor extends AbstractProcessor {
+
+	protected static final String PROPERTIES_PATH = "META-INF/"
+			+ "spring-autoconfigure-metadata.properties";
+
+	private static final String CONFIGURATION = "Configuration";
+
+	private static final String AUTO_CONFIGURE_ORDER = "AutoConfigureOrder";
+
+	private final Map<String, String> annotations;
+
+	private final SortedMap<String, String> properties = new TreeMap<String, String>();
+
+	private final Set<String> compiledTypes = new HashSet<String>();
+
+	private Map<String, String> previousProperties;
+
+	public AutoConfigureAnnotationProcessor() {
+		Map<String, String> annotations = new LinkedHashMap<String, String>();
+		addAnnotations(annotations);
+		this.annotations = Collections.unmodifiableMap(annotations);
+	}
+
+	/**
+	 * Add the annotations that should be processed, keyed by the property suffix used
+	 * for them.
+	 * @param annotations the annotations to populate
+	 */
+	protected void addAnnotations(Map<String, String> annotations) {
+		annotations.put(CONFIGURATION,
+				"org.springframework.context.annotation.Configuration");
+		annotations.put("ConditionalOnClass",
+				"org.springframework.boot.autoconfigure.condition.ConditionalOnClass");
+		annotations.put("AutoConfigureBefore",
+				"org.springframework.boot.autoconfigure.AutoConfigureBefore");
+		annotations.put("AutoConfigureAfter",
+				"org.springframework.boot.autoconfigure.AutoConfigureAfter");
+		annotations.put(AUTO_CONFIGURE_ORDER,
+				"org.springframework.boot.autoconfigure.AutoConfigureOrder");
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public synchronized void init(ProcessingEnvironment env) {
+		super.init(env);
+		this.previousProperties = readPreviousProperties();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations,
+			RoundEnvironment roundEnv) {
+		Elements elements = this.processingEnv.getElementUtils();
+		for (Element element : roundEnv.getRootElements()) {
+			if (element instanceof TypeElement) {
+				this.compiledTypes
+						.add(elements.getBinaryName((TypeElement) element).toString());
+			}
+		}
+		for (Map.Entry<String, String> entry : this.annotations.entrySet()) {
+			process(roundEnv, entry.getKey(), entry.getValue());
+		}
+		if (roundEnv.processingOver()) {
+			try {
+				writeProperties();
+			}
+			catch (IOException ex) {
+				throw new IllegalStateException("Failed to write metadata", ex);
+			}
+		}
+		return false;
+	}
+
+	private void process(RoundEnvironment roundEnv, String propertyKey,
+			String annotationName) {
+		Elements elements = this.processingEnv.getElementUtils();
+		TypeElement annotationType = elements.getTypeElement(annotationName);
+		if (annotationType == null) {
+			return;
+		}
+		for (Element element : roundEnv.getElementsAnnotatedWith(annotationType)) {
+			AnnotationMirror annotation = getAnnotation(element, annotationName);
+			if (element instanceof TypeElement && annotation != null) {
+				String className = elements.getBinaryName((TypeElement) element)
+						.toString();
+				this.properties.put(className + "." + propertyKey,
+						getValue(propertyKey, annotation));
+			}
+		}
+	}
+
+	private AnnotationMirror getAnnotation(Element element, String type) {
+		for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+			if (type.equals(annotation.getAnnotationType().toString())) {
+				return annotation;
+			}
+		}
+		return null;
+	}
+
+	private String getValue(String propertyKey, AnnotationMirror annotation) {
+		if (CONFIGURATION.equals(propertyKey)) {
+			return "";
+		}
+		List<String> values = new ArrayList<String>();
+		Elements elements = this.processingEnv.getElementUtils();
+		Map<? extends ExecutableElement, ? extends AnnotationValue> attributes = elements
+				.getElementValuesWithDefaults(annotation);
+		for (ExecutableElement attribute : attributes.keySet()) {
+			String name = attribute.getSimpleName().toString();
+			if ("value".equals(name) || "name".equals(name)) {
+				collectValues(attributes.get(attribute).getValue(), values);
+			}
+		}
+		Collections.sort(values);
+		return toCommaDelimitedString(values);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void collectValues(Object value, List<String> values) {
+		if (value instanceof List) {
+			for (AnnotationValue item : (List<? extends AnnotationValue>) value) {
+				collectValues(item.getValue(), values);
+			}
+		}
+		else if (value instanceof DeclaredType) {
+			values.add(getClassName((DeclaredType) value));
+		}
+		else if (value instanceof TypeMirror) {
+			values.add(value.toString());
+		}
+		else {
+			values.add(String.valueOf(value));
+		}
+	}
+
+	private String getClassName(DeclaredType type) {
+		Element element = type.asElement();
+		if (element instanceof TypeElement) {
+			return this.processingEnv.getElementUtils()
+					.getBinaryName((TypeElement) element).toString();
+		}
+		return type.toString();
+	}
+
+	private String toCommaDelimitedString(List<String> values) {
+		StringBuilder result = new StringBuilder();
+		for (String value : values) {
+			result.append(result.length() > 0 ? "," : "");
+			result.append(value);
+		}
+		return result.toString();
+	}
+
+	private Map<String, String> readPreviousProperties() {
+		Map<String, String> properties = new LinkedHashMap<String, String>();
+		try {
+			FileObject file = this.processingEnv.getFiler()
+					.getResource(StandardLocation.CLASS_OUTPUT, "", PROPERTIES_PATH);
+			InputStream inputStream = file.openInputStream();
+			try {
+				BufferedReader reader = new BufferedReader(
+						new InputStreamReader(inputStream, "UTF-8"));
+				String line = reader.readLine();
+				while (line != null) {
+					int separator = line.indexOf('=');
+					if (separator > 0) {
+						properties.put(line.substring(0, separator),
+								line.substring(separator + 1));
+					}
+					line = reader.readLine();
+				}
+			}
+			finally {
+				inputStream.close();
+			}
+		}
+		catch (FileNotFoundException ex) {
+			// No previous metadata
+		}
+		catch (IOException ex) {
+			// No previous metadata
+		}
+		catch (RuntimeException ex) {
+			// Some compilers do not support reading resources
+		}
+		return properties;
+	}
+
+	private void writeProperties() throws IOException {
+		SortedMap<String, String> properties = new TreeMap<String, String>();
+		for (Map.Entry<String, String> entry : this.previousProperties.entrySet()) {
+			if (!isCompiled(entry.getKey())) {
+				properties.put(entry.getKey(), entry.getValue());
+			}
+		}
+		properties.putAll(this.properties);
+		if (properties.isEmpty()) {
+			return;
+		}
+		FileObject file = this.processingEnv.getFiler()
+				.createResource(StandardLocation.CLASS_OUTPUT, "", PROPERTIES_PATH);
+		OutputStream outputStream = file.openOutputStream();
+		try {
+			Writer writer = new OutputStreamWriter(outputStream, "UTF-8");
+			for (Map.Entry<String, String> entry : properties.entrySet()) {
+				writer.append(entry.getKey()).append("=").append(entry.getValue())
+						.append("\n");
+			}
+			writer.flush();
+		}
+		finally {
+			outputStream.close();
+		}
+	}
+
+	private boolean isCompiled(String propertyKey) {
+		String className = propertyKey.substring(0, propertyKey.lastIndexOf('.'));
+		int nested = className.indexOf('$');
+		return this.compiledTypes
+				.contains(nested > 0 ? className.substring(0, nested) : className);
+	}
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigureprocessor;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link AutoConfigureAnnotationProcessor}.
+ */
+public class AutoConfigureAnnotationProcessorTests {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private TestCompiler compiler;
+
+	@Before
+	public void createCompiler() throws IOException {
+		this.compiler = new TestCompiler(this.temporaryFolder);
+	}
+
+	@Test
+	public void annotatedClass() throws Exception {
+		Properties properties = compile(TestClassConfiguration.class);
+		assertThat(properties).hasSize(3);
+		assertThat(properties).containsEntry(
+				"org.springframework.boot.autoconfigureprocessor."
+						+ "TestClassConfiguration.Configuration",
+				"");
+		assertThat(properties).containsEntry(
+				"org.springframework.boot.autoconfigureprocessor."
+						+ "TestClassConfiguration$Nested.Configuration",
+				"");
+		assertThat(properties).containsEntry(
+				"org.springframework.boot.autoconfigureprocessor."
+						+ "TestClassConfiguration.ConditionalOnClass",
+				"java.io.InputStream,org.springframework.boot.autoconfigureprocessor."
+						+ "TestClassConfiguration$Nested");
+	}
+
+	@Test
+	public void annotatedMethod() throws Exception {
+		Properties properties = compile(TestMethodConfiguration.class);
+		assertThat(properties).hasSize(1);
+		assertThat(properties).containsKey(
+				"org.springframework.boot.autoconfigureprocessor."
+						+ "TestMethodConfiguration.Configuration");
+	}
+
+	@Test
+	public void orderedClass() throws Exception {
+		Properties properties = compile(TestOrderedClassConfiguration.class);
+		String prefix = "org.springframework.boot.autoconfigureprocessor."
+				+ "TestOrderedClassConfiguration.";
+		assertThat(properties).containsEntry(prefix + "AutoConfigureBefore",
+				"org.springframework.boot.autoconfigureprocessor."
+						+ "TestClassConfiguration,test.before1");
+		assertThat(properties).containsEntry(prefix + "AutoConfigureAfter",
+				"test.after1,test.after2");
+		assertThat(properties).containsEntry(prefix + "AutoConfigureOrder", "123");
+	}
+
+	@Test
+	public void incrementalBuildKeepsEntriesOfClassesThatWereNotCompiled()
+			throws Exception {
+		writeProperties("com.example.Other.Configuration=",
+				"org.springframework.boot.autoconfigureprocessor."
+						+ "TestMethodConfiguration.ConditionalOnClass=com.example.Gone");
+		Properties properties = compile(TestMethodConfiguration.class);
+		assertThat(properties).hasSize(2);
+		assertThat(properties).containsKey("com.example.Other.Configuration");
+		assertThat(properties).containsKey(
+				"org.springframework.boot.autoconfigureprocessor."
+						+ "TestMethodConfiguration.Configuration");
+	}
+
+	private Properties compile(Class<?>... types) throws IOException {
+		this.compiler.getTask(types).call(new TestAutoConfigureAnnotationProcessor());
+		File file = getPropertiesFile();
+		Properties properties = new Properties();
+		if (file.isFile()) {
+			InputStream inputStream = new FileInputStream(file);
+			try {
+				properties.load(inputStream);
+			}
+			finally {
+				inputStream.close();
+			}
+		}
+		return properties;
+	}
+
+	private void writeProperties(String... lines) throws IOException {
+		File file = getPropertiesFile();
+		file.getParentFile().mkdirs();
+		OutputStream outputStream = new FileOutputStream(file);
+		try {
+			for (String line : lines) {
+				outputStream.write((line + "\n").getBytes("UTF-8"));
+			}
+		}
+		finally {
+			outputStream.close();
+		}
+	}
+
+	private File getPropertiesFile() {
+		return new File(this.compiler.getOutputLocation(),
+				AutoConfigureAnnotationProcessor.PROPERTIES_PATH);
+	}
+
+}
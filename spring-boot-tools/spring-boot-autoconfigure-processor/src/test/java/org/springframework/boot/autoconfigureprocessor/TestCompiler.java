@@ -0,0 +1,91 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigureprocessor;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import javax.annotation.processing.Processor;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Wrapper to make the {@link JavaCompiler} easier to use in tests.
+ */
+public class TestCompiler {
+
+	public static final File ORIGINAL_SOURCE_FOLDER = new File("src/test/java");
+
+	private final JavaCompiler compiler;
+
+	private final StandardJavaFileManager fileManager;
+
+	private final File outputLocation;
+
+	public TestCompiler(TemporaryFolder temporaryFolder) throws IOException {
+		this.compiler = ToolProvider.getSystemJavaCompiler();
+		this.fileManager = this.compiler.getStandardFileManager(null, null, null);
+		this.outputLocation = temporaryFolder.newFolder();
+		Iterable<? extends File> temp = Arrays.asList(this.outputLocation);
+		this.fileManager.setLocation(StandardLocation.CLASS_OUTPUT, temp);
+		this.fileManager.setLocation(StandardLocation.SOURCE_OUTPUT, temp);
+	}
+
+	public TestCompilationTask getTask(Class<?>... types) {
+		File[] files = new File[types.length];
+		for (int i = 0; i < types.length; i++) {
+			files[i] = new File(ORIGINAL_SOURCE_FOLDER,
+					types[i].getName().replace(".", "/") + ".java");
+		}
+		Iterable<? extends JavaFileObject> javaFileObjects = this.fileManager
+				.getJavaFileObjects(files);
+		return new TestCompilationTask(this.compiler.getTask(null, this.fileManager, null,
+				null, null, javaFileObjects));
+	}
+
+	public File getOutputLocation() {
+		return this.outputLocation;
+	}
+
+	/**
+	 * A compilation task.
+	 */
+	public static class TestCompilationTask {
+
+		private final CompilationTask task;
+
+		public TestCompilationTask(CompilationTask task) {
+			this.task = task;
+		}
+
+		public void call(Processor... processors) {
+			this.task.setProcessors(Arrays.asList(processors));
+			if (!this.task.call()) {
+				throw new IllegalStateException("Compilation failed");
+			}
+		}
+
+	}
+
+}
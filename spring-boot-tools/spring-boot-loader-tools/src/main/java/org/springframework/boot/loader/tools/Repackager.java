@@ -16,14 +16,20 @@
 
 package org.springframework.boot.loader.tools;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Enumeration;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.Manifest;
@@ -51,6 +57,8 @@ public class Repackager {
 
 	private static final String BOOT_CLASSES_ATTRIBUTE = "Spring-Boot-Classes";
 
+	private static final String CLASSPATH_INDEX = "META-INF/spring-boot-classpath.idx";
+
 	private static final byte[] ZIP_FILE_HEADER = new byte[] { 'P', 'K', 3, 4 };
 
 	private String mainClass;
@@ -206,18 +214,24 @@ public class Repackager {
 			});
 			writer.writeManifest(buildManifest(sourceJar));
 			Set<String> seen = new HashSet<String>();
-			writeNestedLibraries(unpackLibraries, seen, writer);
+			ClassPathIndex index = new ClassPathIndex();
+			writeNestedLibraries(unpackLibraries, seen, writer, index, null);
 			if (this.layout instanceof RepackagingLayout) {
-				writer.writeEntries(sourceJar,
-						new RenamingEntryTransformer(((RepackagingLayout) this.layout)
-								.getRepackagedClassesLocation()));
+				String classesLocation = ((RepackagingLayout) this.layout)
+						.getRepackagedClassesLocation();
+				RenamingEntryTransformer transformer = new RenamingEntryTransformer(
+						classesLocation);
+				writer.writeEntries(sourceJar, transformer);
+				index.addClasses(classesLocation, sourceJar, transformer);
 			}
 			else {
 				writer.writeEntries(sourceJar);
+				index.addClasses(this.layout.getClassesLocation(), sourceJar, null);
 			}
-			writeNestedLibraries(standardLibraries, seen, writer);
+			writeNestedLibraries(standardLibraries, seen, writer, index, sourceJar);
 			if (this.layout.isExecutable()) {
 				writer.writeLoaderClasses();
+				writer.writeEntry(CLASSPATH_INDEX, index.toInputStream());
 			}
 		}
 		finally {
@@ -231,7 +245,8 @@ public class Repackager {
 	}
 
 	private void writeNestedLibraries(List<Library> libraries, Set<String> alreadySeen,
-			JarWriter writer) throws IOException {
+			JarWriter writer, ClassPathIndex index, JarFile sourceJar)
+			throws IOException {
 		for (Library library : libraries) {
 			String destination = Repackager.this.layout
 					.getLibraryDestination(library.getName(), library.getScope());
@@ -240,7 +255,12 @@ public class Repackager {
 					throw new IllegalStateException(
 							"Duplicate library " + library.getName());
 				}
+				String name = destination + library.getName();
 				writer.writeNestedLibrary(destination, library);
+				if (sourceJar == null || sourceJar.getEntry(name) == null) {
+					// Existing source entries take precedence over standard libraries
+					index.addLibrary(name, library.getFile());
+				}
 			}
 		}
 	}
@@ -324,6 +344,83 @@ public class Repackager {
 		}
 	}
 
+	/**
+	 * Index of the directories contained in each nested archive that will be on the
+	 * classpath of the repackaged archive. Written as a simple text file where each
+	 * archive name is followed by its directories, one per line, indented by a single
+	 * space. Used by the launcher to avoid searching every nested archive when loading
+	 * classes and resources.
+	 */
+	private static final class ClassPathIndex {
+
+		private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+		private final Map<String, Set<String>> directories = new LinkedHashMap<String,
+				Set<String>>();
+
+		public void addLibrary(String name, File file) throws IOException {
+			JarFile jarFile = new JarFile(file);
+			try {
+				Set<String> directories = getDirectories(name);
+				Enumeration<JarEntry> entries = jarFile.entries();
+				while (entries.hasMoreElements()) {
+					JarEntry entry = entries.nextElement();
+					if (!entry.isDirectory()) {
+						directories.add(getDirectory(entry.getName()));
+					}
+				}
+			}
+			finally {
+				jarFile.close();
+			}
+		}
+
+		public void addClasses(String location, JarFile sourceJar,
+				EntryTransformer transformer) {
+			if (location == null || location.length() == 0) {
+				return;
+			}
+			Set<String> directories = getDirectories(location);
+			Enumeration<JarEntry> entries = sourceJar.entries();
+			while (entries.hasMoreElements()) {
+				JarEntry entry = entries.nextElement();
+				String name = (transformer == null ? entry.getName()
+						: transformer.transform(entry).getName());
+				if (!entry.isDirectory() && name.startsWith(location)) {
+					directories.add(getDirectory(name.substring(location.length())));
+				}
+			}
+		}
+
+		private Set<String> getDirectories(String archiveName) {
+			if (archiveName.endsWith("/")) {
+				archiveName = archiveName.substring(0, archiveName.length() - 1);
+			}
+			Set<String> directories = this.directories.get(archiveName);
+			if (directories == null) {
+				directories = new TreeSet<String>();
+				this.directories.put(archiveName, directories);
+			}
+			return directories;
+		}
+
+		private String getDirectory(String name) {
+			return name.substring(0, name.lastIndexOf("/") + 1);
+		}
+
+		public InputStream toInputStream() {
+			StringBuilder content = new StringBuilder();
+			for (Map.Entry<String, Set<String>> entry : this.directories.entrySet()) {
+				content.append(entry.getKey()).append("\n");
+				for (String directory : entry.getValue()) {
+					content.append(" ").append(directory).append("\n");
+				}
+			}
+			return new ByteArrayInputStream(content.toString().getBytes(UTF_8));
+		}
+
+	}
+
 	/**
 	 * An {@code EntryTransformer} that renames entries by applying a prefix.
 	 */
@@ -316,6 +316,36 @@ public class RepackagerTests {
 		assertThat(entry.getComment().length()).isEqualTo(47);
 	}
 
+	@Test
+	public void classPathIndex() throws Exception {
+		TestJarFile libJar = new TestJarFile(this.temporaryFolder);
+		libJar.addClass("a/b/C.class", ClassWithoutMainMethod.class);
+		final File libJarFile = libJar.getFile();
+		this.testJarFile.addClass("d/e/F.class", ClassWithMainMethod.class);
+		File file = this.testJarFile.getFile();
+		Repackager repackager = new Repackager(file);
+		repackager.repackage(new Libraries() {
+			@Override
+			public void doWithLibraries(LibraryCallback callback) throws IOException {
+				callback.library(new Library(libJarFile, LibraryScope.COMPILE));
+			}
+		});
+		String index = getEntryContent(file, "META-INF/spring-boot-classpath.idx");
+		assertThat(index).contains("BOOT-INF/classes\n d/e/\n");
+		assertThat(index).contains("BOOT-INF/lib/" + libJarFile.getName() + "\n a/b/\n");
+		assertThat(index).doesNotContain(" d/\n");
+	}
+
+	@Test
+	public void noClassPathIndexWhenLayoutIsNotExecutable() throws Exception {
+		this.testJarFile.addClass("a/b/C.class", ClassWithMainMethod.class);
+		File file = this.testJarFile.getFile();
+		Repackager repackager = new Repackager(file);
+		repackager.setLayout(new Layouts.None());
+		repackager.repackage(NO_LIBRARIES);
+		assertThat(hasEntry(file, "META-INF/spring-boot-classpath.idx")).isFalse();
+	}
+
 	@Test
 	public void duplicateLibraries() throws Exception {
 		TestJarFile libJar = new TestJarFile(this.temporaryFolder);
@@ -537,6 +567,17 @@ public class RepackagerTests {
 		}
 	}
 
+	private String getEntryContent(File file, String name) throws IOException {
+		JarFile jarFile = new JarFile(file);
+		try {
+			return new String(FileCopyUtils.copyToByteArray(
+					jarFile.getInputStream(jarFile.getEntry(name))), "UTF-8");
+		}
+		finally {
+			jarFile.close();
+		}
+	}
+
 	private Manifest getManifest(File file) throws IOException {
 		JarFile jarFile = new JarFile(file);
 		try {
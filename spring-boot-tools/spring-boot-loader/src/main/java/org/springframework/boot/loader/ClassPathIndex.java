@@ -0,0 +1,205 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.loader.jar.JarFile;
+
+/**
+ * Index of the directories contained in each nested archive of an executable archive.
+ * Written at build time by the repackager and used by the {@link LaunchedURLClassLoader}
+ * to go straight to the nested archives that can contain a class or resource, rather
+ * than searching every archive on the classpath in turn.
+ * <p>
+ * Any classpath URL that isn't covered by the index (for example the root archive) is
+ * always searched.
+ *
+ * @since 1.4.0
+ * @see #load(URL, URL[])
+ */
+public final class ClassPathIndex {
+
+	/**
+	 * The location of the index within the executable archive.
+	 */
+	public static final String LOCATION = "META-INF/spring-boot-classpath.idx";
+
+	private static final String UTF_8 = "UTF-8";
+
+	private static final String NESTED_SEPARATOR = "!/";
+
+	private final URL[] urls;
+
+	private final JarFile[] jarFiles;
+
+	private final Map<String, int[]> candidates;
+
+	private final int[] unindexed;
+
+	private ClassPathIndex(URL[] urls, Map<String, int[]> candidates, int[] unindexed) {
+		this.urls = urls;
+		this.jarFiles = new JarFile[urls.length];
+		this.candidates = candidates;
+		this.unindexed = unindexed;
+	}
+
+	/**
+	 * Return the positions of the classpath URLs that can contain the resource with the
+	 * given name, in classpath order.
+	 * @param name the resource name
+	 * @return the candidate positions
+	 */
+	int[] getCandidates(String name) {
+		String directory = name.substring(0, name.lastIndexOf('/') + 1);
+		int[] candidates = this.candidates.get(directory);
+		return (candidates == null ? this.unindexed : candidates);
+	}
+
+	/**
+	 * Return the classpath URL at the given position.
+	 * @param candidate the candidate position
+	 * @return the URL
+	 */
+	URL getUrl(int candidate) {
+		return this.urls[candidate];
+	}
+
+	/**
+	 * Return the {@link JarFile} for the classpath URL at the given position.
+	 * @param candidate the candidate position
+	 * @return the jar file or {@code null} if it cannot be opened
+	 */
+	JarFile getJarFile(int candidate) {
+		JarFile jarFile = this.jarFiles[candidate];
+		if (jarFile == null) {
+			try {
+				Object content = this.urls[candidate].getContent();
+				if (content instanceof JarFile) {
+					jarFile = (JarFile) content;
+					this.jarFiles[candidate] = jarFile;
+				}
+			}
+			catch (IOException ex) {
+				// Ignore
+			}
+		}
+		return jarFile;
+	}
+
+	/**
+	 * Load the index for the given classpath from the root archive. The index is only
+	 * used when every classpath URL refers to a {@link JarFile} nested within the root.
+	 * @param root the URL of the root archive
+	 * @param urls the classpath URLs
+	 * @return the index or {@code null} if no suitable index is available
+	 */
+	public static ClassPathIndex load(URL root, URL[] urls) {
+		if (!"jar".equals(root.getProtocol())) {
+			return null;
+		}
+		String rootPrefix = root.toString();
+		Map<String, Integer> positions = new HashMap<String, Integer>();
+		for (int i = 0; i < urls.length; i++) {
+			String url = urls[i].toString();
+			if (!url.startsWith(rootPrefix)) {
+				return null;
+			}
+			String name = url.substring(rootPrefix.length());
+			if (name.endsWith(NESTED_SEPARATOR)) {
+				name = name.substring(0, name.length() - NESTED_SEPARATOR.length());
+			}
+			if (name.length() > 0) {
+				positions.put(name, i);
+			}
+		}
+		try {
+			InputStream inputStream = new URL(root, LOCATION).openStream();
+			try {
+				return load(inputStream, urls, positions);
+			}
+			finally {
+				inputStream.close();
+			}
+		}
+		catch (IOException ex) {
+			return null;
+		}
+	}
+
+	private static ClassPathIndex load(InputStream inputStream, URL[] urls,
+			Map<String, Integer> positions) throws IOException {
+		boolean[] indexed = new boolean[urls.length];
+		Map<String, List<Integer>> directories = new LinkedHashMap<String,
+				List<Integer>>();
+		BufferedReader reader = new BufferedReader(
+				new InputStreamReader(inputStream, UTF_8));
+		Integer position = null;
+		String line;
+		while ((line = reader.readLine()) != null) {
+			if (!line.startsWith(" ")) {
+				position = positions.get(line);
+				if (position != null) {
+					indexed[position] = true;
+				}
+			}
+			else if (position != null) {
+				String directory = line.substring(1);
+				List<Integer> archives = directories.get(directory);
+				if (archives == null) {
+					archives = new ArrayList<Integer>();
+					directories.put(directory, archives);
+				}
+				archives.add(position);
+			}
+		}
+		List<Integer> unindexed = new ArrayList<Integer>();
+		for (int i = 0; i < indexed.length; i++) {
+			if (!indexed[i]) {
+				unindexed.add(i);
+			}
+		}
+		Map<String, int[]> candidates = new HashMap<String, int[]>(
+				directories.size() * 2);
+		for (Map.Entry<String, List<Integer>> entry : directories.entrySet()) {
+			List<Integer> archives = entry.getValue();
+			archives.addAll(unindexed);
+			candidates.put(entry.getKey(), toSortedArray(archives));
+		}
+		return new ClassPathIndex(urls, candidates, toSortedArray(unindexed));
+	}
+
+	private static int[] toSortedArray(List<Integer> values) {
+		int[] array = new int[values.size()];
+		for (int i = 0; i < array.length; i++) {
+			array[i] = values.get(i);
+		}
+		Arrays.sort(array);
+		return array;
+	}
+
+}
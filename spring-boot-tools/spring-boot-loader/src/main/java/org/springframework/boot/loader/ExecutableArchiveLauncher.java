@@ -16,6 +16,7 @@
 
 package org.springframework.boot.loader;
 
+import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.jar.JarEntry;
@@ -79,6 +80,15 @@ public abstract class ExecutableArchiveLauncher extends Launcher {
 		return archives;
 	}
 
+	@Override
+	protected ClassLoader createClassLoader(URL[] urls) throws Exception {
+		ClassPathIndex index = ClassPathIndex.load(this.archive.getUrl(), urls);
+		if (index == null) {
+			return super.createClassLoader(urls);
+		}
+		return new LaunchedURLClassLoader(urls, index, getClass().getClassLoader());
+	}
+
 	/**
 	 * Determine if the specified {@link JarEntry} is a nested item that should be added
 	 * to the classpath. The method is called once for each entry.
@@ -16,14 +16,23 @@
 
 package org.springframework.boot.loader;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.JarURLConnection;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.net.URLConnection;
 import java.security.AccessController;
+import java.security.CodeSource;
+import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.Manifest;
 
 import org.springframework.boot.loader.jar.Handler;
 import org.springframework.boot.loader.jar.JarFile;
@@ -37,19 +46,44 @@ import org.springframework.boot.loader.jar.JarFile;
  */
 public class LaunchedURLClassLoader extends URLClassLoader {
 
+	private static final int BUFFER_SIZE = 4096;
+
+	private final ClassPathIndex index;
+
 	/**
 	 * Create a new {@link LaunchedURLClassLoader} instance.
 	 * @param urls the URLs from which to load classes and resources
 	 * @param parent the parent class loader for delegation
 	 */
 	public LaunchedURLClassLoader(URL[] urls, ClassLoader parent) {
+		this(urls, null, parent);
+	}
+
+	/**
+	 * Create a new {@link LaunchedURLClassLoader} instance.
+	 * @param urls the URLs from which to load classes and resources
+	 * @param index an optional {@link ClassPathIndex} for the URLs or {@code null}
+	 * @param parent the parent class loader for delegation
+	 * @since 1.4.0
+	 */
+	public LaunchedURLClassLoader(URL[] urls, ClassPathIndex index, ClassLoader parent) {
 		super(urls, parent);
+		this.index = index;
 	}
 
 	@Override
 	public URL findResource(String name) {
 		Handler.setUseFastConnectionExceptions(true);
 		try {
+			if (isIndexed(name)) {
+				for (int candidate : this.index.getCandidates(name)) {
+					JarFile jarFile = this.index.getJarFile(candidate);
+					if (jarFile != null && jarFile.getEntry(name) != null) {
+						return createResourceUrl(candidate, name);
+					}
+				}
+				return null;
+			}
 			return super.findResource(name);
 		}
 		finally {
@@ -61,6 +95,18 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 	public Enumeration<URL> findResources(String name) throws IOException {
 		Handler.setUseFastConnectionExceptions(true);
 		try {
+			if (isIndexed(name)) {
+				List<URL> resources = new ArrayList<URL>();
+				for (int candidate : this.index.getCandidates(name)) {
+					JarFile jarFile = this.index.getJarFile(candidate);
+					URL url = (jarFile != null && jarFile.getEntry(name) != null
+							? createResourceUrl(candidate, name) : null);
+					if (url != null) {
+						resources.add(url);
+					}
+				}
+				return Collections.enumeration(resources);
+			}
 			return super.findResources(name);
 		}
 		finally {
@@ -68,6 +114,114 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 		}
 	}
 
+	private URL createResourceUrl(int candidate, String name) {
+		try {
+			return new URL(this.index.getUrl(candidate), name);
+		}
+		catch (IOException ex) {
+			return null;
+		}
+	}
+
+	@Override
+	protected Class<?> findClass(final String name) throws ClassNotFoundException {
+		final String path = name.replace('.', '/').concat(".class");
+		if (!isIndexed(path)) {
+			return super.findClass(name);
+		}
+		try {
+			return AccessController.doPrivileged(
+					new PrivilegedExceptionAction<Class<?>>() {
+						@Override
+						public Class<?> run() throws ClassNotFoundException {
+							return findIndexedClass(name, path);
+						}
+					}, AccessController.getContext());
+		}
+		catch (PrivilegedActionException ex) {
+			throw (ClassNotFoundException) ex.getException();
+		}
+	}
+
+	private Class<?> findIndexedClass(String name, String path)
+			throws ClassNotFoundException {
+		for (int candidate : this.index.getCandidates(path)) {
+			JarFile jarFile = this.index.getJarFile(candidate);
+			JarEntry entry = (jarFile == null ? null : jarFile.getJarEntry(path));
+			if (entry != null) {
+				try {
+					URL url = this.index.getUrl(candidate);
+					definePackageIfNecessary(name, jarFile, url);
+					byte[] bytes = readBytes(jarFile.getInputStream(entry));
+					CodeSource codeSource = new CodeSource(url, entry.getCodeSigners());
+					return defineClass(name, bytes, 0, bytes.length, codeSource);
+				}
+				catch (IOException ex) {
+					throw new ClassNotFoundException(name, ex);
+				}
+			}
+		}
+		throw new ClassNotFoundException(name);
+	}
+
+	/**
+	 * Define the package of a class found using the index if it has not already been
+	 * defined, mirroring the behavior of {@link URLClassLoader}.
+	 * @param className the class name being found
+	 * @param jarFile the jar file containing the class
+	 * @param url the URL of the jar file
+	 * @throws IOException if the manifest cannot be read
+	 */
+	private void definePackageIfNecessary(String className, JarFile jarFile, URL url)
+			throws IOException {
+		int lastDot = className.lastIndexOf('.');
+		if (lastDot >= 0) {
+			String packageName = className.substring(0, lastDot);
+			if (getPackage(packageName) == null) {
+				try {
+					Manifest manifest = jarFile.getManifest();
+					if (manifest != null) {
+						definePackage(packageName, manifest, url);
+					}
+					else {
+						definePackage(packageName, null, null, null, null, null, null,
+								null);
+					}
+				}
+				catch (IllegalArgumentException ex) {
+					// Tolerate race condition due to being parallel capable
+				}
+			}
+		}
+	}
+
+	private byte[] readBytes(InputStream inputStream) throws IOException {
+		try {
+			ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+			byte[] buffer = new byte[BUFFER_SIZE];
+			int bytesRead = -1;
+			while ((bytesRead = inputStream.read(buffer)) != -1) {
+				outputStream.write(buffer, 0, bytesRead);
+			}
+			return outputStream.toByteArray();
+		}
+		finally {
+			inputStream.close();
+		}
+	}
+
+	/**
+	 * Determine if the {@link ClassPathIndex} can be used to find the resource with the
+	 * given name. Directories and names that refer into nested archives are always
+	 * searched using the standard {@link URLClassLoader} algorithm.
+	 * @param name the resource name
+	 * @return {@code true} if the index can be used
+	 */
+	private boolean isIndexed(String name) {
+		return (this.index != null && name.length() > 0 && !name.startsWith("/")
+				&& !name.endsWith("/") && !name.contains("!/"));
+	}
+
 	@Override
 	protected Class<?> loadClass(String name, boolean resolve)
 			throws ClassNotFoundException {
@@ -129,7 +283,7 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 				public Object run() throws ClassNotFoundException {
 					String packageEntryName = packageName.replace(".", "/") + "/";
 					String classEntryName = className.replace(".", "/") + ".class";
-					for (URL url : getURLs()) {
+					for (URL url : getCandidateUrls(classEntryName)) {
 						try {
 							if (url.getContent() instanceof JarFile) {
 								JarFile jarFile = (JarFile) url.getContent();
@@ -155,6 +309,18 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 		}
 	}
 
+	private URL[] getCandidateUrls(String name) {
+		if (!isIndexed(name)) {
+			return getURLs();
+		}
+		int[] candidates = this.index.getCandidates(name);
+		URL[] urls = new URL[candidates.length];
+		for (int i = 0; i < candidates.length; i++) {
+			urls[i] = this.index.getUrl(candidates[i]);
+		}
+		return urls;
+	}
+
 	/**
 	 * Clear URL caches.
 	 */
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.data;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+/**
+ * {@link RandomAccessData} implementation backed by a memory mapped file. Unlike the
+ * {@link RandomAccessDataFile} no file handles are held and no locks are taken when
+ * reading: each stream works against its own view of the shared mapped buffer and
+ * {@link #getSubsection(long, long) subsections} are created without copying any data.
+ * <p>
+ * The mapping is released when the instance is garbage collected. Files larger than
+ * {@link Integer#MAX_VALUE} bytes cannot be mapped.
+ *
+ * @since 1.4.0
+ */
+public class MappedRandomAccessData implements RandomAccessData {
+
+	private final ByteBuffer buffer;
+
+	/**
+	 * Create a new {@link MappedRandomAccessData} backed by the specified file.
+	 * @param file the underlying file
+	 * @throws IOException if the file cannot be mapped
+	 * @throws IllegalArgumentException if the file is null or does not exist
+	 */
+	public MappedRandomAccessData(File file) throws IOException {
+		if (file == null) {
+			throw new IllegalArgumentException("File must not be null");
+		}
+		if (!file.exists()) {
+			throw new IllegalArgumentException("File must exist");
+		}
+		RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+		try {
+			FileChannel channel = randomAccessFile.getChannel();
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				throw new IOException("File '" + file + "' is too large to be mapped");
+			}
+			this.buffer = channel.map(MapMode.READ_ONLY, 0, size);
+		}
+		finally {
+			randomAccessFile.close();
+		}
+	}
+
+	/**
+	 * Private constructor used to create a {@link #getSubsection(long, long) subsection}.
+	 * @param buffer the buffer of the subsection
+	 */
+	private MappedRandomAccessData(ByteBuffer buffer) {
+		this.buffer = buffer;
+	}
+
+	@Override
+	public InputStream getInputStream(ResourceAccess access) throws IOException {
+		return new DataInputStream(this.buffer.duplicate());
+	}
+
+	@Override
+	public RandomAccessData getSubsection(long offset, long length) {
+		if (offset < 0 || length < 0 || offset + length > getSize()) {
+			throw new IndexOutOfBoundsException();
+		}
+		ByteBuffer buffer = this.buffer.duplicate();
+		buffer.position((int) offset);
+		buffer.limit((int) (offset + length));
+		return new MappedRandomAccessData(buffer.slice());
+	}
+
+	@Override
+	public long getSize() {
+		return this.buffer.capacity();
+	}
+
+	/**
+	 * Return if the given file can be memory mapped.
+	 * @param file the file to check
+	 * @return {@code true} if the file can be mapped
+	 */
+	public static boolean isMappable(File file) {
+		return file != null && file.isFile() && file.length() <= Integer.MAX_VALUE;
+	}
+
+	/**
+	 * {@link InputStream} that reads from a {@link ByteBuffer} view of the mapped data.
+	 */
+	private static class DataInputStream extends InputStream {
+
+		private final ByteBuffer buffer;
+
+		DataInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() throws IOException {
+			return (this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1);
+		}
+
+		@Override
+		public int read(byte[] b) throws IOException {
+			return read(b, 0, b == null ? 0 : b.length);
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (b == null) {
+				throw new NullPointerException("Bytes must not be null");
+			}
+			if (len == 0) {
+				return 0;
+			}
+			if (!this.buffer.hasRemaining()) {
+				return -1;
+			}
+			int cappedLen = Math.min(len, this.buffer.remaining());
+			this.buffer.get(b, off, cappedLen);
+			return cappedLen;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			if (n <= 0) {
+				return 0;
+			}
+			int skipped = (int) Math.min(n, this.buffer.remaining());
+			this.buffer.position(this.buffer.position() + skipped);
+			return skipped;
+		}
+
+		@Override
+		public int available() throws IOException {
+			return this.buffer.remaining();
+		}
+
+	}
+
+}
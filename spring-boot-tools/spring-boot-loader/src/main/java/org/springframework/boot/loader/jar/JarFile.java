@@ -30,6 +30,7 @@ import java.util.jar.JarInputStream;
 import java.util.jar.Manifest;
 import java.util.zip.ZipEntry;
 
+import org.springframework.boot.loader.data.MappedRandomAccessData;
 import org.springframework.boot.loader.data.RandomAccessData;
 import org.springframework.boot.loader.data.RandomAccessData.ResourceAccess;
 import org.springframework.boot.loader.data.RandomAccessDataFile;
@@ -43,6 +44,9 @@ import org.springframework.boot.loader.data.RandomAccessDataFile;
  * <li>A nested {@link JarFile} can be {@link #getNestedJarFile(ZipEntry) obtained} for
  * embedded JAR files (as long as their entry is not compressed).</li>
  * </ul>
+ * Setting the {@code loader.mmap} system property to {@code true} causes root jar files
+ * to be read through a {@link MappedRandomAccessData memory mapping} rather than through
+ * a pool of {@link java.io.RandomAccessFile}s.
  *
  * @author Phillip Webb
  */
@@ -54,6 +58,8 @@ public class JarFile extends java.util.jar.JarFile {
 
 	private static final String HANDLERS_PACKAGE = "org.springframework.boot.loader";
 
+	private static final String MEMORY_MAPPED = "loader.mmap";
+
 	private static final AsciiBytes META_INF = new AsciiBytes("META-INF/");
 
 	private static final AsciiBytes SIGNATURE_FILE_EXTENSION = new AsciiBytes(".SF");
@@ -89,7 +95,16 @@ public class JarFile extends java.util.jar.JarFile {
 	 * @throws IOException if the file cannot be read
 	 */
 	JarFile(RandomAccessDataFile file) throws IOException {
-		this(file, "", file, JarFileType.DIRECT);
+		this(file, "", getRootData(file), JarFileType.DIRECT);
+	}
+
+	private static RandomAccessData getRootData(RandomAccessDataFile file)
+			throws IOException {
+		if (Boolean.getBoolean(MEMORY_MAPPED)
+				&& MappedRandomAccessData.isMappable(file.getFile())) {
+			return new MappedRandomAccessData(file.getFile());
+		}
+		return file;
 	}
 
 	/**
@@ -364,6 +379,26 @@ public class JarFile extends java.util.jar.JarFile {
 		this.entries.clearCache();
 	}
 
+	/**
+	 * Return the approximate number of entry lookups that have been served from the
+	 * entry cache.
+	 * @return the number of cache hits
+	 * @since 1.4.0
+	 */
+	public long getEntryCacheHits() {
+		return this.entries.getCacheHits();
+	}
+
+	/**
+	 * Return the approximate number of entry lookups that could not be served from the
+	 * entry cache.
+	 * @return the number of cache misses
+	 * @since 1.4.0
+	 */
+	public long getEntryCacheMisses() {
+		return this.entries.getCacheMisses();
+	}
+
 	/**
 	 * Register a {@literal 'java.protocol.handler.pkgs'} property so that a
 	 * {@link URLStreamHandler} will be located to deal with jar URLs.
@@ -19,11 +19,9 @@ package org.springframework.boot.loader.jar;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.zip.ZipEntry;
 
 import org.springframework.boot.loader.data.RandomAccessData;
@@ -39,6 +37,10 @@ import org.springframework.boot.loader.data.RandomAccessData.ResourceAccess;
  * <p>
  * A typical Spring Boot application will have somewhere in the region of 10,500 entries
  * which should consume about 122K.
+ * <p>
+ * Recently used entries are held in a small lock-free cache. The capacity of the cache
+ * can be tuned using the {@code loader.entryCacheSize} system property. Cache hits and
+ * misses are counted without synchronization so the counts are approximate.
  *
  * @author Phillip Webb
  */
@@ -50,7 +52,9 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 
 	private static final String NO_SUFFIX = "";
 
-	protected static final int ENTRY_CACHE_SIZE = 25;
+	protected static final int ENTRY_CACHE_SIZE = 64;
+
+	private static final String ENTRY_CACHE_SIZE_PROPERTY = "loader.entryCacheSize";
 
 	private final JarFile jarFile;
 
@@ -66,18 +70,7 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 
 	private int[] positions;
 
-	private final Map<Integer, JarEntry> entriesCache = Collections
-			.synchronizedMap(new LinkedHashMap<Integer, JarEntry>(16, 0.75f, true) {
-
-				@Override
-				protected boolean removeEldestEntry(Map.Entry<Integer, JarEntry> eldest) {
-					if (JarFileEntries.this.jarFile.isSigned()) {
-						return false;
-					}
-					return size() >= ENTRY_CACHE_SIZE;
-				}
-
-			});
+	private EntryCache entriesCache = new EntryCache(0);
 
 	JarFileEntries(JarFile jarFile, JarEntryFilter filter) {
 		this.jarFile = jarFile;
@@ -118,6 +111,16 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 		for (int i = 0; i < this.size; i++) {
 			this.positions[positions[i]] = i;
 		}
+		this.entriesCache = new EntryCache(getEntryCacheCapacity());
+	}
+
+	private int getEntryCacheCapacity() {
+		if (this.jarFile.isSigned()) {
+			// Entries hold certificates so must never be evicted
+			return this.size;
+		}
+		int capacity = Integer.getInteger(ENTRY_CACHE_SIZE_PROPERTY, ENTRY_CACHE_SIZE);
+		return Math.min(capacity, this.size);
 	}
 
 	private void sort(int left, int right) {
@@ -274,10 +277,74 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 		this.entriesCache.clear();
 	}
 
+	public long getCacheHits() {
+		return this.entriesCache.hits;
+	}
+
+	public long getCacheMisses() {
+		return this.entriesCache.misses;
+	}
+
 	private AsciiBytes applyFilter(AsciiBytes name) {
 		return (this.filter == null ? name : this.filter.apply(name));
 	}
 
+	/**
+	 * Lock-free cache of {@link JarEntry} instances keyed by their index. Each index maps
+	 * to a single slot so lookups never block and adding an entry simply replaces any
+	 * entry that previously occupied the slot.
+	 */
+	private static class EntryCache {
+
+		private final AtomicReferenceArray<CachedEntry> slots;
+
+		// Plain fields, lost updates are acceptable to keep lookups contention free
+		private long hits;
+
+		private long misses;
+
+		EntryCache(int capacity) {
+			this.slots = new AtomicReferenceArray<CachedEntry>(Math.max(capacity, 1));
+		}
+
+		public JarEntry get(int index) {
+			CachedEntry cached = this.slots.get(index % this.slots.length());
+			if (cached != null && cached.index == index) {
+				this.hits++;
+				return cached.entry;
+			}
+			this.misses++;
+			return null;
+		}
+
+		public void put(int index, JarEntry entry) {
+			this.slots.set(index % this.slots.length(), new CachedEntry(index, entry));
+		}
+
+		public void clear() {
+			for (int i = 0; i < this.slots.length(); i++) {
+				this.slots.set(i, null);
+			}
+		}
+
+	}
+
+	/**
+	 * A single {@link EntryCache} slot.
+	 */
+	private static final class CachedEntry {
+
+		private final int index;
+
+		private final JarEntry entry;
+
+		CachedEntry(int index, JarEntry entry) {
+			this.index = index;
+			this.entry = entry;
+		}
+
+	}
+
 	/**
 	 * Iterator for contained entries.
 	 */
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader;
+
+import java.io.File;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.boot.loader.jar.JarFile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ClassPathIndex}.
+ */
+@SuppressWarnings("resource")
+public class ClassPathIndexTests {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private JarFile jarFile;
+
+	@After
+	public void close() throws Exception {
+		if (this.jarFile != null) {
+			this.jarFile.close();
+		}
+	}
+
+	@Test
+	public void loadWhenNoIndexReturnsNull() throws Exception {
+		URL[] urls = createUrls(null);
+		assertThat(ClassPathIndex.load(this.jarFile.getUrl(), urls)).isNull();
+	}
+
+	@Test
+	public void loadWhenUrlIsNotNestedReturnsNull() throws Exception {
+		URL[] urls = createUrls("nested.jar\n META-INF/\n");
+		URL[] withExternal = new URL[] { urls[0],
+				this.temporaryFolder.newFile().toURI().toURL() };
+		assertThat(ClassPathIndex.load(this.jarFile.getUrl(), withExternal)).isNull();
+	}
+
+	@Test
+	public void getCandidatesIncludesIndexedAndUnindexedArchivesInOrder()
+			throws Exception {
+		URL[] urls = createUrls("nested.jar\n META-INF/\nanother-nested.jar\n \n");
+		ClassPathIndex index = ClassPathIndex.load(this.jarFile.getUrl(), urls);
+		assertThat(toList(index.getCandidates("3.dat"))).containsExactly(0, 2);
+		assertThat(toList(index.getCandidates("META-INF/MANIFEST.MF")))
+				.containsExactly(0, 1);
+		assertThat(toList(index.getCandidates("missing/file.dat")))
+				.containsExactly(0);
+	}
+
+	@Test
+	public void classLoaderUsesIndex() throws Exception {
+		URL[] urls = createUrls("nested.jar\n META-INF/\nanother-nested.jar\n \n");
+		ClassPathIndex index = ClassPathIndex.load(this.jarFile.getUrl(), urls);
+		LaunchedURLClassLoader loader = new LaunchedURLClassLoader(urls, index, null);
+		assertThat(loader.getResource("3.dat").toString()).isEqualTo(urls[2] + "3.dat");
+		assertThat(loader.getResource("1.dat").toString()).isEqualTo(urls[0] + "1.dat");
+		assertThat(Collections.list(loader.getResources("META-INF/MANIFEST.MF")))
+				.hasSize(2);
+		assertThat(loader.getResource("d/missing.dat")).isNull();
+	}
+
+	private URL[] createUrls(String classPathIndex) throws Exception {
+		File file = this.temporaryFolder.newFile();
+		TestJarCreator.createTestJar(file, false, classPathIndex);
+		this.jarFile = new JarFile(file);
+		return new URL[] { this.jarFile.getUrl(),
+				this.jarFile.getNestedJarFile(this.jarFile.getEntry("nested.jar"))
+						.getUrl(),
+				this.jarFile
+						.getNestedJarFile(this.jarFile.getEntry("another-nested.jar"))
+						.getUrl() };
+	}
+
+	private List<Integer> toList(int[] values) {
+		List<Integer> list = new ArrayList<Integer>();
+		for (int value : values) {
+			list.add(value);
+		}
+		return list;
+	}
+
+}
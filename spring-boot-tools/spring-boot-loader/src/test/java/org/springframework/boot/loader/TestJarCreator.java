@@ -39,10 +39,20 @@ public abstract class TestJarCreator {
 	}
 
 	public static void createTestJar(File file, boolean unpackNested) throws Exception {
+		createTestJar(file, unpackNested, null);
+	}
+
+	public static void createTestJar(File file, boolean unpackNested,
+			String classPathIndex) throws Exception {
 		FileOutputStream fileOutputStream = new FileOutputStream(file);
 		JarOutputStream jarOutputStream = new JarOutputStream(fileOutputStream);
 		try {
 			writeManifest(jarOutputStream, "j1");
+			if (classPathIndex != null) {
+				jarOutputStream.putNextEntry(new JarEntry(ClassPathIndex.LOCATION));
+				jarOutputStream.write(classPathIndex.getBytes("UTF-8"));
+				jarOutputStream.closeEntry();
+			}
 			writeEntry(jarOutputStream, "1.dat", 1);
 			writeEntry(jarOutputStream, "2.dat", 2);
 			writeDirEntry(jarOutputStream, "d/");
@@ -37,6 +37,7 @@ import org.junit.rules.ExpectedException;
 import org.junit.rules.TemporaryFolder;
 
 import org.springframework.boot.loader.TestJarCreator;
+import org.springframework.boot.loader.data.MappedRandomAccessData;
 import org.springframework.boot.loader.data.RandomAccessDataFile;
 import org.springframework.util.FileCopyUtils;
 import org.springframework.util.StreamUtils;
@@ -173,6 +174,43 @@ public class JarFileTests {
 		jdkJarFile.close();
 	}
 
+	@Test
+	public void getEntryIsCached() throws Exception {
+		long misses = this.jarFile.getEntryCacheMisses();
+		ZipEntry entry = this.jarFile.getEntry("1.dat");
+		assertThat(this.jarFile.getEntryCacheMisses()).isGreaterThan(misses);
+		long hits = this.jarFile.getEntryCacheHits();
+		assertThat(this.jarFile.getEntry("1.dat")).isSameAs(entry);
+		assertThat(this.jarFile.getEntryCacheHits()).isGreaterThan(hits);
+	}
+
+	@Test
+	public void entryCacheSizeCanBeConfigured() throws Exception {
+		ZipEntry entry = this.jarFile.getEntry("1.dat");
+		this.jarFile.getEntry("2.dat");
+		assertThat(this.jarFile.getEntry("1.dat")).isSameAs(entry);
+		System.setProperty("loader.entryCacheSize", "1");
+		try {
+			JarFile jarFile = new JarFile(this.rootJarFile);
+			entry = jarFile.getEntry("1.dat");
+			jarFile.getEntry("2.dat");
+			assertThat(jarFile.getEntry("1.dat")).isNotSameAs(entry);
+			jarFile.close();
+		}
+		finally {
+			System.clearProperty("loader.entryCacheSize");
+		}
+	}
+
+	@Test
+	public void clearCache() throws Exception {
+		ZipEntry entry = this.jarFile.getEntry("1.dat");
+		this.jarFile.clearCache();
+		long misses = this.jarFile.getEntryCacheMisses();
+		assertThat(this.jarFile.getEntry("1.dat")).isNotSameAs(entry);
+		assertThat(this.jarFile.getEntryCacheMisses()).isGreaterThan(misses);
+	}
+
 	@Test
 	public void close() throws Exception {
 		RandomAccessDataFile randomAccessDataFile = spy(
@@ -236,6 +274,27 @@ public class JarFileTests {
 		assertThat(stream.read()).isEqualTo(-1);
 	}
 
+	@Test
+	public void getNestedJarFileWhenMemoryMapped() throws Exception {
+		System.setProperty("loader.mmap", "true");
+		try {
+			JarFile jarFile = new JarFile(this.rootJarFile);
+			assertThat(jarFile.getData()).isInstanceOf(MappedRandomAccessData.class);
+			JarFile nestedJarFile = jarFile
+					.getNestedJarFile(jarFile.getEntry("nested.jar"));
+			InputStream inputStream = nestedJarFile
+					.getInputStream(nestedJarFile.getEntry("3.dat"));
+			assertThat(inputStream.read()).isEqualTo(3);
+			assertThat(inputStream.read()).isEqualTo(-1);
+			assertThat(nestedJarFile.getManifest().getMainAttributes()
+					.getValue("Built-By")).isEqualTo("j2");
+			jarFile.close();
+		}
+		finally {
+			System.clearProperty("loader.mmap");
+		}
+	}
+
 	@Test
 	public void getNestedJarFile() throws Exception {
 		JarFile nestedJarFile = this.jarFile
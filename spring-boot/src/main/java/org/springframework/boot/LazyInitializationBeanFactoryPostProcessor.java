@@ -0,0 +1,160 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.annotation.Schedules;
+import org.springframework.scheduling.config.TaskManagementConfigUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * {@link BeanFactoryPostProcessor} to set the lazy attribute on singleton bean
+ * definitions so that beans are only created when they are first needed.
+ * <p>
+ * Infrastructure beans, {@link SmartInitializingSingleton} beans and, when scheduling is
+ * enabled, beans with {@link Scheduled @Scheduled} methods are left untouched as they
+ * rely on being created eagerly. Further beans can be excluded by defining
+ * {@link LazyInitializationExcludeFilter} beans.
+ *
+ * @since 1.4.0
+ * @see SpringApplication#setLazyInitialization(boolean)
+ */
+public class LazyInitializationBeanFactoryPostProcessor
+		implements BeanFactoryPostProcessor {
+
+	@Override
+	public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory)
+			throws BeansException {
+		List<LazyInitializationExcludeFilter> filters = getFilters(beanFactory);
+		for (String beanName : beanFactory.getBeanDefinitionNames()) {
+			BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
+			if (beanDefinition.isSingleton() && !beanDefinition.isLazyInit()
+					&& beanDefinition.getRole() != BeanDefinition.ROLE_INFRASTRUCTURE) {
+				Class<?> beanType = getBeanType(beanFactory, beanName);
+				if (!isExcluded(filters, beanName, beanDefinition, beanType)) {
+					beanDefinition.setLazyInit(true);
+				}
+			}
+		}
+	}
+
+	private List<LazyInitializationExcludeFilter> getFilters(
+			ConfigurableListableBeanFactory beanFactory) {
+		List<LazyInitializationExcludeFilter> filters = new ArrayList<LazyInitializationExcludeFilter>();
+		filters.add(new BeanTypeExcludeFilter(SmartInitializingSingleton.class));
+		if (beanFactory.containsBeanDefinition(
+				TaskManagementConfigUtils.SCHEDULED_ANNOTATION_PROCESSOR_BEAN_NAME)) {
+			filters.add(new ScheduledMethodsExcludeFilter());
+		}
+		filters.addAll(beanFactory
+				.getBeansOfType(LazyInitializationExcludeFilter.class, false, false)
+				.values());
+		return filters;
+	}
+
+	private Class<?> getBeanType(ConfigurableListableBeanFactory beanFactory,
+			String beanName) {
+		try {
+			if (beanFactory.containsSingleton(beanName)
+					|| !beanFactory.isFactoryBean(beanName)) {
+				return beanFactory.getType(beanName);
+			}
+			// Don't create the FactoryBean just to call getObjectType()
+			Class<?> factoryBeanType = beanFactory
+					.getType(BeanFactory.FACTORY_BEAN_PREFIX + beanName);
+			return (factoryBeanType == null ? null : ResolvableType
+					.forClass(factoryBeanType).as(FactoryBean.class).resolveGeneric());
+		}
+		catch (NoSuchBeanDefinitionException ex) {
+			return null;
+		}
+	}
+
+	private boolean isExcluded(Collection<LazyInitializationExcludeFilter> filters,
+			String beanName, BeanDefinition beanDefinition, Class<?> beanType) {
+		for (LazyInitializationExcludeFilter filter : filters) {
+			if (filter.isExcluded(beanName, beanDefinition, beanType)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * {@link LazyInitializationExcludeFilter} that excludes beans of a given type.
+	 */
+	private static class BeanTypeExcludeFilter
+			implements LazyInitializationExcludeFilter {
+
+		private final Class<?> type;
+
+		BeanTypeExcludeFilter(Class<?> type) {
+			this.type = type;
+		}
+
+		@Override
+		public boolean isExcluded(String beanName, BeanDefinition beanDefinition,
+				Class<?> beanType) {
+			return beanType != null && this.type.isAssignableFrom(beanType);
+		}
+
+	}
+
+	/**
+	 * {@link LazyInitializationExcludeFilter} that excludes beans with
+	 * {@link Scheduled @Scheduled} methods since they are only scheduled once the bean
+	 * has been created.
+	 */
+	private static class ScheduledMethodsExcludeFilter
+			implements LazyInitializationExcludeFilter {
+
+		@Override
+		public boolean isExcluded(String beanName, BeanDefinition beanDefinition,
+				Class<?> beanType) {
+			if (beanType == null) {
+				return false;
+			}
+			for (Method method : ReflectionUtils
+					.getUniqueDeclaredMethods(ClassUtils.getUserClass(beanType))) {
+				if (AnnotationUtils.findAnnotation(method, Scheduled.class) != null
+						|| AnnotationUtils.findAnnotation(method,
+								Schedules.class) != null) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+	}
+
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+
+/**
+ * Filter that can be used to exclude beans from having their
+ * {@link BeanDefinition#setLazyInit(boolean) lazy-init} set by the
+ * {@link LazyInitializationBeanFactoryPostProcessor}. Filters are obtained from the bean
+ * factory so they should be declared as {@code static} {@code @Bean} methods to avoid
+ * the early initialization of their configuration class.
+ *
+ * @since 1.4.0
+ * @see SpringApplication#setLazyInitialization(boolean)
+ */
+public interface LazyInitializationExcludeFilter {
+
+	/**
+	 * Returns {@code true} if the specified bean should be excluded from having
+	 * {@code lazy-init} automatically set.
+	 * @param beanName the bean name
+	 * @param beanDefinition the bean definition
+	 * @param beanType the bean type or {@code null} if it cannot be determined without
+	 * creating the bean (for example a {@link org.springframework.beans.factory.FactoryBean
+	 * FactoryBean} whose object type is not declared as a generic)
+	 * @return {@code true} if {@code lazy-init} should not be automatically set
+	 */
+	boolean isExcluded(String beanName, BeanDefinition beanDefinition, Class<?> beanType);
+
+}
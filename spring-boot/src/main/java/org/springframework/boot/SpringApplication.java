@@ -217,6 +217,8 @@ public class SpringApplication {
 
 	private boolean registerShutdownHook = true;
 
+	private boolean lazyInitialization;
+
 	private List<ApplicationContextInitializer<?>> initializers;
 
 	private List<ApplicationListener<?>> listeners;
@@ -347,6 +349,10 @@ public class SpringApplication {
 		postProcessApplicationContext(context);
 		applyInitializers(context);
 		listeners.contextPrepared(context);
+		if (this.lazyInitialization) {
+			context.addBeanFactoryPostProcessor(
+					new LazyInitializationBeanFactoryPostProcessor());
+		}
 		if (this.logStartupInfo) {
 			logStartupInfo(context.getParent() == null);
 			logStartupProfileInfo(context);
@@ -962,6 +968,18 @@ public class SpringApplication {
 		this.registerShutdownHook = registerShutdownHook;
 	}
 
+	/**
+	 * Sets if beans should be initialized lazily, that is only when they are first
+	 * needed. Defaults to {@code false}. Beans can be excluded from lazy initialization
+	 * by defining {@link LazyInitializationExcludeFilter} beans.
+	 * @param lazyInitialization if initialization should be lazy
+	 * @since 1.4.0
+	 * @see LazyInitializationBeanFactoryPostProcessor
+	 */
+	public void setLazyInitialization(boolean lazyInitialization) {
+		this.lazyInitialization = lazyInitialization;
+	}
+
 	/**
 	 * Sets the {@link Banner} instance which will be used to print the banner when no
 	 * static banner file is provided.
@@ -86,6 +86,8 @@ public class PropertiesConfigurationFactory<T>
 
 	private ConversionService conversionService;
 
+	private PropertyNameIndex propertyNameIndex;
+
 	/**
 	 * Create a new {@link PropertiesConfigurationFactory} instance.
 	 * @param target the target object to bind too
@@ -178,6 +180,18 @@ public class PropertiesConfigurationFactory<T>
 		this.propertySources = propertySources;
 	}
 
+	/**
+	 * Set an index of the property names of the property sources. When binding with a
+	 * {@link #setTargetName(String) target name} the index is used to only consider the
+	 * properties that start with the target name. An index can be shared by all the
+	 * factories that bind against the same property sources.
+	 * @param propertyNameIndex the property name index
+	 * @since 1.4.0
+	 */
+	public void setPropertyNameIndex(PropertyNameIndex propertyNameIndex) {
+		this.propertyNameIndex = propertyNameIndex;
+	}
+
 	/**
 	 * Set the conversion service.
 	 * @param conversionService the conversion service
@@ -321,7 +335,9 @@ public class PropertiesConfigurationFactory<T>
 			Iterable<String> relaxedTargetNames) {
 		PropertyNamePatternsMatcher includes = getPropertyNamePatternsMatcher(names,
 				relaxedTargetNames);
-		return new PropertySourcesPropertyValues(this.propertySources, names, includes);
+		return new PropertySourcesPropertyValues(this.propertySources, names, includes,
+				this.propertyNameIndex,
+				(relaxedTargetNames != null ? this.targetName : null));
 	}
 
 	private PropertyNamePatternsMatcher getPropertyNamePatternsMatcher(Set<String> names,
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.bind;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * Index of the property names of {@link EnumerablePropertySource property sources} that
+ * can be shared when binding many objects against the same property sources. For each
+ * source the names are sorted by a normalized key (lower case with all {@code .},
+ * {@code _} and {@code -} separators removed) so that the names that could match a
+ * relaxed prefix are found with a binary search instead of a scan of every property.
+ * <p>
+ * The index of a source is built the first time the source is used and is not updated
+ * if the source's property names change later, so the index should be {@link #clear()
+ * cleared} whenever sources may have been modified. Indexes are softly referenced so
+ * they can be reclaimed if memory runs low.
+ *
+ * @since 1.4.0
+ * @see PropertiesConfigurationFactory#setPropertyNameIndex(PropertyNameIndex)
+ */
+public class PropertyNameIndex {
+
+	private final Map<PropertySource<?>, SourceIndex> indexes = new ConcurrentReferenceHashMap<PropertySource<?>, SourceIndex>();
+
+	/**
+	 * Return the property names of the given source that could match any relaxed
+	 * variant of the given prefix, in the order of the source.
+	 * @param source the property source
+	 * @param prefix the prefix (for example {@code spring.datasource})
+	 * @return the candidate property names
+	 */
+	public String[] getPropertyNames(EnumerablePropertySource<?> source, String prefix) {
+		SourceIndex index = this.indexes.get(source);
+		if (index == null || !index.isFor(source)) {
+			index = new SourceIndex(source, source.getPropertyNames());
+			this.indexes.put(source, index);
+		}
+		return index.getPropertyNames(normalize(prefix));
+	}
+
+	/**
+	 * Clear the index, for example after property sources have been modified.
+	 */
+	public void clear() {
+		this.indexes.clear();
+	}
+
+	static String normalize(String name) {
+		StringBuilder normalized = new StringBuilder(name.length());
+		for (int i = 0; i < name.length(); i++) {
+			char c = name.charAt(i);
+			if (c != '.' && c != '_' && c != '-') {
+				normalized.append(Character.toLowerCase(Character.toUpperCase(c)));
+			}
+		}
+		return normalized.toString();
+	}
+
+	/**
+	 * The index of a single property source.
+	 */
+	private static final class SourceIndex {
+
+		private final PropertySource<?> source;
+
+		private final String[] names;
+
+		private final String[] keys;
+
+		private final Integer[] positions;
+
+		SourceIndex(PropertySource<?> source, String[] names) {
+			this.source = source;
+			this.names = names;
+			this.keys = new String[names.length];
+			this.positions = new Integer[names.length];
+			final String[] keys = new String[names.length];
+			for (int i = 0; i < names.length; i++) {
+				keys[i] = normalize(names[i]);
+				this.positions[i] = i;
+			}
+			Arrays.sort(this.positions, new Comparator<Integer>() {
+
+				@Override
+				public int compare(Integer o1, Integer o2) {
+					return keys[o1].compareTo(keys[o2]);
+				}
+
+			});
+			for (int i = 0; i < this.positions.length; i++) {
+				this.keys[i] = keys[this.positions[i]];
+			}
+		}
+
+		boolean isFor(PropertySource<?> source) {
+			return this.source == source;
+		}
+
+		String[] getPropertyNames(String prefix) {
+			int start = Arrays.binarySearch(this.keys, prefix);
+			if (start < 0) {
+				start = -start - 1;
+			}
+			else {
+				while (start > 0 && this.keys[start - 1].equals(prefix)) {
+					start--;
+				}
+			}
+			int end = start;
+			while (end < this.keys.length && this.keys[end].startsWith(prefix)) {
+				end++;
+			}
+			int[] matches = new int[end - start];
+			for (int i = start; i < end; i++) {
+				matches[i - start] = this.positions[i];
+			}
+			Arrays.sort(matches);
+			String[] names = new String[matches.length];
+			for (int i = 0; i < matches.length; i++) {
+				names[i] = this.names[matches[i]];
+			}
+			return names;
+		}
+
+	}
+
+}
@@ -51,6 +51,10 @@ public class PropertySourcesPropertyValues implements PropertyValues {
 
 	private final PropertyNamePatternsMatcher includes;
 
+	private final PropertyNameIndex nameIndex;
+
+	private final String prefix;
+
 	private final Map<String, PropertyValue> propertyValues = new LinkedHashMap<String, PropertyValue>();
 
 	private final ConcurrentHashMap<String, PropertySource<?>> collectionOwners = new ConcurrentHashMap<String, PropertySource<?>>();
@@ -88,11 +92,31 @@ public class PropertySourcesPropertyValues implements PropertyValues {
 	PropertySourcesPropertyValues(PropertySources propertySources,
 			Collection<String> nonEnumerableFallbackNames,
 			PropertyNamePatternsMatcher includes) {
+		this(propertySources, nonEnumerableFallbackNames, includes, null, null);
+	}
+
+	/**
+	 * Create a new PropertyValues from the given PropertySources.
+	 * @param propertySources a PropertySources instance
+	 * @param nonEnumerableFallbackNames the property names to try in lieu of an
+	 * {@link EnumerablePropertySource}.
+	 * @param includes the property name patterns to include
+	 * @param nameIndex an optional index used to find the names of enumerable property
+	 * sources that could match the {@code prefix}
+	 * @param prefix the prefix that all included property names start with (ignoring
+	 * relaxed variations) or {@code null}
+	 */
+	PropertySourcesPropertyValues(PropertySources propertySources,
+			Collection<String> nonEnumerableFallbackNames,
+			PropertyNamePatternsMatcher includes, PropertyNameIndex nameIndex,
+			String prefix) {
 		Assert.notNull(propertySources, "PropertySources must not be null");
 		Assert.notNull(includes, "Includes must not be null");
 		this.propertySources = propertySources;
 		this.nonEnumerableFallbackNames = nonEnumerableFallbackNames;
 		this.includes = includes;
+		this.nameIndex = nameIndex;
+		this.prefix = prefix;
 		PropertySourcesPropertyResolver resolver = new PropertySourcesPropertyResolver(
 				propertySources);
 		for (PropertySource<?> source : propertySources) {
@@ -124,8 +148,9 @@ public class PropertySourcesPropertyValues implements PropertyValues {
 	private void processEnumerablePropertySource(EnumerablePropertySource<?> source,
 			PropertySourcesPropertyResolver resolver,
 			PropertyNamePatternsMatcher includes) {
-		if (source.getPropertyNames().length > 0) {
-			for (String propertyName : source.getPropertyNames()) {
+		String[] propertyNames = getPropertyNames(source);
+		if (propertyNames.length > 0) {
+			for (String propertyName : propertyNames) {
 				if (includes.matches(propertyName)) {
 					Object value = getEnumerableProperty(source, resolver, propertyName);
 					putIfAbsent(propertyName, value, source);
@@ -134,6 +159,13 @@ public class PropertySourcesPropertyValues implements PropertyValues {
 		}
 	}
 
+	private String[] getPropertyNames(EnumerablePropertySource<?> source) {
+		if (this.nameIndex != null && this.prefix != null) {
+			return this.nameIndex.getPropertyNames(source, this.prefix);
+		}
+		return source.getPropertyNames();
+	}
+
 	private Object getEnumerableProperty(EnumerablePropertySource<?> source,
 			PropertySourcesPropertyResolver resolver, String propertyName) {
 		try {
@@ -312,6 +312,18 @@ public class SpringApplicationBuilder {
 		return this;
 	}
 
+	/**
+	 * Flag to indicate if beans should be initialized lazily, that is only when they are
+	 * first needed.
+	 * @param lazyInitialization the flag to set. Default false.
+	 * @return the current builder
+	 * @since 1.4.0
+	 */
+	public SpringApplicationBuilder lazyInitialization(boolean lazyInitialization) {
+		this.application.setLazyInitialization(lazyInitialization);
+		return this;
+	}
+
 	/**
 	 * Sets the {@link Banner} instance which will be used to print the banner when no
 	 * static banner file is provided.
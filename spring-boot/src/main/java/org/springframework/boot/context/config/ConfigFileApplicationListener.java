@@ -21,11 +21,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.logging.Log;
 
@@ -332,6 +335,14 @@ public class ConfigFileApplicationListener implements EnvironmentPostProcessor,
 
 		private boolean activatedProfiles;
 
+		/**
+		 * The result of each resource existence check keyed by location. The same
+		 * locations are tried for every profile so each one is only checked once.
+		 */
+		private Map<String, Boolean> existingResources;
+
+		private int loadedResources;
+
 		Loader(ConfigurableEnvironment environment, ResourceLoader resourceLoader) {
 			this.environment = environment;
 			this.resourceLoader = resourceLoader == null ? new DefaultResourceLoader()
@@ -339,8 +350,11 @@ public class ConfigFileApplicationListener implements EnvironmentPostProcessor,
 		}
 
 		public void load() throws IOException {
+			long startTime = System.nanoTime();
 			this.propertiesLoader = new PropertySourcesLoader();
 			this.activatedProfiles = false;
+			this.existingResources = new HashMap<String, Boolean>();
+			this.loadedResources = 0;
 			this.profiles = Collections.asLifoQueue(new LinkedList<String>());
 			this.processedProfiles = new LinkedList<String>();
 
@@ -380,6 +394,13 @@ public class ConfigFileApplicationListener implements EnvironmentPostProcessor,
 			}
 
 			addConfigurationProperties(this.propertiesLoader.getPropertySources());
+			if (this.logger.isDebugEnabled()) {
+				long duration = TimeUnit.NANOSECONDS
+						.toMillis(System.nanoTime() - startTime);
+				this.logger.debug("Loaded " + this.loadedResources
+						+ " config property source(s) in " + duration + "ms ("
+						+ this.existingResources.size() + " location(s) checked)");
+			}
 		}
 
 		private Set<String> initializeActiveProfiles() {
@@ -455,15 +476,17 @@ public class ConfigFileApplicationListener implements EnvironmentPostProcessor,
 		private PropertySource<?> loadIntoGroup(String identifier, String location,
 				String profile) throws IOException {
 			Resource resource = this.resourceLoader.getResource(location);
+			boolean exists = exists(location, resource);
 			PropertySource<?> propertySource = null;
 			StringBuilder msg = new StringBuilder();
-			if (resource != null && resource.exists()) {
+			if (exists) {
 				String name = "applicationConfig: [" + location + "]";
 				String group = "applicationConfig: [" + identifier + "]";
 				propertySource = this.propertiesLoader.load(resource, group, name,
 						profile);
 				if (propertySource != null) {
 					msg.append("Loaded ");
+					this.loadedResources++;
 					handleProfileProperties(propertySource);
 				}
 				else {
@@ -478,7 +501,7 @@ public class ConfigFileApplicationListener implements EnvironmentPostProcessor,
 			if (StringUtils.hasLength(profile)) {
 				msg.append(" for profile ").append(profile);
 			}
-			if (resource == null || !resource.exists()) {
+			if (!exists) {
 				msg.append(" resource not found");
 				this.logger.trace(msg);
 			}
@@ -488,6 +511,15 @@ public class ConfigFileApplicationListener implements EnvironmentPostProcessor,
 			return propertySource;
 		}
 
+		private boolean exists(String location, Resource resource) {
+			Boolean exists = this.existingResources.get(location);
+			if (exists == null) {
+				exists = (resource != null && resource.exists());
+				this.existingResources.put(location, exists);
+			}
+			return exists;
+		}
+
 		private String getResourceDescription(String location, Resource resource) {
 			String resourceDescription = "'" + location + "'";
 			if (resource != null) {
@@ -33,6 +33,7 @@ import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.bind.PropertiesConfigurationFactory;
+import org.springframework.boot.bind.PropertyNameIndex;
 import org.springframework.boot.env.PropertySourcesLoader;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
@@ -91,6 +92,10 @@ public class ConfigurationPropertiesBindingPostProcessor
 
 	private PropertySources propertySources;
 
+	private final PropertyNameIndex propertyNameIndex = new PropertyNameIndex();
+
+	private volatile boolean usePropertyNameIndex = true;
+
 	private Validator validator;
 
 	private volatile Validator localValidator;
@@ -222,6 +227,10 @@ public class ConfigurationPropertiesBindingPostProcessor
 	@Override
 	public void onApplicationEvent(ContextRefreshedEvent event) {
 		freeLocalValidator();
+		// Property sources may change once the context is running (for example when
+		// beans are rebound) so the index is only used while it is refreshed
+		this.usePropertyNameIndex = false;
+		this.propertyNameIndex.clear();
 	}
 
 	@Override
@@ -314,6 +323,9 @@ public class ConfigurationPropertiesBindingPostProcessor
 		}
 		else {
 			factory.setPropertySources(this.propertySources);
+			if (this.usePropertyNameIndex) {
+				factory.setPropertyNameIndex(this.propertyNameIndex);
+			}
 		}
 		factory.setValidator(determineValidator(bean));
 		// If no explicit conversion service is provided we add one so that (at least)
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link LazyInitializationBeanFactoryPostProcessor}.
+ */
+public class LazyInitializationBeanFactoryPostProcessorTests {
+
+	private AnnotationConfigApplicationContext context;
+
+	@After
+	public void close() {
+		if (this.context != null) {
+			this.context.close();
+		}
+	}
+
+	@Test
+	public void singletonsAreLazy() throws Exception {
+		load(ExampleConfig.class);
+		assertThat(isCreated("example")).isFalse();
+		this.context.getBean("example");
+		assertThat(isCreated("example")).isTrue();
+	}
+
+	@Test
+	public void smartInitializingSingletonsAreNotLazy() throws Exception {
+		load(SmartInitializingSingletonConfig.class);
+		assertThat(isCreated("smartInitializingSingleton")).isTrue();
+	}
+
+	@Test
+	public void scheduledBeansAreNotLazyWhenSchedulingIsEnabled() throws Exception {
+		load(ScheduledConfig.class);
+		assertThat(isCreated("scheduledBean")).isTrue();
+	}
+
+	@Test
+	public void scheduledBeansAreLazyWhenSchedulingIsNotEnabled() throws Exception {
+		load(ScheduledBeanConfig.class);
+		assertThat(isCreated("scheduledBean")).isFalse();
+	}
+
+	@Test
+	public void excludeFilterBeansAreUsed() throws Exception {
+		load(ExampleConfig.class, ExcludeFilterConfig.class);
+		assertThat(isCreated("example")).isTrue();
+	}
+
+	@Test
+	public void factoryBeansAreNotCreatedToDetermineTheirType() throws Exception {
+		ExampleFactoryBean.created = false;
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		beanFactory.registerBeanDefinition("factoryBean",
+				new RootBeanDefinition(ExampleFactoryBean.class));
+		new LazyInitializationBeanFactoryPostProcessor()
+				.postProcessBeanFactory(beanFactory);
+		assertThat(ExampleFactoryBean.created).isFalse();
+		assertThat(beanFactory.getBeanDefinition("factoryBean").isLazyInit()).isTrue();
+	}
+
+	@Test
+	public void factoryBeansOfSmartInitializingSingletonsAreNotLazy()
+			throws Exception {
+		load(SmartInitializingSingletonFactoryBeanConfig.class);
+		assertThat(isCreated("factoryBean")).isTrue();
+	}
+
+	private void load(Class<?>... configs) {
+		this.context = new AnnotationConfigApplicationContext();
+		this.context.addBeanFactoryPostProcessor(
+				new LazyInitializationBeanFactoryPostProcessor());
+		this.context.register(configs);
+		this.context.refresh();
+	}
+
+	private boolean isCreated(String beanName) {
+		return this.context.getBeanFactory().containsSingleton(beanName);
+	}
+
+	@Configuration
+	static class ExampleConfig {
+
+		@Bean
+		public String example() {
+			return "example";
+		}
+
+	}
+
+	@Configuration
+	static class SmartInitializingSingletonConfig {
+
+		@Bean
+		public SmartInitializingSingleton smartInitializingSingleton() {
+			return new SmartInitializingSingleton() {
+
+				@Override
+				public void afterSingletonsInstantiated() {
+				}
+
+			};
+		}
+
+	}
+
+	@Configuration
+	static class ScheduledBeanConfig {
+
+		@Bean
+		public ScheduledBean scheduledBean() {
+			return new ScheduledBean();
+		}
+
+	}
+
+	@Configuration
+	@EnableScheduling
+	static class ScheduledConfig extends ScheduledBeanConfig {
+
+	}
+
+	@Configuration
+	static class ExcludeFilterConfig {
+
+		@Bean
+		public static LazyInitializationExcludeFilter excludeFilter() {
+			return new LazyInitializationExcludeFilter() {
+
+				@Override
+				public boolean isExcluded(String beanName,
+						BeanDefinition beanDefinition, Class<?> beanType) {
+					return "example".equals(beanName);
+				}
+
+			};
+		}
+
+	}
+
+	@Configuration
+	static class SmartInitializingSingletonFactoryBeanConfig {
+
+		@Bean
+		public static SmartInitializingSingletonFactoryBean factoryBean() {
+			return new SmartInitializingSingletonFactoryBean();
+		}
+
+	}
+
+	static class ExampleFactoryBean implements FactoryBean<Object> {
+
+		private static boolean created;
+
+		ExampleFactoryBean() {
+			created = true;
+		}
+
+		@Override
+		public Object getObject() {
+			return "example";
+		}
+
+		@Override
+		public Class<?> getObjectType() {
+			return String.class;
+		}
+
+		@Override
+		public boolean isSingleton() {
+			return true;
+		}
+
+	}
+
+	static class SmartInitializingSingletonFactoryBean
+			implements FactoryBean<SmartInitializingSingleton> {
+
+		@Override
+		public SmartInitializingSingleton getObject() {
+			return new SmartInitializingSingleton() {
+
+				@Override
+				public void afterSingletonsInstantiated() {
+				}
+
+			};
+		}
+
+		@Override
+		public Class<?> getObjectType() {
+			return SmartInitializingSingleton.class;
+		}
+
+		@Override
+		public boolean isSingleton() {
+			return true;
+		}
+
+	}
+
+	static class ScheduledBean {
+
+		@Scheduled(fixedDelay = 60000)
+		public void run() {
+		}
+
+	}
+
+}
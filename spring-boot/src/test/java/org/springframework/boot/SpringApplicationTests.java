@@ -714,6 +714,35 @@ public class SpringApplicationTests {
 				.registerShutdownHook();
 	}
 
+	@Test
+	public void lazyInitialization() throws Exception {
+		SpringApplication application = new SpringApplication(LazyConfig.class);
+		application.setWebEnvironment(false);
+		application.setLazyInitialization(true);
+		this.context = application.run();
+		assertThat(this.context.getBeanFactory().containsSingleton("lazyBean"))
+				.isFalse();
+		assertThat(this.context.getBean("lazyBean")).isEqualTo("lazy");
+	}
+
+	@Test
+	public void lazyInitializationWithProperty() throws Exception {
+		SpringApplication application = new SpringApplication(LazyConfig.class);
+		application.setWebEnvironment(false);
+		this.context = application.run("--spring.main.lazy-initialization=true");
+		assertThat(this.context.getBeanFactory().containsSingleton("lazyBean"))
+				.isFalse();
+	}
+
+	@Test
+	public void eagerInitializationByDefault() throws Exception {
+		SpringApplication application = new SpringApplication(LazyConfig.class);
+		application.setWebEnvironment(false);
+		this.context = application.run();
+		assertThat(this.context.getBeanFactory().containsSingleton("lazyBean"))
+				.isTrue();
+	}
+
 	@Test
 	public void headless() throws Exception {
 		TestSpringApplication application = new TestSpringApplication(
@@ -912,6 +941,16 @@ public class SpringApplicationTests {
 
 	}
 
+	@Configuration
+	static class LazyConfig {
+
+		@Bean
+		public String lazyBean() {
+			return "lazy";
+		}
+
+	}
+
 	@Configuration
 	static class Multicaster {
 
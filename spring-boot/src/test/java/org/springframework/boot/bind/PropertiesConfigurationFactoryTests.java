@@ -164,6 +164,34 @@ public class PropertiesConfigurationFactoryTests {
 		assertThat(foo.name).isEqualTo("blah");
 	}
 
+	@Test
+	public void testBindWithPropertyNameIndex() throws Exception {
+		this.targetName = "foo-bar";
+		MockPropertySource source = new MockPropertySource()
+				.withProperty("fooBar.name", "blah").withProperty("other.name", "other");
+		MutablePropertySources propertySources = new MutablePropertySources();
+		propertySources.addLast(new SystemEnvironmentPropertySource("systemEnvironment",
+				Collections.<String, Object>singletonMap("FOO_BAR_BAR", "spam")));
+		propertySources.addLast(source);
+		PropertyNameIndex index = new PropertyNameIndex();
+		setupFactory();
+		this.factory.setPropertySources(propertySources);
+		this.factory.setPropertyNameIndex(index);
+		this.factory.afterPropertiesSet();
+		Foo foo = this.factory.getObject();
+		assertThat(foo.name).isEqualTo("blah");
+		assertThat(foo.bar).isEqualTo("spam");
+		source.setProperty("foo_bar.foo-bar", "baz");
+		index.clear();
+		setupFactory();
+		this.factory.setPropertySources(propertySources);
+		this.factory.setPropertyNameIndex(index);
+		this.factory.afterPropertiesSet();
+		foo = this.factory.getObject();
+		assertThat(foo.name).isEqualTo("blah");
+		assertThat(foo.fooBar).isEqualTo("baz");
+	}
+
 	private Foo createFoo(final String values) throws Exception {
 		setupFactory();
 		return bindFoo(values);
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.bind;
+
+import org.junit.Test;
+
+import org.springframework.mock.env.MockPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PropertyNameIndex}.
+ */
+public class PropertyNameIndexTests {
+
+	private final PropertyNameIndex index = new PropertyNameIndex();
+
+	@Test
+	public void relaxedPrefixes() {
+		MockPropertySource source = new MockPropertySource()
+				.withProperty("spring.datasource.url", "url")
+				.withProperty("SPRING_DATASOURCE_USERNAME", "user")
+				.withProperty("spring.dataSource.password", "secret")
+				.withProperty("spring.data-source[0]", "first")
+				.withProperty("spring.jpa.show-sql", "true")
+				.withProperty("server.port", "8080");
+		assertThat(this.index.getPropertyNames(source, "spring.datasource"))
+				.containsExactlyInAnyOrder("spring.datasource.url",
+						"SPRING_DATASOURCE_USERNAME", "spring.dataSource.password",
+						"spring.data-source[0]");
+		assertThat(this.index.getPropertyNames(source, "spring_data-source"))
+				.hasSize(4);
+		assertThat(this.index.getPropertyNames(source, "server"))
+				.containsExactly("server.port");
+		assertThat(this.index.getPropertyNames(source, "foo")).isEmpty();
+	}
+
+	@Test
+	public void namesAreReturnedInSourceOrder() {
+		MockPropertySource source = new MockPropertySource();
+		for (int i = 9; i >= 0; i--) {
+			source.setProperty("foo.bar" + i, i);
+		}
+		assertThat(this.index.getPropertyNames(source, "foo"))
+				.containsExactly(source.getPropertyNames());
+	}
+
+	@Test
+	public void indexIsRebuiltWhenCleared() {
+		MockPropertySource source = new MockPropertySource().withProperty("foo.bar",
+				"bar");
+		assertThat(this.index.getPropertyNames(source, "foo")).containsExactly("foo.bar");
+		source.setProperty("foo.baz", "baz");
+		assertThat(this.index.getPropertyNames(source, "foo")).containsExactly("foo.bar");
+		this.index.clear();
+		assertThat(this.index.getPropertyNames(source, "foo"))
+				.containsExactlyInAnyOrder("foo.bar", "foo.baz");
+	}
+
+	@Test
+	public void sourcesWithTheSameNameAreIndexedSeparately() {
+		MockPropertySource first = new MockPropertySource("test")
+				.withProperty("foo.bar", "bar");
+		MockPropertySource second = new MockPropertySource("test")
+				.withProperty("foo.baz", "baz");
+		assertThat(this.index.getPropertyNames(first, "foo")).containsExactly("foo.bar");
+		assertThat(this.index.getPropertyNames(second, "foo"))
+				.containsExactly("foo.baz");
+	}
+
+}
@@ -60,9 +60,13 @@ import org.springframework.core.env.MutablePropertySources;
 import org.springframework.core.env.SimpleCommandLinePropertySource;
 import org.springframework.core.env.StandardEnvironment;
 import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.test.context.support.TestPropertySourceUtils;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
 import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
@@ -165,6 +169,47 @@ public class ConfigFileApplicationListenerTests {
 		assertThat(property).isEqualTo("frompropertiesfile");
 	}
 
+	@Test
+	public void missingLocationsAreOnlyCheckedOnce() throws Exception {
+		final DefaultResourceLoader resourceLoader = new DefaultResourceLoader();
+		final MultiValueMap<String, String> checks = new LinkedMultiValueMap<String, String>();
+		this.application.setResourceLoader(new ResourceLoader() {
+
+			@Override
+			public Resource getResource(final String location) {
+				return new ClassPathResource(location.replace("classpath:", "")) {
+
+					@Override
+					public boolean exists() {
+						boolean exists = resourceLoader.getResource(location).exists();
+						if (!exists) {
+							checks.add(location, location);
+						}
+						return exists;
+					}
+
+				};
+			}
+
+			@Override
+			public ClassLoader getClassLoader() {
+				return resourceLoader.getClassLoader();
+			}
+
+		});
+		this.initializer.setSearchLocations("classpath:/");
+		TestPropertySourceUtils.addInlinedPropertiesToEnvironment(this.environment,
+				"spring.profiles.active=dev,other");
+		this.initializer.postProcessEnvironment(this.environment, this.application);
+		assertThat(this.environment.getProperty("my.property"))
+				.isEqualTo("fromotherpropertiesfile");
+		assertThat(checks).isNotEmpty();
+		assertThat(checks).containsKey("classpath:/application-dev.yml");
+		for (List<String> locationChecks : checks.values()) {
+			assertThat(locationChecks).hasSize(1);
+		}
+	}
+
 	@Test
 	public void loadTwoPropertiesFilesWithProfiles() throws Exception {
 		TestPropertySourceUtils.addInlinedPropertiesToEnvironment(this.environment,
@@ -100,6 +100,22 @@ public class ConfigurationPropertiesBindingPostProcessorTests {
 		}
 	}
 
+	@Test
+	public void rebindAfterRefreshUsesModifiedPropertySources() {
+		this.context = new AnnotationConfigApplicationContext();
+		TestPropertySourceUtils.addInlinedPropertiesToEnvironment(this.context,
+				"com.example.bar=foo");
+		this.context.register(TestConfiguration.class);
+		this.context.refresh();
+		TestConfiguration bean = this.context.getBean(TestConfiguration.class);
+		assertThat(bean.getBar()).isEqualTo("foo");
+		TestPropertySourceUtils.addInlinedPropertiesToEnvironment(this.context,
+				"com.example.bar=spam");
+		this.context.getBean(ConfigurationPropertiesBindingPostProcessor.class)
+				.postProcessBeforeInitialization(bean, "testConfiguration");
+		assertThat(bean.getBar()).isEqualTo("spam");
+	}
+
 	@Test
 	public void testValidationWithoutJSR303() {
 		this.context = new AnnotationConfigApplicationContext();